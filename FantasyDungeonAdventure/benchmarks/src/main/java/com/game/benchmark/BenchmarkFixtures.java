@@ -0,0 +1,85 @@
+package com.game.benchmark;
+
+import com.game.database.GameState;
+import com.game.engine.GameEngine;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the game engine into a known state for the benchmarks.
+ * <p>
+ * The engine normally gets its player and levels from the difficulty prompt; the benchmarks
+ * hand it theirs through {@link GameEngine#startGame(Player, List)} instead.
+ */
+final class BenchmarkFixtures {
+    private static boolean initialized;
+
+    private BenchmarkFixtures() {
+        // Utility class
+    }
+
+    /**
+     * Initializes logging and points the database at a fresh file, before the first use of either.
+     */
+    static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        System.setProperty("game.autosave.enabled", "false");
+        try {
+            if (System.getProperty("game.db.url") == null) {
+                Path db = Files.createTempFile("benchmark-saves", ".db");
+                db.toFile().deleteOnExit();
+                System.setProperty("game.db.url", "jdbc:sqlite:" + db);
+            }
+            LogManager.initialize();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        initialized = true;
+    }
+
+    /**
+     * Creates a player of the given difficulty.
+     */
+    static Player newPlayer(Player.DifficultyLevel difficulty) {
+        initialize();
+        Player player = new Player(difficulty);
+        player.setName("benchmark");
+        return player;
+    }
+
+    /**
+     * Starts a game on the given levels, so the engine accepts commands.
+     */
+    static void startGame(Player player, List<Level> levels) {
+        player.setLocation(levels.get(0).getStartingRoom());
+        GameEngine.getInstance().startGame(player, levels);
+    }
+
+    /**
+     * Generates a game of the given number of levels, as a new game of that difficulty would.
+     */
+    static GameState generateGameState(Player.DifficultyLevel difficulty, int levelCount) {
+        Player player = newPlayer(difficulty);
+        List<Level> levels = new ArrayList<>();
+        for (int i = 1; i <= levelCount; i++) {
+            levels.add(new Level(i, difficulty, GameEngine.getInstance().getItemFactory()));
+        }
+        player.setLocation(levels.get(0).getStartingRoom());
+
+        GameState state = new GameState();
+        state.setPlayer(player);
+        state.setLevels(levels);
+        state.setCurrentLevelIndex(0);
+        return state;
+    }
+}
@@ -0,0 +1,91 @@
+package com.game.benchmark;
+
+import com.game.engine.GameEngine;
+import com.game.item.ToolItem;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.room.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commands through {@link GameEngine#processCommand(String)}, from parsing to the events fired.
+ * <p>
+ * The game is two connected rooms without traps, barriers or treasure, so every command takes
+ * the same path on each call and the player never dies or finishes the level.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandBenchmark {
+    private GameEngine engine;
+    private Player player;
+    private ToolItem torch;
+    private boolean east = true;
+
+    @Setup
+    public void setUp() {
+        player = BenchmarkFixtures.newPlayer(Player.DifficultyLevel.NORMAL);
+
+        Room hall = Room.restore("0,0", "Hall", "A quiet hall.", "Dust covers the floor of the hall.");
+        Room vault = Room.restore("1,0", "Vault", "An empty vault.", "The walls of the vault are bare.");
+        hall.connectRoom("east", vault);
+        vault.connectRoom("west", hall);
+        hall.addItem(new ToolItem("Rope", "A coil of rope.", 3, false, false));
+        vault.addItem(new ToolItem("Rope", "A coil of rope.", 3, false, false));
+
+        Level level = Level.restore(2, 1, Map.of(hall.getRoomId(), hall, vault.getRoomId(), vault), hall, null);
+        BenchmarkFixtures.startGame(player, List.of(level));
+
+        torch = new ToolItem("Torch", "A torch.", 5, false, true);
+        player.pickUp(torch);
+        engine = GameEngine.getInstance();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void refillTorch() {
+        // Using the torch wears it down; it must not break during an iteration
+        torch.setDurability(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Room move() {
+        engine.processCommand(east ? "east" : "west");
+        east = !east;
+        return player.getLocation();
+    }
+
+    @Benchmark
+    public void look() {
+        engine.processCommand("look");
+    }
+
+    @Benchmark
+    public int pickup() {
+        engine.processCommand("pickup rope");
+        // The engine's drop command leaves the item in the inventory, so drop through the player
+        player.dropItem("rope");
+        return player.getInventorySize();
+    }
+
+    @Benchmark
+    public int use() {
+        engine.processCommand("use torch");
+        return torch.getDurability();
+    }
+}
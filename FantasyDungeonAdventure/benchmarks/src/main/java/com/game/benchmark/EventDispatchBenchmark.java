@@ -0,0 +1,127 @@
+package com.game.benchmark;
+
+import com.game.database.PlayerStatisticsService;
+import com.game.engine.GameEngine;
+import com.game.event.GameEvent;
+import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventHandler;
+import com.game.event.GameEventType;
+import com.game.level.Level;
+import com.game.player.Inventory;
+import com.game.player.Player;
+import com.game.room.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameEventDispatcher#fireEvent(GameEventType, Object)} with the handlers of a running game.
+ * <p>
+ * With {@code handlers=engine} only the engine's own handler is registered, as in a game without
+ * a window. With {@code handlers=game} the statistics handler and a handler subscribed to the same
+ * events as the window's are registered too; the window itself needs a display, so that handler
+ * only consumes the event.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventDispatchBenchmark {
+    @Param({"engine", "game"})
+    public String handlers;
+
+    private GameEventDispatcher dispatcher;
+    private Room room;
+    private Room.RoomEventInfo roomEntered;
+    private Inventory.InventoryChangeInfo inventoryChanged;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        Player player = BenchmarkFixtures.newPlayer(Player.DifficultyLevel.NORMAL);
+        room = Room.restore("0,0", "Hall", "A quiet hall.", "Dust covers the floor of the hall.");
+        BenchmarkFixtures.startGame(player, List.of(Level.restore(1, 1, Map.of(room.getRoomId(), room), room, null)));
+
+        // Creating the engine registers its handler
+        GameEngine.getInstance();
+        dispatcher = GameEventDispatcher.getInstance();
+        if ("game".equals(handlers)) {
+            PlayerStatisticsService.getInstance().startSession(player.getName());
+            dispatcher.registerHandler(new WindowShapedHandler(blackhole));
+        }
+
+        roomEntered = new Room.RoomEventInfo(room, player);
+        roomEntered.addEvent(GameEventType.ROOM_DISCOVERED);
+        inventoryChanged = new Inventory.InventoryChangeInfo(player.getInventory(), "Added Torch", 1, 10);
+    }
+
+    @Benchmark
+    public void gameMessage() {
+        dispatcher.fireEvent(GameEventType.GAME_MESSAGE, "You see nothing special.");
+    }
+
+    @Benchmark
+    public void roomEntered() {
+        dispatcher.fireEvent(GameEventType.ROOM_ENTERED, roomEntered);
+    }
+
+    @Benchmark
+    public void inventoryChanged() {
+        dispatcher.fireEvent(GameEventType.INVENTORY_CHANGED, inventoryChanged);
+    }
+
+    @Benchmark
+    public void playerMoved() {
+        dispatcher.fireEvent(GameEventType.PLAYER_MOVED, room);
+    }
+
+    /**
+     * Subscribes to the events the game window handles.
+     */
+    private static final class WindowShapedHandler implements GameEventHandler {
+        private final Set<GameEventType> handledTypes = EnumSet.of(
+            GameEventType.ROOM_DISCOVERED,
+            GameEventType.INVENTORY_CHANGED,
+            GameEventType.GAME_MESSAGE,
+            GameEventType.PLAYER_MOVED,
+            GameEventType.PUZZLE_AVAILABLE,
+            GameEventType.SECRET_DISCOVERED,
+            GameEventType.PUZZLE_SOLVED,
+            GameEventType.GAME_END,
+            GameEventType.ROOM_ENTERED,
+            GameEventType.SAVE_COMPLETED,
+            GameEventType.SAVE_FAILED
+        );
+        private final Blackhole blackhole;
+
+        WindowShapedHandler(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public Set<GameEventType> getHandledEventTypes() {
+            return handledTypes;
+        }
+
+        @Override
+        public void handleEvent(GameEvent event) {
+            blackhole.consume(event.getData());
+        }
+    }
+}
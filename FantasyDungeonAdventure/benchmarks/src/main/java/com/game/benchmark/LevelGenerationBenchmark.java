@@ -0,0 +1,54 @@
+package com.game.benchmark;
+
+import com.game.engine.GameEngine;
+import com.game.item.factory.ItemFactory;
+import com.game.level.Level;
+import com.game.player.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of a level: rooms, connections, items, puzzles and the path to the treasure.
+ * <p>
+ * Each difficulty is measured at fixed grid sizes that span the ranges the difficulties draw
+ * from (4 to 7, 5 to 10 and 7 to 12), so the scores show how generation grows with the size
+ * instead of averaging over random sizes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelGenerationBenchmark {
+    @Param({"EASY", "NORMAL", "HARD"})
+    public Player.DifficultyLevel difficulty;
+
+    // Width and height of the grid
+    @Param({"4", "7", "10", "12"})
+    public int size;
+
+    private ItemFactory itemFactory;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.initialize();
+        itemFactory = GameEngine.getInstance().getItemFactory();
+    }
+
+    @Benchmark
+    public Level generateLevel() {
+        return new Level(1, difficulty, itemFactory, size, size);
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.benchmark;
+
+import com.game.database.DeltaSaveTracker;
+import com.game.database.GameDatabaseService;
+import com.game.database.GameState;
+import com.game.database.SaveResult;
+import com.game.player.Player;
+import com.game.room.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves and loads through {@link GameDatabaseService} on a SQLite file in the temp directory.
+ * <p>
+ * A full save writes the whole game; a delta save appends the rooms changed since the previous
+ * save to the chain, as autosaves do. The round trip saves in full and loads the save back.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    @Param({"EASY", "HARD"})
+    public Player.DifficultyLevel difficulty;
+
+    private GameDatabaseService database;
+    private GameState state;
+    private List<Room> rooms;
+    private int nextRoom;
+    private DeltaSaveTracker tracker;
+    private long savedId;
+
+    @Setup
+    public void setUp() {
+        state = BenchmarkFixtures.generateGameState(difficulty, 3);
+        rooms = new ArrayList<>(state.getLevels().get(0).getRooms().values());
+        database = new GameDatabaseService();
+
+        tracker = new DeltaSaveTracker();
+        database.saveGameState(state, tracker);
+        savedId = database.saveGameState(state, null).getSaveId();
+    }
+
+    @Benchmark
+    public SaveResult saveFull() {
+        return database.saveGameState(state, null);
+    }
+
+    @Benchmark
+    public SaveResult saveDelta() {
+        // One room changed since the last save, as after a move into it
+        Room room = rooms.get(nextRoom++ % rooms.size());
+        room.setVisited(!room.isVisited());
+        return database.saveGameState(state, tracker);
+    }
+
+    @Benchmark
+    public GameState load() {
+        return database.loadGameState(savedId, null);
+    }
+
+    @Benchmark
+    public GameState roundTrip() {
+        SaveResult result = database.saveGameState(state, null);
+        return database.loadGameState(result.getSaveId(), null);
+    }
+}
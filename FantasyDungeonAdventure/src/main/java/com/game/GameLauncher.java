@@ -6,7 +6,9 @@ import javax.swing.UnsupportedLookAndFeelException;
 
 import com.game.gui.GameWindow;
 import com.game.util.LogManager;
+import com.game.util.StartupMetrics;
 
+import java.awt.GraphicsEnvironment;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.io.IOException;
@@ -19,10 +21,17 @@ public class GameLauncher {
     private static final Logger LOGGER = Logger.getLogger(GameLauncher.class.getName());
 
     public static void main(String[] args) {
+        StartupMetrics.markLaunched();
         try {
             // Initialize logging system
             LogManager.initialize();
             LOGGER.info("Starting Fantasy Dungeon Adventure...");
+            if (GraphicsEnvironment.isHeadless()) {
+                // Fail rather than die on the event thread, which would let the
+                // fast-startup training run pass with an archive of a failed start
+                showErrorAndExit("The game window needs a display; none is available (on a server, use xvfb-run)");
+                return;
+            }
 
             // Set system look and feel
             setSystemLookAndFeel();
@@ -60,6 +69,10 @@ public class GameLauncher {
     }
 
     private static void showErrorAndExit(String message) {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println(message);
+            System.exit(1);
+        }
         javax.swing.JOptionPane.showMessageDialog(null,
             message + "\nPlease check the logs for more details.",
             "Error Starting Game",
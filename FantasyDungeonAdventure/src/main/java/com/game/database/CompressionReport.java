@@ -0,0 +1,90 @@
+package com.game.database;
+
+import com.game.database.codec.BlobCompressor;
+import com.game.database.codec.CompressionDictionaryTrainer;
+import com.game.database.codec.DeflateCompressor;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line report of the size and CPU cost of each save compression option,
+ * measured on the full saves in the local database.
+ * <p>
+ * Usage: {@code CompressionReport [sampleCount]}. Dictionaries are trained on one half
+ * of the samples and measured on the other, so the numbers reflect unseen saves.
+ */
+public final class CompressionReport {
+    private static final int[] LEVELS = {1, 6, 9};
+    private static final int ROUNDS = 20;
+
+    private CompressionReport() {
+        // Command-line tool
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        int sampleCount = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        new GameDatabaseService();
+
+        List<byte[]> samples;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            samples = SaveCompression.loadTrainingSamples(conn, sampleCount);
+        }
+        if (samples.size() < 2) {
+            System.out.println("Need at least 2 full saves to measure, found " + samples.size());
+            return;
+        }
+
+        List<byte[]> training = samples.subList(0, samples.size() / 2);
+        List<byte[]> measured = samples.subList(samples.size() / 2, samples.size());
+        byte[] dictionary = CompressionDictionaryTrainer.train(training, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+
+        long rawBytes = measured.stream().mapToLong(sample -> sample.length).sum();
+        System.out.printf("%d saves measured, %d bytes raw, dictionary %d bytes%n",
+            measured.size(), rawBytes, dictionary.length);
+        System.out.printf("%-14s %5s %10s %7s %14s %16s%n",
+            "codec", "level", "stored", "ratio", "compress us", "decompress us");
+        for (int level : LEVELS) {
+            report(new DeflateCompressor(SaveCompression.DEFLATE, level, null), level, measured, rawBytes);
+        }
+        if (dictionary.length > 0) {
+            for (int level : LEVELS) {
+                report(new DeflateCompressor(SaveCompression.DEFLATE_DICT, level, dictionary), level, measured, rawBytes);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void report(BlobCompressor compressor, int level, List<byte[]> samples, long rawBytes)
+            throws IOException {
+        long storedBytes = 0;
+        long compressNanos = 0;
+        long decompressNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (byte[] sample : samples) {
+                long start = System.nanoTime();
+                byte[] compressed = compressor.compress(sample);
+                long middle = System.nanoTime();
+                byte[] restored = compressor.decompress(compressed);
+                long end = System.nanoTime();
+                if (!Arrays.equals(sample, restored)) {
+                    throw new IOException(compressor.getId() + " did not round-trip");
+                }
+                // The first round only warms up the JIT
+                if (round > 0) {
+                    compressNanos += middle - start;
+                    decompressNanos += end - middle;
+                } else {
+                    storedBytes += compressed.length;
+                }
+            }
+        }
+        long operations = (long) (ROUNDS - 1) * samples.size();
+        System.out.printf("%-14s %5d %10d %6.1f%% %14.1f %16.1f%n",
+            compressor.getId(), level, storedBytes, 100.0 * storedBytes / rawBytes,
+            compressNanos / 1000.0 / operations, decompressNanos / 1000.0 / operations);
+    }
+}
@@ -1,31 +1,124 @@
 package com.game.database;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
  * Manages database configuration and connections.
+ * <p>
+ * Connections come from a small pool of long-lived SQLite connections. Closing a
+ * connection returns it to the pool, and prepared statements are cached per connection,
+ * so callers keep the usual try-with-resources style without paying for connection
+ * setup or statement compilation on every operation.
+ * <p>
+ * Settings are read from system properties:
+ * {@code game.db.url}, {@code game.db.poolSize}, {@code game.db.journalMode},
+ * {@code game.db.synchronous}, {@code game.db.cacheSizeKb} and {@code game.db.busyTimeoutMs}.
  */
 public class DatabaseConfig {
     private static final Logger LOGGER = Logger.getLogger(DatabaseConfig.class.getName());
-    private static final String DB_URL = "jdbc:sqlite:game_saves.db";
-    
+    private static final String DB_URL = System.getProperty("game.db.url", "jdbc:sqlite:game_saves.db");
+    private static final int POOL_SIZE = Math.max(1, Integer.getInteger("game.db.poolSize", 3));
+    private static final String JOURNAL_MODE = System.getProperty("game.db.journalMode", "WAL");
+    private static final String SYNCHRONOUS = System.getProperty("game.db.synchronous", "NORMAL");
+    private static final int CACHE_SIZE_KB = Integer.getInteger("game.db.cacheSizeKb", 8192);
+    private static final int BUSY_TIMEOUT_MS = Integer.getInteger("game.db.busyTimeoutMs", 5000);
+    private static final int STATEMENT_CACHE_SIZE = 32;
+    private static final Pattern PRAGMA_VALUE = Pattern.compile("[A-Za-z]+");
+
+    private static final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+    private static int openConnections;
+    private static boolean closed;
+    private static boolean driverLoaded;
+
     private DatabaseConfig() {
         // Private constructor to prevent instantiation
     }
-    
+
     /**
-     * Gets a database connection.
+     * Gets a pooled database connection. Closing it returns it to the pool.
      * @return A Connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
+        PooledConnection pooled = idle.poll();
+        while (pooled != null && !pooled.isUsable()) {
+            pooled.discard();
+            pooled = idle.poll();
+        }
+        if (pooled == null) {
+            pooled = openOrWait();
+        }
+        return pooled.lease();
+    }
+
+    /**
+     * Closes all idle connections; connections still in use are closed when released.
+     */
+    public static void closeAll() {
+        synchronized (DatabaseConfig.class) {
+            closed = true;
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.discard();
+        }
+    }
+
+    private static PooledConnection openOrWait() throws SQLException {
+        synchronized (DatabaseConfig.class) {
+            if (closed) {
+                throw new SQLException("Database connections have been closed");
+            }
+            if (openConnections < POOL_SIZE) {
+                PooledConnection pooled = new PooledConnection(openPhysicalConnection());
+                openConnections++;
+                return pooled;
+            }
+        }
         try {
-            // Ensure SQLite JDBC driver is loaded
-            Class.forName("org.sqlite.JDBC");
-            return DriverManager.getConnection(DB_URL);
+            PooledConnection pooled = idle.poll(BUSY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (pooled == null) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+            return pooled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private static Connection openPhysicalConnection() throws SQLException {
+        try {
+            if (!driverLoaded) {
+                // Ensure SQLite JDBC driver is loaded
+                Class.forName("org.sqlite.JDBC");
+                driverLoaded = true;
+            }
+            // Write transactions take the write lock up front, so what they read cannot be
+            // changed by another writer before they commit
+            Properties properties = new Properties();
+            properties.setProperty("transaction_mode", "IMMEDIATE");
+            Connection conn = DriverManager.getConnection(DB_URL, properties);
+            applyPragmas(conn);
+            return conn;
         } catch (ClassNotFoundException e) {
             String errorMsg = String.format("SQLite JDBC driver not found. Please ensure SQLite dependency is properly included. Error: %s", e.getMessage());
             LOGGER.severe(errorMsg);
@@ -36,4 +129,252 @@ public class DatabaseConfig {
             throw new SQLException(errorMsg, e);
         }
     }
+
+    private static void applyPragmas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=" + pragmaValue("journalMode", JOURNAL_MODE));
+            stmt.execute("PRAGMA synchronous=" + pragmaValue("synchronous", SYNCHRONOUS));
+            // A negative cache size is in KiB rather than pages
+            stmt.execute("PRAGMA cache_size=-" + Math.max(0, CACHE_SIZE_KB));
+            stmt.execute("PRAGMA busy_timeout=" + Math.max(0, BUSY_TIMEOUT_MS));
+        }
+    }
+
+    private static String pragmaValue(String name, String value) throws SQLException {
+        if (!PRAGMA_VALUE.matcher(value).matches()) {
+            throw new SQLException("Invalid value for game.db." + name + ": " + value);
+        }
+        return value;
+    }
+
+    private static void release(PooledConnection pooled) {
+        boolean discard;
+        synchronized (DatabaseConfig.class) {
+            discard = closed || !pooled.isUsable();
+        }
+        if (discard) {
+            pooled.discard();
+        } else {
+            idle.offer(pooled);
+        }
+    }
+
+    /**
+     * A physical connection plus its statement cache. Handed out as a proxy whose
+     * close() returns the connection to the pool instead of closing it.
+     * <p>
+     * The cache keeps the {@value #STATEMENT_CACHE_SIZE} most recently used statements. A
+     * statement pushed out while a caller still holds it is closed once that caller closes
+     * it, or at the latest when the connection goes back to the pool.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        private final Map<String, CachedStatement> statements;
+        // Statements out of the cache that are still held, closed when they come back
+        private final List<CachedStatement> retired = new ArrayList<>();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) {
+                        return false;
+                    }
+                    if (eldest.getValue().owner == null) {
+                        closeQuietly(eldest.getValue().statement);
+                    } else {
+                        retired.add(eldest.getValue());
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(this));
+        }
+
+        boolean isUsable() {
+            try {
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Hands out the cached statement for the SQL to the given owner until it is checked in.
+         */
+        synchronized CachedStatement checkOut(String sql, int autoGeneratedKeys, Object owner) throws SQLException {
+            String key = autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && cached.statement.isClosed()) {
+                statements.remove(key);
+                cached = null;
+            }
+            if (cached == null) {
+                cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+                cached.owner = owner;
+                statements.put(key, cached);
+            } else if (cached.owner != null) {
+                // Still open further up the caller's stack, so this use gets a statement of its own
+                cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+                cached.owner = owner;
+                retired.add(cached);
+            } else {
+                cached.owner = owner;
+            }
+            return cached;
+        }
+
+        synchronized void checkIn(CachedStatement cached, Object owner) throws SQLException {
+            if (cached.owner != owner) {
+                return;
+            }
+            cached.owner = null;
+            if (retired.remove(cached)) {
+                closeQuietly(cached.statement);
+            } else {
+                // Keep the compiled statement for the next caller
+                cached.statement.clearParameters();
+            }
+        }
+
+        synchronized boolean isCheckedOut(CachedStatement cached, Object owner) {
+            return cached.owner == owner;
+        }
+
+        void reset() throws SQLException {
+            reclaimStatements();
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        }
+
+        /**
+         * Takes back statements the last lease left open, as they end with their connection.
+         */
+        private synchronized void reclaimStatements() {
+            for (CachedStatement cached : retired) {
+                closeQuietly(cached.statement);
+            }
+            retired.clear();
+            for (CachedStatement cached : statements.values()) {
+                cached.owner = null;
+            }
+        }
+
+        void discard() {
+            synchronized (this) {
+                for (CachedStatement cached : statements.values()) {
+                    closeQuietly(cached.statement);
+                }
+                statements.clear();
+                for (CachedStatement cached : retired) {
+                    closeQuietly(cached.statement);
+                }
+                retired.clear();
+            }
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOGGER.warning("Failed to close database connection: " + e.getMessage());
+            }
+            synchronized (DatabaseConfig.class) {
+                openConnections--;
+            }
+        }
+
+        private static void closeQuietly(Statement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                LOGGER.fine(() -> "Failed to close cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A prepared statement and the caller currently using it, if any.
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private Object owner;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    private static final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (!released) {
+                    released = true;
+                    try {
+                        pooled.reset();
+                    } finally {
+                        release(pooled);
+                    }
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return released || !pooled.isUsable();
+            }
+            if (released) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+            if (name.equals("prepareStatement") && args != null && args[0] instanceof String
+                    && (args.length == 1 || (args.length == 2 && args[1] instanceof Integer))) {
+                int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return cachedStatement((String) args[0], keys);
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private PreparedStatement cachedStatement(String sql, int autoGeneratedKeys) throws SQLException {
+            Object owner = new Object();
+            CachedStatement cached = pooled.checkOut(sql, autoGeneratedKeys, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            pooled.checkIn(cached, owner);
+                            return null;
+                        case "isClosed":
+                            return !pooled.isCheckedOut(cached, owner);
+                        default:
+                            if (!pooled.isCheckedOut(cached, owner)) {
+                                throw new SQLException("Statement has been closed");
+                            }
+                            try {
+                                return method.invoke(cached.statement, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+        }
+    }
 }
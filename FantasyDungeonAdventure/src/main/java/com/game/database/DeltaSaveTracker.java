@@ -0,0 +1,170 @@
+package com.game.database;
+
+import com.game.database.codec.LazyLevelList;
+import com.game.level.Level;
+import com.game.room.Room;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the save chain of one game session so later saves can be written as deltas.
+ * <p>
+ * Snapshots are taken on the game thread and written later, so the tracker keeps two
+ * views: which levels the last snapshot contained (used when encoding the next delta) and
+ * the row id of the last snapshot actually written (used as the delta parent). Levels are
+ * compared by {@link LazyLevelList#identitiesOf identity} so levels of a loaded save that
+ * were never decoded are not decoded just to be saved again.
+ * Each chain has an epoch; a failed write resets the chain so queued deltas that depend
+ * on the missing row are rejected and the next save is a full snapshot.
+ */
+public class DeltaSaveTracker {
+    private static final long NO_SAVE = -1;
+
+    private int epoch;
+    private boolean chainStarted;
+    private long lastSaveId = NO_SAVE;
+    private List<Object> savedLevels = new ArrayList<>();
+
+    /**
+     * @return true if a previous snapshot exists that a delta can be chained to
+     */
+    public synchronized boolean hasBase() {
+        return chainStarted;
+    }
+
+    public synchronized int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @param snapshotEpoch The epoch a snapshot was taken in
+     * @return true if the chain that snapshot belongs to is still intact
+     */
+    public synchronized boolean isCurrent(int snapshotEpoch) {
+        return chainStarted && snapshotEpoch == epoch;
+    }
+
+    /**
+     * @return the row id of the last written save of the chain, or -1 if none was written yet
+     */
+    public synchronized long getLastSaveId() {
+        return lastSaveId;
+    }
+
+    public synchronized List<Object> getSavedLevels() {
+        return new ArrayList<>(savedLevels);
+    }
+
+    /**
+     * Collects the rooms changed since the last snapshot for levels that were part of it.
+     * @param state The state about to be saved
+     * @return Changed rooms per level
+     */
+    public synchronized Map<Level, List<Room>> collectChangedRooms(GameState state) {
+        Map<Level, List<Room>> changed = new IdentityHashMap<>();
+        List<Level> levels = state.getLevels();
+        List<Object> identities = LazyLevelList.identitiesOf(levels);
+        for (int i = 0; i < levels.size() && i < savedLevels.size(); i++) {
+            if (savedLevels.get(i) == identities.get(i) && LazyLevelList.isLoaded(levels, i)) {
+                Level level = levels.get(i);
+                List<Room> rooms = level.getDirtyRooms();
+                if (!rooms.isEmpty()) {
+                    changed.put(level, rooms);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Records a full snapshot as the new base of the chain and marks everything clean.
+     * @param state The state that was captured
+     */
+    public synchronized void markFullSnapshot(GameState state) {
+        List<Level> levels = state.getLevels();
+        for (int i = 0; i < levels.size(); i++) {
+            // Levels that were never decoded have no changes to clear
+            if (LazyLevelList.isLoaded(levels, i)) {
+                levels.get(i).markClean();
+            }
+        }
+        if (state.getPlayer() != null) {
+            state.getPlayer().clearDirty();
+        }
+        chainStarted = true;
+        savedLevels = LazyLevelList.identitiesOf(levels);
+    }
+
+    /**
+     * Records a delta as the new tip of the chain and clears the dirty flags it covered.
+     * @param state The state that was captured
+     * @param writtenRooms The rooms written per patched level
+     * @param playerWritten Whether the delta contained the player record
+     */
+    public synchronized void markDeltaSnapshot(GameState state, Map<Level, List<Room>> writtenRooms,
+                                               boolean playerWritten) {
+        List<Level> levels = state.getLevels();
+        List<Object> identities = LazyLevelList.identitiesOf(levels);
+        for (int i = 0; i < levels.size(); i++) {
+            if (!LazyLevelList.isLoaded(levels, i)) {
+                continue;
+            }
+            Level level = levels.get(i);
+            if (i >= savedLevels.size() || savedLevels.get(i) != identities.get(i)) {
+                // Level was written in full
+                level.markClean();
+            } else if (writtenRooms.containsKey(level)) {
+                level.clearDirtyRooms(writtenRooms.get(level));
+            }
+        }
+        if (playerWritten && state.getPlayer() != null) {
+            state.getPlayer().clearDirty();
+        }
+        savedLevels = identities;
+    }
+
+    /**
+     * Records the row a snapshot was written to, making it the parent of the next delta.
+     * @param snapshotEpoch The epoch the snapshot was taken in
+     * @param saveId The row id it was written to
+     */
+    public synchronized void recordWrite(int snapshotEpoch, long saveId) {
+        if (snapshotEpoch == epoch) {
+            lastSaveId = saveId;
+        }
+    }
+
+    /**
+     * Continues the chain from a save that was just loaded.
+     * @param saveId The row id of the loaded save
+     * @param state The loaded state
+     */
+    public synchronized void markLoaded(long saveId, GameState state) {
+        reset();
+        markFullSnapshot(state);
+        lastSaveId = saveId;
+    }
+
+    /**
+     * Abandons the chain of the given epoch after a failed write.
+     * @param snapshotEpoch The epoch of the snapshot that failed
+     */
+    public synchronized void invalidate(int snapshotEpoch) {
+        if (snapshotEpoch == epoch) {
+            reset();
+        }
+    }
+
+    /**
+     * Forgets the chain, e.g. when a new game starts. The next save will be a full snapshot.
+     */
+    public synchronized void reset() {
+        epoch++;
+        chainStarted = false;
+        lastSaveId = NO_SAVE;
+        savedLevels = new ArrayList<>();
+    }
+}
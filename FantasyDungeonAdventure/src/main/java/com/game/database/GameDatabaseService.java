@@ -1,13 +1,23 @@
 package com.game.database;
 
+import com.game.database.codec.GameStateCodec;
+import com.game.database.codec.LevelSections;
+
 import java.sql.*;
-import java.util.Date;
 import java.io.*;
 import java.util.*;
 import java.util.logging.Logger;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 
-public class GameDatabaseService {
+/**
+ * The SQLite save store. Each save is a row of game_saves holding the compressed blob,
+ * its place in the delta chain and the metadata the save browser lists. Full saves keep
+ * their level sections in the shared chunk tables instead, see {@link SaveChunkStore}.
+ */
+public class GameDatabaseService implements SaveStore {
     private static final Logger LOGGER = Logger.getLogger(GameDatabaseService.class.getName());
     
     private static final String CREATE_SAVES_TABLE = 
@@ -15,17 +25,80 @@ public class GameDatabaseService {
         "id INTEGER PRIMARY KEY AUTOINCREMENT," +
         "save_name TEXT NOT NULL," +
         "player_data BLOB NOT NULL," +
-        "save_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+        "save_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+        "parent_id INTEGER," +
+        "chain_depth INTEGER NOT NULL DEFAULT 0," +
+        "level_index INTEGER," +
+        "power_points INTEGER," +
+        "rooms_explored INTEGER," +
+        "difficulty TEXT," +
+        "play_time_seconds INTEGER," +
+        "blob_size INTEGER," +
+        "raw_size INTEGER," +
+        "blob_codec TEXT," +
+        "level_chunks INTEGER NOT NULL DEFAULT 0" +
         ")";
 
+    // Every column the save browser sorts by is indexed, plus save_name for loading by name
+    private static final String[] CREATE_INDEXES = {
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_name ON game_saves(save_name)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_date ON game_saves(save_date)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_level ON game_saves(level_index)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_power ON game_saves(power_points)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_rooms ON game_saves(rooms_explored)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_difficulty ON game_saves(difficulty)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_play_time ON game_saves(play_time_seconds)",
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_size ON game_saves(blob_size)",
+        // Deleting a save looks up the saves chained to it
+        "CREATE INDEX IF NOT EXISTS idx_game_saves_parent ON game_saves(parent_id)"
+    };
+
+    private static final String SUMMARY_COLUMNS =
+        "id, save_name, save_date, level_index, power_points, rooms_explored, difficulty, play_time_seconds, blob_size";
+
+    // The schema only needs to be checked once per process, not per service instance
+    private static boolean schemaInitialized;
+
     public GameDatabaseService() {
         initializeDatabase();
     }
 
-    private void initializeDatabase() {
+    private static synchronized void initializeDatabase() {
+        if (schemaInitialized) {
+            return;
+        }
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement()) {
             stmt.execute(CREATE_SAVES_TABLE);
+            // Databases created before delta saves lack the chain columns
+            ensureColumn(conn, "game_saves", "parent_id", "INTEGER");
+            ensureColumn(conn, "game_saves", "chain_depth", "INTEGER NOT NULL DEFAULT 0");
+            // ... and the metadata columns; old rows only get their blob size backfilled
+            ensureColumn(conn, "game_saves", "level_index", "INTEGER");
+            ensureColumn(conn, "game_saves", "power_points", "INTEGER");
+            ensureColumn(conn, "game_saves", "rooms_explored", "INTEGER");
+            ensureColumn(conn, "game_saves", "difficulty", "TEXT");
+            ensureColumn(conn, "game_saves", "play_time_seconds", "INTEGER");
+            ensureColumn(conn, "game_saves", "blob_size", "INTEGER");
+            stmt.executeUpdate("UPDATE game_saves SET blob_size = length(player_data) WHERE blob_size IS NULL");
+            // Rows written before compression are stored raw, which a NULL blob_codec means
+            ensureColumn(conn, "game_saves", "raw_size", "INTEGER");
+            ensureColumn(conn, "game_saves", "blob_codec", "TEXT");
+            stmt.executeUpdate("UPDATE game_saves SET raw_size = blob_size WHERE raw_size IS NULL AND blob_codec IS NULL");
+            stmt.execute(SaveCompression.CREATE_DICTIONARIES_TABLE);
+            // Rows written before level chunks hold their whole save, which 0 level_chunks means
+            ensureColumn(conn, "game_saves", "level_chunks", "INTEGER NOT NULL DEFAULT 0");
+            stmt.execute(SaveChunkStore.CREATE_CHUNKS_TABLE);
+            stmt.execute(SaveChunkStore.CREATE_REFS_TABLE);
+            stmt.execute(SaveChunkStore.CREATE_REFS_INDEX);
+            for (String index : CREATE_INDEXES) {
+                stmt.execute(index);
+            }
+            int collected = SaveChunkStore.collectGarbage(conn);
+            if (collected > 0) {
+                LOGGER.info("Deleted " + collected + " unreferenced level chunks");
+            }
+            schemaInitialized = true;
             LOGGER.info("Database initialized successfully");
         } catch (SQLException e) {
             LOGGER.severe("Failed to initialize database: " + e.getMessage());
@@ -33,51 +106,396 @@ public class GameDatabaseService {
         }
     }
 
+    private static void ensureColumn(Connection conn, String table, String column, String definition) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    /**
+     * Saves a full snapshot of the game state.
+     * @param state The state to save
+     */
     public void saveGameState(GameState state) {
-        if (state == null || state.getPlayer() == null) {
-            throw new IllegalArgumentException("Invalid game state");
+        saveGameState(state, null);
+    }
+
+    /**
+     * Saves the game state synchronously, appending a delta to the session's save chain
+     * when possible. The first save of a chain, or any save without a tracker, writes a
+     * full snapshot. Use SaveGamePipeline to keep the write off the game thread.
+     *
+     * @param state The state to save
+     * @param tracker The session's save chain, or null for a standalone full save
+     * @return The outcome of the save
+     */
+    public SaveResult saveGameState(GameState state, DeltaSaveTracker tracker) {
+        return writeSnapshot(SaveSnapshot.capture(state, tracker));
+    }
+
+    @Override
+    public SaveResult writeSnapshot(SaveSnapshot snapshot) {
+        SaveRequest request = new SaveRequest(snapshot);
+        writeSnapshots(List.of(request));
+        return request.join();
+    }
+
+    /**
+     * Writes the whole batch in one transaction, so SQLite takes the write lock and syncs
+     * once per batch rather than once per save. Each save is written under its own
+     * savepoint, so a save that fails is rolled back without failing the rest. Requests
+     * are completed only after the commit. A compression dictionary that is due is trained
+     * and committed before the batch starts.
+     */
+    @Override
+    public void writeSnapshots(List<SaveRequest> requests) {
+        SaveCompression.trainDictionaryIfDue();
+        List<WrittenSave> written = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // Unfinished transactions are rolled back when the connection goes back to the pool
+            conn.setAutoCommit(false);
+            for (SaveRequest request : requests) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    written.add(writeRow(conn, request));
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback(savepoint);
+                    failSave(request, e);
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            for (SaveRequest request : requests) {
+                if (!request.getFuture().isDone()) {
+                    failSave(request, e);
+                }
+            }
+            return;
+        }
+
+        for (WrittenSave save : written) {
+            SaveSnapshot snapshot = save.request.getSnapshot();
+            LOGGER.info("Game saved successfully: " + snapshot.getSaveName() + " (" + (snapshot.isDelta() ? "delta, " : "")
+                + snapshot.getData().length + " bytes, " + save.result.getSizeBytes() + " stored)");
+            if (save.depth >= SaveChains.MAX_CHAIN_DEPTH) {
+                SaveChainCompactor.getInstance().scheduleCompaction(this, save.result.getSaveId());
+            }
+            save.request.complete(save.result);
         }
+    }
 
-        String saveName = generateSaveName(state.getPlayer().getName());
-        byte[] serializedState = serializeGameState(state);
+    private WrittenSave writeRow(Connection conn, SaveRequest request) throws SQLException {
+        SaveSnapshot snapshot = request.getSnapshot();
+        DeltaSaveTracker tracker = snapshot.getTracker();
+        byte[] data = snapshot.getData();
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(
-                 "INSERT INTO game_saves (save_name, player_data) VALUES (?, ?)")) {
+        Long parentId = SaveChains.resolveParent(snapshot);
+        int depth = 0;
+        if (parentId != null) {
+            Integer parentDepth = findChainDepth(conn, parentId);
+            if (parentDepth == null) {
+                throw new SQLException("Parent save " + parentId + " no longer exists");
+            }
+            depth = parentDepth + 1;
+        }
+
+        LevelSections sections = snapshot.isDelta() ? null : splitLevelSections(data);
+        SaveChunkStore.PreparedChunks chunks = null;
+        SaveCompression.Compressed blob;
+        if (sections != null) {
+            blob = SaveCompression.compress(conn, sections.getHead());
+            chunks = SaveChunkStore.prepare(conn, sections.getLevels());
+        } else {
+            blob = SaveCompression.compress(conn, data);
+        }
+        long saveId = insertSave(conn, snapshot, blob, chunks, parentId, depth);
+        if (chunks != null) {
+            SaveChunkStore.attach(conn, saveId, chunks);
+        }
+        if (tracker != null) {
+            // Recorded before the commit so later deltas of the same batch chain to this row;
+            // if the commit fails the chain is invalidated
+            tracker.recordWrite(snapshot.getEpoch(), saveId);
+        }
+        int stored = blob.data.length + (chunks != null ? chunks.newStoredSize : 0);
+        SaveResult result = new SaveResult(snapshot.getSaveName(), saveId, stored, snapshot.isDelta(),
+            snapshot.isAutosave());
+        return new WrittenSave(request, result, depth);
+    }
+
+    private void failSave(SaveRequest request, Exception e) {
+        SaveSnapshot snapshot = request.getSnapshot();
+        if (snapshot.getTracker() != null) {
+            // The next save has nothing to chain to and must be a full snapshot
+            snapshot.getTracker().invalidate(snapshot.getEpoch());
+        }
+        LOGGER.severe("Error saving game state: " + e.getMessage());
+        request.fail(new RuntimeException("Failed to save game state", e));
+    }
+
+    private static final class WrittenSave {
+        final SaveRequest request;
+        final SaveResult result;
+        final int depth;
+
+        WrittenSave(SaveRequest request, SaveResult result, int depth) {
+            this.request = request;
+            this.result = result;
+            this.depth = depth;
+        }
+    }
+
+    private long insertSave(Connection conn, SaveSnapshot snapshot, SaveCompression.Compressed blob,
+                            SaveChunkStore.PreparedChunks chunks, Long parentId, int depth) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT INTO game_saves (save_name, player_data, parent_id, chain_depth, level_index, power_points, " +
+                 "rooms_explored, difficulty, play_time_seconds, blob_size, raw_size, blob_codec, level_chunks) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                 Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setString(1, saveName);
-            pstmt.setBytes(2, serializedState);
+            SaveMetadata metadata = snapshot.getMetadata();
+            pstmt.setString(1, snapshot.getSaveName());
+            pstmt.setBytes(2, blob.data);
+            if (parentId != null) {
+                pstmt.setLong(3, parentId);
+            } else {
+                pstmt.setNull(3, Types.INTEGER);
+            }
+            pstmt.setInt(4, depth);
+            pstmt.setInt(5, metadata.getLevelIndex());
+            pstmt.setInt(6, metadata.getPowerPoints());
+            pstmt.setInt(7, metadata.getRoomsExplored());
+            pstmt.setString(8, metadata.getDifficulty());
+            pstmt.setLong(9, metadata.getPlayTimeSeconds());
+            pstmt.setInt(10, blob.data.length + (chunks != null ? chunks.storedSize : 0));
+            pstmt.setInt(11, snapshot.getData().length);
+            pstmt.setString(12, blob.codecId);
+            pstmt.setInt(13, chunks != null ? chunks.hashes.size() : 0);
             
             int result = pstmt.executeUpdate();
             if (result != 1) {
                 throw new SQLException("Failed to save game state");
             }
-            
-            LOGGER.info("Game saved successfully: " + saveName);
-        } catch (SQLException e) {
-            LOGGER.severe("Error saving game state: " + e.getMessage());
-            throw new RuntimeException("Failed to save game state", e);
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return keys.getLong(1);
+                }
+            }
+            throw new SQLException("Failed to read id of saved game");
+        }
+    }
+
+    private Integer findChainDepth(Connection conn, long saveId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT chain_depth FROM game_saves WHERE id = ?")) {
+            pstmt.setLong(1, saveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
         }
     }
 
     public GameState loadGameState(String saveName) {
+        return loadGameState(saveName, null);
+    }
+
+    @Override
+    public GameState loadGameState(String saveName, DeltaSaveTracker tracker) {
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(
-                 "SELECT player_data FROM game_saves WHERE save_name = ?")) {
+                 "SELECT id FROM game_saves WHERE save_name = ? ORDER BY id DESC LIMIT 1")) {
             
             pstmt.setString(1, saveName);
             
+            long saveId;
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    byte[] stateBytes = rs.getBytes("player_data");
-                    return deserializeGameState(stateBytes);
+                if (!rs.next()) {
+                    return null;
                 }
+                saveId = rs.getLong("id");
             }
+            // On the same connection, so a load never waits for a second one from the pool
+            return loadGameState(conn, saveId, tracker);
+        } catch (Exception e) {
+            LOGGER.severe("Error loading game state: " + e.getMessage());
+            throw new RuntimeException("Failed to load game state", e);
+        }
+    }
+
+    @Override
+    public GameState loadGameState(long saveId, DeltaSaveTracker tracker) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            return loadGameState(conn, saveId, tracker);
         } catch (Exception e) {
             LOGGER.severe("Error loading game state: " + e.getMessage());
             throw new RuntimeException("Failed to load game state", e);
         }
-        return null;
+    }
+
+    private GameState loadGameState(Connection conn, long saveId, DeltaSaveTracker tracker) throws SQLException {
+        Long playTime;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT play_time_seconds FROM game_saves WHERE id = ?")) {
+            pstmt.setLong(1, saveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                playTime = rs.getLong(1);
+            }
+        }
+
+        GameState state = loadChain(conn, saveId);
+        state.setPlayTimeSeconds(playTime);
+        if (tracker != null) {
+            tracker.markLoaded(saveId, state);
+        }
+        return state;
+    }
+
+    @Override
+    public void compactSave(long saveId) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            compactSave(conn, saveId);
+            conn.commit();
+            LOGGER.fine(() -> "Compacted save chain at save " + saveId);
+        } catch (SQLException e) {
+            LOGGER.warning("Failed to compact save " + saveId + ": " + e.getMessage());
+        }
+    }
+
+    private void compactSave(Connection conn, long saveId) throws SQLException {
+        GameState state = loadChain(conn, saveId);
+        byte[] snapshot = SaveChains.serializeGameState(state);
+        LevelSections sections = splitLevelSections(snapshot);
+        SaveCompression.Compressed blob = SaveCompression.compress(conn, sections.getHead());
+        SaveChunkStore.PreparedChunks chunks = SaveChunkStore.prepare(conn, sections.getLevels());
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "UPDATE game_saves SET player_data = ?, parent_id = NULL, chain_depth = 0, " +
+                 "blob_size = ?, raw_size = ?, blob_codec = ?, level_chunks = ? WHERE id = ?")) {
+            pstmt.setBytes(1, blob.data);
+            pstmt.setInt(2, blob.data.length + chunks.storedSize);
+            pstmt.setInt(3, snapshot.length);
+            pstmt.setString(4, blob.codecId);
+            pstmt.setInt(5, chunks.hashes.size());
+            pstmt.setLong(6, saveId);
+            pstmt.executeUpdate();
+        }
+        SaveChunkStore.attach(conn, saveId, chunks);
+    }
+
+    private LevelSections splitLevelSections(byte[] data) {
+        try {
+            return GameStateCodec.splitLevelSections(data);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to split save into level chunks", e);
+        }
+    }
+
+    @Override
+    public boolean deleteSave(long saveId) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            // Children need this save's state, so fold it into them first
+            List<Long> children = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id FROM game_saves WHERE parent_id = ?")) {
+                pstmt.setLong(1, saveId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        children.add(rs.getLong(1));
+                    }
+                }
+            }
+            for (long child : children) {
+                compactSave(conn, child);
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM game_saves WHERE id = ?")) {
+                pstmt.setLong(1, saveId);
+                boolean deleted = pstmt.executeUpdate() == 1;
+                SaveChunkStore.release(conn, saveId);
+                conn.commit();
+                if (deleted) {
+                    LOGGER.info("Deleted save " + saveId);
+                }
+                return deleted;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error deleting save " + saveId + ": " + e.getMessage());
+            throw new RuntimeException("Failed to delete save", e);
+        }
+    }
+
+    @Override
+    public boolean deleteUnreferencedSave(long saveId) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT 1 FROM game_saves WHERE parent_id = ? LIMIT 1")) {
+                pstmt.setLong(1, saveId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM game_saves WHERE id = ?")) {
+                pstmt.setLong(1, saveId);
+                boolean deleted = pstmt.executeUpdate() == 1;
+                SaveChunkStore.release(conn, saveId);
+                conn.commit();
+                if (deleted) {
+                    LOGGER.fine(() -> "Deleted save " + saveId);
+                }
+                return deleted;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error deleting save " + saveId + ": " + e.getMessage());
+            throw new RuntimeException("Failed to delete save", e);
+        }
+    }
+
+    private GameState loadChain(Connection conn, long saveId) throws SQLException {
+        Deque<byte[]> chain = new ArrayDeque<>();
+        Set<Long> seen = new HashSet<>();
+        Long currentId = saveId;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT player_data, blob_codec, parent_id, level_chunks FROM game_saves WHERE id = ?")) {
+            while (currentId != null) {
+                if (!seen.add(currentId)) {
+                    throw new SQLException("Save chain contains a cycle at save " + currentId);
+                }
+                pstmt.setLong(1, currentId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Save chain is broken, missing save " + currentId);
+                    }
+                    byte[] data = decompress(conn, currentId, rs.getString("blob_codec"), rs.getBytes("player_data"));
+                    int levelChunks = rs.getInt("level_chunks");
+                    long parentId = rs.getLong("parent_id");
+                    Long nextId = rs.wasNull() ? null : parentId;
+                    if (levelChunks > 0) {
+                        data = SaveChunkStore.join(conn, currentId, data, levelChunks);
+                    }
+                    chain.push(data);
+                    currentId = nextId;
+                }
+            }
+        }
+
+        return SaveChains.replay(chain);
     }
 
     public List<String> getAvailableSaves() {
@@ -98,26 +516,103 @@ public class GameDatabaseService {
         return saves;
     }
 
-    private String generateSaveName(String playerName) {
-        return playerName + "_" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    @Override
+    public int countSaves() {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM game_saves");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            LOGGER.severe("Error counting save files: " + e.getMessage());
+            throw new RuntimeException("Failed to count save files", e);
+        }
     }
 
-    private byte[] serializeGameState(GameState state) {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            oos.writeObject(state);
-            return bos.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to serialize game state", e);
+    @Override
+    public List<SaveSummary> listSaves(SaveSortField sortField, boolean descending, int offset, int limit) {
+        String direction = descending ? "DESC" : "ASC";
+        String query = "SELECT " + SUMMARY_COLUMNS + " FROM game_saves ORDER BY " + sortField.getColumn() + " " + direction
+            + ", id " + direction + " LIMIT ? OFFSET ?";
+        List<SaveSummary> saves = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, limit);
+            pstmt.setInt(2, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    saves.add(readSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error retrieving save files: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve save files", e);
+        }
+        return saves;
+    }
+
+    @Override
+    public List<SaveSummary> findSavesByNamePrefix(String prefix) {
+        // A range rather than LIKE so the save_name index is used and '_' is not a wildcard
+        String query = "SELECT " + SUMMARY_COLUMNS + " FROM game_saves WHERE save_name >= ? AND save_name < ? ORDER BY id";
+        List<SaveSummary> saves = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, prefix);
+            pstmt.setString(2, prefix + Character.MAX_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    saves.add(readSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error retrieving saves for " + prefix + ": " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve save files", e);
+        }
+        return saves;
+    }
+
+    private SaveSummary readSummary(ResultSet rs) throws SQLException {
+        return new SaveSummary(
+            rs.getLong("id"),
+            rs.getString("save_name"),
+            parseSaveDate(rs.getString("save_date")),
+            getNullableInt(rs, "level_index"),
+            getNullableInt(rs, "power_points"),
+            getNullableInt(rs, "rooms_explored"),
+            rs.getString("difficulty"),
+            getNullableLong(rs, "play_time_seconds"),
+            getNullableInt(rs, "blob_size"));
+    }
+
+    private Integer getNullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private Long getNullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private Instant parseSaveDate(String saveDate) {
+        if (saveDate == null) {
+            return null;
+        }
+        try {
+            // CURRENT_TIMESTAMP is stored as UTC text
+            return LocalDateTime.parse(saveDate.replace(' ', 'T')).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
 
-    private GameState deserializeGameState(byte[] stateBytes) {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(stateBytes);
-             ObjectInputStream ois = new ObjectInputStream(bis)) {
-            return (GameState) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new RuntimeException("Failed to deserialize game state", e);
+    private byte[] decompress(Connection conn, long saveId, String codecId, byte[] stored) throws SQLException {
+        try {
+            return SaveCompression.decompress(conn, codecId, stored);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decompress save " + saveId, e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ public class GameState implements Serializable {
     private Player player;
     private List<Level> levels;
     private int currentLevelIndex;
+    private long playTimeSeconds;
     
     public Player getPlayer() { return player; }
     public void setPlayer(Player player) { this.player = player; }
@@ -23,4 +24,8 @@ public class GameState implements Serializable {
     public int getCurrentLevelIndex() { return currentLevelIndex; }
     public void setCurrentLevelIndex(int index) { this.currentLevelIndex = index; }
 
+    // Stored in the save's metadata columns rather than in the blob
+    public long getPlayTimeSeconds() { return playTimeSeconds; }
+    public void setPlayTimeSeconds(long playTimeSeconds) { this.playTimeSeconds = playTimeSeconds; }
+
 }
\ No newline at end of file
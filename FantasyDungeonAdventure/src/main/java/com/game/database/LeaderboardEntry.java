@@ -0,0 +1,32 @@
+package com.game.database;
+
+import java.time.Instant;
+
+/**
+ * One finished run on the leaderboard.
+ */
+public class LeaderboardEntry {
+    private final long entryId;
+    private final String playerName;
+    private final String difficulty;
+    private final int score;
+    private final long playTimeSeconds;
+    private final Instant finishedAt;
+
+    public LeaderboardEntry(long entryId, String playerName, String difficulty, int score,
+                            long playTimeSeconds, Instant finishedAt) {
+        this.entryId = entryId;
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        this.score = score;
+        this.playTimeSeconds = playTimeSeconds;
+        this.finishedAt = finishedAt;
+    }
+
+    public long getEntryId() { return entryId; }
+    public String getPlayerName() { return playerName; }
+    public String getDifficulty() { return difficulty; }
+    public int getScore() { return score; }
+    public long getPlayTimeSeconds() { return playTimeSeconds; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
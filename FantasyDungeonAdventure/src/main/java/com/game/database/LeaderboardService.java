@@ -0,0 +1,300 @@
+package com.game.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Ranks finished runs by score within each difficulty.
+ * <p>
+ * Every run is a row of leaderboard_scores, indexed by (difficulty, score) for ranking and
+ * by (player_name, difficulty, score) for a player's best run. On top of the table each
+ * difficulty keeps the best {@code game.leaderboard.cacheSize} runs in a sorted set, read
+ * from the index once and updated as runs are recorded. Top-K reads never touch the
+ * database, and rank queries only do when the player's best run is below the cached runs,
+ * in which case they count along the score index instead of scanning the table.
+ * Runs are written on the save writer thread. A run without a player name, from a game
+ * that was never saved, is recorded as {@link #DEFAULT_PLAYER_NAME}.
+ */
+public class LeaderboardService {
+    public static final String DEFAULT_PLAYER_NAME = "Adventurer";
+
+    private static final Logger LOGGER = Logger.getLogger(LeaderboardService.class.getName());
+    private static final int CACHE_SIZE = Math.max(1, Integer.getInteger("game.leaderboard.cacheSize", 100));
+    private static LeaderboardService instance;
+
+    private static final String CREATE_SCORES_TABLE =
+        "CREATE TABLE IF NOT EXISTS leaderboard_scores (" +
+        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+        "player_name TEXT NOT NULL," +
+        "difficulty TEXT NOT NULL," +
+        "score INTEGER NOT NULL," +
+        "play_time_seconds INTEGER," +
+        "finished_at INTEGER NOT NULL" +
+        ")";
+
+    private static final String[] CREATE_INDEXES = {
+        "CREATE INDEX IF NOT EXISTS idx_leaderboard_rank ON leaderboard_scores(difficulty, score DESC, id)",
+        "CREATE INDEX IF NOT EXISTS idx_leaderboard_player ON leaderboard_scores(player_name, difficulty, score DESC)"
+    };
+
+    private static final String ENTRY_COLUMNS = "id, player_name, difficulty, score, play_time_seconds, finished_at";
+
+    // Highest score first; among equal scores the earlier run ranks higher
+    private static final Comparator<LeaderboardEntry> RANKING =
+        Comparator.comparingInt(LeaderboardEntry::getScore).reversed()
+            .thenComparingLong(LeaderboardEntry::getEntryId);
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+    private boolean schemaInitialized;
+
+    private LeaderboardService() {
+    }
+
+    public static synchronized LeaderboardService getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardService();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a finished run to be recorded.
+     * @param playerName The player who finished the run
+     * @param difficulty The difficulty the run was played at
+     * @param score The final score
+     * @param playTimeSeconds The total play time of the run
+     * @return A future completed with the recorded entry
+     */
+    public CompletableFuture<LeaderboardEntry> submitScore(String playerName, String difficulty, int score,
+                                                           long playTimeSeconds) {
+        CompletableFuture<LeaderboardEntry> future = new CompletableFuture<>();
+        SaveGamePipeline.getInstance().enqueue(() -> {
+            try {
+                future.complete(recordScore(playerName, difficulty, score, playTimeSeconds));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Records a finished run and adds it to the cached ranking if it makes the cut.
+     * @param playerName The player who finished the run, or null for {@link #DEFAULT_PLAYER_NAME}
+     * @param difficulty The difficulty the run was played at
+     * @param score The final score
+     * @param playTimeSeconds The total play time of the run
+     * @return The recorded entry
+     */
+    public LeaderboardEntry recordScore(String playerName, String difficulty, int score, long playTimeSeconds) {
+        if (playerName == null || playerName.isBlank()) {
+            playerName = DEFAULT_PLAYER_NAME;
+        }
+        Instant finishedAt = Instant.now();
+        long entryId;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            initializeSchema(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO leaderboard_scores (player_name, difficulty, score, play_time_seconds, finished_at) " +
+                     "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, playerName);
+                pstmt.setString(2, difficulty);
+                pstmt.setInt(3, score);
+                pstmt.setLong(4, playTimeSeconds);
+                pstmt.setLong(5, finishedAt.toEpochMilli());
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No id returned for leaderboard entry");
+                    }
+                    entryId = keys.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error recording score of " + playerName + ": " + e.getMessage());
+            throw new RuntimeException("Failed to record score", e);
+        }
+
+        LeaderboardEntry entry = new LeaderboardEntry(entryId, playerName, difficulty, score, playTimeSeconds, finishedAt);
+        // Waits for a board being loaded concurrently, which may or may not have read the new row
+        boards.computeIfPresent(difficulty, (key, board) -> {
+            board.add(entry);
+            return board;
+        });
+        LOGGER.info("Recorded score " + score + " for " + playerName + " (" + difficulty + ")");
+        return entry;
+    }
+
+    /**
+     * Lists the best runs of a difficulty.
+     * @param difficulty The difficulty to rank
+     * @param limit The maximum number of runs; at most {@code game.leaderboard.cacheSize} are kept
+     * @return The runs, best first
+     */
+    public List<LeaderboardEntry> getTopScores(String difficulty, int limit) {
+        return board(difficulty).top(limit);
+    }
+
+    /**
+     * Ranks a player's best run of a difficulty. Runs with equal scores share a rank.
+     * @param playerName The player to rank
+     * @param difficulty The difficulty to rank within
+     * @return The 1-based rank, or 0 if the player has not finished a run at that difficulty
+     */
+    public int getRank(String playerName, String difficulty) {
+        Board board = board(difficulty);
+        int rank = board.rankOf(playerName);
+        if (rank > 0) {
+            return rank;
+        }
+        if (board.isComplete()) {
+            // Every run of the difficulty is cached, so the player has none
+            return 0;
+        }
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            initializeSchema(conn);
+            Integer best = null;
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT MAX(score) FROM leaderboard_scores WHERE player_name = ? AND difficulty = ?")) {
+                pstmt.setString(1, playerName);
+                pstmt.setString(2, difficulty);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        int score = rs.getInt(1);
+                        best = rs.wasNull() ? null : score;
+                    }
+                }
+            }
+            if (best == null) {
+                return 0;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT COUNT(*) FROM leaderboard_scores WHERE difficulty = ? AND score > ?")) {
+                pstmt.setString(1, difficulty);
+                pstmt.setInt(2, best);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) + 1 : 0;
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error ranking " + playerName + ": " + e.getMessage());
+            throw new RuntimeException("Failed to rank player", e);
+        }
+    }
+
+    private Board board(String difficulty) {
+        return boards.computeIfAbsent(difficulty, this::loadBoard);
+    }
+
+    private Board loadBoard(String difficulty) {
+        Board board = new Board();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            initializeSchema(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT " + ENTRY_COLUMNS + " FROM leaderboard_scores WHERE difficulty = ? " +
+                     "ORDER BY score DESC, id LIMIT ?")) {
+                pstmt.setString(1, difficulty);
+                // One more than is kept, to learn whether the cache holds every run
+                pstmt.setInt(2, CACHE_SIZE + 1);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        board.add(readEntry(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error loading leaderboard for " + difficulty + ": " + e.getMessage());
+            throw new RuntimeException("Failed to load leaderboard", e);
+        }
+        return board;
+    }
+
+    private LeaderboardEntry readEntry(ResultSet rs) throws SQLException {
+        return new LeaderboardEntry(
+            rs.getLong("id"),
+            rs.getString("player_name"),
+            rs.getString("difficulty"),
+            rs.getInt("score"),
+            rs.getLong("play_time_seconds"),
+            Instant.ofEpochMilli(rs.getLong("finished_at")));
+    }
+
+    private synchronized void initializeSchema(Connection conn) throws SQLException {
+        if (schemaInitialized) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_SCORES_TABLE);
+            for (String index : CREATE_INDEXES) {
+                stmt.execute(index);
+            }
+        }
+        schemaInitialized = true;
+    }
+
+    /**
+     * The best runs of one difficulty. Runs are never removed from the table, so once a run
+     * falls out of the cached set it can never re-enter it and the set stays exact.
+     */
+    private static final class Board {
+        private final TreeSet<LeaderboardEntry> top = new TreeSet<>(RANKING);
+        // Set once a run had to be dropped, i.e. once the table holds runs the set does not
+        private boolean truncated;
+
+        synchronized void add(LeaderboardEntry entry) {
+            top.add(entry);
+            if (top.size() > CACHE_SIZE) {
+                top.pollLast();
+                truncated = true;
+            }
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, top.size()));
+            for (LeaderboardEntry entry : top) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(entry);
+            }
+            return result;
+        }
+
+        synchronized boolean isComplete() {
+            return !truncated;
+        }
+
+        /**
+         * @return the rank of the player's best cached run, or 0 if none of their runs is cached
+         */
+        synchronized int rankOf(String playerName) {
+            int higher = 0;
+            int previousScore = Integer.MAX_VALUE;
+            int position = 0;
+            for (LeaderboardEntry entry : top) {
+                if (entry.getScore() < previousScore) {
+                    higher = position;
+                    previousScore = entry.getScore();
+                }
+                if (entry.getPlayerName().equals(playerName)) {
+                    return higher + 1;
+                }
+                position++;
+            }
+            return 0;
+        }
+    }
+}
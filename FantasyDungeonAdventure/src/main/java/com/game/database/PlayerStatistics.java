@@ -0,0 +1,36 @@
+package com.game.database;
+
+import java.time.Instant;
+
+/**
+ * Lifetime statistics of a player across all their games, as stored in player_statistics.
+ */
+public class PlayerStatistics {
+    private final String playerName;
+    private final int roomsExplored;
+    private final int puzzlesSolved;
+    private final int itemsCollected;
+    private final long playTimeSeconds;
+    private final Instant lastPlayed;
+
+    public PlayerStatistics(String playerName, int roomsExplored, int puzzlesSolved, int itemsCollected,
+                            long playTimeSeconds, Instant lastPlayed) {
+        this.playerName = playerName;
+        this.roomsExplored = roomsExplored;
+        this.puzzlesSolved = puzzlesSolved;
+        this.itemsCollected = itemsCollected;
+        this.playTimeSeconds = playTimeSeconds;
+        this.lastPlayed = lastPlayed;
+    }
+
+    public String getPlayerName() { return playerName; }
+    public int getRoomsExplored() { return roomsExplored; }
+    public int getPuzzlesSolved() { return puzzlesSolved; }
+    public int getItemsCollected() { return itemsCollected; }
+    public long getPlayTimeSeconds() { return playTimeSeconds; }
+
+    /**
+     * @return when the statistics were last updated, or null if the player has not been flushed yet
+     */
+    public Instant getLastPlayed() { return lastPlayed; }
+}
@@ -0,0 +1,381 @@
+package com.game.database;
+
+import com.game.event.GameEvent;
+import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventHandler;
+import com.game.event.GameEventType;
+import com.game.player.Inventory;
+import com.game.room.Room;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the lifetime statistics of each player in the player_statistics table.
+ * <p>
+ * Game events only bump in-memory counters of the player's session, so collecting
+ * statistics costs no I/O per command. Every {@code game.stats.flushIntervalMs} the counters
+ * of all sessions are drained and added to the table in one transaction of batched upserts,
+ * run on the save writer thread so it never competes with a save for the database. The last
+ * counts are flushed when the JVM exits.
+ * <p>
+ * A new game has no player name until it is first saved. Its session keeps counting but is
+ * not flushed until {@link #nameSession(String)} gives it a name; an unnamed session that
+ * ends is dropped.
+ */
+public class PlayerStatisticsService {
+    private static final Logger LOGGER = Logger.getLogger(PlayerStatisticsService.class.getName());
+    private static final long FLUSH_INTERVAL_MS = Math.max(100, Long.getLong("game.stats.flushIntervalMs", 30000));
+    private static PlayerStatisticsService instance;
+
+    private static final String CREATE_STATISTICS_TABLE =
+        "CREATE TABLE IF NOT EXISTS player_statistics (" +
+        "player_name TEXT PRIMARY KEY," +
+        "rooms_explored INTEGER NOT NULL DEFAULT 0," +
+        "puzzles_solved INTEGER NOT NULL DEFAULT 0," +
+        "items_collected INTEGER NOT NULL DEFAULT 0," +
+        "play_time INTEGER NOT NULL DEFAULT 0," +
+        "last_played INTEGER" +
+        ")";
+
+    // Counts are deltas since the last flush, so an existing row is added to rather than replaced
+    private static final String UPSERT_STATISTICS =
+        "INSERT INTO player_statistics (player_name, rooms_explored, puzzles_solved, items_collected, play_time, last_played) " +
+        "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT(player_name) DO UPDATE SET " +
+        "rooms_explored = rooms_explored + excluded.rooms_explored, " +
+        "puzzles_solved = puzzles_solved + excluded.puzzles_solved, " +
+        "items_collected = items_collected + excluded.items_collected, " +
+        "play_time = play_time + excluded.play_time, " +
+        "last_played = excluded.last_played";
+
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private volatile Session activeSession;
+    private boolean schemaInitialized;
+
+    private PlayerStatisticsService() {
+        GameEventDispatcher.getInstance().registerHandler(new StatisticsEventHandler());
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        SaveGamePipeline pipeline = SaveGamePipeline.getInstance();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (!sessions.isEmpty()) {
+                pipeline.enqueue(this::flush);
+            }
+        }, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        pipeline.onShutdown(this::flush);
+    }
+
+    public static synchronized PlayerStatisticsService getInstance() {
+        if (instance == null) {
+            instance = new PlayerStatisticsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts counting the statistics of a new or loaded game, ending the previous game's session.
+     * Game events are credited to this session from now on.
+     * @param playerName The player the statistics belong to, or null for a game not named yet
+     * @return The new session
+     */
+    public Session startSession(String playerName) {
+        Session session = new Session(playerName);
+        sessions.add(session);
+        Session previous = activeSession;
+        activeSession = session;
+        if (previous != null) {
+            previous.end();
+        }
+        return session;
+    }
+
+    /**
+     * Credits the active session to a player, when the game is named. Counts not flushed yet
+     * go to the new name.
+     * @param playerName The player the game now belongs to
+     */
+    public void nameSession(String playerName) {
+        Session session = activeSession;
+        if (session != null && playerName != null) {
+            session.playerName = playerName;
+        }
+    }
+
+    /**
+     * Ends the active session; its remaining counts are written at the next flush.
+     */
+    public void endSession() {
+        Session session = activeSession;
+        activeSession = null;
+        if (session != null) {
+            session.end();
+        }
+    }
+
+    /**
+     * Reads a player's lifetime statistics, including counts not flushed yet.
+     * @param playerName The player to look up, or null for the counts of the current game if it is not named yet
+     * @return The statistics, all zero for a player who has none
+     */
+    public PlayerStatistics getStatistics(String playerName) {
+        Totals totals = new Totals();
+        Instant lastPlayed = null;
+        if (playerName != null) {
+            lastPlayed = readStatistics(playerName, totals);
+        }
+        for (Session session : sessions) {
+            // Unnamed games are not the same player, so only the current one counts
+            if (Objects.equals(session.playerName, playerName) && (playerName != null || session == activeSession)) {
+                totals.add(session.peek());
+            }
+        }
+        return new PlayerStatistics(playerName, totals.roomsExplored, totals.puzzlesSolved,
+            totals.itemsCollected, totals.playTimeSeconds, lastPlayed);
+    }
+
+    private Instant readStatistics(String playerName, Totals totals) {
+        Instant lastPlayed = null;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            initializeSchema(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT rooms_explored, puzzles_solved, items_collected, play_time, last_played " +
+                     "FROM player_statistics WHERE player_name = ?")) {
+                pstmt.setString(1, playerName);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        totals.roomsExplored = rs.getInt("rooms_explored");
+                        totals.puzzlesSolved = rs.getInt("puzzles_solved");
+                        totals.itemsCollected = rs.getInt("items_collected");
+                        totals.playTimeSeconds = rs.getLong("play_time");
+                        long millis = rs.getLong("last_played");
+                        lastPlayed = rs.wasNull() ? null : Instant.ofEpochMilli(millis);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error reading statistics of " + playerName + ": " + e.getMessage());
+            throw new RuntimeException("Failed to read player statistics", e);
+        }
+        return lastPlayed;
+    }
+
+    /**
+     * Writes the counts of every session since the last flush. Runs on the save writer thread;
+     * on failure the counts are handed back to their sessions for the next attempt.
+     */
+    void flush() {
+        Map<Session, Totals> drained = new LinkedHashMap<>();
+        Map<String, Totals> byPlayer = new LinkedHashMap<>();
+        List<Session> finished = new ArrayList<>();
+        for (Session session : sessions) {
+            // Check before draining, so counts added between the two are not lost with the session
+            boolean ended = session.isEnded();
+            String playerName = session.playerName;
+            if (playerName == null) {
+                // Nobody to credit yet; the counts wait for a name, or go with the game
+                if (ended) {
+                    finished.add(session);
+                }
+                continue;
+            }
+            Totals totals = session.drain();
+            if (ended) {
+                finished.add(session);
+            }
+            if (!totals.isEmpty()) {
+                drained.put(session, totals);
+                byPlayer.computeIfAbsent(playerName, name -> new Totals()).add(totals);
+            }
+        }
+
+        if (!byPlayer.isEmpty()) {
+            try {
+                write(byPlayer);
+            } catch (SQLException e) {
+                LOGGER.warning("Failed to write player statistics, retrying at next flush: " + e.getMessage());
+                drained.forEach(Session::restore);
+                finished.removeIf(drained::containsKey);
+            }
+        }
+        sessions.removeAll(finished);
+    }
+
+    private void write(Map<String, Totals> byPlayer) throws SQLException {
+        long now = System.currentTimeMillis();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            initializeSchema(conn);
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_STATISTICS)) {
+                for (Map.Entry<String, Totals> entry : byPlayer.entrySet()) {
+                    Totals totals = entry.getValue();
+                    pstmt.setString(1, entry.getKey());
+                    pstmt.setInt(2, totals.roomsExplored);
+                    pstmt.setInt(3, totals.puzzlesSolved);
+                    pstmt.setInt(4, totals.itemsCollected);
+                    pstmt.setLong(5, totals.playTimeSeconds);
+                    pstmt.setLong(6, now);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+        }
+        LOGGER.fine(() -> "Flushed statistics of " + byPlayer.size() + " players");
+    }
+
+    private synchronized void initializeSchema(Connection conn) throws SQLException {
+        if (schemaInitialized) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_STATISTICS_TABLE);
+        }
+        schemaInitialized = true;
+    }
+
+    /**
+     * The statistics one game collects between flushes. Counters are safe to bump from any thread.
+     */
+    public static final class Session {
+        private volatile String playerName;
+        private final AtomicInteger roomsExplored = new AtomicInteger();
+        private final AtomicInteger puzzlesSolved = new AtomicInteger();
+        private final AtomicInteger itemsCollected = new AtomicInteger();
+        private long playTimeCreditedMillis;
+        private long endedMillis;
+        private long restoredPlayTimeSeconds;
+
+        Session(String playerName) {
+            this.playerName = playerName;
+            this.playTimeCreditedMillis = System.currentTimeMillis();
+        }
+
+        public String getPlayerName() { return playerName; }
+
+        public void roomExplored() { roomsExplored.incrementAndGet(); }
+        public void puzzleSolved() { puzzlesSolved.incrementAndGet(); }
+        public void itemCollected() { itemsCollected.incrementAndGet(); }
+
+        synchronized void end() {
+            if (endedMillis == 0) {
+                endedMillis = System.currentTimeMillis();
+            }
+        }
+
+        synchronized boolean isEnded() {
+            return endedMillis != 0;
+        }
+
+        /**
+         * Takes the counts since the last drain. Play time is credited in whole seconds,
+         * the remainder carries over to the next drain.
+         */
+        synchronized Totals drain() {
+            Totals totals = new Totals();
+            totals.roomsExplored = roomsExplored.getAndSet(0);
+            totals.puzzlesSolved = puzzlesSolved.getAndSet(0);
+            totals.itemsCollected = itemsCollected.getAndSet(0);
+            long seconds = (playedUntil() - playTimeCreditedMillis) / 1000;
+            playTimeCreditedMillis += seconds * 1000;
+            totals.playTimeSeconds = seconds + restoredPlayTimeSeconds;
+            restoredPlayTimeSeconds = 0;
+            return totals;
+        }
+
+        synchronized Totals peek() {
+            Totals totals = new Totals();
+            totals.roomsExplored = roomsExplored.get();
+            totals.puzzlesSolved = puzzlesSolved.get();
+            totals.itemsCollected = itemsCollected.get();
+            totals.playTimeSeconds = (playedUntil() - playTimeCreditedMillis) / 1000 + restoredPlayTimeSeconds;
+            return totals;
+        }
+
+        synchronized void restore(Totals totals) {
+            roomsExplored.addAndGet(totals.roomsExplored);
+            puzzlesSolved.addAndGet(totals.puzzlesSolved);
+            itemsCollected.addAndGet(totals.itemsCollected);
+            restoredPlayTimeSeconds += totals.playTimeSeconds;
+        }
+
+        private long playedUntil() {
+            return endedMillis != 0 ? endedMillis : System.currentTimeMillis();
+        }
+    }
+
+    private static final class Totals {
+        int roomsExplored;
+        int puzzlesSolved;
+        int itemsCollected;
+        long playTimeSeconds;
+
+        void add(Totals other) {
+            roomsExplored += other.roomsExplored;
+            puzzlesSolved += other.puzzlesSolved;
+            itemsCollected += other.itemsCollected;
+            playTimeSeconds += other.playTimeSeconds;
+        }
+
+        boolean isEmpty() {
+            return roomsExplored == 0 && puzzlesSolved == 0 && itemsCollected == 0 && playTimeSeconds == 0;
+        }
+    }
+
+    /**
+     * Credits game events to the active session.
+     */
+    private final class StatisticsEventHandler implements GameEventHandler {
+        private final Set<GameEventType> handledTypes =
+            EnumSet.of(GameEventType.ROOM_ENTERED, GameEventType.PUZZLE_SOLVED, GameEventType.INVENTORY_CHANGED);
+
+        @Override
+        public Set<GameEventType> getHandledEventTypes() {
+            return handledTypes;
+        }
+
+        @Override
+        public void handleEvent(GameEvent event) {
+            Session session = activeSession;
+            if (session == null) {
+                return;
+            }
+            switch (event.getType()) {
+                case ROOM_ENTERED -> {
+                    if (event.getData() instanceof Room.RoomEventInfo info
+                            && info.getEvents().contains(GameEventType.ROOM_DISCOVERED)) {
+                        session.roomExplored();
+                    }
+                }
+                case PUZZLE_SOLVED -> session.puzzleSolved();
+                case INVENTORY_CHANGED -> {
+                    if (event.getData() instanceof Inventory.InventoryChangeInfo info
+                            && info.getAction().startsWith("Added ")) {
+                        session.itemCollected();
+                    }
+                }
+                default -> { }
+            }
+        }
+    }
+}
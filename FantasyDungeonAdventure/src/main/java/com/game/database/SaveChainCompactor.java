@@ -0,0 +1,55 @@
+package com.game.database;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Folds long delta save chains back into full snapshots on a background thread,
+ * so saving stays cheap while loading never replays more than a bounded chain.
+ */
+public class SaveChainCompactor {
+    private static final Logger LOGGER = Logger.getLogger(SaveChainCompactor.class.getName());
+    private static SaveChainCompactor instance;
+
+    private final ExecutorService executor;
+    private final Set<Long> pending;
+
+    private SaveChainCompactor() {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = ConcurrentHashMap.newKeySet();
+    }
+
+    public static synchronized SaveChainCompactor getInstance() {
+        if (instance == null) {
+            instance = new SaveChainCompactor();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a save to be rewritten as a full snapshot. Duplicate requests are ignored.
+     * @param store The store holding the save
+     * @param saveId The id of the save to compact
+     */
+    public void scheduleCompaction(SaveStore store, long saveId) {
+        if (!pending.add(saveId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                store.compactSave(saveId);
+            } catch (RuntimeException e) {
+                LOGGER.warning("Save compaction failed for save " + saveId + ": " + e.getMessage());
+            } finally {
+                pending.remove(saveId);
+            }
+        });
+    }
+}
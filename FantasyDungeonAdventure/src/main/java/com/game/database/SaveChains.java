@@ -0,0 +1,87 @@
+package com.game.database;
+
+import com.game.database.codec.GameStateCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Deque;
+
+/**
+ * Encoding and chain replay shared by the save stores.
+ */
+final class SaveChains {
+    // Delta chains longer than this are folded back into a full snapshot in the background
+    static final int MAX_CHAIN_DEPTH = 8;
+
+    private SaveChains() {
+        // Utility class
+    }
+
+    /**
+     * Resolves the parent of a snapshot at write time.
+     * @param snapshot The snapshot about to be written
+     * @return The id of the save the delta is chained to, or null for a full snapshot
+     * @throws IllegalStateException if the chain was reset since the snapshot was taken
+     */
+    static Long resolveParent(SaveSnapshot snapshot) {
+        if (!snapshot.isDelta()) {
+            return null;
+        }
+        DeltaSaveTracker tracker = snapshot.getTracker();
+        if (!tracker.isCurrent(snapshot.getEpoch()) || tracker.getLastSaveId() < 0) {
+            throw new IllegalStateException("Save chain was reset before this save could be written");
+        }
+        return tracker.getLastSaveId();
+    }
+
+    /**
+     * Decodes a chain of encoded saves.
+     * @param chain The encoded saves, full snapshot first
+     * @return The state of the last save in the chain
+     */
+    static GameState replay(Deque<byte[]> chain) {
+        GameState state = deserializeGameState(chain.pop());
+        while (!chain.isEmpty()) {
+            state = applyDelta(state, chain.pop());
+        }
+        return state;
+    }
+
+    static byte[] serializeGameState(GameState state) {
+        try {
+            return GameStateCodec.encode(state);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize game state", e);
+        }
+    }
+
+    private static GameState applyDelta(GameState base, byte[] delta) {
+        try {
+            return GameStateCodec.applyDelta(base, delta);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to apply saved changes", e);
+        }
+    }
+
+    private static GameState deserializeGameState(byte[] stateBytes) {
+        if (GameStateCodec.isBinaryFormat(stateBytes)) {
+            try {
+                return GameStateCodec.decode(stateBytes);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to deserialize game state", e);
+            }
+        }
+        // Saves written before the binary format used Java serialization
+        return deserializeLegacyGameState(stateBytes);
+    }
+
+    private static GameState deserializeLegacyGameState(byte[] stateBytes) {
+        try (ByteArrayInputStream bis = new ByteArrayInputStream(stateBytes);
+             ObjectInputStream ois = new ObjectInputStream(bis)) {
+            return (GameState) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Failed to deserialize game state", e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.game.database;
+
+import com.game.database.codec.LevelSections;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Content-addressed storage of level sections for the SQLite store.
+ * <p>
+ * Full saves keep only their head in game_saves; each level section is stored once in
+ * save_chunks under the SHA-256 of its encoded bytes and referenced from save_chunk_refs.
+ * Levels a run has not touched since its last full save therefore cost nothing to save
+ * again. Chunks are compressed on their own and record their codec like save rows do.
+ * A chunk is deleted as soon as the last save referencing it goes.
+ */
+final class SaveChunkStore {
+    private static final Logger LOGGER = Logger.getLogger(SaveChunkStore.class.getName());
+
+    static final String CREATE_CHUNKS_TABLE =
+        "CREATE TABLE IF NOT EXISTS save_chunks (" +
+        "hash TEXT PRIMARY KEY," +
+        "data BLOB NOT NULL," +
+        "codec TEXT," +
+        "raw_size INTEGER NOT NULL" +
+        ")";
+
+    static final String CREATE_REFS_TABLE =
+        "CREATE TABLE IF NOT EXISTS save_chunk_refs (" +
+        "save_id INTEGER NOT NULL," +
+        "position INTEGER NOT NULL," +
+        "chunk_hash TEXT NOT NULL," +
+        "PRIMARY KEY (save_id, position)" +
+        ")";
+
+    static final String CREATE_REFS_INDEX =
+        "CREATE INDEX IF NOT EXISTS idx_save_chunk_refs_hash ON save_chunk_refs(chunk_hash)";
+
+    private SaveChunkStore() {
+        // Utility class
+    }
+
+    /**
+     * Level sections ready to be referenced by a save, with the chunks that still need storing.
+     */
+    static final class PreparedChunks {
+        final List<String> hashes = new ArrayList<>();
+        final List<String> newHashes = new ArrayList<>();
+        final List<SaveCompression.Compressed> newChunks = new ArrayList<>();
+        final List<Integer> newRawSizes = new ArrayList<>();
+        int storedSize;
+        int newStoredSize;
+    }
+
+    /**
+     * Hashes level sections and compresses those not stored yet.
+     * @param conn The connection to use
+     * @param sections The encoded level sections, in level order
+     * @return The prepared chunks
+     */
+    static PreparedChunks prepare(Connection conn, List<byte[]> sections) throws SQLException {
+        PreparedChunks prepared = new PreparedChunks();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT length(data) FROM save_chunks WHERE hash = ?")) {
+            for (byte[] section : sections) {
+                String hash = hash(section);
+                prepared.hashes.add(hash);
+                int existing = prepared.newHashes.indexOf(hash);
+                if (existing >= 0) {
+                    prepared.storedSize += prepared.newChunks.get(existing).data.length;
+                    continue;
+                }
+                pstmt.setString(1, hash);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        prepared.storedSize += rs.getInt(1);
+                        continue;
+                    }
+                }
+                SaveCompression.Compressed chunk = SaveCompression.compress(conn, section);
+                prepared.newHashes.add(hash);
+                prepared.newChunks.add(chunk);
+                prepared.newRawSizes.add(section.length);
+                prepared.storedSize += chunk.data.length;
+                prepared.newStoredSize += chunk.data.length;
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Stores new chunks and points a save at its chunks, replacing any it referenced before.
+     * Must run in the same transaction as the write of the save row.
+     * @param conn The connection to use
+     * @param saveId The id of the save
+     * @param prepared The chunks returned by {@link #prepare}
+     */
+    static void attach(Connection conn, long saveId, PreparedChunks prepared) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT OR IGNORE INTO save_chunks (hash, data, codec, raw_size) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < prepared.newHashes.size(); i++) {
+                SaveCompression.Compressed chunk = prepared.newChunks.get(i);
+                pstmt.setString(1, prepared.newHashes.get(i));
+                pstmt.setBytes(2, chunk.data);
+                pstmt.setString(3, chunk.codecId);
+                pstmt.setInt(4, prepared.newRawSizes.get(i));
+                pstmt.executeUpdate();
+            }
+        }
+
+        Set<String> previous = removeRefs(conn, saveId);
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT INTO save_chunk_refs (save_id, position, chunk_hash) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < prepared.hashes.size(); i++) {
+                pstmt.setLong(1, saveId);
+                pstmt.setInt(2, i);
+                pstmt.setString(3, prepared.hashes.get(i));
+                pstmt.executeUpdate();
+            }
+        }
+        deleteUnreferenced(conn, previous);
+    }
+
+    /**
+     * Reads the level sections of a save.
+     * @param conn The connection to use
+     * @param saveId The id of the save
+     * @return The decompressed sections, in level order
+     */
+    static List<byte[]> load(Connection conn, long saveId) throws SQLException {
+        List<byte[]> sections = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT c.hash, c.data, c.codec FROM save_chunk_refs r JOIN save_chunks c ON c.hash = r.chunk_hash " +
+                 "WHERE r.save_id = ? ORDER BY r.position")) {
+            pstmt.setLong(1, saveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        sections.add(SaveCompression.decompress(conn, rs.getString("codec"), rs.getBytes("data")));
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to decompress level chunk " + rs.getString("hash"), e);
+                    }
+                }
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Rebuilds the encoded save of a row that keeps its levels in chunks.
+     * @param conn The connection to use
+     * @param saveId The id of the save
+     * @param head The decompressed head stored in the save row
+     * @param levelChunks The number of chunks the row records
+     * @return The encoded save
+     */
+    static byte[] join(Connection conn, long saveId, byte[] head, int levelChunks) throws SQLException {
+        List<byte[]> sections = load(conn, saveId);
+        if (sections.size() != levelChunks) {
+            throw new SQLException("Save " + saveId + " is missing level chunks: found " + sections.size()
+                + " of " + levelChunks);
+        }
+        return new LevelSections(head, sections).join();
+    }
+
+    /**
+     * Drops the chunk references of a deleted save and any chunks no other save uses.
+     * Must run in the same transaction as the delete of the save row.
+     * @param conn The connection to use
+     * @param saveId The id of the deleted save
+     */
+    static void release(Connection conn, long saveId) throws SQLException {
+        deleteUnreferenced(conn, removeRefs(conn, saveId));
+    }
+
+    /**
+     * Deletes every chunk that no save references, e.g. after an interrupted delete.
+     * @param conn The connection to use
+     * @return The number of chunks deleted
+     */
+    static int collectGarbage(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM save_chunk_refs WHERE save_id NOT IN (SELECT id FROM game_saves)");
+            return stmt.executeUpdate("DELETE FROM save_chunks WHERE NOT EXISTS " +
+                "(SELECT 1 FROM save_chunk_refs r WHERE r.chunk_hash = save_chunks.hash)");
+        }
+    }
+
+    private static Set<String> removeRefs(Connection conn, long saveId) throws SQLException {
+        Set<String> hashes = new LinkedHashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT chunk_hash FROM save_chunk_refs WHERE save_id = ?")) {
+            pstmt.setLong(1, saveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    hashes.add(rs.getString(1));
+                }
+            }
+        }
+        if (!hashes.isEmpty()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "DELETE FROM save_chunk_refs WHERE save_id = ?")) {
+                pstmt.setLong(1, saveId);
+                pstmt.executeUpdate();
+            }
+        }
+        return hashes;
+    }
+
+    private static void deleteUnreferenced(Connection conn, Set<String> hashes) throws SQLException {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        int deleted = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "DELETE FROM save_chunks WHERE hash = ? AND NOT EXISTS " +
+                 "(SELECT 1 FROM save_chunk_refs WHERE chunk_hash = ?)")) {
+            for (String hash : hashes) {
+                pstmt.setString(1, hash);
+                pstmt.setString(2, hash);
+                deleted += pstmt.executeUpdate();
+            }
+        }
+        if (deleted > 0) {
+            LOGGER.fine("Deleted " + deleted + " unreferenced level chunks");
+        }
+    }
+
+    private static String hash(byte[] section) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(section));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
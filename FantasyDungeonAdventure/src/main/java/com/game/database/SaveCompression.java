@@ -0,0 +1,299 @@
+package com.game.database;
+
+import com.game.database.codec.BlobCompressor;
+import com.game.database.codec.CompressionDictionaryTrainer;
+import com.game.database.codec.DeflateCompressor;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Chooses and resolves the compression codec of save blobs.
+ * <p>
+ * The codec is configured with {@code game.save.compression} ({@code none}, {@code deflate}
+ * or {@code deflate-dict}, the default) and {@code game.save.compressionLevel} (1-9, default 6).
+ * Each row records the codec it was written with in {@code blob_codec}: NULL for
+ * uncompressed rows, {@code deflate}, or {@code deflate-dict:<id>} naming the row of
+ * save_dictionaries it needs. With {@code deflate-dict}, a dictionary is trained from
+ * recent saves once enough exist; until then plain deflate is used.
+ * <p>
+ * Training stores the dictionary in a transaction of its own, before a batch of saves
+ * starts, and only a committed dictionary is used. A save rolled back later can therefore
+ * never take a dictionary row with it that other saves depend on.
+ */
+final class SaveCompression {
+    private static final Logger LOGGER = Logger.getLogger(SaveCompression.class.getName());
+
+    static final String CREATE_DICTIONARIES_TABLE =
+        "CREATE TABLE IF NOT EXISTS save_dictionaries (" +
+        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+        "created TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+        "dictionary BLOB NOT NULL" +
+        ")";
+
+    static final String NONE = "none";
+    static final String DEFLATE = "deflate";
+    static final String DEFLATE_DICT = "deflate-dict";
+
+    private static final String MODE = configuredMode();
+    private static final int LEVEL = Integer.getInteger("game.save.compressionLevel", 6);
+    private static final int MIN_TRAINING_SAMPLES = 5;
+    private static final int MAX_TRAINING_SAMPLES = 50;
+
+    private static final Map<Long, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private static boolean dictionaryLookedUp;
+    private static Long activeDictionaryId;
+    private static int samplesAtLastTraining;
+
+    private SaveCompression() {
+        // Utility class
+    }
+
+    /**
+     * A blob as stored, with the id of the codec that produced it.
+     */
+    static final class Compressed {
+        final String codecId;
+        final byte[] data;
+
+        Compressed(String codecId, byte[] data) {
+            this.codecId = codecId;
+            this.data = data;
+        }
+    }
+
+    private static String configuredMode() {
+        String mode = System.getProperty("game.save.compression", DEFLATE_DICT);
+        if (!mode.equals(NONE) && !mode.equals(DEFLATE) && !mode.equals(DEFLATE_DICT)) {
+            LOGGER.warning("Unknown save compression '" + mode + "', using " + DEFLATE);
+            return DEFLATE;
+        }
+        return mode;
+    }
+
+    /**
+     * Compresses an encoded save with the configured codec.
+     * @param conn The connection to read dictionaries with
+     * @param raw The encoded save
+     * @return The blob to store
+     */
+    static Compressed compress(Connection conn, byte[] raw) throws SQLException {
+        BlobCompressor compressor = configuredCompressor(conn);
+        if (compressor == null) {
+            return new Compressed(null, raw);
+        }
+        return new Compressed(compressor.getId(), compressor.compress(raw));
+    }
+
+    /**
+     * Restores an encoded save from a stored blob.
+     * @param conn The connection to read dictionaries with
+     * @param codecId The codec recorded with the row, or null if it is uncompressed
+     * @param stored The stored blob
+     * @return The encoded save
+     */
+    static byte[] decompress(Connection conn, String codecId, byte[] stored) throws SQLException, IOException {
+        if (codecId == null) {
+            return stored;
+        }
+        return resolve(conn, codecId, LEVEL).decompress(stored);
+    }
+
+    /**
+     * @param conn The connection to read dictionaries with
+     * @param codecId A codec id as recorded with rows
+     * @param level The compression level to use when compressing
+     * @return The compressor for that id
+     */
+    static BlobCompressor resolve(Connection conn, String codecId, int level) throws SQLException, IOException {
+        if (codecId.equals(DEFLATE)) {
+            return new DeflateCompressor(DEFLATE, level, null);
+        }
+        if (codecId.startsWith(DEFLATE_DICT + ":")) {
+            try {
+                long dictionaryId = Long.parseLong(codecId.substring(DEFLATE_DICT.length() + 1));
+                return new DeflateCompressor(codecId, level, loadDictionary(conn, dictionaryId));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid save compression: " + codecId, e);
+            }
+        }
+        throw new IOException("Unknown save compression: " + codecId);
+    }
+
+    /**
+     * The configured codec for stores without a dictionary table; deflate-dict falls back to deflate.
+     * @return The compressor, or null if saves are stored uncompressed
+     */
+    static BlobCompressor standaloneCompressor() {
+        return MODE.equals(NONE) ? null : new DeflateCompressor(DEFLATE, LEVEL, null);
+    }
+
+    /**
+     * @param codecId A codec id recorded by a store without a dictionary table
+     * @return The compressor for that id
+     */
+    static BlobCompressor resolveStandalone(String codecId) throws IOException {
+        if (!codecId.equals(DEFLATE)) {
+            throw new IOException("Unsupported save compression: " + codecId);
+        }
+        return new DeflateCompressor(DEFLATE, LEVEL, null);
+    }
+
+    private static BlobCompressor configuredCompressor(Connection conn) throws SQLException {
+        switch (MODE) {
+            case NONE:
+                return null;
+            case DEFLATE_DICT:
+                Long dictionaryId = activeDictionary(conn);
+                if (dictionaryId != null) {
+                    return new DeflateCompressor(DEFLATE_DICT + ":" + dictionaryId, LEVEL,
+                        loadDictionary(conn, dictionaryId));
+                }
+                return new DeflateCompressor(DEFLATE, LEVEL, null);
+            default:
+                return new DeflateCompressor(DEFLATE, LEVEL, null);
+        }
+    }
+
+    private static synchronized Long activeDictionary(Connection conn) throws SQLException {
+        if (!dictionaryLookedUp) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(id) FROM save_dictionaries")) {
+                long id = rs.next() ? rs.getLong(1) : 0;
+                activeDictionaryId = id > 0 ? id : null;
+            }
+            dictionaryLookedUp = true;
+        }
+        return activeDictionaryId;
+    }
+
+    /**
+     * @return the dictionary new saves are compressed with, or null if there is none yet
+     */
+    static synchronized Long getActiveDictionaryId() {
+        return activeDictionaryId;
+    }
+
+    /**
+     * Trains the first dictionary once enough full saves exist. Called by the writer before
+     * it starts a batch; a failure only leaves saves on plain deflate for now.
+     */
+    static synchronized void trainDictionaryIfDue() {
+        if (!MODE.equals(DEFLATE_DICT)) {
+            return;
+        }
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            if (activeDictionary(conn) != null) {
+                return;
+            }
+            // Retry only once enough new saves have arrived since the last attempt
+            int samples = countTrainingSamples(conn);
+            if (samples >= MIN_TRAINING_SAMPLES && samples >= samplesAtLastTraining + MIN_TRAINING_SAMPLES) {
+                samplesAtLastTraining = samples;
+                trainDictionary(conn);
+            }
+        } catch (SQLException e) {
+            LOGGER.warning("Failed to train save compression dictionary: " + e.getMessage());
+        }
+    }
+
+    private static int countTrainingSamples(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM game_saves WHERE parent_id IS NULL")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Trains a dictionary from the most recent full saves, stores it and makes it the
+     * one new saves are compressed with.
+     * @param conn The connection to use, which must not be in a transaction
+     * @return The id of the new dictionary, or null if the samples shared nothing
+     */
+    static synchronized Long trainDictionary(Connection conn) throws SQLException {
+        if (!conn.getAutoCommit()) {
+            // A rollback would remove the row but not the id published below
+            throw new SQLException("Compression dictionaries must be stored outside a transaction");
+        }
+        byte[] dictionary = CompressionDictionaryTrainer.train(
+            loadTrainingSamples(conn, MAX_TRAINING_SAMPLES), CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        if (dictionary.length == 0) {
+            return null;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT INTO save_dictionaries (dictionary) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setBytes(1, dictionary);
+            // In auto-commit mode the row is committed once this returns
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Failed to read id of compression dictionary");
+                }
+                long id = keys.getLong(1);
+                dictionaries.put(id, dictionary);
+                activeDictionaryId = id;
+                dictionaryLookedUp = true;
+                LOGGER.info("Trained save compression dictionary " + id + " (" + dictionary.length + " bytes)");
+                return id;
+            }
+        }
+    }
+
+    /**
+     * @param conn The connection to use
+     * @param limit The maximum number of samples
+     * @return The most recent full saves, decompressed
+     */
+    static List<byte[]> loadTrainingSamples(Connection conn, int limit) throws SQLException {
+        List<byte[]> samples = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT id, player_data, blob_codec, level_chunks FROM game_saves WHERE parent_id IS NULL " +
+                 "ORDER BY id DESC LIMIT ?")) {
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        byte[] sample = decompress(conn, rs.getString("blob_codec"), rs.getBytes("player_data"));
+                        int levelChunks = rs.getInt("level_chunks");
+                        if (levelChunks > 0) {
+                            sample = SaveChunkStore.join(conn, rs.getLong("id"), sample, levelChunks);
+                        }
+                        samples.add(sample);
+                    } catch (IOException e) {
+                        LOGGER.fine(() -> "Skipping unreadable training sample: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static byte[] loadDictionary(Connection conn, long dictionaryId) throws SQLException {
+        byte[] cached = dictionaries.get(dictionaryId);
+        if (cached != null) {
+            return cached;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT dictionary FROM save_dictionaries WHERE id = ?")) {
+            pstmt.setLong(1, dictionaryId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Missing save compression dictionary " + dictionaryId);
+                }
+                byte[] dictionary = rs.getBytes(1);
+                dictionaries.put(dictionaryId, dictionary);
+                return dictionary;
+            }
+        }
+    }
+}
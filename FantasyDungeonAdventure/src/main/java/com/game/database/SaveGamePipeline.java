@@ -0,0 +1,172 @@
+package com.game.database;
+
+import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Writes saves on a background thread so the game thread only pays for capturing a snapshot.
+ * <p>
+ * A single writer thread keeps the writes of a save chain in capture order, which delta
+ * saves rely on. Saves submitted while the writer is busy, from any number of sessions,
+ * are group committed: the writer takes up to {@code game.save.batchSize} pending saves,
+ * waiting at most {@code game.save.batchWindowMs} for more to arrive, and hands them to
+ * the store as one batch. Completion is reported through the returned future and through
+ * SAVE_COMPLETED / SAVE_FAILED events. Pending saves are flushed, and the
+ * connection pool closed, when the JVM exits.
+ */
+public class SaveGamePipeline {
+    private static final Logger LOGGER = Logger.getLogger(SaveGamePipeline.class.getName());
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("game.save.batchSize", 32));
+    private static final long BATCH_WINDOW_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Math.max(0, Integer.getInteger("game.save.batchWindowMs", 2)));
+    private static SaveGamePipeline instance;
+
+    private final ExecutorService writer;
+    private final BlockingQueue<SaveRequest> pending = new LinkedBlockingQueue<>();
+    private final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
+
+    private SaveGamePipeline() {
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "save-writer-shutdown"));
+    }
+
+    public static synchronized SaveGamePipeline getInstance() {
+        if (instance == null) {
+            instance = new SaveGamePipeline();
+        }
+        return instance;
+    }
+
+    /**
+     * Captures the game state on the calling thread and queues it to be written.
+     * Must be called on the thread that mutates the game state.
+     *
+     * @param state The state to save
+     * @param tracker The session's save chain, or null for a standalone full save
+     * @return A future completed with the save result once the write has finished
+     */
+    public CompletableFuture<SaveResult> submit(GameState state, DeltaSaveTracker tracker) {
+        return submit(SaveSnapshot.capture(state, tracker));
+    }
+
+    /**
+     * Queues an already captured snapshot to be written.
+     * @param snapshot The snapshot to write
+     * @return A future completed with the save result once the write has finished
+     */
+    public CompletableFuture<SaveResult> submit(SaveSnapshot snapshot) {
+        SaveRequest request = new SaveRequest(snapshot);
+        pending.add(request);
+        // One flush per request; a flush that finds its request already taken by an earlier batch does nothing
+        writer.execute(this::flushBatch);
+        return request.getFuture();
+    }
+
+    /**
+     * Runs store maintenance on the writer thread, after every save submitted so far.
+     * @param task The work to run; failures are logged rather than reported to the player
+     */
+    public void enqueue(Runnable task) {
+        writer.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.warning("Save maintenance task failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Registers maintenance to run on the writer thread when the JVM exits,
+     * after the pending saves and before the connection pool is closed.
+     * @param task The work to run
+     */
+    public void onShutdown(Runnable task) {
+        shutdownTasks.add(task);
+    }
+
+    private void flushBatch() {
+        List<SaveRequest> batch = new ArrayList<>();
+        pending.drainTo(batch, BATCH_SIZE);
+        if (batch.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + BATCH_WINDOW_NANOS;
+        try {
+            while (batch.size() < BATCH_SIZE) {
+                long remaining = deadline - System.nanoTime();
+                SaveRequest next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                pending.drainTo(batch, BATCH_SIZE - batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write(batch);
+    }
+
+    private void write(List<SaveRequest> batch) {
+        try {
+            SaveStores.getDefault().writeSnapshots(batch);
+        } catch (RuntimeException e) {
+            for (SaveRequest request : batch) {
+                request.fail(e);
+            }
+        }
+        for (SaveRequest request : batch) {
+            String saveName = request.getSnapshot().getSaveName();
+            try {
+                GameEventDispatcher.getInstance().fireEvent(GameEventType.SAVE_COMPLETED, request.join());
+            } catch (RuntimeException e) {
+                LOGGER.severe("Background save failed for " + saveName + ": " + e.getMessage());
+                GameEventDispatcher.getInstance().fireEvent(GameEventType.SAVE_FAILED, saveName);
+            }
+        }
+    }
+
+    /**
+     * Blocks until every save submitted so far has been written, e.g. before listing saves.
+     */
+    public void awaitIdle() {
+        try {
+            CompletableFuture.runAsync(() -> { }, writer).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.warning("Timed out waiting for pending saves: " + e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        shutdownTasks.forEach(this::enqueue);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warning("Pending saves were not written before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            DatabaseConfig.closeAll();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.game.database;
+
+/**
+ * Summary fields stored next to each save blob so saves can be listed and sorted
+ * without decoding them.
+ */
+public class SaveMetadata {
+    private final int levelIndex;
+    private final int powerPoints;
+    private final int roomsExplored;
+    private final String difficulty;
+    private final long playTimeSeconds;
+
+    public SaveMetadata(int levelIndex, int powerPoints, int roomsExplored, String difficulty, long playTimeSeconds) {
+        this.levelIndex = levelIndex;
+        this.powerPoints = powerPoints;
+        this.roomsExplored = roomsExplored;
+        this.difficulty = difficulty;
+        this.playTimeSeconds = playTimeSeconds;
+    }
+
+    /**
+     * Reads the metadata of a game state. Must be called on the thread that mutates it.
+     * @param state The state being saved
+     * @return The metadata
+     */
+    public static SaveMetadata of(GameState state) {
+        return new SaveMetadata(
+            state.getCurrentLevelIndex(),
+            state.getPlayer().getPowerPoints(),
+            state.getPlayer().getVisitedRooms().size(),
+            state.getPlayer().getDifficultyLevel().name(),
+            state.getPlayTimeSeconds());
+    }
+
+    public int getLevelIndex() { return levelIndex; }
+    public int getPowerPoints() { return powerPoints; }
+    public int getRoomsExplored() { return roomsExplored; }
+    public String getDifficulty() { return difficulty; }
+    public long getPlayTimeSeconds() { return playTimeSeconds; }
+}
@@ -0,0 +1,41 @@
+package com.game.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A snapshot waiting to be written, with the future its submitter waits on.
+ * Stores complete it once the save is durable, i.e. after the batch it was part of committed.
+ */
+public class SaveRequest {
+    private final SaveSnapshot snapshot;
+    private final CompletableFuture<SaveResult> future = new CompletableFuture<>();
+
+    public SaveRequest(SaveSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public SaveSnapshot getSnapshot() { return snapshot; }
+    public CompletableFuture<SaveResult> getFuture() { return future; }
+
+    void complete(SaveResult result) {
+        future.complete(result);
+    }
+
+    void fail(RuntimeException error) {
+        future.completeExceptionally(error);
+    }
+
+    /**
+     * Waits for the request to be written.
+     * @return The outcome of the save
+     * @throws RuntimeException the error the write failed with
+     */
+    SaveResult join() {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.game.database;
+
+/**
+ * Outcome of a completed save, delivered to completion callbacks and SAVE_COMPLETED events.
+ */
+public class SaveResult {
+    private final String saveName;
+    private final long saveId;
+    private final int sizeBytes;
+    private final boolean delta;
+    private final boolean autosave;
+
+    public SaveResult(String saveName, long saveId, int sizeBytes, boolean delta, boolean autosave) {
+        this.saveName = saveName;
+        this.saveId = saveId;
+        this.sizeBytes = sizeBytes;
+        this.delta = delta;
+        this.autosave = autosave;
+    }
+
+    public String getSaveName() { return saveName; }
+    public long getSaveId() { return saveId; }
+    public int getSizeBytes() { return sizeBytes; }
+    public boolean isDelta() { return delta; }
+    public boolean isAutosave() { return autosave; }
+}
@@ -0,0 +1,116 @@
+package com.game.database;
+
+import com.game.database.codec.GameStateCodec;
+import com.game.level.Level;
+import com.game.room.Room;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, already encoded capture of the game state, ready to be written.
+ * <p>
+ * Capturing happens on the game thread. The encoded blob is the snapshot: it is cheaper
+ * to produce than a deep copy of the room graph and cannot be affected by later moves,
+ * so the live Player and Level objects can keep changing while the write is pending.
+ */
+public class SaveSnapshot {
+    /** The name prefix shared by the autosaves of every run. */
+    public static final String AUTOSAVE_PREFIX = "autosave_";
+
+    private final String saveName;
+    private final byte[] data;
+    private final boolean delta;
+    private final DeltaSaveTracker tracker;
+    private final int epoch;
+    private final SaveMetadata metadata;
+    private final boolean autosave;
+
+    private SaveSnapshot(String saveName, byte[] data, boolean delta, DeltaSaveTracker tracker, int epoch,
+                         SaveMetadata metadata, boolean autosave) {
+        this.saveName = saveName;
+        this.data = data;
+        this.delta = delta;
+        this.tracker = tracker;
+        this.epoch = epoch;
+        this.metadata = metadata;
+        this.autosave = autosave;
+    }
+
+    /**
+     * Captures the game state, as a delta when the tracker already has a base.
+     * Must be called on the thread that mutates the game state.
+     *
+     * @param state The state to capture
+     * @param tracker The session's save chain, or null for a standalone full snapshot
+     * @return The snapshot
+     */
+    public static SaveSnapshot capture(GameState state, DeltaSaveTracker tracker) {
+        return capture(state, tracker, null, false);
+    }
+
+    /**
+     * Captures the game state as an autosave, named with the run's autosave prefix.
+     * @param state The state to capture
+     * @param tracker The session's save chain
+     * @param runId The id of the run, see {@link #autosavePrefix(String)}
+     * @return The snapshot
+     */
+    public static SaveSnapshot captureAutosave(GameState state, DeltaSaveTracker tracker, String runId) {
+        return capture(state, tracker, autosavePrefix(runId), true);
+    }
+
+    /**
+     * @param runId The id of one run, from its start or load until the next; the player's
+     *              name is no use here, as it is only set when the game is first saved
+     * @return The name prefix shared by all autosaves of that run
+     */
+    public static String autosavePrefix(String runId) {
+        return AUTOSAVE_PREFIX + runId + "_";
+    }
+
+    private static SaveSnapshot capture(GameState state, DeltaSaveTracker tracker, String namePrefix,
+                                        boolean autosave) {
+        if (state == null || state.getPlayer() == null) {
+            throw new IllegalArgumentException("Invalid game state");
+        }
+        String saveName = generateSaveName(namePrefix != null ? namePrefix : state.getPlayer().getName());
+        SaveMetadata metadata = SaveMetadata.of(state);
+
+        try {
+            if (tracker == null) {
+                return new SaveSnapshot(saveName, GameStateCodec.encode(state), false, null, 0, metadata, autosave);
+            }
+            synchronized (tracker) {
+                if (!tracker.hasBase()) {
+                    byte[] data = GameStateCodec.encode(state);
+                    tracker.markFullSnapshot(state);
+                    return new SaveSnapshot(saveName, data, false, tracker, tracker.getEpoch(), metadata, autosave);
+                }
+                Map<Level, List<Room>> changedRooms = tracker.collectChangedRooms(state);
+                boolean playerChanged = state.getPlayer().isDirty();
+                byte[] data = GameStateCodec.encodeDelta(state, tracker.getSavedLevels(), changedRooms, playerChanged);
+                tracker.markDeltaSnapshot(state, changedRooms, playerChanged);
+                return new SaveSnapshot(saveName, data, true, tracker, tracker.getEpoch(), metadata, autosave);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize game state", e);
+        }
+    }
+
+    static String generateSaveName(String prefix) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        return prefix.endsWith("_") ? prefix + timestamp : prefix + "_" + timestamp;
+    }
+
+    public String getSaveName() { return saveName; }
+    public byte[] getData() { return data; }
+    public boolean isDelta() { return delta; }
+    public DeltaSaveTracker getTracker() { return tracker; }
+    public int getEpoch() { return epoch; }
+    public SaveMetadata getMetadata() { return metadata; }
+    public boolean isAutosave() { return autosave; }
+}
@@ -0,0 +1,25 @@
+package com.game.database;
+
+/**
+ * Columns the save browser can sort by. Each one is backed by an index on game_saves.
+ */
+public enum SaveSortField {
+    NAME("save_name"),
+    DATE("save_date"),
+    LEVEL("level_index"),
+    POWER_POINTS("power_points"),
+    ROOMS_EXPLORED("rooms_explored"),
+    DIFFICULTY("difficulty"),
+    PLAY_TIME("play_time_seconds"),
+    SIZE("blob_size");
+
+    private final String column;
+
+    SaveSortField(String column) {
+        this.column = column;
+    }
+
+    String getColumn() {
+        return column;
+    }
+}
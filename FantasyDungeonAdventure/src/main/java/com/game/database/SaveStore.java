@@ -0,0 +1,94 @@
+package com.game.database;
+
+import java.util.List;
+
+/**
+ * Persistence backend for saves. Saves form delta chains: a delta names the save it
+ * was written on top of, and loading a save replays its chain from the last full snapshot.
+ * Implementations must be safe to call from the save writer, the compactor and the UI thread.
+ */
+public interface SaveStore {
+
+    /**
+     * Writes a captured snapshot. Deltas are linked to the last save written for their
+     * chain, so snapshots of one chain must be written in capture order.
+     * @param snapshot The snapshot to write
+     * @return The outcome of the save
+     */
+    SaveResult writeSnapshot(SaveSnapshot snapshot);
+
+    /**
+     * Writes a batch of snapshots in order and completes each request with its outcome.
+     * A failed snapshot only fails its own request. Stores that can commit several writes
+     * together override this; by default each snapshot is written on its own.
+     * @param requests The requests to write
+     */
+    default void writeSnapshots(List<SaveRequest> requests) {
+        for (SaveRequest request : requests) {
+            try {
+                request.complete(writeSnapshot(request.getSnapshot()));
+            } catch (RuntimeException e) {
+                request.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Loads a save by id, replaying its delta chain if it has one.
+     * @param saveId The id of the save
+     * @param tracker If not null, continues the save chain from the loaded save
+     * @return The loaded state, or null if there is no such save
+     */
+    GameState loadGameState(long saveId, DeltaSaveTracker tracker);
+
+    /**
+     * Loads the most recent save with the given name.
+     * @param saveName The name of the save
+     * @param tracker If not null, continues the save chain from the loaded save
+     * @return The loaded state, or null if no save has that name
+     */
+    GameState loadGameState(String saveName, DeltaSaveTracker tracker);
+
+    /**
+     * @return the number of saves in the store
+     */
+    int countSaves();
+
+    /**
+     * Lists one page of saves from their metadata alone.
+     * @param sortField The field to sort by
+     * @param descending Whether to sort in descending order
+     * @param offset The number of saves to skip
+     * @param limit The maximum number of saves to return
+     * @return The saves on the page
+     */
+    List<SaveSummary> listSaves(SaveSortField sortField, boolean descending, int offset, int limit);
+
+    /**
+     * Lists the saves whose name starts with a prefix, oldest first.
+     * @param prefix The save name prefix
+     * @return The matching saves in id order
+     */
+    List<SaveSummary> findSavesByNamePrefix(String prefix);
+
+    /**
+     * Deletes a save. Saves chained to it are first rewritten as full snapshots.
+     * @param saveId The id of the save
+     * @return true if the save existed
+     */
+    boolean deleteSave(long saveId);
+
+    /**
+     * Deletes a save only if no other save is chained to it, so nothing has to be rewritten.
+     * @param saveId The id of the save
+     * @return true if the save was deleted; false if it did not exist or a save builds on it
+     */
+    boolean deleteUnreferencedSave(long saveId);
+
+    /**
+     * Rewrites a delta save as a full snapshot so loading it no longer walks the chain.
+     * Saves chained to it are unaffected because its materialized state does not change.
+     * @param saveId The id of the save
+     */
+    void compactSave(long saveId);
+}
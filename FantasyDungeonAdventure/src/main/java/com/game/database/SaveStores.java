@@ -0,0 +1,32 @@
+package com.game.database;
+
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+/**
+ * Provides the save store selected with {@code game.save.store}: {@code sqlite} (the default)
+ * or {@code segment} for the append-only segment files under {@code game.save.dir}.
+ */
+public final class SaveStores {
+    private static final Logger LOGGER = Logger.getLogger(SaveStores.class.getName());
+    private static SaveStore instance;
+
+    private SaveStores() {
+        // Utility class
+    }
+
+    public static synchronized SaveStore getDefault() {
+        if (instance == null) {
+            String type = System.getProperty("game.save.store", "sqlite");
+            if (type.equals("segment")) {
+                instance = new SegmentFileSaveStore(Paths.get(System.getProperty("game.save.dir", "saves")));
+            } else {
+                if (!type.equals("sqlite")) {
+                    LOGGER.warning("Unknown save store '" + type + "', using sqlite");
+                }
+                instance = new GameDatabaseService();
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,42 @@
+package com.game.database;
+
+import java.time.Instant;
+
+/**
+ * One row of the save browser: everything about a save except its blob.
+ * Metadata values are null for saves written before the metadata columns existed.
+ */
+public class SaveSummary {
+    private final long saveId;
+    private final String saveName;
+    private final Instant saveDate;
+    private final Integer levelIndex;
+    private final Integer powerPoints;
+    private final Integer roomsExplored;
+    private final String difficulty;
+    private final Long playTimeSeconds;
+    private final Integer blobSize;
+
+    public SaveSummary(long saveId, String saveName, Instant saveDate, Integer levelIndex, Integer powerPoints,
+                       Integer roomsExplored, String difficulty, Long playTimeSeconds, Integer blobSize) {
+        this.saveId = saveId;
+        this.saveName = saveName;
+        this.saveDate = saveDate;
+        this.levelIndex = levelIndex;
+        this.powerPoints = powerPoints;
+        this.roomsExplored = roomsExplored;
+        this.difficulty = difficulty;
+        this.playTimeSeconds = playTimeSeconds;
+        this.blobSize = blobSize;
+    }
+
+    public long getSaveId() { return saveId; }
+    public String getSaveName() { return saveName; }
+    public Instant getSaveDate() { return saveDate; }
+    public Integer getLevelIndex() { return levelIndex; }
+    public Integer getPowerPoints() { return powerPoints; }
+    public Integer getRoomsExplored() { return roomsExplored; }
+    public String getDifficulty() { return difficulty; }
+    public Long getPlayTimeSeconds() { return playTimeSeconds; }
+    public Integer getBlobSize() { return blobSize; }
+}
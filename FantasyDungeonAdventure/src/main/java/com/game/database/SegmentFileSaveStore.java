@@ -0,0 +1,731 @@
+package com.game.database;
+
+import com.game.database.codec.BlobCompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Save store backed by append-only segment files, for deployments that don't need SQL.
+ * <p>
+ * Every change is a record appended to the newest segment, so writes are sequential.
+ * Compacting a save appends a new record under the same id and deleting one appends a
+ * tombstone; the latest record for an id wins. The in-memory index is rebuilt by scanning
+ * the segments at startup, and blobs are decompressed straight from memory-mapped segments.
+ * <p>
+ * Record layout: int magic, byte type, int payload length, int CRC32 of the payload, payload.
+ * A torn record at the end of the last segment is ignored and overwritten by the next write.
+ * A damaged record followed by valid ones is skipped, and the scan resumes at the next record
+ * that passes its checksum, so nothing after the damage is lost or written over.
+ * <p>
+ * Superseded records and tombstones take space until the segments are compacted: the live
+ * records are copied into new segments and the old files deleted. This happens on a write once
+ * the dead bytes exceed both the live ones and {@code game.save.segmentCompactBytes}.
+ */
+public class SegmentFileSaveStore implements SaveStore {
+    private static final Logger LOGGER = Logger.getLogger(SegmentFileSaveStore.class.getName());
+
+    private static final int RECORD_MAGIC = 0x46445347; // "FDSG"
+    private static final int HEADER_SIZE = 13;
+    private static final byte TYPE_SAVE = 1;
+    private static final byte TYPE_DELETE = 2;
+    // Fixed-width fields of a save record: ids, depth, date, metadata, string lengths and sizes
+    private static final int SAVE_FIXED_SIZE = 68;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".fds";
+    private static final long MAX_SEGMENT_SIZE =
+        Math.min(Integer.MAX_VALUE, Long.getLong("game.save.segmentSize", 64L * 1024 * 1024));
+    private static final boolean SYNC_WRITES = Boolean.parseBoolean(System.getProperty("game.save.segmentSync", "true"));
+    private static final long COMPACT_MIN_BYTES = Long.getLong("game.save.segmentCompactBytes", 16L * 1024 * 1024);
+
+    private final Path directory;
+    // Held for the life of the store so no second writer appends to the same segments
+    private final FileChannel lockChannel;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<Long, Entry> index = new HashMap<>();
+    // Total size of the records the index points to
+    private long liveBytes;
+    private long nextSaveId = 1;
+
+    private static final class Segment {
+        final int number;
+        final Path path;
+        final FileChannel channel;
+        // Length up to the end of the last valid record; anything after it is a torn write
+        long size;
+        MappedByteBuffer mapped;
+
+        Segment(int number, Path path, FileChannel channel) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Entry {
+        long saveId;
+        String saveName;
+        long saveDateMillis;
+        Long parentId;
+        int chainDepth;
+        SaveMetadata metadata;
+        String codecId;
+        int rawSize;
+        Segment segment;
+        int blobOffset;
+        int blobLength;
+        int recordSize;
+    }
+
+    public SegmentFileSaveStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve("store.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (!tryLock(lockChannel)) {
+                lockChannel.close();
+                throw new IOException("Save directory is in use by another save store");
+            }
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                        && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Segment segment = openSegment(segmentNumber(file));
+                scan(segment);
+                segments.add(segment);
+            }
+            if (segments.isEmpty()) {
+                segments.add(openSegment(1));
+            }
+            LOGGER.info("Save store opened with " + index.size() + " saves in " + segments.size() + " segments");
+        } catch (IOException e) {
+            LOGGER.severe("Failed to open save store at " + directory + ": " + e.getMessage());
+            throw new RuntimeException("Save store initialization failed", e);
+        }
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        }
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Segment openSegment(int number) throws IOException {
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(number, path, channel);
+    }
+
+    // Index rebuild
+
+    private void scan(Segment segment) throws IOException {
+        long fileSize = segment.channel.size();
+        if (fileSize == 0) {
+            return;
+        }
+        ByteBuffer buffer = map(segment, fileSize);
+        CRC32 crc = new CRC32();
+        int position = 0;
+        int end = 0;
+        while (position + HEADER_SIZE <= fileSize) {
+            int recordSize = validRecordSize(buffer, position, fileSize, crc);
+            if (recordSize < 0) {
+                int next = findNextRecord(buffer, position + 1, fileSize, crc);
+                if (next < 0) {
+                    break;
+                }
+                LOGGER.warning("Skipping " + (next - position) + " damaged bytes at offset " + position
+                    + " of segment " + segment.number);
+                position = next;
+                continue;
+            }
+            int payloadOffset = position + HEADER_SIZE;
+            ByteBuffer payload = buffer.slice(payloadOffset, recordSize - HEADER_SIZE);
+            apply(buffer.get(position + 4), payload, segment, payloadOffset, recordSize);
+            position += recordSize;
+            end = position;
+        }
+        if (end < fileSize) {
+            LOGGER.warning("Ignoring " + (fileSize - end) + " unreadable bytes at the end of segment " + segment.number);
+        }
+        // Only a torn tail is given up; damage before a valid record was skipped above
+        segment.size = end;
+    }
+
+    /**
+     * @return the size of the record at the position, or -1 if there is no intact record there
+     */
+    private static int validRecordSize(ByteBuffer buffer, int position, long fileSize, CRC32 crc) {
+        if (position + HEADER_SIZE > fileSize || buffer.getInt(position) != RECORD_MAGIC) {
+            return -1;
+        }
+        int length = buffer.getInt(position + 5);
+        int payloadOffset = position + HEADER_SIZE;
+        if (length < 0 || payloadOffset + (long) length > fileSize) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(buffer.slice(payloadOffset, length));
+        return (int) crc.getValue() == buffer.getInt(position + 9) ? HEADER_SIZE + length : -1;
+    }
+
+    /**
+     * @return the position of the first intact record at or after the given one, or -1 if there is none
+     */
+    private static int findNextRecord(ByteBuffer buffer, int from, long fileSize, CRC32 crc) {
+        for (int position = from; position + HEADER_SIZE <= fileSize; position++) {
+            if (validRecordSize(buffer, position, fileSize, crc) >= 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private void apply(byte type, ByteBuffer payload, Segment segment, int payloadOffset, int recordSize) {
+        if (type == TYPE_DELETE) {
+            long saveId = payload.getLong();
+            unindex(saveId);
+            nextSaveId = Math.max(nextSaveId, saveId + 1);
+        } else if (type == TYPE_SAVE) {
+            Entry entry = readEntry(payload, segment, payloadOffset);
+            entry.recordSize = recordSize;
+            index(entry);
+            nextSaveId = Math.max(nextSaveId, entry.saveId + 1);
+        }
+    }
+
+    private void index(Entry entry) {
+        Entry previous = index.put(entry.saveId, entry);
+        liveBytes += entry.recordSize - (previous != null ? previous.recordSize : 0);
+    }
+
+    private void unindex(long saveId) {
+        Entry removed = index.remove(saveId);
+        if (removed != null) {
+            liveBytes -= removed.recordSize;
+        }
+    }
+
+    // Record encoding
+
+    private static byte[] encodeSave(Entry entry, byte[] blob) {
+        byte[] name = utf8(entry.saveName);
+        byte[] difficulty = utf8(entry.metadata.getDifficulty());
+        byte[] codec = utf8(entry.codecId);
+        ByteBuffer payload = ByteBuffer.allocate(SAVE_FIXED_SIZE + length(name) + length(difficulty) + length(codec)
+            + blob.length);
+        payload.putLong(entry.saveId);
+        payload.putLong(entry.parentId != null ? entry.parentId : -1);
+        payload.putInt(entry.chainDepth);
+        payload.putLong(entry.saveDateMillis);
+        payload.putInt(entry.metadata.getLevelIndex());
+        payload.putInt(entry.metadata.getPowerPoints());
+        payload.putInt(entry.metadata.getRoomsExplored());
+        payload.putLong(entry.metadata.getPlayTimeSeconds());
+        putString(payload, name);
+        putString(payload, difficulty);
+        putString(payload, codec);
+        payload.putInt(entry.rawSize);
+        payload.putInt(blob.length);
+        payload.put(blob);
+        return payload.array();
+    }
+
+    private static Entry readEntry(ByteBuffer payload, Segment segment, int payloadOffset) {
+        Entry entry = new Entry();
+        entry.saveId = payload.getLong();
+        long parentId = payload.getLong();
+        entry.parentId = parentId >= 0 ? parentId : null;
+        entry.chainDepth = payload.getInt();
+        entry.saveDateMillis = payload.getLong();
+        int levelIndex = payload.getInt();
+        int powerPoints = payload.getInt();
+        int roomsExplored = payload.getInt();
+        long playTime = payload.getLong();
+        entry.saveName = getString(payload);
+        String difficulty = getString(payload);
+        entry.codecId = getString(payload);
+        entry.metadata = new SaveMetadata(levelIndex, powerPoints, roomsExplored, difficulty, playTime);
+        entry.rawSize = payload.getInt();
+        entry.blobLength = payload.getInt();
+        entry.blobOffset = payloadOffset + payload.position();
+        entry.segment = segment;
+        return entry;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Appending
+
+    private void append(byte type, byte[] payload) throws IOException {
+        append(type, payload, SYNC_WRITES);
+    }
+
+    private void append(byte type, byte[] payload, boolean sync) throws IOException {
+        Segment active = segments.get(segments.size() - 1);
+        long recordSize = HEADER_SIZE + (long) payload.length;
+        if (active.size > 0 && active.size + recordSize > MAX_SEGMENT_SIZE) {
+            active = openSegment(active.number + 1);
+            segments.add(active);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate((int) recordSize);
+        record.putInt(RECORD_MAGIC);
+        record.put(type);
+        record.putInt(payload.length);
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+        record.flip();
+
+        long position = active.size;
+        while (record.hasRemaining()) {
+            active.channel.write(record, position + record.position());
+        }
+        if (sync) {
+            active.channel.force(false);
+        }
+        active.size += recordSize;
+    }
+
+    private Entry appendSave(Entry entry, byte[] blob) throws IOException {
+        return appendSave(entry, blob, SYNC_WRITES);
+    }
+
+    private Entry appendSave(Entry entry, byte[] blob, boolean sync) throws IOException {
+        byte[] payload = encodeSave(entry, blob);
+        append(TYPE_SAVE, payload, sync);
+        Segment segment = segments.get(segments.size() - 1);
+        // The blob is the tail of the record just written
+        entry.segment = segment;
+        entry.blobLength = blob.length;
+        entry.blobOffset = (int) (segment.size - blob.length);
+        entry.recordSize = HEADER_SIZE + payload.length;
+        index(entry);
+        return entry;
+    }
+
+    // Reading
+
+    private ByteBuffer map(Segment segment, long size) throws IOException {
+        if (segment.mapped == null || segment.mapped.capacity() < size) {
+            segment.mapped = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return segment.mapped;
+    }
+
+    private ByteBuffer blobView(Entry entry) throws IOException {
+        return map(entry.segment, entry.segment.size).slice(entry.blobOffset, entry.blobLength);
+    }
+
+    private byte[] readBlob(Entry entry) throws IOException {
+        if (entry.codecId == null) {
+            return readStoredBlob(entry);
+        }
+        return SaveCompression.resolveStandalone(entry.codecId).decompress(blobView(entry));
+    }
+
+    /**
+     * @return the blob as stored, still compressed
+     */
+    private byte[] readStoredBlob(Entry entry) throws IOException {
+        byte[] data = new byte[entry.blobLength];
+        blobView(entry).get(data);
+        return data;
+    }
+
+    private GameState loadChain(long saveId) throws IOException {
+        Deque<byte[]> chain = new ArrayDeque<>();
+        Set<Long> seen = new HashSet<>();
+        Long currentId = saveId;
+        while (currentId != null) {
+            if (!seen.add(currentId)) {
+                throw new IOException("Save chain contains a cycle at save " + currentId);
+            }
+            Entry entry = index.get(currentId);
+            if (entry == null) {
+                throw new IOException("Save chain is broken, missing save " + currentId);
+            }
+            chain.push(readBlob(entry));
+            currentId = entry.parentId;
+        }
+        return SaveChains.replay(chain);
+    }
+
+    // SaveStore
+
+    @Override
+    public SaveResult writeSnapshot(SaveSnapshot snapshot) {
+        DeltaSaveTracker tracker = snapshot.getTracker();
+        byte[] data = snapshot.getData();
+        BlobCompressor compressor = SaveCompression.standaloneCompressor();
+        byte[] blob = compressor != null ? compressor.compress(data) : data;
+
+        try {
+            Entry entry = new Entry();
+            synchronized (this) {
+                entry.parentId = SaveChains.resolveParent(snapshot);
+                if (entry.parentId != null) {
+                    Entry parent = index.get(entry.parentId);
+                    if (parent == null) {
+                        throw new IOException("Parent save " + entry.parentId + " no longer exists");
+                    }
+                    entry.chainDepth = parent.chainDepth + 1;
+                }
+                entry.saveId = nextSaveId++;
+                entry.saveName = snapshot.getSaveName();
+                entry.saveDateMillis = System.currentTimeMillis();
+                entry.metadata = snapshot.getMetadata();
+                entry.codecId = compressor != null ? compressor.getId() : null;
+                entry.rawSize = data.length;
+                appendSave(entry, blob);
+                compactSegmentsIfWasteful();
+            }
+            if (tracker != null) {
+                tracker.recordWrite(snapshot.getEpoch(), entry.saveId);
+            }
+            LOGGER.info("Game saved successfully: " + snapshot.getSaveName() + " (" + (snapshot.isDelta() ? "delta, " : "")
+                + data.length + " bytes, " + blob.length + " stored)");
+
+            if (entry.chainDepth >= SaveChains.MAX_CHAIN_DEPTH) {
+                SaveChainCompactor.getInstance().scheduleCompaction(this, entry.saveId);
+            }
+            return new SaveResult(snapshot.getSaveName(), entry.saveId, blob.length, snapshot.isDelta(),
+                snapshot.isAutosave());
+        } catch (IOException | IllegalStateException e) {
+            if (tracker != null) {
+                // The next save has nothing to chain to and must be a full snapshot
+                tracker.invalidate(snapshot.getEpoch());
+            }
+            LOGGER.severe("Error saving game state: " + e.getMessage());
+            throw new RuntimeException("Failed to save game state", e);
+        }
+    }
+
+    @Override
+    public GameState loadGameState(long saveId, DeltaSaveTracker tracker) {
+        try {
+            GameState state;
+            synchronized (this) {
+                Entry entry = index.get(saveId);
+                if (entry == null) {
+                    return null;
+                }
+                state = loadChain(saveId);
+                state.setPlayTimeSeconds(entry.metadata.getPlayTimeSeconds());
+            }
+            if (tracker != null) {
+                tracker.markLoaded(saveId, state);
+            }
+            return state;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.severe("Error loading game state: " + e.getMessage());
+            throw new RuntimeException("Failed to load game state", e);
+        }
+    }
+
+    @Override
+    public GameState loadGameState(String saveName, DeltaSaveTracker tracker) {
+        long latest = -1;
+        synchronized (this) {
+            for (Entry entry : index.values()) {
+                if (entry.saveName.equals(saveName) && entry.saveId > latest) {
+                    latest = entry.saveId;
+                }
+            }
+        }
+        return latest >= 0 ? loadGameState(latest, tracker) : null;
+    }
+
+    @Override
+    public synchronized int countSaves() {
+        return index.size();
+    }
+
+    @Override
+    public List<SaveSummary> listSaves(SaveSortField sortField, boolean descending, int offset, int limit) {
+        List<Entry> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(index.values());
+        }
+        Comparator<Entry> order = comparator(sortField).thenComparingLong(entry -> entry.saveId);
+        entries.sort(descending ? order.reversed() : order);
+
+        List<SaveSummary> page = new ArrayList<>();
+        for (int i = Math.max(0, offset); i < entries.size() && page.size() < limit; i++) {
+            page.add(toSummary(entries.get(i)));
+        }
+        return page;
+    }
+
+    @Override
+    public List<SaveSummary> findSavesByNamePrefix(String prefix) {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : index.values()) {
+                if (entry.saveName.startsWith(prefix)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.saveId));
+
+        List<SaveSummary> saves = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            saves.add(toSummary(entry));
+        }
+        return saves;
+    }
+
+    private static SaveSummary toSummary(Entry entry) {
+        SaveMetadata metadata = entry.metadata;
+        return new SaveSummary(entry.saveId, entry.saveName, Instant.ofEpochMilli(entry.saveDateMillis),
+            metadata.getLevelIndex(), metadata.getPowerPoints(), metadata.getRoomsExplored(),
+            metadata.getDifficulty(), metadata.getPlayTimeSeconds(), entry.blobLength);
+    }
+
+    private static Comparator<Entry> comparator(SaveSortField sortField) {
+        switch (sortField) {
+            case NAME: return Comparator.comparing(entry -> entry.saveName);
+            case LEVEL: return Comparator.comparingInt(entry -> entry.metadata.getLevelIndex());
+            case POWER_POINTS: return Comparator.comparingInt(entry -> entry.metadata.getPowerPoints());
+            case ROOMS_EXPLORED: return Comparator.comparingInt(entry -> entry.metadata.getRoomsExplored());
+            case DIFFICULTY: return Comparator.comparing(entry -> entry.metadata.getDifficulty(),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+            case PLAY_TIME: return Comparator.comparingLong(entry -> entry.metadata.getPlayTimeSeconds());
+            case SIZE: return Comparator.comparingInt(entry -> entry.blobLength);
+            default: return Comparator.comparingLong(entry -> entry.saveDateMillis);
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteSave(long saveId) {
+        if (!index.containsKey(saveId)) {
+            return false;
+        }
+        try {
+            // Children need this save's state, so fold it into them first
+            List<Long> children = new ArrayList<>();
+            for (Entry entry : index.values()) {
+                if (entry.parentId != null && entry.parentId == saveId) {
+                    children.add(entry.saveId);
+                }
+            }
+            for (long child : children) {
+                rewriteAsSnapshot(index.get(child));
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(Long.BYTES).putLong(saveId);
+            append(TYPE_DELETE, payload.array());
+            unindex(saveId);
+            compactSegmentsIfWasteful();
+            LOGGER.info("Deleted save " + saveId);
+            return true;
+        } catch (IOException e) {
+            LOGGER.severe("Error deleting save " + saveId + ": " + e.getMessage());
+            throw new RuntimeException("Failed to delete save", e);
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteUnreferencedSave(long saveId) {
+        if (!index.containsKey(saveId)) {
+            return false;
+        }
+        for (Entry entry : index.values()) {
+            if (entry.parentId != null && entry.parentId == saveId) {
+                return false;
+            }
+        }
+        try {
+            ByteBuffer payload = ByteBuffer.allocate(Long.BYTES).putLong(saveId);
+            append(TYPE_DELETE, payload.array());
+            unindex(saveId);
+            compactSegmentsIfWasteful();
+            LOGGER.fine(() -> "Deleted save " + saveId);
+            return true;
+        } catch (IOException e) {
+            LOGGER.severe("Error deleting save " + saveId + ": " + e.getMessage());
+            throw new RuntimeException("Failed to delete save", e);
+        }
+    }
+
+    @Override
+    public synchronized void compactSave(long saveId) {
+        Entry entry = index.get(saveId);
+        if (entry == null || entry.parentId == null) {
+            return;
+        }
+        try {
+            rewriteAsSnapshot(entry);
+            compactSegmentsIfWasteful();
+            LOGGER.fine(() -> "Compacted save chain at save " + saveId);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Failed to compact save " + saveId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the live records into new segments and deletes the old segment files, reclaiming
+     * the space of superseded saves and tombstones. The old files are only deleted once the
+     * copies are on disk; until then a reopen reads both, and the copies win as the later records.
+     */
+    public synchronized void compactSegments() {
+        List<Segment> old = new ArrayList<>(segments);
+        long before = totalBytes();
+        try {
+            segments.add(openSegment(old.get(old.size() - 1).number + 1));
+            List<Entry> live = new ArrayList<>(index.values());
+            live.sort(Comparator.comparingLong(entry -> entry.saveId));
+            for (Entry entry : live) {
+                appendSave(copyOf(entry), readStoredBlob(entry), false);
+            }
+            long lastId = nextSaveId - 1;
+            if (lastId > 0 && !index.containsKey(lastId)) {
+                // Keeps the highest id taken, so a reopen does not hand it out again
+                append(TYPE_DELETE, ByteBuffer.allocate(Long.BYTES).putLong(lastId).array(), false);
+            }
+            for (Segment segment : segments.subList(old.size(), segments.size())) {
+                segment.channel.force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The old segments still hold every record; the copies made so far are duplicates
+            LOGGER.warning("Failed to compact segments in " + directory + ": " + e.getMessage());
+            return;
+        }
+
+        segments.removeAll(old);
+        // Oldest first, so a record is never left behind without the later ones that replace it
+        for (Segment segment : old) {
+            try {
+                segment.channel.close();
+                segment.mapped = null;
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                LOGGER.warning("Failed to delete compacted segment " + segment.path + ": " + e.getMessage());
+            }
+        }
+        long after = totalBytes();
+        LOGGER.info("Compacted save segments from " + before + " to " + after + " bytes");
+    }
+
+    private void compactSegmentsIfWasteful() {
+        long dead = totalBytes() - liveBytes;
+        if (dead > COMPACT_MIN_BYTES && dead > liveBytes) {
+            compactSegments();
+        }
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.size;
+        }
+        return total;
+    }
+
+    private static Entry copyOf(Entry entry) {
+        Entry copy = new Entry();
+        copy.saveId = entry.saveId;
+        copy.saveName = entry.saveName;
+        copy.saveDateMillis = entry.saveDateMillis;
+        copy.parentId = entry.parentId;
+        copy.chainDepth = entry.chainDepth;
+        copy.metadata = entry.metadata;
+        copy.codecId = entry.codecId;
+        copy.rawSize = entry.rawSize;
+        return copy;
+    }
+
+    /**
+     * Closes the segments and releases the directory, so another store can open it.
+     * The store must not be used afterwards.
+     */
+    public synchronized void close() {
+        try {
+            for (Segment segment : segments) {
+                segment.channel.close();
+            }
+            // Closing the channel releases the lock
+            lockChannel.close();
+        } catch (IOException e) {
+            LOGGER.warning("Failed to close save store at " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private void rewriteAsSnapshot(Entry entry) throws IOException {
+        byte[] snapshot = SaveChains.serializeGameState(loadChain(entry.saveId));
+        BlobCompressor compressor = SaveCompression.standaloneCompressor();
+        byte[] blob = compressor != null ? compressor.compress(snapshot) : snapshot;
+
+        Entry replacement = new Entry();
+        replacement.saveId = entry.saveId;
+        replacement.saveName = entry.saveName;
+        replacement.saveDateMillis = entry.saveDateMillis;
+        replacement.metadata = entry.metadata;
+        replacement.codecId = compressor != null ? compressor.getId() : null;
+        replacement.rawSize = snapshot.length;
+        appendSave(replacement, blob);
+    }
+}
@@ -0,0 +1,30 @@
+package com.game.database.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A compression stage applied to encoded save blobs before they are stored.
+ * The id is recorded with each row so the blob can be decompressed with the same
+ * codec, and the same dictionary, after the configured codec has changed.
+ */
+public interface BlobCompressor {
+    /**
+     * @return the codec id stored with compressed rows
+     */
+    String getId();
+
+    byte[] compress(byte[] data);
+
+    byte[] decompress(byte[] data) throws IOException;
+
+    /**
+     * Decompresses straight from a buffer, e.g. a memory-mapped file region.
+     * Implementations should override this to avoid copying the input.
+     */
+    default byte[] decompress(ByteBuffer data) throws IOException {
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return decompress(copy);
+    }
+}
@@ -0,0 +1,73 @@
+package com.game.database.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a Deflate preset dictionary from sample saves.
+ * <p>
+ * Most of a save is its string table: room names, descriptions and item text that
+ * recur across saves. The trainer ranks strings by how many bytes they would save over
+ * the samples and lays them out with the most valuable last, since Deflate reaches
+ * the end of the dictionary with the shortest distances.
+ */
+public final class CompressionDictionaryTrainer {
+    // Deflate can only reference the last 32 KiB of the dictionary
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private CompressionDictionaryTrainer() {
+        // Utility class
+    }
+
+    /**
+     * @param samples Encoded saves, full or delta
+     * @param maxSize The maximum dictionary size in bytes
+     * @return The dictionary, empty if the samples share no strings
+     */
+    public static byte[] train(List<byte[]> samples, int maxSize) {
+        Map<String, Integer> sampleCounts = new HashMap<>();
+        for (byte[] sample : samples) {
+            try {
+                for (String value : new HashSet<>(GameStateCodec.readStringTable(sample))) {
+                    sampleCounts.merge(value, 1, Integer::sum);
+                }
+            } catch (IOException e) {
+                // Legacy or corrupt samples carry no usable strings
+            }
+        }
+
+        List<Map.Entry<String, byte[]>> candidates = new ArrayList<>();
+        Map<String, Long> scores = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : sampleCounts.entrySet()) {
+            if (entry.getValue() < 2) {
+                continue;
+            }
+            // Encoded exactly as in the string table, length prefix included
+            SaveDataOutput encoded = new SaveDataOutput();
+            encoded.writeInlineString(entry.getKey());
+            byte[] bytes = encoded.toByteArray();
+            candidates.add(Map.entry(entry.getKey(), bytes));
+            scores.put(entry.getKey(), (long) entry.getValue() * bytes.length);
+        }
+        candidates.sort((a, b) -> Long.compare(scores.get(b.getKey()), scores.get(a.getKey())));
+
+        // Take the best strings that fit, then write them best-last
+        List<byte[]> chosen = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, byte[]> candidate : candidates) {
+            if (size + candidate.getValue().length <= maxSize) {
+                chosen.add(candidate.getValue());
+                size += candidate.getValue().length;
+            }
+        }
+        SaveDataOutput dictionary = new SaveDataOutput(size);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            dictionary.writeBytes(chosen.get(i));
+        }
+        return dictionary.toByteArray();
+    }
+}
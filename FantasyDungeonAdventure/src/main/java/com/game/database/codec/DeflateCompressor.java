@@ -0,0 +1,115 @@
+package com.game.database.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression with an optional preset dictionary.
+ * The output is a varint of the uncompressed length followed by a zlib stream,
+ * which lets decompression allocate the result once. Decompression can read directly
+ * from a memory-mapped buffer.
+ */
+public class DeflateCompressor implements BlobCompressor {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String id;
+    private final int level;
+    private final byte[] dictionary;
+
+    /**
+     * @param id The codec id recorded with compressed rows
+     * @param level The Deflater level, 1 (fastest) to 9 (smallest)
+     * @param dictionary The preset dictionary, or null for none
+     */
+    public DeflateCompressor(String id, int level, byte[] dictionary) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.id = id;
+        this.level = level;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(level);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(data);
+            deflater.finish();
+
+            SaveDataOutput out = new SaveDataOutput(data.length / 2 + 16);
+            out.writeVarInt(data.length);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.writeBytes(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        return decompress(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public byte[] decompress(ByteBuffer data) throws IOException {
+        ByteBuffer input = data.duplicate();
+        int length = readVarInt(input);
+        byte[] result = new byte[length];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int offset = 0;
+            while (offset < length) {
+                int count = inflater.inflate(result, offset, length - offset);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (dictionary == null) {
+                            throw new IOException("Compressed save requires a dictionary");
+                        }
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.finished() || inflater.needsInput()) {
+                        throw new IOException("Compressed save data is truncated");
+                    }
+                }
+                offset += count;
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed save data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readVarInt(ByteBuffer input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!input.hasRemaining()) {
+                throw new IOException("Unexpected end of save data");
+            }
+            int b = input.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in save data");
+    }
+}
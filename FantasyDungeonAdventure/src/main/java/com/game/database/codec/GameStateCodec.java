@@ -0,0 +1,880 @@
+package com.game.database.codec;
+
+import com.game.database.GameState;
+import com.game.item.HealingItem;
+import com.game.item.Item;
+import com.game.item.ItemType;
+import com.game.item.NegativeItem;
+import com.game.item.ToolItem;
+import com.game.item.behavior.DamageBehavior;
+import com.game.item.behavior.HealingBehavior;
+import com.game.item.behavior.ItemBehavior;
+import com.game.item.behavior.ToolBehavior;
+import com.game.item.builder.ItemBuilder;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.puzzle.Puzzle;
+import com.game.room.Room;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hand-rolled binary codec for {@link GameState}.
+ * <p>
+ * Layout: a 4 byte magic, a varint format version, the current level index, the level
+ * count and a directory of section lengths, followed by the player section and one section
+ * per level. Each section carries its own string table, so a level can be decoded, or
+ * copied into a new save, without touching the others; {@link #decode} returns the levels
+ * as a {@link LazyLevelList} and only the levels the player record points into are decoded
+ * up front. Version 1 saves, with a single string table and every level inline, are still read.
+ * <p>
+ * Rooms are written flat per level and their connections are stored as a 4 bit
+ * direction mask relative to the room grid, so encoding never follows room references
+ * recursively and does not depend on any serialVersionUID.
+ * <p>
+ * Delta blobs use their own magic and hold only the rooms and player record that changed
+ * relative to the save they are chained to; see {@link #encodeDelta} and {@link #applyDelta}.
+ */
+public final class GameStateCodec {
+    public static final int FORMAT_VERSION = 2;
+    private static final int SINGLE_TABLE_VERSION = 1;
+
+    private static final byte[] MAGIC = {'F', 'D', 'S', 'V'};
+    private static final byte[] DELTA_MAGIC = {'F', 'D', 'S', 'D'};
+    private static final String[] DIRECTIONS = {"north", "south", "east", "west"};
+    private static final int[][] DIRECTION_OFFSETS = {{0, -1}, {0, 1}, {1, 0}, {-1, 0}};
+    private static final int[] OPPOSITE_DIRECTIONS = {1, 0, 3, 2};
+
+    // Per-level entry kinds in a delta
+    private static final int LEVEL_UNCHANGED = 0;
+    private static final int LEVEL_FULL = 1;
+    private static final int LEVEL_PATCH = 2;
+
+    // Room flag bits; bits 7-10 hold the connection mask
+    private static final int ROOM_VISITED = 1;
+    private static final int ROOM_TREASURE = 1 << 1;
+    private static final int ROOM_SPECIAL_TREASURE = 1 << 2;
+    private static final int ROOM_HIDDEN_PASSAGES = 1 << 3;
+    private static final int ROOM_SECRETS_REVEALED = 1 << 4;
+    private static final int ROOM_BARRIER = 1 << 5;
+    private static final int ROOM_PUZZLE = 1 << 6;
+    private static final int CONNECTION_SHIFT = 7;
+
+    // Item kinds and flag bits
+    private static final int KIND_ITEM = 0;
+    private static final int KIND_HEALING = 1;
+    private static final int KIND_TOOL = 2;
+    private static final int KIND_NEGATIVE = 3;
+
+    private static final int ITEM_CONSUMABLE = 1;
+    private static final int ITEM_FOOD = 1 << 1;
+    private static final int ITEM_SPELL = 1 << 2;
+    private static final int ITEM_REVEALS = 1 << 3;
+    private static final int ITEM_BARRIER = 1 << 4;
+    private static final int ITEM_DEFEATED = 1 << 5;
+
+    private GameStateCodec() {
+        // Utility class
+    }
+
+    /**
+     * Checks whether the given bytes start with the binary save header.
+     * @param data The stored save blob
+     * @return true if the blob was written by this codec
+     */
+    public static boolean isBinaryFormat(byte[] data) {
+        return hasMagic(data, MAGIC);
+    }
+
+    /**
+     * Checks whether the given bytes are a delta written by {@link #encodeDelta}.
+     * @param data The stored save blob
+     * @return true if the blob is a delta
+     */
+    public static boolean isDeltaFormat(byte[] data) {
+        return hasMagic(data, DELTA_MAGIC);
+    }
+
+    private static boolean hasMagic(byte[] data, byte[] magic) {
+        if (data == null || data.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (data[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a game state into the binary save format.
+     * @param state The state to encode
+     * @return The encoded bytes
+     * @throws IOException if the state cannot be represented in the format
+     */
+    public static byte[] encode(GameState state) throws IOException {
+        List<Level> levels = levelsOf(state);
+        SaveDataOutput player = new SaveDataOutput(1024);
+        writePlayer(player, state.getPlayer(), levels);
+        byte[] playerSection = toSection(player);
+        byte[][] levelSections = new byte[levels.size()][];
+        LazyLevelList.Section[] pendingSections = new LazyLevelList.Section[levels.size()];
+        int size = playerSection.length;
+        for (int i = 0; i < levels.size(); i++) {
+            pendingSections[i] = pendingSection(levels, i);
+            if (pendingSections[i] == null) {
+                levelSections[i] = levelSection(levels.get(i));
+            }
+            size += sectionLength(levelSections[i], pendingSections[i]);
+        }
+
+        SaveDataOutput out = new SaveDataOutput(size + 64);
+        out.writeBytes(MAGIC);
+        out.writeVarInt(FORMAT_VERSION);
+        out.writeVarInt(state.getCurrentLevelIndex());
+        out.writeVarInt(levels.size());
+        out.writeVarInt(playerSection.length);
+        for (int i = 0; i < levels.size(); i++) {
+            out.writeVarInt(sectionLength(levelSections[i], pendingSections[i]));
+        }
+        out.writeBytes(playerSection);
+        for (int i = 0; i < levels.size(); i++) {
+            writeSectionBytes(out, levelSections[i], pendingSections[i]);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes the changes of a game state relative to a previously saved state.
+     * Levels not present in {@code baseLevels} at the same index are written in full,
+     * other levels only contribute the rooms listed in {@code changedRooms}.
+     *
+     * @param state The state to encode
+     * @param baseLevels The level identities contained in the parent save, see {@link LazyLevelList#identitiesOf}
+     * @param changedRooms The rooms changed since the parent save, per level
+     * @param includePlayer Whether the player record changed and must be written
+     * @return The encoded delta
+     * @throws IOException if the state cannot be represented in the format
+     */
+    public static byte[] encodeDelta(GameState state, List<?> baseLevels,
+                                     Map<Level, List<Room>> changedRooms, boolean includePlayer) throws IOException {
+        SaveDataOutput body = new SaveDataOutput(1024);
+
+        List<Level> levels = levelsOf(state);
+        body.writeVarInt(state.getCurrentLevelIndex());
+        body.writeVarInt(levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            if (i >= baseLevels.size() || baseLevels.get(i) != LazyLevelList.identityOf(levels, i)) {
+                body.writeVarInt(LEVEL_FULL);
+                LazyLevelList.Section pending = pendingSection(levels, i);
+                byte[] section = pending == null ? levelSection(levels.get(i)) : null;
+                body.writeVarInt(sectionLength(section, pending));
+                writeSectionBytes(body, section, pending);
+                continue;
+            }
+            if (!LazyLevelList.isLoaded(levels, i)) {
+                // Never decoded since it was loaded, so it cannot have changed
+                body.writeVarInt(LEVEL_UNCHANGED);
+                continue;
+            }
+            Level level = levels.get(i);
+            List<Room> rooms = changedRooms.getOrDefault(level, List.of());
+            if (rooms.isEmpty()) {
+                body.writeVarInt(LEVEL_UNCHANGED);
+                continue;
+            }
+            body.writeVarInt(LEVEL_PATCH);
+            body.writeVarInt(rooms.size());
+            for (Room room : rooms) {
+                writeRoom(body, room, level.getRooms());
+            }
+        }
+
+        body.writeBoolean(includePlayer);
+        if (includePlayer) {
+            writePlayer(body, state.getPlayer(), levels);
+        }
+        return finish(DELTA_MAGIC, body);
+    }
+
+    private static byte[] finish(byte[] magic, SaveDataOutput body) {
+        SaveDataOutput out = new SaveDataOutput(body.size() + 1024);
+        out.writeBytes(magic);
+        out.writeVarInt(FORMAT_VERSION);
+        out.writeStringTable(body);
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static List<Level> levelsOf(GameState state) {
+        return state.getLevels() != null ? state.getLevels() : List.of();
+    }
+
+    private static byte[] toSection(SaveDataOutput body) {
+        SaveDataOutput out = new SaveDataOutput(body.size() + 512);
+        out.writeStringTable(body);
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static byte[] levelSection(Level level) throws IOException {
+        SaveDataOutput body = new SaveDataOutput(2048);
+        writeLevel(body, level);
+        return toSection(body);
+    }
+
+    private static LazyLevelList.Section pendingSection(List<Level> levels, int index) {
+        return levels instanceof LazyLevelList lazy ? lazy.pendingSection(index) : null;
+    }
+
+    private static int sectionLength(byte[] encoded, LazyLevelList.Section pending) {
+        return encoded != null ? encoded.length : pending.length;
+    }
+
+    private static void writeSectionBytes(SaveDataOutput out, byte[] encoded, LazyLevelList.Section pending) {
+        if (encoded != null) {
+            out.writeBytes(encoded);
+        } else {
+            // Copied as stored; the section carries its own string table
+            out.writeBytes(pending.data, pending.offset, pending.length);
+        }
+    }
+
+    private static SaveDataInput openSection(byte[] data, int offset, int length) throws IOException {
+        SaveDataInput in = new SaveDataInput(data, offset, length);
+        in.readStringTable();
+        return in;
+    }
+
+    static Level readLevelSection(LazyLevelList.Section section) throws IOException {
+        return readLevel(openSection(section.data, section.offset, section.length));
+    }
+
+    /**
+     * Decodes a game state from the binary save format.
+     * @param data The encoded bytes
+     * @return The restored game state
+     * @throws IOException if the data is corrupt or of an unsupported version
+     */
+    public static GameState decode(byte[] data) throws IOException {
+        if (!isBinaryFormat(data)) {
+            throw new IOException("Not a binary save");
+        }
+        SaveDataInput in = new SaveDataInput(data);
+        in.skip(MAGIC.length);
+        if (readVersion(in) == SINGLE_TABLE_VERSION) {
+            in.readStringTable();
+            return decodeSingleTable(in);
+        }
+
+        int currentLevelIndex = in.readVarInt();
+        SectionDirectory directory = readDirectory(in, data);
+        GameState state = new GameState();
+        state.setLevels(directory.levels);
+        state.setCurrentLevelIndex(currentLevelIndex);
+        // Decodes the levels the player stands in or has visited; the rest wait for first access
+        state.setPlayer(readPlayer(openSection(data, directory.playerOffset, directory.playerLength), directory.levels));
+        return state;
+    }
+
+    private static GameState decodeSingleTable(SaveDataInput in) throws IOException {
+        int currentLevelIndex = in.readVarInt();
+        int levelCount = in.readVarInt();
+        List<Level> levels = new ArrayList<>(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(readLevel(in));
+        }
+
+        GameState state = new GameState();
+        state.setLevels(levels);
+        state.setCurrentLevelIndex(currentLevelIndex);
+        state.setPlayer(readPlayer(in, levels));
+        return state;
+    }
+
+    private static SectionDirectory readDirectory(SaveDataInput in, byte[] data) throws IOException {
+        int levelCount = in.readVarInt();
+        int playerLength = in.readVarInt();
+        int[] lengths = new int[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            lengths[i] = in.readVarInt();
+        }
+
+        int playerOffset = in.position();
+        in.skip(playerLength);
+        Object[] sections = new Object[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            sections[i] = new LazyLevelList.Section(data, in.position(), lengths[i]);
+            in.skip(lengths[i]);
+        }
+        return new SectionDirectory(playerOffset, playerLength, new LazyLevelList(sections, new Level[levelCount]));
+    }
+
+    private static final class SectionDirectory {
+        final int playerOffset;
+        final int playerLength;
+        final LazyLevelList levels;
+
+        SectionDirectory(int playerOffset, int playerLength, LazyLevelList levels) {
+            this.playerOffset = playerOffset;
+            this.playerLength = playerLength;
+            this.levels = levels;
+        }
+    }
+
+    /**
+     * Applies a delta written by {@link #encodeDelta} to the state of its parent save.
+     * The base state is consumed and must not be used afterwards.
+     *
+     * @param base The materialized parent state
+     * @param delta The encoded delta
+     * @return The state after applying the delta
+     * @throws IOException if the delta is corrupt or does not match the base
+     */
+    public static GameState applyDelta(GameState base, byte[] delta) throws IOException {
+        if (!isDeltaFormat(delta)) {
+            throw new IOException("Not a delta save");
+        }
+        SaveDataInput in = new SaveDataInput(delta);
+        in.skip(DELTA_MAGIC.length);
+        int version = readVersion(in);
+        in.readStringTable();
+
+        List<Level> baseLevels = levelsOf(base);
+        int currentLevelIndex = in.readVarInt();
+        int levelCount = in.readVarInt();
+        Object[] identities = new Object[levelCount];
+        Level[] loaded = new Level[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            int kind = in.readVarInt();
+            if (kind == LEVEL_FULL) {
+                if (version == SINGLE_TABLE_VERSION) {
+                    loaded[i] = readLevel(in);
+                    identities[i] = loaded[i];
+                } else {
+                    int length = in.readVarInt();
+                    identities[i] = new LazyLevelList.Section(delta, in.position(), length);
+                    in.skip(length);
+                }
+                continue;
+            }
+            if (i >= baseLevels.size()) {
+                throw new IOException("Delta references level " + i + " missing from its base save");
+            }
+            switch (kind) {
+                case LEVEL_UNCHANGED -> {
+                    // Carried over as is, so a level the base never decoded stays undecoded
+                    identities[i] = LazyLevelList.identityOf(baseLevels, i);
+                    loaded[i] = LazyLevelList.isLoaded(baseLevels, i) ? baseLevels.get(i) : null;
+                }
+                case LEVEL_PATCH -> {
+                    loaded[i] = patchLevel(in, baseLevels.get(i));
+                    identities[i] = loaded[i];
+                }
+                default -> throw new IOException("Unknown level entry kind: " + kind);
+            }
+        }
+        List<Level> levels = new LazyLevelList(identities, loaded);
+
+        Player player;
+        if (in.readBoolean()) {
+            player = readPlayer(in, levels);
+        } else {
+            player = base.getPlayer();
+            remapPlayerRooms(player, baseLevels, levels);
+        }
+
+        GameState state = new GameState();
+        state.setLevels(levels);
+        state.setCurrentLevelIndex(currentLevelIndex);
+        state.setPlayer(player);
+        return state;
+    }
+
+    /**
+     * Reads the interned strings of a full or delta save without decoding the rest of it.
+     * @param data The encoded save
+     * @return The strings in table order
+     * @throws IOException if the data is not in the binary save format
+     */
+    public static List<String> readStringTable(byte[] data) throws IOException {
+        boolean full = isBinaryFormat(data);
+        if (!full && !isDeltaFormat(data)) {
+            throw new IOException("Not a binary save");
+        }
+        SaveDataInput in = new SaveDataInput(data);
+        in.skip(MAGIC.length);
+        int version = readVersion(in);
+        if (!full || version == SINGLE_TABLE_VERSION) {
+            in.readStringTable();
+            return in.getStringTable();
+        }
+
+        // Sectioned save: the player table followed by each level's table
+        in.readVarInt();
+        SectionDirectory directory = readDirectory(in, data);
+        List<String> strings = new ArrayList<>(
+            openSection(data, directory.playerOffset, directory.playerLength).getStringTable());
+        for (int i = 0; i < directory.levels.size(); i++) {
+            LazyLevelList.Section section = directory.levels.pendingSection(i);
+            strings.addAll(openSection(section.data, section.offset, section.length).getStringTable());
+        }
+        return strings;
+    }
+
+    /**
+     * Splits a full save into its head and its level sections, e.g. to store levels apart from the save.
+     * @param data The encoded save
+     * @return The sections, or null if the save is a delta or a version 1 save without sections
+     * @throws IOException if the data is corrupt
+     */
+    public static LevelSections splitLevelSections(byte[] data) throws IOException {
+        if (!isBinaryFormat(data)) {
+            return null;
+        }
+        SaveDataInput in = new SaveDataInput(data);
+        in.skip(MAGIC.length);
+        if (readVersion(in) == SINGLE_TABLE_VERSION) {
+            return null;
+        }
+        in.readVarInt();
+        SectionDirectory directory = readDirectory(in, data);
+        byte[] head = Arrays.copyOf(data, directory.playerOffset + directory.playerLength);
+        List<byte[]> levels = new ArrayList<>(directory.levels.size());
+        for (int i = 0; i < directory.levels.size(); i++) {
+            LazyLevelList.Section section = directory.levels.pendingSection(i);
+            levels.add(Arrays.copyOfRange(section.data, section.offset, section.offset + section.length));
+        }
+        return new LevelSections(head, levels);
+    }
+
+    private static int readVersion(SaveDataInput in) throws IOException {
+        int version = in.readVarInt();
+        if (version < SINGLE_TABLE_VERSION || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported save format version: " + version);
+        }
+        return version;
+    }
+
+    // Levels and rooms
+
+    private static void writeLevel(SaveDataOutput out, Level level) throws IOException {
+        Map<String, Room> rooms = level.getRooms();
+        // Sorted so equal levels always encode to the same bytes, which chunk deduplication relies on
+        List<Room> ordered = new ArrayList<>(rooms.values());
+        ordered.sort(Comparator.comparing(Room::getRoomId));
+        out.writeVarInt(level.getWidth());
+        out.writeVarInt(level.getHeight());
+        out.writeVarInt(rooms.size());
+        for (Room room : ordered) {
+            writeRoom(out, room, rooms);
+        }
+        writeRoomRef(out, level.getStartingRoom());
+        writeRoomRef(out, level.getTreasureRoom());
+    }
+
+    private static Level readLevel(SaveDataInput in) throws IOException {
+        int width = in.readVarInt();
+        int height = in.readVarInt();
+        int roomCount = in.readVarInt();
+
+        Map<String, Room> rooms = new HashMap<>(roomCount * 2);
+        int[] connectionMasks = new int[roomCount];
+        Room[] ordered = new Room[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            Room room = readRoom(in, connectionMasks, i);
+            ordered[i] = room;
+            rooms.put(room.getRoomId(), room);
+        }
+        connectRooms(ordered, connectionMasks, rooms);
+
+        Room startingRoom = readRoomRef(in, rooms);
+        Room treasureRoom = readRoomRef(in, rooms);
+        return Level.restore(width, height, rooms, startingRoom, treasureRoom);
+    }
+
+    private static Level patchLevel(SaveDataInput in, Level base) throws IOException {
+        int roomCount = in.readVarInt();
+        Map<String, Room> rooms = new HashMap<>(base.getRooms());
+        int[] connectionMasks = new int[roomCount];
+        Room[] patched = new Room[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            patched[i] = readRoom(in, connectionMasks, i);
+            rooms.put(patched[i].getRoomId(), patched[i]);
+        }
+        connectRooms(patched, connectionMasks, rooms);
+
+        // Point unchanged neighbours at the replacement rooms
+        Set<Room> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+        replaced.addAll(Arrays.asList(patched));
+        for (Room room : patched) {
+            int[] coords = parseCoordinates(room.getRoomId());
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                Room neighbour = rooms.get(neighbourId(coords, d));
+                if (neighbour == null || replaced.contains(neighbour)) {
+                    continue;
+                }
+                String back = DIRECTIONS[OPPOSITE_DIRECTIONS[d]];
+                Room linked = neighbour.getConnectedRoom(back);
+                if (linked != null && linked.getRoomId().equals(room.getRoomId())) {
+                    neighbour.connectRoom(back, room);
+                }
+            }
+        }
+
+        Room startingRoom = base.getStartingRoom() != null ? rooms.get(base.getStartingRoom().getRoomId()) : null;
+        Room treasureRoom = base.getTreasureRoom() != null ? rooms.get(base.getTreasureRoom().getRoomId()) : null;
+        return Level.restore(base.getWidth(), base.getHeight(), rooms, startingRoom, treasureRoom);
+    }
+
+    private static void writeRoom(SaveDataOutput out, Room room, Map<String, Room> levelRooms) throws IOException {
+        int[] coords = parseCoordinates(room.getRoomId());
+        out.writeSignedVarInt(coords[0]);
+        out.writeSignedVarInt(coords[1]);
+        out.writeStringRef(room.getName());
+        out.writeStringRef(room.getBaseDescription());
+        out.writeStringRef(room.getDetailedDescription());
+
+        int flags = 0;
+        if (room.isVisited()) flags |= ROOM_VISITED;
+        if (room.hasTreasure()) flags |= ROOM_TREASURE;
+        if (room.hasSpecialTreasure()) flags |= ROOM_SPECIAL_TREASURE;
+        if (room.hasHiddenPassages()) flags |= ROOM_HIDDEN_PASSAGES;
+        if (room.isSecretsRevealed()) flags |= ROOM_SECRETS_REVEALED;
+        if (room.getBarrier() != null) flags |= ROOM_BARRIER;
+        if (room.getPuzzle() != null) flags |= ROOM_PUZZLE;
+        flags |= connectionMask(room, coords, levelRooms) << CONNECTION_SHIFT;
+        out.writeVarInt(flags);
+
+        if (room.getBarrier() != null) {
+            writeItem(out, room.getBarrier());
+        }
+        if (room.getPuzzle() != null) {
+            writePuzzle(out, room.getPuzzle());
+        }
+        List<Item> contents = room.getContents();
+        out.writeVarInt(contents.size());
+        for (Item item : contents) {
+            writeItem(out, item);
+        }
+    }
+
+    private static Room readRoom(SaveDataInput in, int[] connectionMasks, int index) throws IOException {
+        int x = in.readSignedVarInt();
+        int y = in.readSignedVarInt();
+        String name = in.readStringRef();
+        String description = in.readStringRef();
+        String detailedDescription = in.readStringRef();
+        int flags = in.readVarInt();
+
+        Room room = Room.restore(x + "," + y, name, description, detailedDescription);
+        if ((flags & ROOM_BARRIER) != 0) {
+            room.setBarrier((NegativeItem) readItem(in));
+        }
+        if ((flags & ROOM_PUZZLE) != 0) {
+            room.setPuzzle(readPuzzle(in));
+        }
+        int itemCount = in.readVarInt();
+        for (int i = 0; i < itemCount; i++) {
+            room.addItem(readItem(in));
+        }
+
+        // Flags are applied after the items so restoring does not announce them
+        room.setVisited((flags & ROOM_VISITED) != 0);
+        room.setTreasure((flags & ROOM_TREASURE) != 0);
+        room.setSpecialTreasure((flags & ROOM_SPECIAL_TREASURE) != 0);
+        room.setHasHiddenPassages((flags & ROOM_HIDDEN_PASSAGES) != 0);
+        room.setSecretsRevealed((flags & ROOM_SECRETS_REVEALED) != 0);
+        connectionMasks[index] = flags >>> CONNECTION_SHIFT;
+        return room;
+    }
+
+    private static int connectionMask(Room room, int[] coords, Map<String, Room> levelRooms) throws IOException {
+        int mask = 0;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            Room target = room.getConnectedRoom(DIRECTIONS[d]);
+            if (target == null) {
+                continue;
+            }
+            String expectedId = neighbourId(coords, d);
+            if (!expectedId.equals(target.getRoomId()) || levelRooms.get(expectedId) != target) {
+                throw new IOException("Room " + room.getRoomId() + " has a connection outside the level grid");
+            }
+            mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    private static void connectRooms(Room[] rooms, int[] connectionMasks, Map<String, Room> roomsById) {
+        for (int i = 0; i < rooms.length; i++) {
+            int mask = connectionMasks[i];
+            if (mask == 0) {
+                continue;
+            }
+            int[] coords = parseCoordinates(rooms[i].getRoomId());
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                if ((mask & (1 << d)) != 0) {
+                    rooms[i].connectRoom(DIRECTIONS[d], roomsById.get(neighbourId(coords, d)));
+                }
+            }
+        }
+    }
+
+    private static String neighbourId(int[] coords, int direction) {
+        return (coords[0] + DIRECTION_OFFSETS[direction][0]) + "," + (coords[1] + DIRECTION_OFFSETS[direction][1]);
+    }
+
+    private static int[] parseCoordinates(String roomId) {
+        String[] parts = roomId.split(",");
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+
+    private static void writeRoomRef(SaveDataOutput out, Room room) {
+        if (room == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        int[] coords = parseCoordinates(room.getRoomId());
+        out.writeSignedVarInt(coords[0]);
+        out.writeSignedVarInt(coords[1]);
+    }
+
+    private static Room readRoomRef(SaveDataInput in, Map<String, Room> rooms) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int x = in.readSignedVarInt();
+        int y = in.readSignedVarInt();
+        return rooms.get(x + "," + y);
+    }
+
+    // Player
+
+    private static void writePlayer(SaveDataOutput out, Player player, List<Level> levels) throws IOException {
+        out.writeVarInt(player.getDifficultyLevel().ordinal());
+        out.writeStringRef(player.getName());
+        out.writeSignedVarInt(player.getPowerPoints());
+        writeLevelRoomRef(out, player.getLocation(), levels);
+
+        List<Room> visited = new ArrayList<>(player.getVisitedRooms());
+        out.writeVarInt(visited.size());
+        for (Room room : visited) {
+            writeLevelRoomRef(out, room, levels);
+        }
+
+        List<String> effects = player.getActiveEffects();
+        out.writeVarInt(effects.size());
+        for (String effect : effects) {
+            out.writeStringRef(effect);
+        }
+
+        List<Item> items = player.getInventory();
+        out.writeVarInt(items.size());
+        for (Item item : items) {
+            writeItem(out, item);
+        }
+    }
+
+    private static Player readPlayer(SaveDataInput in, List<Level> levels) throws IOException {
+        Player.DifficultyLevel[] difficulties = Player.DifficultyLevel.values();
+        int difficultyOrdinal = in.readVarInt();
+        if (difficultyOrdinal >= difficulties.length) {
+            throw new IOException("Unknown difficulty level: " + difficultyOrdinal);
+        }
+        Player player = new Player(difficulties[difficultyOrdinal]);
+        player.setName(in.readStringRef());
+        int powerPoints = in.readSignedVarInt();
+        Room location = readLevelRoomRef(in, levels);
+
+        int visitedCount = in.readVarInt();
+        List<Room> visited = new ArrayList<>(visitedCount);
+        for (int i = 0; i < visitedCount; i++) {
+            Room room = readLevelRoomRef(in, levels);
+            if (room != null) {
+                visited.add(room);
+            }
+        }
+
+        int effectCount = in.readVarInt();
+        List<String> effects = new ArrayList<>(effectCount);
+        for (int i = 0; i < effectCount; i++) {
+            effects.add(in.readStringRef());
+        }
+
+        int itemCount = in.readVarInt();
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(readItem(in));
+        }
+
+        player.restoreProgress(powerPoints, location, visited, items, effects);
+        return player;
+    }
+
+    private static void remapPlayerRooms(Player player, List<Level> oldLevels, List<Level> newLevels) {
+        Room location = remapRoom(player.getLocation(), oldLevels, newLevels);
+        List<Room> visited = new ArrayList<>();
+        for (Room room : player.getVisitedRooms()) {
+            Room remapped = remapRoom(room, oldLevels, newLevels);
+            if (remapped != null) {
+                visited.add(remapped);
+            }
+        }
+        player.restoreProgress(player.getPowerPoints(), location, visited,
+            player.getInventory(), player.getActiveEffects());
+    }
+
+    private static Room remapRoom(Room room, List<Level> oldLevels, List<Level> newLevels) {
+        int levelIndex = findLevelIndex(room, oldLevels);
+        if (levelIndex < 0 || levelIndex >= newLevels.size()) {
+            return null;
+        }
+        return newLevels.get(levelIndex).getRoom(room.getRoomId());
+    }
+
+    private static int findLevelIndex(Room room, List<Level> levels) {
+        if (room == null) {
+            return -1;
+        }
+        for (int i = 0; i < levels.size(); i++) {
+            // A room object can only belong to a level that has been decoded
+            if (LazyLevelList.isLoaded(levels, i) && levels.get(i).getRoom(room.getRoomId()) == room) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeLevelRoomRef(SaveDataOutput out, Room room, List<Level> levels) throws IOException {
+        if (room == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        int levelIndex = findLevelIndex(room, levels);
+        if (levelIndex < 0) {
+            throw new IOException("Room " + room.getRoomId() + " does not belong to any saved level");
+        }
+        out.writeVarInt(levelIndex + 1);
+        int[] coords = parseCoordinates(room.getRoomId());
+        out.writeSignedVarInt(coords[0]);
+        out.writeSignedVarInt(coords[1]);
+    }
+
+    private static Room readLevelRoomRef(SaveDataInput in, List<Level> levels) throws IOException {
+        int levelRef = in.readVarInt();
+        if (levelRef == 0) {
+            return null;
+        }
+        if (levelRef > levels.size()) {
+            throw new IOException("Room reference to unknown level: " + levelRef);
+        }
+        int x = in.readSignedVarInt();
+        int y = in.readSignedVarInt();
+        return levels.get(levelRef - 1).getRoom(x + "," + y);
+    }
+
+    // Items and puzzles
+
+    private static void writeItem(SaveDataOutput out, Item item) {
+        int kind;
+        int flags = item.isConsumable() ? ITEM_CONSUMABLE : 0;
+        if (item instanceof HealingItem healing) {
+            kind = KIND_HEALING;
+            if (healing.isFood()) flags |= ITEM_FOOD;
+        } else if (item instanceof ToolItem tool) {
+            kind = KIND_TOOL;
+            if (tool.isSpell()) flags |= ITEM_SPELL;
+            if (tool.canRevealPassages()) flags |= ITEM_REVEALS;
+        } else if (item instanceof NegativeItem negative) {
+            kind = KIND_NEGATIVE;
+            if (negative.isBarrier()) flags |= ITEM_BARRIER;
+            if (negative.isDefeated()) flags |= ITEM_DEFEATED;
+        } else {
+            kind = KIND_ITEM;
+        }
+
+        out.writeByte(kind);
+        out.writeVarInt(flags);
+        if (kind == KIND_ITEM) {
+            out.writeVarInt(item.getType().ordinal());
+        }
+        out.writeStringRef(item.getName());
+        out.writeStringRef(item.getDescription());
+        out.writeSignedVarInt(item.getValue());
+        out.writeSignedVarInt(item.getPowerPoints());
+        out.writeSignedVarInt(item.getDurability());
+    }
+
+    private static Item readItem(SaveDataInput in) throws IOException {
+        int kind = in.readByte();
+        int flags = in.readVarInt();
+        ItemType baseType = null;
+        if (kind == KIND_ITEM) {
+            int ordinal = in.readVarInt();
+            if (ordinal >= ItemType.values().length) {
+                throw new IOException("Unknown item type: " + ordinal);
+            }
+            baseType = ItemType.values()[ordinal];
+        }
+        String name = in.readStringRef();
+        String description = in.readStringRef();
+        int value = in.readSignedVarInt();
+        int powerPoints = in.readSignedVarInt();
+        int durability = in.readSignedVarInt();
+
+        Item item = switch (kind) {
+            case KIND_HEALING -> new HealingItem(name, description, powerPoints, (flags & ITEM_FOOD) != 0);
+            case KIND_TOOL -> new ToolItem(name, description, powerPoints,
+                (flags & ITEM_SPELL) != 0, (flags & ITEM_REVEALS) != 0);
+            case KIND_NEGATIVE -> {
+                NegativeItem negative = new NegativeItem(name, description, powerPoints, (flags & ITEM_BARRIER) != 0);
+                negative.setDefeated((flags & ITEM_DEFEATED) != 0);
+                yield negative;
+            }
+            case KIND_ITEM -> new ItemBuilder()
+                .withName(name)
+                .withDescription(description)
+                .withType(baseType)
+                .withBehavior(behaviorFor(baseType))
+                .withPowerPoints(powerPoints)
+                .build();
+            default -> throw new IOException("Unknown item kind: " + kind);
+        };
+        item.setValue(value);
+        item.setDurability(durability);
+        item.setConsumable((flags & ITEM_CONSUMABLE) != 0);
+        return item;
+    }
+
+    private static ItemBehavior behaviorFor(ItemType type) {
+        return switch (type) {
+            case TOOL -> new ToolBehavior();
+            case HEALING -> new HealingBehavior();
+            case NEGATIVE -> new DamageBehavior();
+        };
+    }
+
+    private static void writePuzzle(SaveDataOutput out, Puzzle puzzle) {
+        out.writeStringRef(puzzle.getQuestion());
+        out.writeStringRef(puzzle.getAnswer());
+        out.writeStringRef(puzzle.getDescription());
+        out.writeBoolean(puzzle.isSolved());
+    }
+
+    private static Puzzle readPuzzle(SaveDataInput in) throws IOException {
+        Puzzle puzzle = new Puzzle(in.readStringRef(), in.readStringRef(), in.readStringRef());
+        puzzle.setSolved(in.readBoolean());
+        return puzzle;
+    }
+}
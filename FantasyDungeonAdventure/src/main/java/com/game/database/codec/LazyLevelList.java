@@ -0,0 +1,116 @@
+package com.game.database.codec;
+
+import com.game.level.Level;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Level list of a loaded save that decodes each level on first access.
+ * <p>
+ * Levels are stored as self-contained sections, so a level the player never returns to
+ * is never decoded, and saving it again copies its section unchanged. Every entry has an
+ * identity that stays the same whether or not the level has been decoded yet, which lets
+ * the save chain recognise unchanged levels without decoding them.
+ */
+public final class LazyLevelList extends AbstractList<Level> implements RandomAccess {
+    private final Object[] identities;
+    private final Level[] loaded;
+
+    LazyLevelList(Object[] identities, Level[] loaded) {
+        this.identities = identities;
+        this.loaded = loaded;
+    }
+
+    @Override
+    public synchronized Level get(int index) {
+        Level level = loaded[index];
+        if (level == null) {
+            try {
+                level = ((Section) identities[index]).decode();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load level " + (index + 1) + " of the save", e);
+            }
+            loaded[index] = level;
+        }
+        return level;
+    }
+
+    @Override
+    public synchronized Level set(int index, Level level) {
+        Level previous = get(index);
+        identities[index] = level;
+        loaded[index] = level;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return identities.length;
+    }
+
+    synchronized boolean isLoaded(int index) {
+        return loaded[index] != null;
+    }
+
+    synchronized Object identity(int index) {
+        return identities[index];
+    }
+
+    /**
+     * @return the stored section of a level that has not been decoded, or null once it has
+     */
+    synchronized Section pendingSection(int index) {
+        return loaded[index] == null ? (Section) identities[index] : null;
+    }
+
+    /**
+     * Checks whether a level has been decoded, without decoding it.
+     * @param levels The levels of a game state
+     * @param index The level index
+     * @return true unless the level is still an undecoded section of a loaded save
+     */
+    public static boolean isLoaded(List<Level> levels, int index) {
+        return !(levels instanceof LazyLevelList lazy) || lazy.isLoaded(index);
+    }
+
+    /**
+     * Returns an identity for each level that does not change when a level is decoded,
+     * only when it is replaced.
+     * @param levels The levels of a game state
+     * @return The identities in level order
+     */
+    public static List<Object> identitiesOf(List<Level> levels) {
+        List<Object> result = new ArrayList<>(levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            result.add(identityOf(levels, i));
+        }
+        return result;
+    }
+
+    static Object identityOf(List<Level> levels, int index) {
+        return levels instanceof LazyLevelList lazy ? lazy.identity(index) : levels.get(index);
+    }
+
+    /**
+     * The encoded bytes of one level inside a save blob.
+     */
+    static final class Section {
+        final byte[] data;
+        final int offset;
+        final int length;
+
+        Section(byte[] data, int offset, int length) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        Level decode() throws IOException {
+            return GameStateCodec.readLevelSection(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.game.database.codec;
+
+import java.util.List;
+
+/**
+ * A full save split into its head (header, section directory and player section) and its
+ * level sections. Joining the parts in order gives back the original save.
+ */
+public final class LevelSections {
+    private final byte[] head;
+    private final List<byte[]> levels;
+
+    public LevelSections(byte[] head, List<byte[]> levels) {
+        this.head = head;
+        this.levels = levels;
+    }
+
+    public byte[] getHead() { return head; }
+    public List<byte[]> getLevels() { return levels; }
+
+    /**
+     * @return the encoded save the sections were split from
+     */
+    public byte[] join() {
+        int size = head.length;
+        for (byte[] level : levels) {
+            size += level.length;
+        }
+        byte[] data = new byte[size];
+        System.arraycopy(head, 0, data, 0, head.length);
+        int offset = head.length;
+        for (byte[] level : levels) {
+            System.arraycopy(level, 0, data, offset, level.length);
+            offset += level.length;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,125 @@
+package com.game.database.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reader counterpart of {@link SaveDataOutput}.
+ * Reads directly from a byte array without intermediate copies.
+ */
+public class SaveDataInput {
+    private final byte[] data;
+    private final int limit;
+    private int position;
+    private String[] strings = new String[0];
+
+    public SaveDataInput(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public SaveDataInput(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readByte() throws IOException {
+        if (position >= limit) {
+            throw new IOException("Unexpected end of save data");
+        }
+        return data[position++] & 0xFF;
+    }
+
+    public byte[] readBytes(int length) throws IOException {
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Invalid byte run length: " + length);
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(data, position, result, 0, length);
+        position += length;
+        return result;
+    }
+
+    public int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in save data");
+    }
+
+    public int readSignedVarInt() throws IOException {
+        int raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public long readVarLong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in save data");
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public String readInlineString() throws IOException {
+        int length = readVarInt();
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads a string table and makes it the target of subsequent {@link #readStringRef()} calls.
+     */
+    public void readStringTable() throws IOException {
+        int count = readVarInt();
+        String[] table = new String[count];
+        for (int i = 0; i < count; i++) {
+            table[i] = readInlineString();
+        }
+        this.strings = table;
+    }
+
+    public List<String> getStringTable() {
+        return Arrays.asList(strings.clone());
+    }
+
+    public String readStringRef() throws IOException {
+        int ref = readVarInt();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref > strings.length) {
+            throw new IOException("String reference out of range: " + ref);
+        }
+        return strings[ref - 1];
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void skip(int length) throws IOException {
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Invalid skip length: " + length);
+        }
+        position += length;
+    }
+}
@@ -0,0 +1,110 @@
+package com.game.database.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Growable byte buffer for the binary save format.
+ * Integers are written as LEB128 varints (zigzag for signed values) and strings
+ * are interned into a table so repeated room text is stored only once.
+ */
+public class SaveDataOutput {
+    private final ByteArrayOutputStream bytes;
+    private final Map<String, Integer> stringIndex;
+    private final List<String> strings;
+
+    public SaveDataOutput() {
+        this(256);
+    }
+
+    public SaveDataOutput(int initialCapacity) {
+        this.bytes = new ByteArrayOutputStream(initialCapacity);
+        this.stringIndex = new HashMap<>();
+        this.strings = new ArrayList<>();
+    }
+
+    public void writeByte(int value) {
+        bytes.write(value);
+    }
+
+    public void writeBytes(byte[] data) {
+        bytes.write(data, 0, data.length);
+    }
+
+    public void writeBytes(byte[] data, int offset, int length) {
+        bytes.write(data, offset, length);
+    }
+
+    public void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes.write(value);
+    }
+
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.write((int) value);
+    }
+
+    public void writeBoolean(boolean value) {
+        bytes.write(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a reference into the string table, interning the string on first use.
+     * Null is encoded as reference 0.
+     */
+    public void writeStringRef(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndex.put(value, index);
+        }
+        writeVarInt(index + 1);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string inline, bypassing the string table.
+     */
+    public void writeInlineString(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(utf8.length);
+        writeBytes(utf8);
+    }
+
+    /**
+     * Writes the interned strings of {@code source} as a string table.
+     */
+    public void writeStringTable(SaveDataOutput source) {
+        writeVarInt(source.strings.size());
+        for (String value : source.strings) {
+            writeInlineString(value);
+        }
+    }
+
+    public int size() {
+        return bytes.size();
+    }
+
+    public byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+}
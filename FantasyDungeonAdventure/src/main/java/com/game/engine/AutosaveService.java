@@ -0,0 +1,196 @@
+package com.game.engine;
+
+import com.game.database.DeltaSaveTracker;
+import com.game.database.SaveGamePipeline;
+import com.game.database.SaveSnapshot;
+import com.game.database.SaveStore;
+import com.game.database.SaveStores;
+import com.game.database.SaveSummary;
+
+import javax.swing.Timer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Saves the game automatically on level transitions and every few commands.
+ * <p>
+ * Triggers only arm a short timer on the event dispatch thread, so a burst of them becomes a
+ * single save, and no command waits for one. When the timer fires the state is captured and
+ * handed to the save pipeline, which writes it in the background.
+ * <p>
+ * Each run, from a new or loaded game until the next, names its autosaves with a prefix of its
+ * own, as a game has no player name until it is first saved. The slots form one ring across
+ * runs: after every autosave only the most recent few are kept, so the autosaves of earlier
+ * runs go as soon as the current run has filled the ring. Autosaves are deltas chained to the
+ * save before them, so an older one is only deleted once no save builds on it any more, which
+ * is when the chain has been rebased by compaction; nothing is rewritten to reclaim a slot.
+ * Manual saves share the chain and keep their autosave ancestors alive in the same way.
+ * <p>
+ * Settings are read from system properties:
+ * {@code game.autosave.enabled}, {@code game.autosave.commands}, {@code game.autosave.slots}
+ * and {@code game.autosave.minIntervalMs}.
+ */
+public class AutosaveService {
+    private static final Logger LOGGER = Logger.getLogger(AutosaveService.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("game.autosave.enabled", "true"));
+    private static final int COMMAND_INTERVAL = Math.max(1, Integer.getInteger("game.autosave.commands", 5));
+    private static final int SLOTS = Math.max(1, Integer.getInteger("game.autosave.slots", 3));
+    private static final int MIN_INTERVAL_MS = Math.max(0, Integer.getInteger("game.autosave.minIntervalMs", 2000));
+    private static AutosaveService instance;
+
+    /**
+     * Game events that request an autosave.
+     */
+    public enum Trigger {
+        LEVEL_TRANSITION,
+        COMMAND_INTERVAL
+    }
+
+    private final boolean enabled;
+    private final int minIntervalMs;
+    private final Timer timer;
+    private final Set<Trigger> pendingTriggers = EnumSet.noneOf(Trigger.class);
+    private String runId = newRunId();
+    private int commandsSinceAutosave;
+    private long lastAutosaveMillis;
+    private int holdCount;
+
+    private AutosaveService() {
+        this(ENABLED, MIN_INTERVAL_MS);
+    }
+
+    /**
+     * @param enabled Whether triggers lead to autosaves at all
+     * @param minIntervalMs The least time between two autosaves
+     */
+    AutosaveService(boolean enabled, int minIntervalMs) {
+        this.enabled = enabled;
+        this.minIntervalMs = minIntervalMs;
+        this.timer = new Timer(minIntervalMs, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    public static synchronized AutosaveService getInstance() {
+        if (instance == null) {
+            instance = new AutosaveService();
+        }
+        return instance;
+    }
+
+    /**
+     * Counts a processed command and requests an autosave every few commands.
+     * Must be called on the event dispatch thread.
+     */
+    public void commandProcessed() {
+        if (enabled && ++commandsSinceAutosave >= COMMAND_INTERVAL) {
+            request(Trigger.COMMAND_INTERVAL);
+        }
+    }
+
+    /**
+     * Requests an autosave. Requests made before the pending one is taken are merged into it.
+     * Must be called on the event dispatch thread.
+     * @param trigger The reason for the autosave
+     */
+    public void request(Trigger trigger) {
+        if (!enabled) {
+            return;
+        }
+        pendingTriggers.add(trigger);
+        if (!timer.isRunning()) {
+            // Rate limit, so a player racing through levels is not saving on every move
+            long delay = Math.max(0, lastAutosaveMillis + minIntervalMs - System.currentTimeMillis());
+            timer.setInitialDelay((int) delay);
+            timer.restart();
+        }
+    }
+
+    /**
+     * Holds back autosaves while the game state is mid-transition, e.g. while a modal
+     * dialog keeps the event loop running. Every call must be paired with {@link #release()}.
+     */
+    public void hold() {
+        holdCount++;
+    }
+
+    /**
+     * Ends a {@link #hold()}, taking any autosave that was held back.
+     */
+    public void release() {
+        if (holdCount > 0 && --holdCount == 0 && !pendingTriggers.isEmpty() && !timer.isRunning()) {
+            timer.setInitialDelay(0);
+            timer.restart();
+        }
+    }
+
+    /**
+     * Drops any pending autosave and starts a new run, e.g. for a new or loaded game.
+     */
+    public void reset() {
+        timer.stop();
+        runId = newRunId();
+        pendingTriggers.clear();
+        commandsSinceAutosave = 0;
+        lastAutosaveMillis = System.currentTimeMillis();
+    }
+
+    private void flush() {
+        if (holdCount > 0 || pendingTriggers.isEmpty()) {
+            return;
+        }
+        GameEngine engine = GameEngine.getInstance();
+        if (!engine.isRunning() || engine.getPlayer() == null) {
+            pendingTriggers.clear();
+            return;
+        }
+
+        Set<Trigger> triggers = EnumSet.copyOf(pendingTriggers);
+        pendingTriggers.clear();
+        commandsSinceAutosave = 0;
+        lastAutosaveMillis = System.currentTimeMillis();
+
+        try {
+            DeltaSaveTracker tracker = engine.getSaveTracker();
+            SaveSnapshot snapshot = SaveSnapshot.captureAutosave(engine.captureGameState(), tracker, runId);
+            LOGGER.fine(() -> "Autosaving " + snapshot.getSaveName() + " for " + triggers);
+
+            SaveGamePipeline pipeline = SaveGamePipeline.getInstance();
+            pipeline.submit(snapshot);
+            pipeline.enqueue(() -> reclaimSlots(SaveStores.getDefault(), SaveSnapshot.AUTOSAVE_PREFIX));
+        } catch (RuntimeException e) {
+            LOGGER.warning("Autosave failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the id of the current run, which its autosaves are named after
+     */
+    String getRunId() {
+        return runId;
+    }
+
+    private static String newRunId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Deletes the autosaves beyond the newest few that no save builds on.
+     * @param store The store to reclaim from
+     * @param prefix The autosave prefix, {@link SaveSnapshot#AUTOSAVE_PREFIX} for the ring of all runs
+     * @return The number of autosaves deleted
+     */
+    static int reclaimSlots(SaveStore store, String prefix) {
+        List<SaveSummary> autosaves = store.findSavesByNamePrefix(prefix);
+        // Listed oldest first. Going newest first, each deletion can free the save before it
+        int deleted = 0;
+        for (int i = autosaves.size() - SLOTS - 1; i >= 0; i--) {
+            if (store.deleteUnreferencedSave(autosaves.get(i).getSaveId())) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -1,5 +1,10 @@
 package com.game.engine ;
-import com.game.database.GameDatabaseService;
+import com.game.database.DeltaSaveTracker;
+import com.game.database.LeaderboardEntry;
+import com.game.database.LeaderboardService;
+import com.game.database.PlayerStatistics;
+import com.game.database.PlayerStatisticsService;
+import com.game.database.SaveStores;
 
 import com.game.database.GameState;
 import com.game.event.GameEventType;
@@ -12,7 +17,6 @@ import com.game.puzzle.Puzzle;
 
 import java.io.*;
 import java.util.Arrays;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.Random;
@@ -20,15 +24,16 @@ import java.util.Map;
 import java.util.List;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.function.Supplier;
 import com.game.util.LogManager;
 
 import com.game.gui.GameWindow;
+import com.game.gui.WindowFrontEnd;
 import com.game.item.factory.ItemFactory;
 import com.game.item.factory.DefaultItemFactory;
 
-import javax.swing.JOptionPane;
-
 import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventHandler;
 
 
 
@@ -38,18 +43,30 @@ import com.game.event.GameEventDispatcher;
  * Core game engine class implementing the Singleton pattern.
  * Manages game state, processes commands, and coordinates all game systems.
  * This is the central hub that connects all game components and handles game flow.
+ * <p>
+ * The singleton plays the window's game. {@link #newSession(GameFrontEnd)} creates further
+ * engines, each playing a game of its own, e.g. for the clients of a server.
  */
 public class GameEngine implements Serializable {
-    private static GameEngine instance;
+    private static volatile GameEngine instance;
+    // The engine whose command is running on a thread, if it is not the singleton
+    private static final ThreadLocal<GameEngine> bound = new ThreadLocal<>();
     private final ItemFactory itemFactory;
+    private final transient GameFrontEnd frontEnd;
+    private final transient GameEventDispatcher dispatcher;
+    // Whether this is the window's game, which alone is autosaved and recorded
+    private final boolean primary;
     private Level currentLevel;
     private Player player;
     private String gameState;
     private static final Logger LOGGER = LogManager.getLogger(GameEngine.class.getName());
-    private final transient Scanner scanner;
     private Random random;
     private List<Level> levels;
     private int currentLevelIndex;
+    private final transient DeltaSaveTracker saveTracker = new DeltaSaveTracker();
+    // Play time of earlier sessions of a loaded game, plus the start of this session
+    private long previousPlayTimeSeconds;
+    private long sessionStartMillis = System.currentTimeMillis();
 
     // Collection of helpful gameplay tips shown to players
     private static final String[] TIPS = {
@@ -67,6 +84,7 @@ public class GameEngine implements Serializable {
 
     // Command aliases to improve user experience
     private static final Map<String, List<String>> COMMAND_ALIASES = new HashMap<>();
+    private static final int LEADERBOARD_SIZE = 10;
     static {
         // Map common variations of commands to their primary command
         COMMAND_ALIASES.put("move", Arrays.asList("go", "walk", "run", "travel"));
@@ -90,11 +108,16 @@ public class GameEngine implements Serializable {
      * Initializes core game components and event handlers.
      *
      * @param itemFactory Factory for creating game items
+     * @param frontEnd Asks the player outside the command line
+     * @param dispatcher Dispatches the events of this engine's games
+     * @param primary Whether this is the window's game
      */
-    private GameEngine(ItemFactory itemFactory) {
+    private GameEngine(ItemFactory itemFactory, GameFrontEnd frontEnd, GameEventDispatcher dispatcher, boolean primary) {
         this.itemFactory = itemFactory;
+        this.frontEnd = frontEnd;
+        this.dispatcher = dispatcher;
+        this.primary = primary;
         this.gameState = "initialized";
-        this.scanner = new Scanner(System.in);
         this.random = new Random();
         this.levels = new ArrayList<>();
         this.currentLevelIndex = 0;
@@ -102,20 +125,82 @@ public class GameEngine implements Serializable {
         // Initialize command and event handling systems
         initializeCommandHandlers();
         GameStateEventHandler gameStateHandler = new GameStateEventHandler(this);
-        GameEventDispatcher.getInstance().registerHandler(gameStateHandler);
+        dispatcher.registerHandler(gameStateHandler);
     }
 
     /**
      * Gets the singleton instance of the game engine.
      * Creates a new instance with default item factory if none exists.
+     * Only the creation is synchronized, as rooms, items and simulations look the engine up constantly.
      *
      * @return The singleton GameEngine instance
      */
-    public static synchronized GameEngine getInstance() {
-        if (instance == null) {
-            instance = new GameEngine(new DefaultItemFactory());
+    public static GameEngine getInstance() {
+        GameEngine engine = instance;
+        if (engine == null) {
+            synchronized (GameEngine.class) {
+                if (instance == null) {
+                    instance = new GameEngine(new DefaultItemFactory(), new WindowFrontEnd(),
+                        GameEventDispatcher.getInstance(), true);
+                }
+                engine = instance;
+            }
         }
-        return instance;
+        return engine;
+    }
+
+    /**
+     * Creates an engine for a game of its own, next to the window's. A session has its own
+     * player, levels, item factory and event dispatcher, and asks its front end where the
+     * window's game shows dialogs. It keeps no records: it is not autosaved and adds nothing to
+     * the statistics or the leaderboard.
+     * <p>
+     * A session may be driven from any thread, but from one at a time.
+     *
+     * @param frontEnd Answers the questions the window would ask in dialogs
+     * @return the new engine, to be started with {@link #startGame()}
+     */
+    public static GameEngine newSession(GameFrontEnd frontEnd) {
+        return new GameEngine(new DefaultItemFactory(), frontEnd, new GameEventDispatcher(), false);
+    }
+
+    /**
+     * Returns the engine whose game the calling thread is playing: the session running a
+     * command or starting a game on it, or else the singleton. Rooms, items and levels look the
+     * engine up here, so they fire their events to the game they belong to.
+     *
+     * @return the engine of the calling thread's game
+     */
+    public static GameEngine current() {
+        GameEngine engine = bound.get();
+        return engine != null ? engine : getInstance();
+    }
+
+    /**
+     * Runs work with this engine as the calling thread's {@link #current()} engine.
+     */
+    private void runBound(Runnable work) {
+        GameEngine previous = bound.get();
+        bound.set(this);
+        try {
+            work.run();
+        } finally {
+            if (previous != null) {
+                bound.set(previous);
+            } else {
+                bound.remove();
+            }
+        }
+    }
+
+    /**
+     * Registers a handler for the events of this engine's games, e.g. to send the messages of
+     * a session to its client. The singleton shares the window's dispatcher.
+     *
+     * @param handler The handler to register
+     */
+    public void addEventHandler(GameEventHandler handler) {
+        dispatcher.registerHandler(handler);
     }
 
     /**
@@ -123,15 +208,17 @@ public class GameEngine implements Serializable {
      * Displays introduction, handles difficulty selection, and initializes game state.
      */
     public void startGame() {
-        try {
-            gameState = "choosing_difficulty";
-            displayGameIntroduction();
-            chooseDifficulty();
-        } catch (Exception e) {
-            LOGGER.log(java.util.logging.Level.SEVERE, "Failed to start game", e);
-            fireEvent(GameEventType.GAME_MESSAGE, 
-                "Error: Failed to start game. Please check the logs and restart.");
-        }
+        runBound(() -> {
+            try {
+                gameState = "choosing_difficulty";
+                displayGameIntroduction();
+                chooseDifficulty();
+            } catch (Exception e) {
+                LOGGER.log(java.util.logging.Level.SEVERE, "Failed to start game", e);
+                fireEvent(GameEventType.GAME_MESSAGE,
+                    "Error: Failed to start game. Please check the logs and restart.");
+            }
+        });
     }
 
     /**
@@ -141,6 +228,10 @@ public class GameEngine implements Serializable {
      * @param command The raw command string from the player
      */
     public void processCommand(String command) {
+        runBound(() -> runCommand(command));
+    }
+
+    private void runCommand(String command) {
         if (!validateGameState(command)) return;
 
         try {
@@ -167,42 +258,36 @@ public class GameEngine implements Serializable {
         } catch (Exception e) {
             LOGGER.log(java.util.logging.Level.WARNING, "Error processing command: " + command, e);
             displayMessage("An error occurred processing your command.");
+        } finally {
+            if (primary && isRunning() && player != null) {
+                AutosaveService.getInstance().commandProcessed();
+            }
         }
     }
 
     private void displayGameIntroduction() {
-        try {
-            Thread.sleep(100);
-            
-            Map<String, String> welcomeInfo = new HashMap<>();
-            welcomeInfo.put("", "You stand before an ancient dungeon, its mysteries beckoning...");
-            welcomeInfo.put(" ", "As a brave adventurer, you must navigate through treacherous rooms,");
-            welcomeInfo.put("  ", "solve puzzles, collect items, and overcome magical barriers.\n");
-            displayGameStatus("Welcome to Fantasy Dungeon Game", welcomeInfo);
-            
-            Thread.sleep(500);
-            
-            Map<String, String> featuresInfo = new HashMap<>();
-            featuresInfo.put("1", "Explore mysterious rooms with hidden passages");
-            featuresInfo.put("2", "Collect and use magical items");
-            featuresInfo.put("3", "Solve puzzles to unlock secrets");
-            featuresInfo.put("4", "Overcome magical barriers using your power");
-            featuresInfo.put("5", "Find the treasure room to complete each level\n");
-            displayGameStatus("Game Features", featuresInfo);
-            
-            Thread.sleep(500);
-            
-            Map<String, String> tipsInfo = new HashMap<>();
-            tipsInfo.put("1", "Use 'help' to see available commands");
-            tipsInfo.put("2", "'look' to examine your surroundings");
-            tipsInfo.put("3", "'status' to check your condition");
-            tipsInfo.put("4", "Maintain your power points to overcome barriers");
-            tipsInfo.put("5", "Collect items to increase your chances of survival\n");
-            displayGameStatus("Tips", tipsInfo);
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Shown at once; pausing between sections held up the first prompt by over a second
+        Map<String, String> welcomeInfo = new HashMap<>();
+        welcomeInfo.put("", "You stand before an ancient dungeon, its mysteries beckoning...");
+        welcomeInfo.put(" ", "As a brave adventurer, you must navigate through treacherous rooms,");
+        welcomeInfo.put("  ", "solve puzzles, collect items, and overcome magical barriers.\n");
+        displayGameStatus("Welcome to Fantasy Dungeon Game", welcomeInfo);
+
+        Map<String, String> featuresInfo = new HashMap<>();
+        featuresInfo.put("1", "Explore mysterious rooms with hidden passages");
+        featuresInfo.put("2", "Collect and use magical items");
+        featuresInfo.put("3", "Solve puzzles to unlock secrets");
+        featuresInfo.put("4", "Overcome magical barriers using your power");
+        featuresInfo.put("5", "Find the treasure room to complete each level\n");
+        displayGameStatus("Game Features", featuresInfo);
+
+        Map<String, String> tipsInfo = new HashMap<>();
+        tipsInfo.put("1", "Use 'help' to see available commands");
+        tipsInfo.put("2", "'look' to examine your surroundings");
+        tipsInfo.put("3", "'status' to check your condition");
+        tipsInfo.put("4", "Maintain your power points to overcome barriers");
+        tipsInfo.put("5", "Collect items to increase your chances of survival\n");
+        displayGameStatus("Tips", tipsInfo);
     }
 
     private void chooseDifficulty() {
@@ -243,46 +328,51 @@ public class GameEngine implements Serializable {
      * This method configures:
      * - Healing item spawn rates
      * - Barrier strength that players need to overcome
-     * - Puzzle difficulty modifiers
+     * <p>
+     * Puzzles are made harder by the levels, which know their difficulty.
      * <p>
      * For EASY:
      * - Higher healing item rate (60%)
      * - Weaker barriers (70% strength)
-     * - Easier puzzles (80% difficulty)
      * <p>
      * For NORMAL:
      * - Balanced healing rate (40%)
      * - Standard barriers (100% strength)
-     * - Standard puzzles (100% difficulty)
      * <p>
      * For HARD:
      * - Lower healing rate (20%)
      * - Stronger barriers (130% strength)
-     * - Harder puzzles (120% difficulty)
      *
      * @param difficulty The selected difficulty level (EASY, NORMAL, or HARD)
      */
     private void adjustGameDifficulty(Player.DifficultyLevel difficulty) {
+        configureItemFactory(itemFactory, difficulty);
+        
+        fireEvent(GameEventType.GAME_MESSAGE, "\nDifficulty set to: " + difficulty + 
+            "\nYour adventure begins with " + player.getPowerPoints() + " Power Points.\n");
+    }
+
+    /**
+     * Sets the healing rate and barrier strength of an item factory for a difficulty level.
+     *
+     * @param factory The factory to configure
+     * @param difficulty The difficulty level
+     */
+    public static void configureItemFactory(ItemFactory factory, Player.DifficultyLevel difficulty) {
         switch (difficulty) {
             case EASY -> {
-                itemFactory.setHealingItemRate(0.6f);
-                itemFactory.setBarrierStrength(0.7f);
-                Puzzle.setDifficultyModifier(0.8f);
+                factory.setHealingItemRate(0.6f);
+                factory.setBarrierStrength(0.7f);
             }
             case NORMAL -> {
-                itemFactory.setHealingItemRate(0.4f);
-                itemFactory.setBarrierStrength(1.0f);
-                Puzzle.setDifficultyModifier(1.0f);
+                factory.setHealingItemRate(0.4f);
+                factory.setBarrierStrength(1.0f);
             }
             case HARD -> {
-                itemFactory.setHealingItemRate(0.2f);
-                itemFactory.setBarrierStrength(1.3f);
-                Puzzle.setDifficultyModifier(1.2f);
+                factory.setHealingItemRate(0.2f);
+                factory.setBarrierStrength(1.3f);
             }
         }
-        
-        fireEvent(GameEventType.GAME_MESSAGE, "\nDifficulty set to: " + difficulty + 
-            "\nYour adventure begins with " + player.getPowerPoints() + " Power Points.\n");
     }
 
     private interface CommandHandler {
@@ -316,7 +406,7 @@ public class GameEngine implements Serializable {
             
             // If successful, add the new room to the level and fire events
             if (result.isSuccess() && result.getNewRoom() != null) {
-                currentLevel.getRooms().put(result.getNewRoom().getRoomId(), result.getNewRoom());
+                currentLevel.addRoom(result.getNewRoom());
                 fireEvent(GameEventType.ROOM_DISCOVERED, result.getNewRoom());
             }
         });
@@ -349,8 +439,10 @@ public class GameEngine implements Serializable {
         commandHandlers.put("hint", args -> displayRandomTip());
         commandHandlers.put("tips", args -> displayRandomTip());
         commandHandlers.put("status", args -> displayPlayerStatus());
-        commandHandlers.put("save", args -> GameWindow.getInstance().handleSaveGameRequest(null));
-        commandHandlers.put("load", args -> GameWindow.getInstance().handleLoadGameRequest());
+        commandHandlers.put("stats", args -> displayPlayerStatistics());
+        commandHandlers.put("leaderboard", args -> displayLeaderboard());
+        commandHandlers.put("save", args -> frontEnd.requestSave());
+        commandHandlers.put("load", args -> frontEnd.requestLoad());
         
         commandHandlers.put("map", args -> displayMap());
     }
@@ -371,7 +463,13 @@ public class GameEngine implements Serializable {
         return true;
     }
 
-    private String resolveCommandAlias(String action) {
+    /**
+     * Maps a command alias, such as "go" or "n", to the command it stands for.
+     *
+     * @param action The first word of a command, in lower case
+     * @return the primary command, or the action itself if it is not an alias
+     */
+    public static String resolveCommandAlias(String action) {
         for (Map.Entry<String, List<String>> entry : COMMAND_ALIASES.entrySet()) {
             if (entry.getValue().contains(action)) {
                 return entry.getKey();
@@ -412,11 +510,19 @@ public class GameEngine implements Serializable {
     private void initializeGameWithDifficulty(Player.DifficultyLevel difficulty) {
         // Create new player with selected difficulty
         player = new Player(difficulty);
+        saveTracker.reset();
+        if (primary) {
+            AutosaveService.getInstance().reset();
+            PlayerStatisticsService.getInstance().startSession(player.getName());
+        }
+        resetPlayTime(0);
         
         // Adjust game parameters based on difficulty
         adjustGameDifficulty(difficulty);
         
-        // Initialize game levels and starting position
+        // Initialize game levels and starting position, replacing those of any earlier game
+        levels = new ArrayList<>();
+        currentLevelIndex = 0;
         generateLevels();
         currentLevel = levels.get(currentLevelIndex);
         
@@ -468,6 +574,8 @@ public class GameEngine implements Serializable {
         commandsInfo.put("inventory/inv", "Display your inventory");
         commandsInfo.put("map", "Display the map of explored areas");
         commandsInfo.put("status", "Display your current status");
+        commandsInfo.put("stats", "Display your statistics across all games");
+        commandsInfo.put("leaderboard", "Display the best scores at your difficulty");
         commandsInfo.put("solve", "Attempt to solve a puzzle in the room");
         commandsInfo.put("reveal", "Use a Torch to reveal hidden passages in the current room");
         commandsInfo.put("hint", "Get a random gameplay tip");
@@ -479,30 +587,9 @@ public class GameEngine implements Serializable {
     }
 
     private void confirmQuit() {
-        int choice = JOptionPane.showConfirmDialog(
-            GameWindow.getInstance(),
-            "Are you sure you want to quit? Your unsaved progress will be lost.",
-            "Confirm Quit",
-            JOptionPane.YES_NO_OPTION,
-            JOptionPane.QUESTION_MESSAGE
-        );
-        
-        if (choice == JOptionPane.YES_OPTION) {
-            // Clean up and exit
-            if (scanner != null) {
-                scanner.close();
-            }
+        if (frontEnd.confirmQuit()) {
             fireEvent(GameEventType.GAME_MESSAGE, "\nThanks for playing! Goodbye!");
-            
-            // Add a small delay to show the goodbye message
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            
-            // Exit the application
-            System.exit(0);
+            exitGame();
         }
     }
 
@@ -544,6 +631,7 @@ public class GameEngine implements Serializable {
         // Try to solve the puzzle with the provided answer
         if (puzzle.checkAnswer(answer.trim())) {
             puzzle.setSolved(true);
+            currentRoom.markDirty();
             player.adjustPowerPoints(10);
             
             // Consolidate puzzle completion messages and events
@@ -616,8 +704,47 @@ public class GameEngine implements Serializable {
         return currentLevelIndex;
     }
 
+    /**
+     * @return DeltaSaveTracker the save chain of the current session
+     */
+    public DeltaSaveTracker getSaveTracker() {
+        return saveTracker;
+    }
+
+    /**
+     * @return boolean whether a game is in progress and accepting commands
+     */
+    public boolean isRunning() {
+        return "running".equals(gameState);
+    }
+
+    /**
+     * Collects the current game into a GameState for saving.
+     * @return GameState the player, levels and progress of the current game
+     */
+    public GameState captureGameState() {
+        GameState state = new GameState();
+        state.setPlayer(player);
+        state.setLevels(levels);
+        state.setCurrentLevelIndex(currentLevelIndex);
+        state.setPlayTimeSeconds(getPlayTimeSeconds());
+        return state;
+    }
+
+    /**
+     * @return long the total play time of the current game, including earlier sessions
+     */
+    public long getPlayTimeSeconds() {
+        return previousPlayTimeSeconds + (System.currentTimeMillis() - sessionStartMillis) / 1000;
+    }
+
+    private void resetPlayTime(long playTimeSeconds) {
+        previousPlayTimeSeconds = playTimeSeconds;
+        sessionStartMillis = System.currentTimeMillis();
+    }
+
     public void fireEvent(GameEventType type, Object data) {
-        GameEventDispatcher.getInstance().fireEvent(type, data);
+        dispatcher.fireEvent(type, data);
     }
 
     private void handleMovement(String direction) {
@@ -676,7 +803,8 @@ public class GameEngine implements Serializable {
     }
 
     public void exitGame() {
-        System.exit(0);
+        gameState = "ended";
+        frontEnd.quit();
     }
 
     private void handlePickup(String itemName) {
@@ -710,6 +838,7 @@ public class GameEngine implements Serializable {
             
             int beforeHealth = player.getPowerPoints();
             boolean consumed = item.use(player);
+            player.markDirty();
             int afterHealth = player.getPowerPoints();
             
             int difference = Math.abs(afterHealth - beforeHealth);
@@ -769,6 +898,43 @@ public class GameEngine implements Serializable {
         }
     }
 
+    private void displayPlayerStatistics() {
+        if (player != null) {
+            PlayerStatistics stats = PlayerStatisticsService.getInstance().getStatistics(player.getName());
+            Map<String, String> statsInfo = new HashMap<>();
+            statsInfo.put("Rooms Explored", String.valueOf(stats.getRoomsExplored()));
+            statsInfo.put("Puzzles Solved", String.valueOf(stats.getPuzzlesSolved()));
+            statsInfo.put("Items Collected", String.valueOf(stats.getItemsCollected()));
+            statsInfo.put("Play Time", stats.getPlayTimeSeconds() / 60 + " min");
+
+            displayGameStatus(player.getName() != null ? "Statistics of " + player.getName() : "Statistics of this game",
+                statsInfo);
+        }
+    }
+
+    private void displayLeaderboard() {
+        if (player != null) {
+            String difficulty = player.getDifficultyLevel().name();
+            LeaderboardService leaderboard = LeaderboardService.getInstance();
+            List<LeaderboardEntry> top = leaderboard.getTopScores(difficulty, LEADERBOARD_SIZE);
+
+            StringBuilder sb = new StringBuilder("\n=== Leaderboard (" + difficulty + ") ===");
+            if (top.isEmpty()) {
+                sb.append("\nNo finished runs yet.");
+            }
+            for (int i = 0; i < top.size(); i++) {
+                LeaderboardEntry entry = top.get(i);
+                sb.append("\n").append(i + 1).append(". ").append(entry.getPlayerName())
+                  .append(" - ").append(entry.getScore());
+            }
+            int rank = leaderboard.getRank(player.getName(), difficulty);
+            if (rank > 0) {
+                sb.append("\nYour best rank: ").append(rank);
+            }
+            displayMessage(sb.toString());
+        }
+    }
+
     // Getter for the item factory
     public ItemFactory getItemFactory() {
         return itemFactory;
@@ -779,14 +945,7 @@ public class GameEngine implements Serializable {
             fireEvent(GameEventType.GAME_MESSAGE, "\n=== GAME OVER ===");
             fireEvent(GameEventType.GAME_MESSAGE, "Your power has been depleted!");
             
-            int choice = JOptionPane.showConfirmDialog(
-                null,
-                "Would you like to restart the level?",
-                "Game Over",
-                JOptionPane.YES_NO_OPTION
-            );
-            
-            if (choice == JOptionPane.YES_OPTION) {
+            if (frontEnd.restartLevel()) {
                 restartLevel();
             } else {
                 confirmQuit();
@@ -825,7 +984,7 @@ public class GameEngine implements Serializable {
         player.setLocation(currentLevel.getStartingRoom());
         
         // Reset GUI
-        GameWindow.getInstance().resetGameState();
+        frontEnd.resetView();
         
         // Mark game as running
         gameState = "running";
@@ -843,12 +1002,43 @@ public class GameEngine implements Serializable {
         displayRandomTip();  // Give the player a helpful tip after restart
     }
 
+    /**
+     * Starts a game on a player and levels set up by the caller, in place of the difficulty
+     * prompt and without firing any events, e.g. for a benchmark.
+     *
+     * @param player The player, already standing in a room of the first level
+     * @param levels The levels of the game, the first of which is played
+     */
+    public void startGame(Player player, List<Level> levels) {
+        this.player = player;
+        this.levels = new ArrayList<>(levels);
+        this.currentLevelIndex = 0;
+        this.currentLevel = this.levels.get(0);
+        saveTracker.reset();
+        resetPlayTime(0);
+        gameState = "running";
+    }
+
     public void loadGame(String saveName) {
+        loadGame(() -> SaveStores.getDefault().loadGameState(saveName, saveTracker));
+    }
+
+    /**
+     * Loads a save chosen in the save browser.
+     * @param saveId The row id of the save
+     */
+    public void loadGame(long saveId) {
+        loadGame(() -> SaveStores.getDefault().loadGameState(saveId, saveTracker));
+    }
+
+    private void loadGame(Supplier<GameState> loader) {
         try {
-            GameDatabaseService dbService = new GameDatabaseService();
-            GameState loadedState = dbService.loadGameState(saveName);
+            GameState loadedState = loader.get();
             if (loadedState != null) {
+                AutosaveService.getInstance().reset();
+                resetPlayTime(loadedState.getPlayTimeSeconds());
                 this.player = loadedState.getPlayer();
+                PlayerStatisticsService.getInstance().startSession(player.getName());
                 this.levels = loadedState.getLevels();
                 this.currentLevelIndex = loadedState.getCurrentLevelIndex();
                 this.currentLevel = levels.get(currentLevelIndex);
@@ -928,7 +1118,8 @@ public class GameEngine implements Serializable {
         for (String line : additionalLines) {
             sb.append("\n").append(line);
         }
-        LOGGER.info(sb.toString());
+        // A session's output is its player's, not the game log's
+        LOGGER.log(primary ? java.util.logging.Level.INFO : java.util.logging.Level.FINE, sb.toString());
         fireEvent(GameEventType.GAME_MESSAGE, sb.toString());
     }
 
@@ -977,16 +1168,21 @@ public class GameEngine implements Serializable {
             currentLevelIndex++;
             currentLevel = levels.get(currentLevelIndex);
             
-            // Ask player if they want to continue
-            int choice = JOptionPane.showConfirmDialog(
-                GameWindow.getInstance(),
-                "Would you like to proceed to level " + (currentLevelIndex + 1) + "?",
-                "Level Complete!",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.QUESTION_MESSAGE
-            );
+            // Ask player if they want to continue; the level index has already moved on,
+            // so no autosave may run while the dialog pumps events
+            boolean proceed;
+            if (primary) {
+                AutosaveService.getInstance().hold();
+            }
+            try {
+                proceed = frontEnd.proceedToLevel(currentLevelIndex + 1);
+            } finally {
+                if (primary) {
+                    AutosaveService.getInstance().release();
+                }
+            }
             
-            if (choice == JOptionPane.YES_OPTION) {
+            if (proceed) {
                 // Start next level
                 startNextLevel();
             } else {
@@ -1010,7 +1206,7 @@ public class GameEngine implements Serializable {
         player.setLocation(startingRoom);
         
         // Reset GUI for new level
-        GameWindow.getInstance().resetGameState();
+        frontEnd.resetView();
         
         // Show new level introduction
         String message = "\n=== LEVEL " + (currentLevelIndex + 1) + " ===" + "\nYou enter a new section of the dungeon..." +
@@ -1019,34 +1215,43 @@ public class GameEngine implements Serializable {
         fireEvent(GameEventType.GAME_MESSAGE, message);
         fireEvent(GameEventType.ROOM_DISCOVERED, startingRoom);
         fireEvent(GameEventType.INVENTORY_CHANGED, player.getInventory());
+        if (primary) {
+            AutosaveService.getInstance().request(AutosaveService.Trigger.LEVEL_TRANSITION);
+        }
         
         displayRandomTip();
     }
 
     private void endGameWithVictory() {
+        int score = calculateScore();
+        if (primary) {
+            if (player.getName() == null) {
+                // A game that was never saved has no name to put on the leaderboard yet
+                String name = frontEnd.askLeaderboardName();
+                player.setName(name != null && !name.isBlank() ? name.trim() : LeaderboardService.DEFAULT_PLAYER_NAME);
+                PlayerStatisticsService.getInstance().nameSession(player.getName());
+            }
+            LeaderboardService.getInstance().submitScore(
+                player.getName(), player.getDifficultyLevel().name(), score, getPlayTimeSeconds());
+        }
+
         StringBuilder message = new StringBuilder("\n=== GAME COMPLETE! ===");
         message.append("\nYou've successfully completed your dungeon adventure!");
-        message.append("\nFinal Score: ").append(calculateScore());
+        message.append("\nFinal Score: ").append(score);
         message.append("\nPower Points: ").append(player.getPowerPoints());
         message.append("\nRooms Explored: ").append(player.getVisitedRooms().size());
         message.append("\nItems Collected: ").append(player.getInventorySize());
         
         fireEvent(GameEventType.GAME_MESSAGE, message.toString());
+        if (primary) {
+            PlayerStatisticsService.getInstance().endSession();
+        }
         
         // Show victory dialog
-        int choice = JOptionPane.showConfirmDialog(
-            GameWindow.getInstance(),
-            message.toString() + "\n\nWould you like to play again?",
-            "Victory!",
-            JOptionPane.YES_NO_OPTION,
-            JOptionPane.QUESTION_MESSAGE
-        );
-        
-        if (choice == JOptionPane.YES_OPTION) {
-            // Reset and start new game
-            instance = null;
-            GameWindow.getInstance().clearOutput();
-            getInstance().startGame();
+        if (frontEnd.playAgain(message.toString())) {
+            // Start a new game; choosing its difficulty replaces all state of this one
+            frontEnd.clearOutput();
+            startGame();
         } else {
             // Exit game
             exitGame();
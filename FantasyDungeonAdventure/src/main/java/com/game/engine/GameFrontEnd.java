@@ -0,0 +1,63 @@
+package com.game.engine;
+
+/**
+ * What the engine asks of whoever shows its game: the questions put to the player outside
+ * the command line, and the views it clears. The window answers with dialogs; a session
+ * without a window, such as a simulated client, answers in code.
+ * <p>
+ * Called on the thread running the command that raised the question.
+ */
+public interface GameFrontEnd {
+    /**
+     * @return whether to restart the level after the player died, rather than quit
+     */
+    boolean restartLevel();
+
+    /**
+     * @return whether the player really quits, losing unsaved progress
+     */
+    boolean confirmQuit();
+
+    /**
+     * @param level The number of the next level
+     * @return whether to go on to it, rather than end the game with victory
+     */
+    boolean proceedToLevel(int level);
+
+    /**
+     * @return the name to enter on the leaderboard, or null or blank for the default
+     */
+    String askLeaderboardName();
+
+    /**
+     * @param summary The final score and what the player achieved
+     * @return whether to start a new game
+     */
+    boolean playAgain(String summary);
+
+    /**
+     * Clears the map and the views of the last level, before a new level starts.
+     */
+    void resetView();
+
+    /**
+     * Clears the output, before a new game starts.
+     */
+    void clearOutput();
+
+    /**
+     * Lets the player save the game, after the save command.
+     */
+    void requestSave();
+
+    /**
+     * Lets the player pick a saved game to load, after the load command.
+     */
+    void requestLoad();
+
+    /**
+     * Ends play for good, after the player chose to quit or not to play again. The engine has
+     * already shown its goodbye.
+     */
+    void quit();
+}
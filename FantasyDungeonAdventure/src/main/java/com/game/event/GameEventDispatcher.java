@@ -1,37 +1,46 @@
 package com.game.event;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 /**
  * GameEventDispatcher implements the Observer pattern for event handling throughout the game.
  * This class serves as the central hub for all game events and their handlers.
  */
 public class GameEventDispatcher {
-    private static GameEventDispatcher instance;
+    private static volatile GameEventDispatcher instance;
     private final List<GameEventHandler> handlers;
     private static final Logger LOGGER = Logger.getLogger(GameEventDispatcher.class.getName());
  /**
-     * Private constructor enforcing singleton pattern and initializing handler list.
+     * Creates a dispatcher of its own, for a game session next to the window's; the window's
+     * game uses {@link #getInstance()}.
+     * Events are fired from several threads while handlers are rarely registered.
      */
-    private GameEventDispatcher() {
-        handlers = new ArrayList<>();
+    public GameEventDispatcher() {
+        handlers = new CopyOnWriteArrayList<>();
     }
 /**
      * Thread-safe singleton implementation to ensure only one event dispatcher exists.
      * @return The singleton instance of GameEventDispatcher
      */
-    public static synchronized GameEventDispatcher getInstance() {
-        if (instance == null) {
-            instance = new GameEventDispatcher();
+    public static GameEventDispatcher getInstance() {
+        GameEventDispatcher dispatcher = instance;
+        if (dispatcher == null) {
+            synchronized (GameEventDispatcher.class) {
+                if (instance == null) {
+                    instance = new GameEventDispatcher();
+                }
+                dispatcher = instance;
+            }
         }
-        return instance;
+        return dispatcher;
     }
 /**
      * Registers a new event handler to receive game events.
      * Ensures no duplicate handlers are registered.
      * @param handler The event handler to register
      */
-    public void registerHandler(GameEventHandler handler) {
+    public synchronized void registerHandler(GameEventHandler handler) {
         if (handler != null && !handlers.contains(handler)) {
             handlers.add(handler);
         }
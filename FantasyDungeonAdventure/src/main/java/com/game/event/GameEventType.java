@@ -25,5 +25,7 @@ public enum GameEventType {
     
     // Save and load game events
     SAVE_GAME_REQUESTED,
-    LOAD_GAME_REQUESTED
+    LOAD_GAME_REQUESTED,
+    SAVE_COMPLETED,
+    SAVE_FAILED
 } 
\ No newline at end of file
@@ -3,12 +3,14 @@ package com.game.event.handlers;
 import com.game.event.GameEvent;
 import com.game.event.GameEventHandler;
 import com.game.event.GameEventType;
+import com.game.database.SaveResult;
 import com.game.gui.GameWindow;
 import com.game.room.Room;
 import com.game.item.Item;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -31,7 +33,9 @@ public class UIEventHandler implements GameEventHandler {
             GameEventType.SECRET_DISCOVERED,
             GameEventType.PUZZLE_SOLVED,
             GameEventType.GAME_END,
-            GameEventType.ROOM_ENTERED
+            GameEventType.ROOM_ENTERED,
+            GameEventType.SAVE_COMPLETED,
+            GameEventType.SAVE_FAILED
         );
     }
     
@@ -82,6 +86,14 @@ public class UIEventHandler implements GameEventHandler {
             case ROOM_ENTERED:
                 handleRoomEntered(data);
                 break;
+
+            case SAVE_COMPLETED:
+                handleSaveCompleted(data);
+                break;
+
+            case SAVE_FAILED:
+                window.displayMessage("Failed to save game " + data + ".");
+                break;
                 
             default:
                 logWarning("Unhandled event type: " + type);
@@ -111,7 +123,7 @@ public class UIEventHandler implements GameEventHandler {
             @SuppressWarnings("unchecked")
             List<Item> items = (List<Item>) data;
             updateGameState();
-            logDebug("Inventory updated with " + items.size() + " items");
+            logDebug(() -> "Inventory updated with " + items.size() + " items");
         } catch (ClassCastException e) {
             logWarning("Invalid inventory data received: " + e.getMessage());
         }
@@ -147,10 +159,21 @@ public class UIEventHandler implements GameEventHandler {
         window.displayMessage(room.getDescription());
     }
 
+    private void handleSaveCompleted(Object data) {
+        if (!(data instanceof SaveResult)) return;
+
+        SaveResult result = (SaveResult) data;
+        // Autosaves happen behind the player's back, so only manual saves are announced
+        if (!result.isAutosave()) {
+            window.displayMessage("Game saved as " + result.getSaveName() + ".");
+        }
+        logDebug(() -> "Saved " + result.getSaveName() + " (" + result.getSizeBytes() + " bytes"
+            + (result.isDelta() ? ", delta" : "") + (result.isAutosave() ? ", autosave" : "") + ")");
+    }
+
     private void updateGameState() {
-        window.updateMap();
-        window.updateInventory();
-        window.updateCharacterStats(null);
+        // Diffed against what is shown; the map follows location changes
+        window.refreshPlayerView();
     }
 
     private void logWarning(String message) {
@@ -161,7 +184,7 @@ public class UIEventHandler implements GameEventHandler {
         LOGGER.log(Level.SEVERE, message, e);
     }
 
-    private void logDebug(String message) {
+    private void logDebug(Supplier<String> message) {
         LOGGER.fine(message);
     }
 } 
\ No newline at end of file
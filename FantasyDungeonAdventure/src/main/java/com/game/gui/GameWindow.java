@@ -3,23 +3,27 @@ package com.game.gui;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.List;
-import com.game.database.GameDatabaseService;
 import com.game.database.GameState;
+import com.game.database.PlayerStatisticsService;
+import com.game.database.SaveGamePipeline;
+import com.game.database.SaveStore;
+import com.game.database.SaveStores;
 import com.game.engine.GameEngine;
 import com.game.event.*;
 import com.game.event.handlers.UIEventHandler;
 import com.game.puzzle.Puzzle;
 import com.game.player.Player;
 import com.game.util.LogManager;
+import com.game.util.StartupMetrics;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.logging.Level;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.text.ParseException;
 
 public class GameWindow extends JFrame {
-    private JTextArea outputArea;
+    private OutputConsole outputArea;
     private JTextField commandInput;
     private MapPanel mapPanel;
     private InventoryPanel inventoryPanel;
@@ -27,6 +31,20 @@ public class GameWindow extends JFrame {
     private static final Object LOCK = new Object();
     private static boolean isInitialized = false;
     private static final Logger LOGGER = LogManager.getLogger(GameWindow.class.getName());
+    private static final int FRAME_MILLIS = Math.max(1, Integer.getInteger("game.ui.frameMs", 16));
+    private static final boolean WARM_UP_SAVE_STORE = Boolean.parseBoolean(System.getProperty("game.db.warmup", "true"));
+
+    // Output from any thread waits here and is appended at most once per frame
+    private final Queue<OutputEntry> pendingOutput = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer flushTimer = new Timer(FRAME_MILLIS, e -> flushOutput());
+    private long lastFlushNanos;
+
+    // Player state for the side panels; only the latest snapshot is rendered, once per EDT turn
+    private final PlayerViewModel playerView = new PlayerViewModel();
+    private final AtomicReference<PlayerViewModel.Snapshot> pendingView = new AtomicReference<>();
+    // Location version the map last showed; only touched on the EDT
+    private long renderedLocationVersion = -1;
 
     /**
      * Returns the singleton instance of the GameWindow class.
@@ -61,6 +79,7 @@ public class GameWindow extends JFrame {
 
         // Initialize components
         initializeComponents();
+        flushTimer.setRepeats(false);
         
         // Initialize event handler
         UIEventHandler uiEventHandler = new UIEventHandler(this);
@@ -73,7 +92,7 @@ public class GameWindow extends JFrame {
     public void initializeGame() {
         if (!isVisible()) {
             // Clear the output area first
-            outputArea.setText("");
+            queueClear();
             
             // Initialize the game engine first
             GameEngine gameEngine = GameEngine.getInstance();
@@ -92,14 +111,35 @@ public class GameWindow extends JFrame {
                     updateMap();
                     updateInventory();
                 }
+                // The prompt is up once the EDT gets through the output queued so far
+                SwingUtilities.invokeLater(() -> {
+                    StartupMetrics.markInteractive();
+                    warmUpSaveStore();
+                });
             });
         }
     }
 
+    /**
+     * Opens the save store on the save thread once the game is interactive, so loading the
+     * SQLite driver and checking the schema does not hold up startup or the first save.
+     */
+    private void warmUpSaveStore() {
+        if (!WARM_UP_SAVE_STORE) {
+            return;
+        }
+        SaveGamePipeline.getInstance().enqueue(() -> {
+            try {
+                SaveStores.getDefault();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not prepare the save store", e);
+            }
+        });
+    }
+
     private void initializeComponents() {
         // Game output
-        outputArea = new JTextArea();
-        outputArea.setEditable(false);
+        outputArea = new OutputConsole();
         outputArea.setFont(new Font("Times New Roman", Font.PLAIN, 14));
         outputArea.setBackground(Color.BLACK);
         outputArea.setForeground(Color.GREEN);
@@ -175,21 +215,14 @@ public class GameWindow extends JFrame {
         }
         
         // Display command in output area
-        SwingUtilities.invokeLater(() -> {
-            outputArea.append("> " + command + "\n");
-            // Ensure the latest output is visible
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-        });
+        queueOutput("> " + command + "\n");
 
         // Process command in game engine
         try {
             GameEngine.getInstance().processCommand(command);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error processing command: " + command, e);
-            SwingUtilities.invokeLater(() -> {
-                outputArea.append("Error processing command. Please try again.\n");
-                outputArea.setCaretPosition(outputArea.getDocument().getLength());
-            });
+            queueOutput("Error processing command. Please try again.\n");
         }
     }
 
@@ -200,20 +233,58 @@ public class GameWindow extends JFrame {
                 String roomId = player.getLocation().getRoomId();
                 mapPanel.revealRoom(roomId, player.getLocation().hasTreasure());
                 mapPanel.updatePlayerPosition(roomId);
-                mapPanel.revalidate();
-                mapPanel.repaint();
             }
         }
     }
 
     public void updateInventory() {
-        SwingUtilities.invokeLater(() -> {
-            Player player = GameEngine.getInstance().getPlayer();
-            if (player != null && inventoryPanel != null) {
-                inventoryPanel.updateInventory(player.getInventory());
-                inventoryPanel.updateStatus(player);
-            }
-        });
+        refreshPlayerView(GameEngine.getInstance().getPlayer());
+    }
+
+    /**
+     * Diffs the current player against what the side panels show and schedules a render of
+     * the fields that changed. Several refreshes before the EDT gets to it render once.
+     */
+    public void refreshPlayerView() {
+        refreshPlayerView(GameEngine.getInstance().getPlayer());
+    }
+
+    private void refreshPlayerView(Player player) {
+        if (player == null || inventoryPanel == null) {
+            return;
+        }
+        PlayerViewModel.Snapshot snapshot = playerView.update(player);
+        if (snapshot != null && pendingView.getAndSet(snapshot) == null) {
+            SwingUtilities.invokeLater(this::renderPlayerView);
+        }
+    }
+
+    private void renderPlayerView() {
+        PlayerViewModel.Snapshot view = pendingView.getAndSet(null);
+        if (view == null) {
+            return;
+        }
+        inventoryPanel.render(view);
+        long locationVersion = view.getVersion(PlayerViewModel.Field.LOCATION);
+        if (mapPanel != null && view.getRoomId() != null && locationVersion != renderedLocationVersion) {
+            renderedLocationVersion = locationVersion;
+            mapPanel.revealRoom(view.getRoomId(), view.isTreasureRoom());
+            mapPanel.updatePlayerPosition(view.getRoomId());
+        }
+    }
+
+    /**
+     * Clears the side panels and forgets what they showed. Must be called on the EDT.
+     */
+    private void resetSidePanels() {
+        if (mapPanel != null) {
+            mapPanel.resetMap();
+        }
+        if (inventoryPanel != null) {
+            inventoryPanel.reset();
+        }
+        playerView.reset();
+        renderedLocationVersion = -1;
     }
 
     @Override
@@ -226,14 +297,9 @@ public class GameWindow extends JFrame {
 
     // Add this method to clear the output area
     public void clearOutput() {
+        queueClear();
         SwingUtilities.invokeLater(() -> {
-            outputArea.setText("");
-            if (mapPanel != null) {
-                mapPanel.resetMap();
-            }
-            if (inventoryPanel != null) {
-                inventoryPanel.reset();
-            }
+            resetSidePanels();
             commandInput.requestFocusInWindow();
             revalidate();
             repaint();
@@ -241,13 +307,12 @@ public class GameWindow extends JFrame {
     }
 
     private void showLoadGameDialog() {
-        // Create instance of GameDatabaseService
-        GameDatabaseService dbService = new GameDatabaseService();
-        
-        // Get list of available saves
-        List<String> saveFiles = dbService.getAvailableSaves();
+        // Make sure saves still being written show up in the list
+        SaveGamePipeline.getInstance().awaitIdle();
+
+        SaveStore saveStore = SaveStores.getDefault();
         
-        if (saveFiles.isEmpty()) {
+        if (saveStore.countSaves() == 0) {
             JOptionPane.showMessageDialog(this, 
                 "No saved games found!",
                 "Load Game", 
@@ -255,58 +320,12 @@ public class GameWindow extends JFrame {
             return;
         }
 
-        // Format save names for display
-        String[] displayNames = saveFiles.stream()
-            .map(this::formatSaveName)
-            .toArray(String[]::new);
-
-        // Show selection dialog
-        String selected = (String) JOptionPane.showInputDialog(
-            this,
-            "Choose a save file to load:",
-            "Load Game",
-            JOptionPane.QUESTION_MESSAGE,
-            null,
-            displayNames,
-            displayNames[0]
-        );
-
-        if (selected != null) {
-            // Convert display name back to save name
-            String saveName = getSaveNameFromDisplay(selected);
-            clearOutput();
-            GameEngine.getInstance().loadGame(saveName);
-        }
-    }
-
-    private String formatSaveName(String saveName) {
-        // Convert "tk_20241215_153022" to "tk - December 15, 2024 15:30:22"
-        String[] parts = saveName.split("_");
-        if (parts.length == 3) {
-            try {
-                SimpleDateFormat parser = new SimpleDateFormat("yyyyMMdd_HHmmss");
-                SimpleDateFormat formatter = new SimpleDateFormat("MMMM dd, yyyy HH:mm:ss");
-                Date saveDate = parser.parse(parts[1] + "_" + parts[2]);
-                return parts[0] + " - " + formatter.format(saveDate);
-            } catch (ParseException e) {
-                return saveName;
-            }
-        }
-        return saveName;
-    }
+        // Browse saves page by page from their metadata, without reading any save data
+        Long saveId = SaveBrowserDialog.showDialog(this, saveStore);
 
-    private String getSaveNameFromDisplay(String displayName) {
-        // Convert "John - March 15, 2024 15:30:22" back to "John_20240315_153022"
-        try {
-            String[] parts = displayName.split(" - ");
-            String playerName = parts[0];
-            SimpleDateFormat displayFormat = new SimpleDateFormat("MMMM dd, yyyy HH:mm:ss");
-            SimpleDateFormat saveFormat = new SimpleDateFormat("yyyyMMdd_HHmmss");
-            Date date = displayFormat.parse(parts[1]);
-            return playerName + "_" + saveFormat.format(date);
-        } catch (ParseException e) {
-            LOGGER.warning("Error parsing save name: " + e.getMessage());
-            return displayName;
+        if (saveId != null) {
+            clearOutput();
+            GameEngine.getInstance().loadGame(saveId);
         }
     }
 
@@ -328,19 +347,21 @@ public class GameWindow extends JFrame {
             
             if (playerName != null && !playerName.trim().isEmpty()) {
                 player.setName(playerName.trim());
+                PlayerStatisticsService.getInstance().nameSession(player.getName());
                 
-                GameState currentState = new GameState();
-                currentState.setPlayer(player);
-                currentState.setLevels(GameEngine.getInstance().getLevels());
-                currentState.setCurrentLevelIndex(GameEngine.getInstance().getCurrentLevelIndex());
-                
-                GameDatabaseService dbService = new GameDatabaseService();
-                dbService.saveGameState(currentState);
+                GameState currentState = GameEngine.getInstance().captureGameState();
                 
-                JOptionPane.showMessageDialog(this,
-                    "Game saved successfully!",
-                    "Save Game",
-                    JOptionPane.INFORMATION_MESSAGE);
+                // The snapshot is taken here; the database write happens in the background
+                SaveGamePipeline.getInstance()
+                    .submit(currentState, GameEngine.getInstance().getSaveTracker())
+                    .exceptionally(error -> {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                            "Failed to save game: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE));
+                        return null;
+                    });
             }
         } catch (Exception e) {
             LOGGER.severe("Failed to save game: " + e.getMessage());
@@ -368,72 +389,113 @@ public class GameWindow extends JFrame {
 
     // Add these methods to support UIEventHandler
     public void displayMessage(String message) {
-        SwingUtilities.invokeLater(() -> {
-            outputArea.append(message + "\n");
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-            // Clear input immediately after processing
-            commandInput.setText("");
-            commandInput.requestFocusInWindow();
-        });
+        queueOutput(message + "\n");
     }
 
     public void showPuzzleNotification(Object puzzleData) {
-        SwingUtilities.invokeLater(() -> {
-            if (puzzleData instanceof Puzzle) {
-                outputArea.append("\nA puzzle is available in this room!\n");
-                outputArea.append("Type 'solve' to attempt the puzzle.\n");
-                outputArea.setCaretPosition(outputArea.getDocument().getLength());
+        if (puzzleData instanceof Puzzle) {
+            queueOutput("\nA puzzle is available in this room!\nType 'solve' to attempt the puzzle.\n");
+        }
+    }
+
+    /**
+     * Queues text for the output area. Safe to call from any thread; everything queued
+     * within a frame is appended together.
+     * @param text The text to append
+     */
+    private void queueOutput(String text) {
+        queue(new AppendOutput(text));
+    }
+
+    /**
+     * Queues a clear of the output area, after the text already queued and before any that
+     * follows. On the EDT the output is cleared at once, so the caller sees it empty.
+     */
+    private void queueClear() {
+        queue(ClearOutput.INSTANCE);
+        if (SwingUtilities.isEventDispatchThread()) {
+            flushOutput();
+        }
+    }
+
+    private void queue(OutputEntry entry) {
+        pendingOutput.add(entry);
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::scheduleFlush);
+        }
+    }
+
+    private void scheduleFlush() {
+        long sinceLastFlush = (System.nanoTime() - lastFlushNanos) / 1_000_000;
+        if (sinceLastFlush >= FRAME_MILLIS) {
+            flushOutput();
+        } else {
+            // A flush already happened this frame; take everything that arrives until the next one
+            flushTimer.setInitialDelay((int) (FRAME_MILLIS - sinceLastFlush));
+            flushTimer.restart();
+        }
+    }
+
+    private void flushOutput() {
+        // Reset first, so text queued while draining schedules another flush rather than being stranded
+        flushScheduled.set(false);
+        lastFlushNanos = System.nanoTime();
+
+        StringBuilder text = new StringBuilder();
+        OutputEntry next;
+        while ((next = pendingOutput.poll()) != null) {
+            if (next instanceof AppendOutput append) {
+                text.append(append.text());
+            } else {
+                text.setLength(0);
+                outputArea.setText("");
             }
-        });
+        }
+        if (text.length() > 0) {
+            // One append, so a burst of messages costs a single layout and repaint
+            outputArea.append(text.toString());
+            // Clear input immediately after processing
+            commandInput.setText("");
+            commandInput.requestFocusInWindow();
+        }
     }
 
     public void updateCharacterStats(Player player) {
-        SwingUtilities.invokeLater(() -> {
-            if (player != null) {
-                inventoryPanel.updateStatus(player);
-            }
-        });
+        refreshPlayerView(player != null ? player : GameEngine.getInstance().getPlayer());
     }
 
     public void updatePlayerPosition(String roomId) {
         SwingUtilities.invokeLater(() -> {
             if (mapPanel != null && roomId != null) {
                 mapPanel.updatePlayerPosition(roomId);
-                mapPanel.revalidate();
-                mapPanel.repaint();
             }
         });
     }
 
     public void resetGameState() {
+        // Clear output area, ahead of the messages of the new state
+        queueClear();
         SwingUtilities.invokeLater(() -> {
-            // Clear output area
-            outputArea.setText("");
-            
-            // Reset map panel
-            if (mapPanel != null) {
-                mapPanel.resetMap();
-                Player player = GameEngine.getInstance().getPlayer();
-                if (player != null && player.getLocation() != null) {
-                    String roomId = player.getLocation().getRoomId();
-                    mapPanel.revealRoom(roomId, player.getLocation().hasTreasure());
-                    mapPanel.updatePlayerPosition(roomId);
-                }
-            }
-            
-            // Reset inventory panel
-            if (inventoryPanel != null) {
-                Player player = GameEngine.getInstance().getPlayer();
-                if (player != null) {
-                    updateInventory(); // Use the existing method
-                } else {
-                    inventoryPanel.reset(); // Use reset() instead of clearInventory()
-                }
-            }
+            // Reset map and inventory panels, then show the new player in full
+            resetSidePanels();
+            refreshPlayerView();
         });
     }
 
     public MapPanel getMapPanel() {
         return mapPanel;
     }
+
+    /**
+     * Something waiting for the output area: text to append, or a clear of everything before it.
+     */
+    private sealed interface OutputEntry permits AppendOutput, ClearOutput {
+    }
+
+    private record AppendOutput(String text) implements OutputEntry {
+    }
+
+    private enum ClearOutput implements OutputEntry {
+        INSTANCE
+    }
 } 
\ No newline at end of file
@@ -3,12 +3,14 @@ package com.game.gui;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import com.game.item.Item;
-import com.game.player.Player;
+import com.game.player.Inventory;
 
 public class InventoryPanel extends JPanel {
-    private DefaultListModel<String> inventoryModel;
+    private InventoryListModel inventoryModel;
     private JProgressBar healthBar;
     private JLabel statusLabel;
     private JLabel locationLabel;
@@ -16,6 +18,8 @@ public class InventoryPanel extends JPanel {
     private JLabel roomsExploredLabel;
     private JLabel itemCountLabel;
     private Timer pulseTimer;
+    // Version of each PlayerViewModel field last shown; -1 until first rendered
+    private final long[] renderedVersions = new long[PlayerViewModel.Field.values().length];
     
     private static final Color PANEL_BG = new Color(0, 0, 0);
     private static final Color TEXT_COLOR = new Color(0, 255, 0);
@@ -23,12 +27,17 @@ public class InventoryPanel extends JPanel {
     private static final Color HEALTH_HIGH = new Color(0, 255, 0);
     private static final Color HEALTH_MED = new Color(255, 255, 0);
     private static final Color HEALTH_LOW = new Color(255, 0, 0);
+    private static final Color SELECTED_BG = new Color(0, 100, 0);
+    private static final Border CELL_BORDER = BorderFactory.createEmptyBorder(2, 5, 2, 5);
+    // Sizes every cell like this one, so the list never measures all items after a change
+    private static final String PROTOTYPE_CELL = "Enchanted Amulet of Warding";
 
     public InventoryPanel() {
         setPreferredSize(new Dimension(250, 600));
         setBackground(PANEL_BG);
         setBorder(createStyledBorder("Game Status"));
         setLayout(new BorderLayout(0, 10));
+        Arrays.fill(renderedVersions, -1);
 
         // Create main panel with vertical layout
         JPanel mainPanel = new JPanel();
@@ -69,8 +78,9 @@ public class InventoryPanel extends JPanel {
         inventoryPanel.setBorder(createStyledBorder("Inventory"));
 
         // Inventory List with custom renderer
-        inventoryModel = new DefaultListModel<>();
+        inventoryModel = new InventoryListModel();
         JList<String> inventoryList = new JList<>(inventoryModel);
+        inventoryList.setPrototypeCellValue(PROTOTYPE_CELL);
         inventoryList.setBackground(PANEL_BG);
         inventoryList.setForeground(TEXT_COLOR);
         inventoryList.setFont(new Font("Times New Roman", Font.PLAIN, 12));
@@ -80,9 +90,9 @@ public class InventoryPanel extends JPanel {
                     int index, boolean isSelected, boolean cellHasFocus) {
                 JLabel label = (JLabel) super.getListCellRendererComponent(
                     list, value, index, isSelected, cellHasFocus);
-                label.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+                label.setBorder(CELL_BORDER);
                 if (isSelected) {
-                    label.setBackground(new Color(0, 100, 0));
+                    label.setBackground(SELECTED_BG);
                 } else {
                     label.setBackground(PANEL_BG);
                 }
@@ -218,36 +228,67 @@ public class InventoryPanel extends JPanel {
 
     public void updateInventory(List<Item> items) {
         SwingUtilities.invokeLater(() -> {
-            inventoryModel.clear();
+            inventoryModel.replaceAll(items != null ? items : List.of());
             if (items != null) {
-                for (Item item : items) {
-                    inventoryModel.addElement(item.getName());
-                }
                 itemCountLabel.setText("⚖ " + items.size());
             }
+            // The list no longer matches the last rendered view
+            renderedVersions[PlayerViewModel.Field.INVENTORY.ordinal()] = -1;
             revalidate();
             repaint();
         });
     }
 
-    public void updateStatus(Player player) {
-        if (player == null) return;
-        
-        SwingUtilities.invokeLater(() -> {
-            int health = player.getPowerPoints();
+    /**
+     * Shows a player state, touching only the widgets whose field changed since the last render.
+     * Must be called on the event dispatch thread.
+     *
+     * @param view The player state to show
+     */
+    public void render(PlayerViewModel.Snapshot view) {
+        if (view == null) return;
+
+        if (changed(view, PlayerViewModel.Field.POWER_POINTS)) {
+            int health = view.getPowerPoints();
             healthBar.setValue(health);
             updateHealthBarAppearance(health);
-            
-            // Update labels in one go
-            statusLabel.setText("❤ " + player.getStatus());
-            locationLabel.setText("⌂ Room " + player.getLocation().getRoomId());
-            difficultyLabel.setText("⚔ " + player.getDifficultyLevel());
-            roomsExploredLabel.setText("⚑ " + player.getVisitedRooms().size());
-            itemCountLabel.setText("⚖ " + player.getInventory().size());
-            
-            revalidate();
-            repaint();
-        });
+        }
+        if (changed(view, PlayerViewModel.Field.STATUS)) {
+            statusLabel.setText("❤ " + view.getStatus());
+        }
+        if (changed(view, PlayerViewModel.Field.LOCATION)) {
+            locationLabel.setText("⌂ Room " + view.getRoomId());
+        }
+        if (changed(view, PlayerViewModel.Field.DIFFICULTY)) {
+            difficultyLabel.setText("⚔ " + view.getDifficulty());
+        }
+        if (changed(view, PlayerViewModel.Field.VISITED)) {
+            roomsExploredLabel.setText("⚑ " + view.getVisitedCount());
+        }
+        long shownInventory = renderedVersions[PlayerViewModel.Field.INVENTORY.ordinal()];
+        if (view.getVersion(PlayerViewModel.Field.INVENTORY) > shownInventory) {
+            // Apply each add, remove and update as its own list event rather than rebuilding
+            PlayerViewModel.InventoryUpdate update = view.getInventoryChangesSince(shownInventory);
+            if (update.isReload()) {
+                inventoryModel.replaceAll(update.getItems());
+            } else {
+                for (Inventory.Change change : update.getChanges()) {
+                    inventoryModel.apply(change);
+                }
+            }
+            renderedVersions[PlayerViewModel.Field.INVENTORY.ordinal()] = update.getVersion();
+            itemCountLabel.setText("⚖ " + inventoryModel.getSize());
+        }
+        // Labels revalidate and repaint themselves when their text changes
+    }
+
+    private boolean changed(PlayerViewModel.Snapshot view, PlayerViewModel.Field field) {
+        long version = view.getVersion(field);
+        if (renderedVersions[field.ordinal()] == version) {
+            return false;
+        }
+        renderedVersions[field.ordinal()] = version;
+        return true;
     }
 
     private void updateHealthBarAppearance(int health) {
@@ -284,26 +325,94 @@ public class InventoryPanel extends JPanel {
     }
 
     public void reset() {
-        SwingUtilities.invokeLater(() -> {
-            inventoryModel.clear();
-            healthBar.setValue(100);
-            healthBar.setString("100 HP - Good");
-            healthBar.setForeground(HEALTH_HIGH);
-            stopHealthBarPulsing();
-            
-            // Reset labels
-            statusLabel.setText("Healthy");
-            locationLabel.setText("Starting Room");
-            difficultyLabel.setText("Normal");
-            roomsExploredLabel.setText("0");
-            itemCountLabel.setText("0");
-            
-            revalidate();
-            repaint();
-        });
+        // Reset at once on the EDT, so renders queued after it are not wiped
+        if (SwingUtilities.isEventDispatchThread()) {
+            resetWidgets();
+        } else {
+            SwingUtilities.invokeLater(this::resetWidgets);
+        }
+    }
+
+    private void resetWidgets() {
+        inventoryModel.clear();
+        healthBar.setValue(100);
+        healthBar.setString("100 HP - Good");
+        healthBar.setForeground(HEALTH_HIGH);
+        stopHealthBarPulsing();
+        
+        // Reset labels
+        statusLabel.setText("Healthy");
+        locationLabel.setText("Starting Room");
+        difficultyLabel.setText("Normal");
+        roomsExploredLabel.setText("0");
+        itemCountLabel.setText("0");
+        Arrays.fill(renderedVersions, -1);
+        
+        revalidate();
+        repaint();
     }
 
     public void cleanup() {
         stopHealthBarPulsing();
     }
+
+    /**
+     * The inventory list, changed one interval event at a time. The text of each item is
+     * worked out once when the item is added or updated, not each time the list asks for it.
+     */
+    private static final class InventoryListModel extends AbstractListModel<String> {
+        private final List<String> cells = new ArrayList<>();
+
+        @Override
+        public int getSize() {
+            return cells.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return cells.get(index);
+        }
+
+        void apply(Inventory.Change change) {
+            int index = change.getIndex();
+            switch (change.getType()) {
+                case ADDED -> {
+                    cells.add(index, cellText(change.getItem()));
+                    fireIntervalAdded(this, index, index);
+                }
+                case REMOVED -> {
+                    cells.remove(index);
+                    fireIntervalRemoved(this, index, index);
+                }
+                case UPDATED -> {
+                    String text = cellText(change.getItem());
+                    if (!text.equals(cells.set(index, text))) {
+                        fireContentsChanged(this, index, index);
+                    }
+                }
+            }
+        }
+
+        void replaceAll(List<Item> items) {
+            clear();
+            for (Item item : items) {
+                cells.add(cellText(item));
+            }
+            if (!cells.isEmpty()) {
+                fireIntervalAdded(this, 0, cells.size() - 1);
+            }
+        }
+
+        void clear() {
+            int size = cells.size();
+            if (size > 0) {
+                cells.clear();
+                fireIntervalRemoved(this, 0, size - 1);
+            }
+        }
+
+        private static String cellText(Item item) {
+            return item.getName();
+        }
+    }
 } 
\ No newline at end of file
@@ -6,29 +6,58 @@ import com.game.engine.GameEngine;
 import com.game.event.GameEventType;
 
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Panel responsible for displaying and managing the dungeon map visualization.
- * Uses double buffering for smooth rendering and maintains room positions and states.
+ * <p>
+ * Rooms are kept by grid position in a spatial index of 16x16 chunks and shown through a
+ * camera that can be panned by dragging and zoomed with the mouse wheel; double-clicking
+ * centres the map on the player, and the camera follows the player when they leave the
+ * view. Only the chunks inside the view are visited when drawing. How much is drawn depends
+ * on the zoom: close up, rooms have borders and markers; further out they are plain squares;
+ * and fully zoomed out the map is copied from an overview bitmap with one pixel per room.
+ * <p>
+ * Rooms are drawn into a persistent map layer. Revealing a room or moving the player only
+ * marks the affected rooms dirty and repaints their rectangles; the next paint redraws just
+ * those rooms into the layer and copies the clipped area to the screen. The whole layer is
+ * only redrawn when the camera moves, the panel is resized or the map reset. The legend is
+ * rendered once into its own image and copied on top.
  */
 public class MapPanel extends JPanel {
-    // Maps room IDs to their screen positions
-    private final Map<String, Rectangle> roomPositions;
+    // Spatial index of revealed rooms, keyed by packed chunk coordinates
+    private final Map<Long, Chunk> chunks;
+    private int roomCount;
     private String currentRoomId;
-    // Keeps track of which rooms contain treasure
-    private final Set<String> treasureRooms;
+    private int playerX;
+    private int playerY;
 
-    // Double buffering to prevent flickering during redraws
+    // Camera: the grid position shown at the centre of the panel, and the scale of a room
+    private double cameraX;
+    private double cameraY;
+    private double zoom = 1.0;
+
+    // One pixel per room, used when zoomed out; overviewX/Y is the room at pixel (0, 0)
+    private BufferedImage overview;
+    private int overviewX;
+    private int overviewY;
+
+    // Persistent map layer; only rooms in dirtyRooms are redrawn unless the whole layer is stale
     private BufferedImage buffer;
     private boolean needsRedraw = true;
+    private final Set<Long> dirtyRooms = new LinkedHashSet<>();
+    private static BufferedImage legend;
 
     // Constants for map layout and sizing
-    private static final int GRID_SIZE = 12;  // Maximum rooms in each direction
+    private static final int GRID_SIZE = 12;  // Rooms in each direction shown at the default zoom
     private static final int ROOM_SIZE = 30;  // Size of each room square
     private static final int ROOM_SPACING = 8;  // Gap between rooms
     private static final int PANEL_PADDING = 20;  // Border padding
@@ -36,6 +65,15 @@ public class MapPanel extends JPanel {
     // Calculate total panel dimensions based on grid layout
     private static final int DEFAULT_WIDTH = (ROOM_SIZE * GRID_SIZE) + (ROOM_SPACING * (GRID_SIZE - 1)) + (PANEL_PADDING * 2);
     private static final int DEFAULT_HEIGHT = DEFAULT_WIDTH;  // Keep panel square
+
+    // Zoom limits and the room pitch, in pixels, below which less detail is drawn
+    private static final double MIN_ZOOM = 0.01;
+    private static final double MAX_ZOOM = 4.0;
+    private static final double ZOOM_STEP = 1.15;
+    private static final double DETAIL_PITCH = 16;
+    private static final double OVERVIEW_PITCH = 4;
+    private static final int CHUNK_SHIFT = 4;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
     
     // Color scheme for different room states
     private static final Color VISITED_ROOM_COLOR = Color.DARK_GRAY;
@@ -44,18 +82,60 @@ public class MapPanel extends JPanel {
     private static final Color BORDER_COLOR = new Color(0, 255, 0);
     private static final Color TREASURE_ROOM_COLOR = new Color(255, 0, 0);  // Bright red for treasure rooms
 
+    // Legend layout, relative to the bottom left corner of the panel
+    private static final Font KEY_FONT = new Font("Times New Roman", Font.PLAIN, 12);
+    private static final int KEY_X = 10;
+    private static final int KEY_BOTTOM_OFFSET = 100;
+    private static final int KEY_WIDTH = 130;
+    private static final int KEY_HEIGHT = 80;
+    // How far past the room rectangle a dirty room is cleared, for its border and antialiased
+    // edges; less when zoomed out so far that the gap between rooms is narrower
+    private static final int ROOM_OUTSET = 2;
+
     /**
      * Creates a new map panel with double buffering for smooth rendering.
      * Initializes collections for tracking room positions and states.
      */
     public MapPanel() {
-        roomPositions = new HashMap<>();
-        treasureRooms = new HashSet<>();
+        chunks = new HashMap<>();
         setPreferredSize(new Dimension(DEFAULT_WIDTH, DEFAULT_HEIGHT));
         setMinimumSize(new Dimension(DEFAULT_WIDTH, DEFAULT_HEIGHT));
         setBackground(Color.BLACK);
         setDoubleBuffered(true);
         createBuffer();
+
+        MouseAdapter camera = new MouseAdapter() {
+            private Point dragStart;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart != null) {
+                    double pitch = pitch();
+                    panTo(cameraX - (e.getX() - dragStart.x) / pitch, cameraY - (e.getY() - dragStart.y) / pitch);
+                    dragStart = e.getPoint();
+                }
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && currentRoomId != null) {
+                    panTo(playerX, playerY);
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+            }
+        };
+        addMouseListener(camera);
+        addMouseMotionListener(camera);
+        addMouseWheelListener(camera);
     }
 
     /**
@@ -65,13 +145,12 @@ public class MapPanel extends JPanel {
     private void createBuffer() {
         // Ensure minimum dimensions of 1x1 to prevent BufferedImage creation errors
         buffer = new BufferedImage(Math.max(1, getWidth()), Math.max(1, getHeight()), 
-                                 BufferedImage.TYPE_INT_ARGB);
+                                 BufferedImage.TYPE_INT_RGB);
         needsRedraw = true;
     }
 
     /**
      * Reveals a room on the map at the specified coordinates.
-     * Calculates the room's screen position based on its grid coordinates.
      *
      * @param roomId The room identifier in format "x,y"
      * @param isTreasure Whether this room contains treasure
@@ -79,48 +158,151 @@ public class MapPanel extends JPanel {
     public void revealRoom(String roomId, boolean isTreasure) {
         if (roomId == null) return;
         
-        if (!roomPositions.containsKey(roomId)) {
-            try {
-                // Parse room coordinates from ID (format: "x,y")
-                String[] coords = roomId.split(",");
-                int x = Integer.parseInt(coords[0]);
-                int y = Integer.parseInt(coords[1]);
-                
-                // Calculate pixel position relative to panel center
-                int centerX = DEFAULT_WIDTH / 2;
-                int centerY = DEFAULT_HEIGHT / 2;
-                
-                // Convert grid coordinates to screen coordinates
-                // Subtract ROOM_SIZE/2 to center rooms on their grid position
-                int roomX = centerX + (x * (ROOM_SIZE + ROOM_SPACING)) - (ROOM_SIZE / 2);
-                int roomY = centerY + (y * (ROOM_SIZE + ROOM_SPACING)) - (ROOM_SIZE / 2);
-                
-                // Store room position and treasure status
-                roomPositions.put(roomId, new Rectangle(roomX, roomY, ROOM_SIZE, ROOM_SIZE));
-                if (isTreasure) {
-                    treasureRooms.add(roomId);
-                }
-                needsRedraw = true;
-                repaint();
-            } catch (Exception e) {
-                GameEngine.getInstance().fireEvent(GameEventType.GAME_MESSAGE, 
-                    "\nError: Unable to reveal this area of the map.");
+        try {
+            // Parse room coordinates from ID (format: "x,y")
+            String[] coords = roomId.split(",");
+            int x = Integer.parseInt(coords[0]);
+            int y = Integer.parseInt(coords[1]);
+
+            Chunk chunk = chunks.computeIfAbsent(key(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT), k -> new Chunk());
+            int bit = ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+            if (!chunk.isRevealed(bit)) {
+                chunk.reveal(bit, isTreasure);
+                roomCount++;
+                setOverviewPixel(x, y);
+                markDirty(x, y);
             }
+        } catch (Exception e) {
+            GameEngine.getInstance().fireEvent(GameEventType.GAME_MESSAGE, 
+                "\nError: Unable to reveal this area of the map.");
         }
     }
 
     /**
      * Updates the player's current position on the map.
-     * Triggers a redraw only if the position has changed.
+     * Triggers a redraw only if the position has changed, and moves the camera to the
+     * player if they have left the view.
      *
      * @param roomId The room ID where the player is now located
      */
     public void updatePlayerPosition(String roomId) {
         if (roomId != null && !roomId.equals(currentRoomId)) {
+            int x;
+            int y;
+            try {
+                String[] coords = roomId.split(",");
+                x = Integer.parseInt(coords[0]);
+                y = Integer.parseInt(coords[1]);
+            } catch (RuntimeException e) {
+                return;
+            }
+            boolean hadPlayer = currentRoomId != null;
+            int previousX = playerX;
+            int previousY = playerY;
             currentRoomId = roomId;
+            playerX = x;
+            playerY = y;
+
+            // Only the room the player left and the one they entered change
+            if (hadPlayer) {
+                setOverviewPixel(previousX, previousY);
+                markDirty(previousX, previousY);
+            }
+            setOverviewPixel(x, y);
+            markDirty(x, y);
+
+            if (!isInView(x, y)) {
+                panTo(x, y);
+            }
+        }
+    }
+
+    /**
+     * Moves the camera so the given grid position is at the centre of the panel.
+     */
+    private void panTo(double x, double y) {
+        cameraX = x;
+        cameraY = y;
+        needsRedraw = true;
+        repaint();
+    }
+
+    /**
+     * Scales the zoom by the given factor, keeping the grid position under (x, y) in place.
+     */
+    private void zoomAt(int x, int y, double factor) {
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+        if (newZoom == zoom) {
+            return;
+        }
+        double worldX = cameraX + (x - getWidth() / 2.0) / pitch();
+        double worldY = cameraY + (y - getHeight() / 2.0) / pitch();
+        zoom = newZoom;
+        panTo(worldX - (x - getWidth() / 2.0) / pitch(), worldY - (y - getHeight() / 2.0) / pitch());
+    }
+
+    /**
+     * @return the distance in pixels between the centres of neighbouring rooms
+     */
+    private double pitch() {
+        return (ROOM_SIZE + ROOM_SPACING) * zoom;
+    }
+
+    private int roomSize() {
+        return Math.max(1, (int) Math.round(ROOM_SIZE * zoom));
+    }
+
+    private double centreX(int x) {
+        return getWidth() / 2.0 + (x - cameraX) * pitch();
+    }
+
+    private double centreY(int y) {
+        return getHeight() / 2.0 + (y - cameraY) * pitch();
+    }
+
+    /**
+     * @return the screen rectangle of the room at the given grid position
+     */
+    private Rectangle roomBounds(int x, int y) {
+        int size = roomSize();
+        return new Rectangle((int) Math.floor(centreX(x) - size / 2.0),
+                             (int) Math.floor(centreY(y) - size / 2.0), size, size);
+    }
+
+    private boolean isInView(int x, int y) {
+        Rectangle room = roomBounds(x, y);
+        return room.x >= 0 && room.y >= 0
+            && room.x + room.width <= getWidth() && room.y + room.height <= getHeight();
+    }
+
+    /**
+     * @return the area to clear and redraw for the room at the given grid position, or null if
+     *         its drawing would reach into a neighbour's and the whole layer has to be redrawn
+     */
+    private Rectangle dirtyBounds(int x, int y) {
+        Rectangle room = roomBounds(x, y);
+        if (pitch() < DETAIL_PITCH) {
+            // Without a border, the fill and player marker stay inside the room
+            return room;
+        }
+        // The border reaches a pixel past the room; leave the pixel before the neighbour's border
+        int outset = Math.min(ROOM_OUTSET, (int) Math.floor(pitch()) - room.width - 2);
+        if (outset < 1) {
+            return null;
+        }
+        return new Rectangle(room.x - outset, room.y - outset,
+                             room.width + 2 * outset + 1, room.height + 2 * outset + 1);
+    }
+
+    private void markDirty(int x, int y) {
+        Rectangle dirty = dirtyBounds(x, y);
+        if (dirty == null) {
             needsRedraw = true;
             repaint();
+            return;
         }
+        dirtyRooms.add(key(x, y));
+        repaint(dirty);
     }
 
     @Override
@@ -139,52 +321,135 @@ public class MapPanel extends JPanel {
             createBuffer();
         }
         
-        if (needsRedraw) {
-            // Draw to buffer
-            Graphics2D g2d = buffer.createGraphics();
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
-            // Clear buffer
+        // Zoomed out, dirty rooms are a pixel or two; copying the overview again is as cheap
+        boolean overviewLevel = pitch() < OVERVIEW_PITCH;
+        if (needsRedraw || (overviewLevel && !dirtyRooms.isEmpty())) {
+            Graphics2D g2d = createBufferGraphics();
+            // Clear buffer and draw every room in view
             g2d.setColor(getBackground());
             g2d.fillRect(0, 0, getWidth(), getHeight());
-            
-            // Draw revealed rooms
-            drawRooms(g2d);
-            
-            // Draw map key
-            drawMapKey(g2d);
-            
+            if (overviewLevel) {
+                drawOverview(g2d);
+            } else {
+                drawVisibleRooms(g2d);
+            }
             g2d.dispose();
             needsRedraw = false;
+        } else if (!dirtyRooms.isEmpty()) {
+            // Draw only the rooms that changed since the last paint
+            Graphics2D g2d = createBufferGraphics();
+            for (long room : dirtyRooms) {
+                int x = (int) (room >> 32);
+                int y = (int) room;
+                g2d.setColor(getBackground());
+                g2d.fill(dirtyBounds(x, y));
+                Chunk chunk = chunks.get(key(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT));
+                int bit = ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+                if (chunk != null && chunk.isRevealed(bit)) {
+                    drawRoom(g2d, x, y, chunk.isTreasure(bit));
+                }
+            }
+            g2d.dispose();
         }
+        dirtyRooms.clear();
         
-        // Draw buffer to screen
+        // Draw buffer to screen; Swing clips this to the repainted area
         g.drawImage(buffer, 0, 0, this);
+
+        // Draw map key over the rooms, if it is in the repainted area
+        int keyY = getHeight() - KEY_BOTTOM_OFFSET;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null || clip.intersects(KEY_X, keyY, KEY_WIDTH, KEY_HEIGHT)) {
+            g.drawImage(getLegend(), KEY_X, keyY, this);
+        }
     }
 
-    private void drawRooms(Graphics2D g2d) {
-        if (roomPositions.isEmpty()) return;
-        
-        for (Map.Entry<String, Rectangle> entry : roomPositions.entrySet()) {
-            Rectangle room = entry.getValue();
-            String roomId = entry.getKey();
-            
-            // Fill room
-            if (roomId.equals(currentRoomId)) {
-                g2d.setColor(CURRENT_ROOM_COLOR);
-            } else if (treasureRooms.contains(roomId)) {
-                g2d.setColor(TREASURE_ROOM_COLOR);
-            } else {
-                g2d.setColor(VISITED_ROOM_COLOR);
+    private Graphics2D createBufferGraphics() {
+        Graphics2D g2d = buffer.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    /**
+     * Draws the revealed rooms inside the panel, visiting only the chunks that overlap it.
+     */
+    private void drawVisibleRooms(Graphics2D g2d) {
+        if (roomCount == 0) return;
+
+        double pitch = pitch();
+        int minX = (int) Math.floor(cameraX - getWidth() / 2.0 / pitch) - 1;
+        int maxX = (int) Math.ceil(cameraX + getWidth() / 2.0 / pitch) + 1;
+        int minY = (int) Math.floor(cameraY - getHeight() / 2.0 / pitch) - 1;
+        int maxY = (int) Math.ceil(cameraY + getHeight() / 2.0 / pitch) + 1;
+        int minChunkX = minX >> CHUNK_SHIFT;
+        int maxChunkX = maxX >> CHUNK_SHIFT;
+        int minChunkY = minY >> CHUNK_SHIFT;
+        int maxChunkY = maxY >> CHUNK_SHIFT;
+
+        long chunksInView = (long) (maxChunkX - minChunkX + 1) * (maxChunkY - minChunkY + 1);
+        if (chunksInView <= chunks.size()) {
+            for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    Chunk chunk = chunks.get(key(chunkX, chunkY));
+                    if (chunk != null) {
+                        drawChunk(g2d, chunk, chunkX, chunkY, minX, maxX, minY, maxY);
+                    }
+                }
+            }
+        } else {
+            // Fewer chunks revealed than fit in the view
+            for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+                int chunkX = (int) (entry.getKey() >> 32);
+                int chunkY = entry.getKey().intValue();
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkY >= minChunkY && chunkY <= maxChunkY) {
+                    drawChunk(g2d, entry.getValue(), chunkX, chunkY, minX, maxX, minY, maxY);
+                }
+            }
+        }
+    }
+
+    private void drawChunk(Graphics2D g2d, Chunk chunk, int chunkX, int chunkY,
+                           int minX, int maxX, int minY, int maxY) {
+        for (int word = 0; word < chunk.revealed.length; word++) {
+            long bits = chunk.revealed[word];
+            while (bits != 0) {
+                int bit = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int x = (chunkX << CHUNK_SHIFT) | (bit & CHUNK_MASK);
+                int y = (chunkY << CHUNK_SHIFT) | (bit >> CHUNK_SHIFT);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    drawRoom(g2d, x, y, chunk.isTreasure(bit));
+                }
             }
-            g2d.fillRect(room.x, room.y, room.width, room.height);
-            
+        }
+    }
+
+    /**
+     * Draws one room, with its border, treasure marker and the player if they are in it
+     * when zoomed in far enough to make them out.
+     */
+    private void drawRoom(Graphics2D g2d, int x, int y, boolean isTreasure) {
+        Rectangle room = roomBounds(x, y);
+        boolean isCurrent = currentRoomId != null && x == playerX && y == playerY;
+        boolean detailed = pitch() >= DETAIL_PITCH;
+
+        // Fill room
+        if (isCurrent) {
+            g2d.setColor(CURRENT_ROOM_COLOR);
+        } else if (isTreasure) {
+            g2d.setColor(TREASURE_ROOM_COLOR);
+        } else {
+            g2d.setColor(VISITED_ROOM_COLOR);
+        }
+        g2d.fillRect(room.x, room.y, room.width, room.height);
+        
+        if (detailed) {
             // Draw room border
             g2d.setColor(BORDER_COLOR);
             g2d.drawRect(room.x, room.y, room.width, room.height);
 
             // Draw treasure indicator
-            if (treasureRooms.contains(roomId)) {
+            if (isTreasure) {
                 g2d.setColor(Color.RED);
                 int margin = 8;
                 g2d.drawString("T", room.x + margin, room.y + room.height - margin);
@@ -192,26 +457,118 @@ public class MapPanel extends JPanel {
         }
 
         // Draw player position
-        if (currentRoomId != null && roomPositions.containsKey(currentRoomId)) {
-            Rectangle currentRoom = roomPositions.get(currentRoomId);
+        if (isCurrent) {
             g2d.setColor(PLAYER_COLOR);
-            int margin = 5;
+            int margin = detailed ? 5 : Math.max(1, room.width / 4);
             g2d.fillOval(
-                currentRoom.x + margin,
-                currentRoom.y + margin,
-                currentRoom.width - (2 * margin),
-                currentRoom.height - (2 * margin)
+                room.x + margin,
+                room.y + margin,
+                room.width - (2 * margin),
+                room.height - (2 * margin)
             );
         }
     }
 
-    private void drawMapKey(Graphics2D g2d) {
-        int keyX = 10;
-        int keyY = getHeight() - 100;  // Moved up to accommodate new legend item
+    /**
+     * Draws the overview bitmap scaled to the current zoom, and a marker for the player
+     * that stays visible however far out the map is zoomed.
+     */
+    private void drawOverview(Graphics2D g2d) {
+        if (overview == null) return;
+
+        double pitch = pitch();
+        AffineTransform transform = new AffineTransform();
+        transform.translate(centreX(overviewX) - pitch / 2, centreY(overviewY) - pitch / 2);
+        transform.scale(pitch, pitch);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2d.drawImage(overview, transform, null);
+
+        if (currentRoomId != null) {
+            int size = 6;
+            g2d.setColor(PLAYER_COLOR);
+            g2d.fillOval((int) Math.round(centreX(playerX)) - size / 2,
+                         (int) Math.round(centreY(playerY)) - size / 2, size, size);
+        }
+    }
+
+    /**
+     * Sets the overview pixel of a room to its colour, growing the bitmap if the room is
+     * outside it. The bitmap grows by at least half its size, so it is copied only a few times.
+     */
+    private void setOverviewPixel(int x, int y) {
+        Chunk chunk = chunks.get(key(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT));
+        int bit = ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+        if (chunk == null || !chunk.isRevealed(bit)) {
+            return;
+        }
+        if (overview == null || x < overviewX || y < overviewY
+                || x >= overviewX + overview.getWidth() || y >= overviewY + overview.getHeight()) {
+            growOverview(x, y);
+        }
+        Color color;
+        if (currentRoomId != null && x == playerX && y == playerY) {
+            color = CURRENT_ROOM_COLOR;
+        } else if (chunk.isTreasure(bit)) {
+            color = TREASURE_ROOM_COLOR;
+        } else {
+            color = VISITED_ROOM_COLOR;
+        }
+        overview.setRGB(x - overviewX, y - overviewY, color.getRGB());
+    }
+
+    private void growOverview(int x, int y) {
+        int minX = x;
+        int minY = y;
+        int maxX = x;
+        int maxY = y;
+        int margin = 16;
+        if (overview != null) {
+            minX = Math.min(minX, overviewX);
+            minY = Math.min(minY, overviewY);
+            maxX = Math.max(maxX, overviewX + overview.getWidth() - 1);
+            maxY = Math.max(maxY, overviewY + overview.getHeight() - 1);
+            margin = Math.max(margin, Math.max(overview.getWidth(), overview.getHeight()) / 2);
+        }
+        minX -= margin;
+        minY -= margin;
+        maxX += margin;
+        maxY += margin;
+
+        BufferedImage grown = new BufferedImage(maxX - minX + 1, maxY - minY + 1, BufferedImage.TYPE_INT_ARGB);
+        if (overview != null) {
+            Graphics2D g2d = grown.createGraphics();
+            g2d.drawImage(overview, overviewX - minX, overviewY - minY, null);
+            g2d.dispose();
+        }
+        overview = grown;
+        overviewX = minX;
+        overviewY = minY;
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * @return the map key, rendered on first use
+     */
+    private static synchronized BufferedImage getLegend() {
+        if (legend == null) {
+            legend = new BufferedImage(KEY_WIDTH, KEY_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = legend.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            drawMapKey(g2d);
+            g2d.dispose();
+        }
+        return legend;
+    }
+
+    private static void drawMapKey(Graphics2D g2d) {
+        int keyX = 0;
+        int keyY = 0;
         int keySquareSize = 15;
         int textOffset = 20;
-        Font keyFont = new Font("Times New Roman", Font.PLAIN, 12);
-        g2d.setFont(keyFont);
+        g2d.setFont(KEY_FONT);
         g2d.setColor(Color.GREEN);  // Set text color
 
         // Current Room
@@ -242,10 +599,38 @@ public class MapPanel extends JPanel {
     }
 
     public void resetMap() {
-        roomPositions.clear();
-        treasureRooms.clear();
+        chunks.clear();
+        roomCount = 0;
         currentRoomId = null;
+        overview = null;
+        cameraX = 0;
+        cameraY = 0;
+        zoom = 1.0;
+        dirtyRooms.clear();
         needsRedraw = true;
         repaint();
     }
+
+    /**
+     * Revealed and treasure flags of a 16x16 block of rooms, one bit per room.
+     */
+    private static final class Chunk {
+        private final long[] revealed = new long[4];
+        private final long[] treasure = new long[4];
+
+        boolean isRevealed(int bit) {
+            return (revealed[bit >> 6] & (1L << bit)) != 0;
+        }
+
+        boolean isTreasure(int bit) {
+            return (treasure[bit >> 6] & (1L << bit)) != 0;
+        }
+
+        void reveal(int bit, boolean isTreasure) {
+            revealed[bit >> 6] |= 1L << bit;
+            if (isTreasure) {
+                treasure[bit >> 6] |= 1L << bit;
+            }
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,332 @@
+package com.game.gui;
+
+import javax.swing.JComponent;
+import javax.swing.KeyStroke;
+import javax.swing.AbstractAction;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Read-only text console for the game output with a bounded scrollback.
+ * <p>
+ * Lines are kept in a ring buffer of {@code game.ui.scrollbackLines} entries. When it fills up,
+ * the oldest tenth is dropped in one go, so the component only resizes now and then instead
+ * of on every line. Lines are not wrapped and all have the same height, so painting only
+ * draws the rows inside the clip. Appending therefore costs the same after hours of play
+ * as on the first command. Whole lines can be selected with the mouse and copied with Ctrl+C.
+ * Must only be used on the event dispatch thread.
+ */
+public class OutputConsole extends JComponent implements Scrollable {
+    private static final int DEFAULT_SCROLLBACK = Math.max(100, Integer.getInteger("game.ui.scrollbackLines", 5000));
+    private static final int PADDING = 4;
+    private static final Color SELECTION_COLOR = new Color(0, 90, 0);
+
+    private final String[] lines;
+    private int first;
+    private int count;
+    // Whether the last line still takes text, i.e. the last append did not end with a newline
+    private boolean lastLineOpen;
+    private int maxLineWidth;
+    private int selectionAnchor = -1;
+    private int selectionEnd = -1;
+    private boolean scrollPending;
+
+    public OutputConsole() {
+        this(DEFAULT_SCROLLBACK);
+    }
+
+    /**
+     * @param scrollbackLines The number of lines kept before the oldest are dropped
+     */
+    public OutputConsole(int scrollbackLines) {
+        this.lines = new String[scrollbackLines];
+        setOpaque(true);
+        setFocusable(true);
+
+        MouseAdapter selector = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                selectionAnchor = rowAt(e.getY());
+                selectionEnd = selectionAnchor;
+                repaint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (selectionAnchor >= 0) {
+                    selectionEnd = rowAt(e.getY());
+                    scrollRectToVisible(new Rectangle(0, e.getY(), 1, 1));
+                    repaint();
+                }
+            }
+        };
+        addMouseListener(selector);
+        addMouseMotionListener(selector);
+
+        getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_C, InputEvent.CTRL_DOWN_MASK), "copy");
+        getActionMap().put("copy", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                copySelection();
+            }
+        });
+    }
+
+    /**
+     * Appends text, continuing the last line if the previous append did not end with a newline,
+     * and scrolls to the end.
+     * @param text The text to append
+     */
+    public void append(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        FontMetrics metrics = getFontMetrics(getFont());
+        int start = 0;
+        while (start <= text.length()) {
+            int newline = text.indexOf('\n', start);
+            String part = text.substring(start, newline < 0 ? text.length() : newline);
+            if (lastLineOpen) {
+                int last = index(count - 1);
+                lines[last] = lines[last] + part;
+                maxLineWidth = Math.max(maxLineWidth, metrics.stringWidth(lines[last]));
+            } else if (newline >= 0 || !part.isEmpty()) {
+                addLine(part, metrics);
+            }
+            if (newline < 0) {
+                lastLineOpen = !part.isEmpty() || lastLineOpen;
+                break;
+            }
+            lastLineOpen = false;
+            start = newline + 1;
+        }
+        revalidate();
+        repaint();
+        if (!scrollPending) {
+            // Scroll once the new size has been laid out; appends before then share one scroll
+            scrollPending = true;
+            SwingUtilities.invokeLater(this::scrollToEnd);
+        }
+    }
+
+    private void addLine(String line, FontMetrics metrics) {
+        if (count == lines.length) {
+            trim(metrics);
+        }
+        lines[index(count)] = line;
+        count++;
+        maxLineWidth = Math.max(maxLineWidth, metrics.stringWidth(line));
+    }
+
+    /**
+     * Drops the oldest tenth of the lines and re-measures what is left.
+     */
+    private void trim(FontMetrics metrics) {
+        int dropped = Math.max(1, lines.length / 10);
+        for (int i = 0; i < dropped; i++) {
+            lines[index(i)] = null;
+        }
+        first = index(dropped);
+        count -= dropped;
+        if (Math.max(selectionAnchor, selectionEnd) < dropped) {
+            // The selected lines are all gone
+            selectionAnchor = -1;
+            selectionEnd = -1;
+        } else if (selectionAnchor >= 0) {
+            selectionAnchor = Math.max(0, selectionAnchor - dropped);
+            selectionEnd = Math.max(0, selectionEnd - dropped);
+        }
+        maxLineWidth = 0;
+        for (int i = 0; i < count; i++) {
+            maxLineWidth = Math.max(maxLineWidth, metrics.stringWidth(lines[index(i)]));
+        }
+    }
+
+    /**
+     * Replaces the content, like {@code JTextArea.setText}.
+     * @param text The new content, or null or empty to clear
+     */
+    public void setText(String text) {
+        Arrays.fill(lines, null);
+        first = 0;
+        count = 0;
+        lastLineOpen = false;
+        maxLineWidth = 0;
+        selectionAnchor = -1;
+        selectionEnd = -1;
+        if (text != null && !text.isEmpty()) {
+            append(text);
+        } else {
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     * @return the kept lines joined with newlines
+     */
+    public String getText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(lines[index(i)]);
+            if (i < count - 1 || !lastLineOpen) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the number of lines kept
+     */
+    public int getLineCount() {
+        return count;
+    }
+
+    private void copySelection() {
+        String selected = getSelectedText();
+        if (selected != null) {
+            Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(selected), null);
+        }
+    }
+
+    /**
+     * @return the selected lines, each ended by a newline, or null if nothing is selected
+     */
+    String getSelectedText() {
+        if (selectionAnchor < 0 || count == 0) {
+            return null;
+        }
+        int from = Math.min(selectionAnchor, selectionEnd);
+        int to = Math.min(Math.max(selectionAnchor, selectionEnd), count - 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            sb.append(lines[index(i)]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void scrollToEnd() {
+        scrollPending = false;
+        int height = lineHeight();
+        scrollRectToVisible(new Rectangle(0, PADDING + Math.max(0, count - 1) * height, 1, height + PADDING));
+    }
+
+    private int index(int line) {
+        return (first + line) % lines.length;
+    }
+
+    private int rowAt(int y) {
+        return Math.max(0, Math.min(count - 1, (y - PADDING) / lineHeight()));
+    }
+
+    private int lineHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (font != null && lines != null) {
+            FontMetrics metrics = getFontMetrics(font);
+            maxLineWidth = 0;
+            for (int i = 0; i < count; i++) {
+                maxLineWidth = Math.max(maxLineWidth, metrics.stringWidth(lines[index(i)]));
+            }
+            revalidate();
+            repaint();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension(maxLineWidth + 2 * PADDING, count * lineHeight() + 2 * PADDING);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (count == 0) {
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (hints instanceof Map<?, ?> map) {
+            g2.addRenderingHints(map);
+        } else {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+        g2.setFont(getFont());
+        FontMetrics metrics = g2.getFontMetrics();
+        int height = metrics.getHeight();
+
+        // Only the rows that intersect the clip are drawn
+        int firstRow = Math.max(0, (clip.y - PADDING) / height);
+        int lastRow = Math.min(count - 1, (clip.y + clip.height - PADDING) / height);
+        int selectedFrom = Math.min(selectionAnchor, selectionEnd);
+        int selectedTo = Math.max(selectionAnchor, selectionEnd);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int top = PADDING + row * height;
+            if (selectionAnchor >= 0 && row >= selectedFrom && row <= selectedTo) {
+                g2.setColor(SELECTION_COLOR);
+                g2.fillRect(clip.x, top, clip.width, height);
+            }
+            g2.setColor(getForeground());
+            g2.drawString(lines[index(row)], PADDING, top + metrics.getAscent());
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(400, 20 * lineHeight());
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? lineHeight() : 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Fill the viewport unless a line is wider, in which case scroll horizontally
+        return getParent() != null && getParent().getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() != null && getParent().getHeight() > getPreferredSize().height;
+    }
+}
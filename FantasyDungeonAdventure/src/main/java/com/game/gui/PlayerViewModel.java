@@ -0,0 +1,218 @@
+package com.game.gui;
+
+import com.game.item.Item;
+import com.game.player.Inventory;
+import com.game.player.Player;
+import com.game.room.Room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The player state shown by the status panel and map, with a version per field.
+ * <p>
+ * {@link #update(Player)} reads the player on the calling thread and bumps the version of
+ * each field whose value changed. The resulting {@link Snapshot} is immutable and can be
+ * handed to the event dispatch thread, where widgets compare the versions with those they
+ * last rendered and skip the rest.
+ * <p>
+ * Inventory changes are taken from the inventory's change log and kept in a log of their own,
+ * one inventory version per change, so the inventory list can apply just the changes since
+ * the version it last showed. Only when those are no longer known is the whole list reloaded.
+ */
+public class PlayerViewModel {
+    /**
+     * The fields the UI shows, each with its own version.
+     */
+    public enum Field {
+        POWER_POINTS,
+        STATUS,
+        LOCATION,
+        DIFFICULTY,
+        VISITED,
+        INVENTORY
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final int CHANGE_LOG_SIZE = 256;
+
+    private final long[] versions = new long[FIELDS.length];
+    private Player player;
+    private int powerPoints;
+    private String status;
+    private Room location;
+    private Player.DifficultyLevel difficulty;
+    private int visitedCount;
+    // The items as of the latest inventory version, and the changes that led there
+    private final List<Item> items = new ArrayList<>();
+    private int inventoryVersion;
+    private final Inventory.Change[] changeLog = new Inventory.Change[CHANGE_LOG_SIZE];
+    private long changeLogFloor;
+
+    /**
+     * Reads the player and bumps the version of every field that changed since the last update.
+     * A different player object counts as a change of every field.
+     *
+     * @param player The player to show
+     * @return the new state, or null if nothing changed
+     */
+    public synchronized Snapshot update(Player player) {
+        boolean newPlayer = player != this.player;
+        boolean changed = false;
+        this.player = player;
+
+        if (newPlayer || player.getPowerPoints() != powerPoints) {
+            powerPoints = player.getPowerPoints();
+            changed |= bump(Field.POWER_POINTS);
+        }
+        if (newPlayer || !String.valueOf(player.getStatus()).equals(status)) {
+            status = String.valueOf(player.getStatus());
+            changed |= bump(Field.STATUS);
+        }
+        if (newPlayer || player.getLocation() != location) {
+            location = player.getLocation();
+            changed |= bump(Field.LOCATION);
+        }
+        if (newPlayer || player.getDifficultyLevel() != difficulty) {
+            difficulty = player.getDifficultyLevel();
+            changed |= bump(Field.DIFFICULTY);
+        }
+        if (newPlayer || player.getVisitedRooms().size() != visitedCount) {
+            visitedCount = player.getVisitedRooms().size();
+            changed |= bump(Field.VISITED);
+        }
+        if (newPlayer || player.getInventoryVersion() != inventoryVersion) {
+            List<Inventory.Change> changes = newPlayer ? null : player.getInventoryChangesSince(inventoryVersion);
+            if (changes == null) {
+                reloadItems(player);
+            } else {
+                for (Inventory.Change change : changes) {
+                    applyChange(change);
+                }
+            }
+            inventoryVersion = player.getInventoryVersion();
+            changed = true;
+        }
+
+        if (!changed) {
+            return null;
+        }
+        return new Snapshot(this);
+    }
+
+    /**
+     * Forgets the last player, so the next update reports every field as changed.
+     */
+    public synchronized void reset() {
+        player = null;
+    }
+
+    private boolean bump(Field field) {
+        versions[field.ordinal()]++;
+        return true;
+    }
+
+    private void reloadItems(Player player) {
+        items.clear();
+        items.addAll(player.getInventory());
+        bump(Field.INVENTORY);
+        changeLogFloor = versions[Field.INVENTORY.ordinal()];
+    }
+
+    private void applyChange(Inventory.Change change) {
+        switch (change.getType()) {
+            case ADDED -> items.add(change.getIndex(), change.getItem());
+            case REMOVED -> items.remove(change.getIndex());
+            case UPDATED -> items.set(change.getIndex(), change.getItem());
+        }
+        bump(Field.INVENTORY);
+        changeLog[(int) (versions[Field.INVENTORY.ordinal()] % CHANGE_LOG_SIZE)] = change;
+    }
+
+    /**
+     * Returns the inventory changes after the given inventory version, up to the latest one.
+     *
+     * @param since The inventory version last shown, or -1 if none
+     * @return the changes, or the whole item list if they are no longer known
+     */
+    public synchronized InventoryUpdate getInventoryChangesSince(long since) {
+        long version = versions[Field.INVENTORY.ordinal()];
+        long count = version - since;
+        if (since < changeLogFloor || count > CHANGE_LOG_SIZE) {
+            return new InventoryUpdate(version, null, new ArrayList<>(items));
+        }
+        List<Inventory.Change> changes = new ArrayList<>((int) Math.max(0, count));
+        for (long v = since + 1; v <= version; v++) {
+            changes.add(changeLog[(int) (v % CHANGE_LOG_SIZE)]);
+        }
+        return new InventoryUpdate(version, changes, null);
+    }
+
+    /**
+     * Inventory changes to apply in order, or the whole item list to show instead.
+     */
+    public static final class InventoryUpdate {
+        private final long version;
+        private final List<Inventory.Change> changes;
+        private final List<Item> items;
+
+        private InventoryUpdate(long version, List<Inventory.Change> changes, List<Item> items) {
+            this.version = version;
+            this.changes = changes;
+            this.items = items;
+        }
+
+        public long getVersion() { return version; }
+        public boolean isReload() { return changes == null; }
+        public List<Inventory.Change> getChanges() { return changes; }
+        public List<Item> getItems() { return items; }
+    }
+
+    /**
+     * The player state at one update.
+     */
+    public static final class Snapshot {
+        private final PlayerViewModel model;
+        private final long[] versions;
+        private final int powerPoints;
+        private final String status;
+        private final String roomId;
+        private final boolean treasureRoom;
+        private final Player.DifficultyLevel difficulty;
+        private final int visitedCount;
+        private final int itemCount;
+
+        private Snapshot(PlayerViewModel model) {
+            this.model = model;
+            this.versions = Arrays.copyOf(model.versions, model.versions.length);
+            this.powerPoints = model.powerPoints;
+            this.status = model.status;
+            this.roomId = model.location != null ? model.location.getRoomId() : null;
+            this.treasureRoom = model.location != null && model.location.hasTreasure();
+            this.difficulty = model.difficulty;
+            this.visitedCount = model.visitedCount;
+            this.itemCount = model.items.size();
+        }
+
+        public long getVersion(Field field) {
+            return versions[field.ordinal()];
+        }
+
+        public int getPowerPoints() { return powerPoints; }
+        public String getStatus() { return status; }
+        public String getRoomId() { return roomId; }
+        public boolean isTreasureRoom() { return treasureRoom; }
+        public Player.DifficultyLevel getDifficulty() { return difficulty; }
+        public int getVisitedCount() { return visitedCount; }
+        public int getItemCount() { return itemCount; }
+
+        /**
+         * @param since The inventory version last shown, or -1 if none
+         * @return the inventory changes since then, up to the latest known to the model
+         */
+        public InventoryUpdate getInventoryChangesSince(long since) {
+            return model.getInventoryChangesSince(since);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.game.gui;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.game.database.SaveStore;
+import com.game.database.SaveSortField;
+import com.game.database.SaveSummary;
+
+/**
+ * Modal dialog that lists saves one page at a time from their metadata alone.
+ * Clicking a column header sorts by that column; clicking it again reverses the order.
+ */
+public class SaveBrowserDialog extends JDialog {
+    private static final int PAGE_SIZE = 50;
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("MMMM dd, yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final String[] COLUMN_NAMES = {
+        "Save", "Saved", "Level", "Power", "Rooms", "Difficulty", "Play Time", "Size"
+    };
+    private static final SaveSortField[] COLUMN_SORT_FIELDS = {
+        SaveSortField.NAME, SaveSortField.DATE, SaveSortField.LEVEL, SaveSortField.POWER_POINTS,
+        SaveSortField.ROOMS_EXPLORED, SaveSortField.DIFFICULTY, SaveSortField.PLAY_TIME, SaveSortField.SIZE
+    };
+
+    private final SaveStore saveStore;
+    private final SaveTableModel tableModel = new SaveTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final JLabel pageLabel = new JLabel();
+    private final JButton previousButton = new JButton("< Previous");
+    private final JButton nextButton = new JButton("Next >");
+    private final JButton loadButton = new JButton("Load");
+    private final JButton deleteButton = new JButton("Delete");
+
+    private SaveSortField sortField = SaveSortField.DATE;
+    private boolean descending = true;
+    private int page;
+    private int totalSaves;
+    private Long selectedSaveId;
+
+    private SaveBrowserDialog(Frame owner, SaveStore saveStore) {
+        super(owner, "Load Game", true);
+        this.saveStore = saveStore;
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            boolean selected = table.getSelectedRow() >= 0;
+            loadButton.setEnabled(selected);
+            deleteButton.setEnabled(selected);
+        });
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && table.getSelectedRow() >= 0) {
+                    chooseSelected();
+                }
+            }
+        });
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                if (column >= 0) {
+                    sortBy(COLUMN_SORT_FIELDS[column]);
+                }
+            }
+        });
+
+        previousButton.addActionListener(e -> showPage(page - 1));
+        nextButton.addActionListener(e -> showPage(page + 1));
+        loadButton.addActionListener(e -> chooseSelected());
+        deleteButton.addActionListener(e -> deleteSelected());
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> dispose());
+
+        JPanel pagingPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        pagingPanel.add(previousButton);
+        pagingPanel.add(pageLabel);
+        pagingPanel.add(nextButton);
+
+        JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        actionPanel.add(deleteButton);
+        actionPanel.add(loadButton);
+        actionPanel.add(cancelButton);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(pagingPanel, BorderLayout.WEST);
+        bottomPanel.add(actionPanel, BorderLayout.EAST);
+
+        setLayout(new BorderLayout());
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+        setSize(860, 480);
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Shows the browser and waits for the player to pick a save.
+     * @param owner The parent window
+     * @param saveStore The store to read saves from
+     * @return The id of the chosen save, or null if the dialog was cancelled
+     */
+    public static Long showDialog(Frame owner, SaveStore saveStore) {
+        SaveBrowserDialog dialog = new SaveBrowserDialog(owner, saveStore);
+        dialog.showPage(0);
+        dialog.setVisible(true);
+        return dialog.selectedSaveId;
+    }
+
+    private void sortBy(SaveSortField field) {
+        if (field == sortField) {
+            descending = !descending;
+        } else {
+            sortField = field;
+            descending = field == SaveSortField.DATE;
+        }
+        showPage(0);
+    }
+
+    private void showPage(int requestedPage) {
+        totalSaves = saveStore.countSaves();
+        int pageCount = Math.max(1, (totalSaves + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(0, Math.min(requestedPage, pageCount - 1));
+
+        tableModel.setSaves(saveStore.listSaves(sortField, descending, page * PAGE_SIZE, PAGE_SIZE));
+        pageLabel.setText("Page " + (page + 1) + " of " + pageCount + " (" + totalSaves + " saves)");
+        previousButton.setEnabled(page > 0);
+        nextButton.setEnabled(page < pageCount - 1);
+        loadButton.setEnabled(false);
+        deleteButton.setEnabled(false);
+    }
+
+    private void chooseSelected() {
+        int row = table.getSelectedRow();
+        if (row >= 0) {
+            selectedSaveId = tableModel.getSave(table.convertRowIndexToModel(row)).getSaveId();
+            dispose();
+        }
+    }
+
+    private void deleteSelected() {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            return;
+        }
+        SaveSummary save = tableModel.getSave(table.convertRowIndexToModel(row));
+        int choice = JOptionPane.showConfirmDialog(this,
+            "Delete save " + save.getSaveName() + "?",
+            "Delete Save",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+        if (choice == JOptionPane.YES_OPTION) {
+            try {
+                saveStore.deleteSave(save.getSaveId());
+            } catch (RuntimeException e) {
+                JOptionPane.showMessageDialog(this,
+                    "Failed to delete save: " + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+            showPage(page);
+        }
+    }
+
+    private static String formatPlayTime(Long seconds) {
+        if (seconds == null) {
+            return "-";
+        }
+        return String.format("%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+
+    private static String formatSize(Integer bytes) {
+        if (bytes == null) {
+            return "-";
+        }
+        return bytes < 1024 ? bytes + " B" : String.format("%.1f KB", bytes / 1024.0);
+    }
+
+    private static Object orDash(Object value) {
+        return value != null ? value : "-";
+    }
+
+    private static class SaveTableModel extends AbstractTableModel {
+        private List<SaveSummary> saves = new ArrayList<>();
+
+        void setSaves(List<SaveSummary> saves) {
+            this.saves = saves;
+            fireTableDataChanged();
+        }
+
+        SaveSummary getSave(int row) {
+            return saves.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return saves.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMN_NAMES[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            SaveSummary save = saves.get(row);
+            switch (column) {
+                case 0: return save.getSaveName();
+                case 1: return save.getSaveDate() != null ? DATE_FORMAT.format(save.getSaveDate()) : "-";
+                case 2: return save.getLevelIndex() != null ? Integer.valueOf(save.getLevelIndex() + 1) : "-";
+                case 3: return orDash(save.getPowerPoints());
+                case 4: return orDash(save.getRoomsExplored());
+                case 5: return orDash(save.getDifficulty());
+                case 6: return formatPlayTime(save.getPlayTimeSeconds());
+                case 7: return formatSize(save.getBlobSize());
+                default: return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.gui;
+
+import com.game.engine.GameFrontEnd;
+
+import javax.swing.JOptionPane;
+
+/**
+ * Answers the engine of the window's game with dialogs, and exits the application when the
+ * player quits.
+ */
+public class WindowFrontEnd implements GameFrontEnd {
+
+    @Override
+    public boolean restartLevel() {
+        return JOptionPane.showConfirmDialog(
+            null,
+            "Would you like to restart the level?",
+            "Game Over",
+            JOptionPane.YES_NO_OPTION
+        ) == JOptionPane.YES_OPTION;
+    }
+
+    @Override
+    public boolean confirmQuit() {
+        return confirm("Are you sure you want to quit? Your unsaved progress will be lost.", "Confirm Quit");
+    }
+
+    @Override
+    public boolean proceedToLevel(int level) {
+        return confirm("Would you like to proceed to level " + level + "?", "Level Complete!");
+    }
+
+    @Override
+    public String askLeaderboardName() {
+        return JOptionPane.showInputDialog(
+            GameWindow.getInstance(),
+            "Enter your name for the leaderboard:",
+            "Victory!",
+            JOptionPane.QUESTION_MESSAGE
+        );
+    }
+
+    @Override
+    public boolean playAgain(String summary) {
+        return confirm(summary + "\n\nWould you like to play again?", "Victory!");
+    }
+
+    @Override
+    public void resetView() {
+        GameWindow.getInstance().resetGameState();
+    }
+
+    @Override
+    public void clearOutput() {
+        GameWindow.getInstance().clearOutput();
+    }
+
+    @Override
+    public void requestSave() {
+        GameWindow.getInstance().handleSaveGameRequest(null);
+    }
+
+    @Override
+    public void requestLoad() {
+        GameWindow.getInstance().handleLoadGameRequest();
+    }
+
+    @Override
+    public void quit() {
+        // Add a small delay to show the goodbye message
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(0);
+    }
+
+    private static boolean confirm(String message, String title) {
+        return JOptionPane.showConfirmDialog(
+            GameWindow.getInstance(),
+            message,
+            title,
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        ) == JOptionPane.YES_OPTION;
+    }
+}
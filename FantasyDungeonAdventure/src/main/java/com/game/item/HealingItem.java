@@ -26,7 +26,7 @@ public class HealingItem extends Item {
         boolean result = super.use(player);
         if (result) {
             String itemType = isFood ? "consume" : "use";
-            GameEngine.getInstance().fireEvent(
+            GameEngine.current().fireEvent(
                 GameEventType.GAME_MESSAGE, 
                 "You " + itemType + " the " + getName() + " and restore " + getPowerPoints() + " power points."
             );
@@ -34,4 +34,7 @@ public class HealingItem extends Item {
         return result;
     }
 
+    public boolean isFood() {
+        return isFood;
+    }
 }
\ No newline at end of file
@@ -4,7 +4,7 @@ import com.game.player.Player;
 import com.game.event.GameEventType;
 import com.game.item.builder.ItemBuilder;
 import com.game.item.behavior.DamageBehavior;
-import com.game.event.GameEventDispatcher;
+import com.game.engine.GameEngine;
 
 import java.io.Serial;
 
@@ -51,7 +51,7 @@ public class NegativeItem extends Item {
         int currentPower = player.getPowerPoints();
         
         // Barriers no longer deal damage, they just require power to pass
-        GameEventDispatcher.getInstance().fireEvent(
+        GameEngine.current().fireEvent(
             GameEventType.GAME_MESSAGE, 
             "\nA " + getName() + " blocks your path. Required power to pass: " + requiredPower
         );
@@ -59,13 +59,13 @@ public class NegativeItem extends Item {
         // Check if player has enough power to pass
         if (currentPower >= requiredPower) {
             isDefeated = true;
-            GameEventDispatcher.getInstance().fireEvent(
+            GameEngine.current().fireEvent(
                 GameEventType.GAME_MESSAGE, 
                 "Your power overwhelms the " + getName() + "! The path is now clear."
             );
         } else {
             int neededPower = requiredPower - currentPower;
-            GameEventDispatcher.getInstance().fireEvent(
+            GameEngine.current().fireEvent(
                 GameEventType.GAME_MESSAGE, 
                 "You need " + neededPower + " more power points to overcome this barrier.\n" +
                 "Try finding items or solving puzzles to increase your power!"
@@ -76,7 +76,7 @@ public class NegativeItem extends Item {
     private void handleTrapEffect(Player player, int damage) {
         use(player);
         isDefeated = true;  // Traps are one-time use
-        GameEventDispatcher.getInstance().fireEvent(
+        GameEngine.current().fireEvent(
             GameEventType.GAME_MESSAGE, 
             "\nYou triggered a " + getName() + "! It deals " + damage + " damage!"
         );
@@ -86,6 +86,10 @@ public class NegativeItem extends Item {
         return isDefeated;
     }
 
+    public void setDefeated(boolean defeated) {
+        this.isDefeated = defeated;
+    }
+
     public boolean isBarrier() {
         return isBarrier;
     }
@@ -45,7 +45,7 @@ public class ToolItem extends Item {
                     String.format("You cast %s with power of %d!", getName(), getSpellPower()) :
                     String.format("You use the %s. Durability: %d", getName(), getDurability());
                 
-                GameEngine.getInstance().fireEvent(GameEventType.GAME_MESSAGE, message);
+                GameEngine.current().fireEvent(GameEventType.GAME_MESSAGE, message);
             }
         } catch (Exception e) {
             // Ignore GameEngine errors during testing
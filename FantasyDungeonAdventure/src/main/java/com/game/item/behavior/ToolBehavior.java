@@ -4,7 +4,7 @@ import com.game.player.Player;
 import com.game.item.Item;
 import com.game.item.ToolItem;
 import com.game.event.GameEventType;
-import com.game.event.GameEventDispatcher;
+import com.game.engine.GameEngine;
 
 import java.io.Serial;
 
@@ -17,7 +17,7 @@ public class ToolBehavior implements ItemBehavior {
         try {
             if (item instanceof ToolItem tool && (tool.getDurability() > 0)) {
                     tool.setDurability(tool.getDurability() - 1);
-                    GameEventDispatcher.getInstance().fireEvent(
+                    GameEngine.current().fireEvent(
                         GameEventType.GAME_MESSAGE,
                         "You use the " + item.getName() + ". Durability: " + tool.getDurability()
                     );
@@ -1,7 +1,8 @@
 package com.game.item.factory;
 
 import com.game.item.*;
-import java.util.Random;
+import com.game.util.GameRandom;
+
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
@@ -13,7 +14,6 @@ import java.util.Map;
  * Creates various types of items with random properties.
  */
 public class DefaultItemFactory implements ItemFactory {
-    private final Random random;
     private float healingItemRate;
     private float barrierStrength;
     
@@ -30,7 +30,6 @@ public class DefaultItemFactory implements ItemFactory {
     );
 
     public DefaultItemFactory() {
-        this.random = new Random();
         this.healingItemRate = 0.4f;  // Default values
         this.barrierStrength = 1.0f;
         
@@ -44,7 +43,7 @@ public class DefaultItemFactory implements ItemFactory {
     public Item createRandomItem() {
         ItemType type = getRandomItemType();
         return switch (type) {
-            case TOOL -> random.nextBoolean() ? createRandomToolItem() : createRandomSpellItem();
+            case TOOL -> GameRandom.current().nextBoolean() ? createRandomToolItem() : createRandomSpellItem();
             case NEGATIVE -> createRandomNegativeItem();
             default -> createRandomHealingItem();
         };
@@ -54,7 +53,7 @@ public class DefaultItemFactory implements ItemFactory {
     public Item createRandomHealingItem() {
         String name = getRandomName(ItemType.HEALING);
         int healAmount = (int)(20 * healingItemRate);
-        boolean isFood = random.nextBoolean();
+        boolean isFood = GameRandom.current().nextBoolean();
         return new HealingItem(name, 
             "A " + name.toLowerCase() + " that restores health", 
             healAmount,
@@ -64,7 +63,7 @@ public class DefaultItemFactory implements ItemFactory {
     @Override
     public Item createRandomSpellItem() {
         String name = getRandomName(ItemType.TOOL);
-        int spellPower = random.nextInt(20) + 10;
+        int spellPower = GameRandom.current().nextInt(20) + 10;
         return new ToolItem(name,
             "A " + name.toLowerCase() + " spell",
             spellPower,
@@ -75,7 +74,7 @@ public class DefaultItemFactory implements ItemFactory {
     @Override
     public Item createRandomToolItem() {
         String name = getRandomName(ItemType.TOOL);
-        int durability = random.nextInt(5) + 3;
+        int durability = GameRandom.current().nextInt(5) + 3;
         boolean canRevealPassages = name.equalsIgnoreCase("Torch");
         return new ToolItem(name,
             "A " + name.toLowerCase() + " that can be used multiple times",
@@ -102,7 +101,7 @@ public class DefaultItemFactory implements ItemFactory {
             "Thorny Vines|Sharp thorns that cause damage when touched.|10"
         };
         
-        String[] chosen = negativeItems[random.nextInt(negativeItems.length)].split("\\|");
+        String[] chosen = negativeItems[GameRandom.current().nextInt(negativeItems.length)].split("\\|");
         int baseDamage = Integer.parseInt(chosen[2]);
         int scaledDamage = (int)(baseDamage * barrierStrength);
         return new NegativeItem(chosen[0], chosen[1], scaledDamage, false);  // isBarrier = false
@@ -113,11 +112,11 @@ public class DefaultItemFactory implements ItemFactory {
         if (names == null || names.isEmpty()) {
             return type.toString() + " Item";
         }
-        return names.get(random.nextInt(names.size()));
+        return names.get(GameRandom.current().nextInt(names.size()));
     }
 
     private ItemType getRandomItemType() {
-        return ItemType.values()[random.nextInt(ItemType.values().length)];
+        return ItemType.values()[GameRandom.current().nextInt(ItemType.values().length)];
     }
 
     @Override
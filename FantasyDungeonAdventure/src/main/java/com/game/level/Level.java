@@ -1,6 +1,7 @@
 package com.game.level;
 
 import com.game.room.Room;
+import com.game.room.RoomChangeListener;
 import com.game.item.Item;
 import com.game.item.NegativeItem;
 import com.game.puzzle.Puzzle;
@@ -8,17 +9,20 @@ import com.game.engine.GameEngine;
 import com.game.player.Player;
 import com.game.item.HealingItem;
 import com.game.item.ToolItem;
+import com.game.item.factory.ItemFactory;
+import com.game.util.GameRandom;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * The Level class represents a dungeon level in the game.
  * It is responsible for generating rooms, connecting them,
  * placing items, and ensuring there is a path to the treasure.
  */
-public class Level implements Serializable {
+public class Level implements Serializable, RoomChangeListener {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -28,7 +32,11 @@ public class Level implements Serializable {
     private Room treasureRoom;
     private final int width;
     private final int height;
-    private final Random random = new Random();
+    // What the level is generated for; null in restored levels, which use the engine's
+    private transient Player.DifficultyLevel difficulty;
+    private transient ItemFactory itemFactory;
+    // Rooms modified since the last save
+    private transient Set<Room> dirtyRooms;
 
     // Constants for level dimensions
     private static final int EASY_MIN_SIZE = 4;
@@ -40,42 +48,98 @@ public class Level implements Serializable {
 
     // Add difficulty-based probabilities
     private static final Map<Player.DifficultyLevel, DifficultySettings> DIFFICULTY_SETTINGS = Map.of(
-            Player.DifficultyLevel.EASY, new DifficultySettings(20, 15, 15),    // items, puzzles, hidden
-            Player.DifficultyLevel.NORMAL, new DifficultySettings(30, 20, 10),
-            Player.DifficultyLevel.HARD, new DifficultySettings(40, 25, 5)
+            Player.DifficultyLevel.EASY, new DifficultySettings(20, 15, 15, 0.8f),    // items, puzzles, hidden, puzzle range
+            Player.DifficultyLevel.NORMAL, new DifficultySettings(30, 20, 10, 1.0f),
+            Player.DifficultyLevel.HARD, new DifficultySettings(40, 25, 5, 1.2f)
     );
 
     private static class DifficultySettings {
         final int itemChance;      // Chance for items in room
         final int puzzleChance;    // Chance for puzzles
         final int hiddenChance;    // Chance for hidden passages
+        final float puzzleModifier; // Widens the range of numbers in puzzles
 
-        DifficultySettings(int itemChance, int puzzleChance, int hiddenChance) {
+        DifficultySettings(int itemChance, int puzzleChance, int hiddenChance, float puzzleModifier) {
             this.itemChance = itemChance;
             this.puzzleChance = puzzleChance;
             this.hiddenChance = hiddenChance;
+            this.puzzleModifier = puzzleModifier;
         }
     }
 
     /**
-     * Constructor for Level.
+     * Constructor for Level, generated for the current player's difficulty.
      *
      * @param levelNumber The number of the level (e.g., 1, 2, 3).
      */
     public Level(int levelNumber) {
+        this(levelNumber, GameEngine.current().getPlayer().getDifficultyLevel(),
+            GameEngine.current().getItemFactory());
+    }
+
+    /**
+     * Constructor for a level generated without the game engine, e.g. in a simulation.
+     *
+     * @param levelNumber The number of the level (e.g., 1, 2, 3).
+     * @param difficulty The difficulty to generate for.
+     * @param itemFactory The factory for the items, traps and barriers placed.
+     */
+    public Level(int levelNumber, Player.DifficultyLevel difficulty, ItemFactory itemFactory) {
+        this(levelNumber, difficulty, itemFactory, generateRandomSize(difficulty), generateRandomSize(difficulty));
+    }
+
+    /**
+     * Constructor for a level of a given size rather than one drawn from the difficulty's range,
+     * e.g. to measure generation at each size.
+     *
+     * @param levelNumber The number of the level (e.g., 1, 2, 3).
+     * @param difficulty The difficulty to generate for.
+     * @param itemFactory The factory for the items, traps and barriers placed.
+     * @param width The grid width of the level.
+     * @param height The grid height of the level.
+     */
+    public Level(int levelNumber, Player.DifficultyLevel difficulty, ItemFactory itemFactory, int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Invalid level size: " + width + "x" + height);
+        }
         this.rooms = new HashMap<>();
-        this.width = generateRandomSize();
-        this.height = generateRandomSize();
+        this.difficulty = difficulty;
+        this.itemFactory = itemFactory;
+        this.width = width;
+        this.height = height;
         generateRooms();
     }
 
+    private Level(int width, int height, Map<String, Room> rooms, Room startingRoom, Room treasureRoom) {
+        this.rooms = rooms;
+        this.width = width;
+        this.height = height;
+        this.startingRoom = startingRoom;
+        this.treasureRoom = treasureRoom;
+        markClean();
+    }
+
+    /**
+     * Rebuilds a level from previously saved rooms without generating new content.
+     *
+     * @param width The grid width of the level.
+     * @param height The grid height of the level.
+     * @param rooms The restored rooms keyed by room ID.
+     * @param startingRoom The room the player starts the level in.
+     * @param treasureRoom The room holding the level treasure.
+     * @return The restored Level.
+     */
+    public static Level restore(int width, int height, Map<String, Room> rooms, Room startingRoom, Room treasureRoom) {
+        return new Level(width, height, new HashMap<>(rooms), startingRoom, treasureRoom);
+    }
+
     /**
      * Generates a random size for the level dimensions within predefined limits.
      *
+     * @param difficulty The difficulty whose limits apply.
      * @return A random integer between MIN_SIZE and MAX_SIZE.
      */
-    private int generateRandomSize() {
-        Player.DifficultyLevel difficulty = GameEngine.getInstance().getPlayer().getDifficultyLevel();
+    private static int generateRandomSize(Player.DifficultyLevel difficulty) {
         int minSize, maxSize;
 
         switch (difficulty) {
@@ -93,7 +157,15 @@ public class Level implements Serializable {
             }
         }
 
-        return new Random().nextInt((maxSize - minSize) + 1) + minSize;
+        return GameRandom.current().nextInt((maxSize - minSize) + 1) + minSize;
+    }
+
+    private Player.DifficultyLevel getDifficulty() {
+        return difficulty != null ? difficulty : GameEngine.current().getPlayer().getDifficultyLevel();
+    }
+
+    private ItemFactory getItemFactory() {
+        return itemFactory != null ? itemFactory : GameEngine.current().getItemFactory();
     }
 
     /**
@@ -101,7 +173,9 @@ public class Level implements Serializable {
      */
     public void generateRooms() {
         Room[][] grid = new Room[height][width];
-        Player.DifficultyLevel difficulty = GameEngine.getInstance().getPlayer().getDifficultyLevel();
+        Player.DifficultyLevel difficulty = getDifficulty();
+        ItemFactory itemFactory = getItemFactory();
+        RandomGenerator random = GameRandom.current();
         DifficultySettings settings = DIFFICULTY_SETTINGS.get(difficulty);
 
         // Create rooms
@@ -112,7 +186,8 @@ public class Level implements Serializable {
                 String description = generateRoomDescription();
                 String detailedDescription = generateDetailedDescription();
 
-                Room room = new Room(roomId, name, description, detailedDescription);
+                Room room = new Room(roomId, name, description, detailedDescription, itemFactory);
+                room.setChangeListener(this);
                 grid[y][x] = room;
                 rooms.put(roomId, room);
 
@@ -120,16 +195,16 @@ public class Level implements Serializable {
                 if (random.nextInt(100) < settings.itemChance) {
                     // 30% chance for negative items in harder difficulties
                     if (difficulty != Player.DifficultyLevel.EASY && random.nextInt(100) < 30) {
-                        room.addItem(GameEngine.getInstance().getItemFactory().createRandomNegativeItem());
+                        room.addItem(itemFactory.createRandomNegativeItem());
                     } else {
-                        Item item = GameEngine.getInstance().getItemFactory().createRandomItem();
+                        Item item = itemFactory.createRandomItem();
                         room.addItem(item);
                     }
                 }
 
                 // Add puzzles based on difficulty
                 if (random.nextInt(100) < settings.puzzleChance) {
-                    room.setPuzzle(Puzzle.generateRandomPuzzle());
+                    room.setPuzzle(Puzzle.generateRandomPuzzle(settings.puzzleModifier));
                 }
 
                 // Set hidden passages based on difficulty
@@ -149,7 +224,7 @@ public class Level implements Serializable {
         connectRooms(grid);
 
         // Create maze-like structure with barriers (walls)
-        createMazeWithBarriers(grid, difficulty);
+        createMazeWithBarriers(grid, difficulty, itemFactory);
 
         // Ensure path exists
         ensurePathToTreasure(grid);
@@ -170,6 +245,7 @@ public class Level implements Serializable {
     }
 
     private void placeTreasureRoom(Room[][] grid) {
+        RandomGenerator random = GameRandom.current();
         // Place treasure room in the far half of the grid
         int minDistance = Math.max(width, height) / 2; // Minimum distance from start
 
@@ -208,7 +284,8 @@ public class Level implements Serializable {
         return Math.abs(x1 - x2) + Math.abs(y1 - y2);
     }
 
-    private void createMazeWithBarriers(Room[][] grid, Player.DifficultyLevel difficulty) {
+    private void createMazeWithBarriers(Room[][] grid, Player.DifficultyLevel difficulty, ItemFactory itemFactory) {
+        RandomGenerator random = GameRandom.current();
         int barrierDensity = switch (difficulty) {
             case EASY -> 20;    // 20% of paths blocked
             case NORMAL -> 35;  // 35% of paths blocked
@@ -240,13 +317,13 @@ public class Level implements Serializable {
 
                 // Place barriers (walls) strategically
                 if (random.nextInt(100) < barrierDensity) {
-                    NegativeItem barrier = GameEngine.getInstance().getItemFactory().createBarrier();
+                    NegativeItem barrier = itemFactory.createBarrier();
                     room.setBarrier(barrier);
                 }
 
                 // Add negative items independently of barriers
                 if (random.nextInt(100) < negativeItemChance) {
-                    room.addItem(GameEngine.getInstance().getItemFactory().createRandomNegativeItem());
+                    room.addItem(itemFactory.createRandomNegativeItem());
                 }
 
                 // Reset densities for next room
@@ -287,6 +364,7 @@ public class Level implements Serializable {
     }
 
     private void createChallengingPath(Room[][] grid) {
+        RandomGenerator random = GameRandom.current();
         // Get coordinates of start and treasure rooms
         int[] start = getRoomCoordinates(startingRoom);
         int[] end = getRoomCoordinates(treasureRoom);
@@ -334,7 +412,7 @@ public class Level implements Serializable {
                 "This room is filled with echoes of the past.",
                 "A cold draft blows through this shadowy room."
         };
-        return descriptions[new Random().nextInt(descriptions.length)];
+        return descriptions[GameRandom.current().nextInt(descriptions.length)];
     }
 
     private String generateDetailedDescription() {
@@ -345,7 +423,7 @@ public class Level implements Serializable {
                 "The stone floor is worn smooth by countless footsteps of those who came before.",
                 "Strange symbols are etched into the walls, their meaning lost to time."
         };
-        return details[new Random().nextInt(details.length)];
+        return details[GameRandom.current().nextInt(details.length)];
     }
 
     /**
@@ -379,6 +457,80 @@ public class Level implements Serializable {
         return rooms;
     }
 
+    /**
+     * Adds a room discovered after generation, such as a revealed hidden room.
+     *
+     * @param room The room to add.
+     */
+    public void addRoom(Room room) {
+        room.setChangeListener(this);
+        rooms.put(room.getRoomId(), room);
+        room.clearDirty();
+        room.markDirty();
+    }
+
+    @Override
+    public void roomChanged(Room room) {
+        getDirtyRoomSet().add(room);
+    }
+
+    /**
+     * Gets the rooms changed since the last save.
+     *
+     * @return A snapshot of the changed rooms.
+     */
+    public List<Room> getDirtyRooms() {
+        return new ArrayList<>(getDirtyRoomSet());
+    }
+
+    /**
+     * Marks the given rooms as saved. Rooms changed again after the snapshot stay dirty.
+     *
+     * @param savedRooms The rooms that were written.
+     */
+    public void clearDirtyRooms(Collection<Room> savedRooms) {
+        Set<Room> dirty = getDirtyRoomSet();
+        for (Room room : savedRooms) {
+            room.clearDirty();
+            dirty.remove(room);
+        }
+    }
+
+    /**
+     * Marks every room of the level as saved, after a full snapshot was written.
+     */
+    public void markClean() {
+        for (Room room : rooms.values()) {
+            room.setChangeListener(this);
+            room.clearDirty();
+        }
+        getDirtyRoomSet().clear();
+    }
+
+    private Set<Room> getDirtyRoomSet() {
+        if (dirtyRooms == null) {
+            dirtyRooms = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        return dirtyRooms;
+    }
+
+    /**
+     * Gets the treasure room of the level.
+     *
+     * @return The treasure Room.
+     */
+    public Room getTreasureRoom() {
+        return treasureRoom;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
     public void setCompleted(boolean completed) {
 
     }
@@ -1,19 +1,27 @@
 package com.game.player;
 
-import com.game.event.GameEventDispatcher;
+import com.game.engine.GameEngine;
 import com.game.event.GameEventType;
 import com.game.item.Item;
 
 import java.io.Serial;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.io.Serializable;
 
 public class Inventory implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
+    private static final int CHANGE_LOG_SIZE = 64;
     private final List<Item> items = new ArrayList<>();
     private final int maxSize;
+    private transient boolean dirty = true;
+    // Bumped on every change to the item list, so views can tell whether to refresh
+    private transient int version;
+    // The last changes, indexed by version; changes up to logFloor are not available
+    private transient Change[] changeLog;
+    private transient int logFloor;
 
     public Inventory(int maxSize) {
         this.maxSize = maxSize;
@@ -24,6 +32,8 @@ public class Inventory implements Serializable {
         if (items.size() >= maxSize) return false;
 
         items.add(item);
+        dirty = true;
+        recordChange(Change.Type.ADDED, items.size() - 1, item);
         fireInventoryChangedEvent("Added " + item.getName());
         return true;
     }
@@ -31,13 +41,95 @@ public class Inventory implements Serializable {
     public boolean removeItem(Item item) {
         if (item == null) return false;
         
-        boolean removed = items.remove(item);
+        int index = items.indexOf(item);
+        boolean removed = index >= 0;
         if (removed) {
+            items.remove(index);
+            dirty = true;
+            recordChange(Change.Type.REMOVED, index, item);
             fireInventoryChangedEvent("Removed " + item.getName());
         }
         return removed;
     }
 
+    /**
+     * Replaces the inventory contents without firing change events.
+     * Used when restoring a saved game.
+     */
+    public void restoreItems(List<Item> restored) {
+        items.clear();
+        for (Item item : restored) {
+            if (item != null && items.size() < maxSize) {
+                items.add(item);
+            }
+        }
+        dirty = true;
+        version++;
+        // The restored list replaces everything, so earlier changes no longer apply
+        logFloor = version;
+    }
+
+    /**
+     * Records that a carried item changed in place, e.g. lost durability when used.
+     * @param item The item that changed
+     */
+    public void itemUpdated(Item item) {
+        int index = items.indexOf(item);
+        if (index >= 0) {
+            dirty = true;
+            recordChange(Change.Type.UPDATED, index, item);
+        }
+    }
+
+    private void recordChange(Change.Type type, int index, Item item) {
+        if (changeLog == null) {
+            changeLog = new Change[CHANGE_LOG_SIZE];
+        }
+        version++;
+        changeLog[Math.floorMod(version, CHANGE_LOG_SIZE)] = new Change(type, index, item);
+    }
+
+    /**
+     * Returns the changes made after the given version, in order, so a view can apply them
+     * instead of reloading every item. Only the last few changes are kept.
+     * @param since The version the caller has seen
+     * @return the changes since that version, or null if they are no longer known and the
+     *         caller has to reload the items
+     */
+    public List<Change> getChangesSince(int since) {
+        int count = version - since;
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        if (count < 0 || since < logFloor || count > CHANGE_LOG_SIZE || changeLog == null) {
+            return null;
+        }
+        List<Change> changes = new ArrayList<>(count);
+        for (int v = since + 1; v <= version; v++) {
+            changes.add(changeLog[Math.floorMod(v, CHANGE_LOG_SIZE)]);
+        }
+        return changes;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    /**
+     * @return a counter that changes whenever items are added, removed or restored
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
     private void fireInventoryChangedEvent(String action) {
         InventoryChangeInfo changeInfo = new InventoryChangeInfo(
             new ArrayList<>(items),
@@ -45,7 +137,7 @@ public class Inventory implements Serializable {
             items.size(),
             maxSize
         );
-        GameEventDispatcher.getInstance().fireEvent(GameEventType.INVENTORY_CHANGED, changeInfo);
+        GameEngine.current().fireEvent(GameEventType.INVENTORY_CHANGED, changeInfo);
     }
 
     public List<Item> getItems() {
@@ -68,6 +160,27 @@ public class Inventory implements Serializable {
                    .orElse(null);
     }
 
+    /**
+     * One change to the item list: an item added at, removed from or updated at an index.
+     */
+    public static final class Change {
+        public enum Type { ADDED, REMOVED, UPDATED }
+
+        private final Type type;
+        private final int index;
+        private final Item item;
+
+        public Change(Type type, int index, Item item) {
+            this.type = type;
+            this.index = index;
+            this.item = item;
+        }
+
+        public Type getType() { return type; }
+        public int getIndex() { return index; }
+        public Item getItem() { return item; }
+    }
+
     // Inner class to hold inventory change information
     public static class InventoryChangeInfo implements Serializable {
         @Serial
@@ -4,6 +4,7 @@ import com.game.item.Item;
 import com.game.room.Room;
 
 import java.io.Serial;
+import java.util.Collection;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
@@ -23,6 +24,7 @@ public class Player implements Serializable {
     private String status;
     private String name;
     private final List<String> activeEffects;
+    private transient boolean dirty = true;
 
     public enum DifficultyLevel {
         EASY(100),
@@ -66,9 +68,33 @@ public class Player implements Serializable {
     public void setLocation(Room room) {
         this.currentLocation = room;
         visitedRooms.add(room);
+        dirty = true;
         room.enter(this);
     }
 
+    /**
+     * Restores saved progress without entering the location or firing room events.
+     * @param powerPoints The saved power points
+     * @param location The room the player was in
+     * @param visited The rooms the player had visited
+     * @param items The saved inventory items
+     * @param effects The saved active effects
+     */
+    public void restoreProgress(int powerPoints, Room location, Collection<Room> visited,
+                                List<Item> items, List<String> effects) {
+        List<Room> restoredVisited = new ArrayList<>(visited);
+        List<String> restoredEffects = new ArrayList<>(effects);
+        this.powerPoints = powerPoints;
+        updateStatus();
+        this.currentLocation = location;
+        visitedRooms.clear();
+        visitedRooms.addAll(restoredVisited);
+        inventory.restoreItems(items);
+        clearEffects();
+        restoredEffects.forEach(this::addEffect);
+        dirty = true;
+    }
+
     public Room getLocation() {
         return currentLocation;
     }
@@ -81,6 +107,25 @@ public class Player implements Serializable {
         return inventory.getSize();
     }
 
+    public boolean isInventoryFull() {
+        return inventory.isFull();
+    }
+
+    /**
+     * @return a counter that changes whenever the inventory contents change
+     */
+    public int getInventoryVersion() {
+        return inventory.getVersion();
+    }
+
+    /**
+     * @param since The inventory version the caller has seen
+     * @return the inventory changes since that version, or null if the caller has to reload
+     */
+    public List<Inventory.Change> getInventoryChangesSince(int since) {
+        return inventory.getChangesSince(since);
+    }
+
     public Set<Room> getVisitedRooms() {
         return visitedRooms;
     }
@@ -91,6 +136,7 @@ public class Player implements Serializable {
 
     public void adjustPowerPoints(int delta) {
         this.powerPoints += delta;
+        dirty = true;
         updateStatus();
     }
 
@@ -128,7 +174,7 @@ public class Player implements Serializable {
             if (inventory.addItem(item)) {
                 currentLocation.removeItem(item);
                 // Fire inventory changed event
-                GameEngine.getInstance().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
+                GameEngine.current().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
             }
         }
     }
@@ -136,12 +182,15 @@ public class Player implements Serializable {
     public void useItem(String itemName) {
         Item item = inventory.findItemByName(itemName);
         if (item != null) {
-            if (item.use(this)) {
-                if (item.isConsumable()) {
-                    inventory.removeItem(item);
-                    // Fire inventory changed event
-                    GameEngine.getInstance().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
-                }
+            boolean used = item.use(this);
+            // Using an item can change its durability even when it is kept
+            dirty = true;
+            if (used && item.isConsumable()) {
+                inventory.removeItem(item);
+                // Fire inventory changed event
+                GameEngine.current().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
+            } else {
+                inventory.itemUpdated(item);
             }
         }
     }
@@ -152,7 +201,7 @@ public class Player implements Serializable {
             if (inventory.removeItem(item)) {
                 currentLocation.addItem(item);
                 // Fire inventory changed event
-                GameEngine.getInstance().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
+                GameEngine.current().fireEvent(GameEventType.INVENTORY_CHANGED, inventory.getItems());
             }
         }
     }
@@ -163,11 +212,13 @@ public class Player implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        dirty = true;
     }
 
     public void resetHealth() {
         // Reset power points based on current difficulty
         this.powerPoints = difficultyLevel.getStartingPowerPoints();
+        dirty = true;
         
         // Clear any active effects
         clearEffects();
@@ -189,6 +240,7 @@ public class Player implements Serializable {
     public void addEffect(String effect) {
         if (effect != null && !effect.trim().isEmpty()) {
             activeEffects.add(effect);
+            dirty = true;
         }
     }
     
@@ -197,13 +249,41 @@ public class Player implements Serializable {
      * @param effect The effect to remove
      */
     public void removeEffect(String effect) {
-        activeEffects.remove(effect);
+        if (activeEffects.remove(effect)) {
+            dirty = true;
+        }
     }
     
     /**
      * Clears all active effects from the player.
      */
     public void clearEffects() {
-        activeEffects.clear();
+        if (!activeEffects.isEmpty()) {
+            activeEffects.clear();
+            dirty = true;
+        }
+    }
+
+    /**
+     * Checks whether the player or their inventory changed since the last save.
+     * @return true if the player record needs to be written again
+     */
+    public boolean isDirty() {
+        return dirty || inventory.isDirty();
+    }
+
+    /**
+     * Flags the player as changed, e.g. after mutating a carried item directly.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Marks the player and inventory as saved.
+     */
+    public void clearDirty() {
+        dirty = false;
+        inventory.clearDirty();
     }
 }
@@ -1,8 +1,10 @@
 package com.game.puzzle;
 
+import com.game.util.GameRandom;
+
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * The Puzzle class represents an interactive puzzle in the game.
@@ -17,8 +19,6 @@ public class Puzzle implements Serializable {
     private String description;
     private boolean solved;
 
-    private static float difficultyModifier = 1.0f;
-
     public Puzzle(String question, String answer, String description) {
         this.question = question;
         this.answer = answer;
@@ -71,10 +71,11 @@ public class Puzzle implements Serializable {
     /**
      * Generates a random puzzle.
      *
+     * @param difficultyModifier Scales the range of numbers in math puzzles, 1 at normal difficulty.
      * @return A Puzzle object.
      */
-    public static Puzzle generateRandomPuzzle() {
-        Random random = new Random();
+    public static Puzzle generateRandomPuzzle(float difficultyModifier) {
+        RandomGenerator random = GameRandom.current();
         int puzzleType = random.nextInt(3);
         String question, answer, description;
 
@@ -158,8 +159,4 @@ public class Puzzle implements Serializable {
         this.description = description;
     }
 
-    public static void setDifficultyModifier(float modifier) {
-        difficultyModifier = modifier;
-    }
-
 }
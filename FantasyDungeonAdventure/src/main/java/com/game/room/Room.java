@@ -6,16 +6,17 @@ import com.game.player.Player;
 import com.game.engine.GameEngine;
 import com.game.event.GameEventType;
 import com.game.item.factory.ItemFactory;
+import com.game.util.GameRandom;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class Room implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
-    private static final Random random = new Random();
 
     // Core room properties
     private final String roomId;
@@ -34,7 +35,23 @@ public class Room implements Serializable {
     private NegativeItem barrier;
     private Puzzle puzzle;
 
+    // Change tracking for incremental saves
+    private transient boolean dirty = true;
+    private transient RoomChangeListener changeListener;
+
     public Room(String roomId, String name, String description, String detailedDescription) {
+        this(roomId, name, description, detailedDescription, true, null);
+    }
+
+    /**
+     * Creates a room whose random items come from the given factory rather than the engine's.
+     */
+    public Room(String roomId, String name, String description, String detailedDescription, ItemFactory itemFactory) {
+        this(roomId, name, description, detailedDescription, true, itemFactory);
+    }
+
+    private Room(String roomId, String name, String description, String detailedDescription,
+                 boolean populate, ItemFactory itemFactory) {
         this.roomId = roomId;
         this.name = name;
         this.description = description;
@@ -42,18 +59,29 @@ public class Room implements Serializable {
         this.contents = new ArrayList<>();
         this.connections = new HashMap<>();
         
-        if (random.nextInt(100) < 30) {
-            populateRandomItems();
+        if (populate && GameRandom.current().nextInt(100) < 30) {
+            populateRandomItems(itemFactory);
         }
     }
 
-    private void populateRandomItems() {
-        GameEngine engine = GameEngine.getInstance();
+    /**
+     * Creates an empty room for restoring saved state.
+     * Unlike the public constructor no random items are generated.
+     */
+    public static Room restore(String roomId, String name, String description, String detailedDescription) {
+        return new Room(roomId, name, description, detailedDescription, false, null);
+    }
+
+    private void populateRandomItems(ItemFactory itemFactory) {
+        if (itemFactory == null) {
+            itemFactory = GameEngine.current().getItemFactory();
+        }
+        RandomGenerator random = GameRandom.current();
         int numItems = random.nextInt(3) + 1;
         
         // Add regular items
         for (int i = 0; i < numItems; i++) {
-            Item item = engine.getItemFactory().createRandomItem();
+            Item item = itemFactory.createRandomItem();
             if (!(item instanceof NegativeItem)) {
                 contents.add(item);
             }
@@ -66,7 +94,7 @@ public class Room implements Serializable {
     }
 
     private Item createSpecialItem() {
-        return random.nextBoolean() ?
+        return GameRandom.current().nextBoolean() ?
             new HealingItem("Rare Healing Crystal", "A crystal containing healing energy", 35, false) :
             new ToolItem("Enchanted Artifact", "A mysterious magical item of great power", 20, true, true);
     }
@@ -75,6 +103,7 @@ public class Room implements Serializable {
     public void connectRoom(String direction, Room room) {
         if (direction != null && !direction.trim().isEmpty() && room != null) {
             connections.put(direction.toLowerCase(), room);
+            markDirty();
         }
     }
 
@@ -90,8 +119,9 @@ public class Room implements Serializable {
     public void addItem(Item item) {
         if (item != null) {
             contents.add(item);
+            markDirty();
             if (isVisited) {
-                GameEngine.getInstance().fireEvent(GameEventType.GAME_MESSAGE, 
+                GameEngine.current().fireEvent(GameEventType.GAME_MESSAGE, 
                     "A " + item.getName() + " appears in the room.");
             }
         }
@@ -99,7 +129,8 @@ public class Room implements Serializable {
 
     public void removeItem(Item item) {
         if (item != null && contents.remove(item)) {
-            GameEngine.getInstance().fireEvent(GameEventType.GAME_MESSAGE, 
+            markDirty();
+            GameEngine.current().fireEvent(GameEventType.GAME_MESSAGE, 
                 "The " + item.getName() + " was removed from the room.");
         }
     }
@@ -119,6 +150,10 @@ public class Room implements Serializable {
     }
 
     // Room description generation
+    public String getBaseDescription() {
+        return description;
+    }
+
     public String getDescription() {
         StringBuilder sb = new StringBuilder(description)
             .append("\nExits: ").append(String.join(", ", getExits()));
@@ -155,6 +190,8 @@ public class Room implements Serializable {
 
     // Room entry and effects
     public void enter(Player player) {
+        // Entering can mark the room visited, trigger traps and defeat barriers
+        markDirty();
         RoomEventInfo eventInfo = new RoomEventInfo(this, player);
         
         if (!isVisited) {
@@ -165,7 +202,7 @@ public class Room implements Serializable {
 
         handleBarrierAndTraps(player, eventInfo);
         
-        GameEngine.getInstance().fireEvent(GameEventType.ROOM_ENTERED, eventInfo);
+        GameEngine.current().fireEvent(GameEventType.ROOM_ENTERED, eventInfo);
     }
 
     private void handleFirstVisit(RoomEventInfo eventInfo) {
@@ -176,7 +213,7 @@ public class Room implements Serializable {
         contents.stream()
             .filter(item -> item instanceof HealingItem || 
                    (item instanceof ToolItem && ((ToolItem)item).isSpell()))
-            .forEach(item -> GameEngine.getInstance().fireEvent(
+            .forEach(item -> GameEngine.current().fireEvent(
                 GameEventType.GAME_MESSAGE, 
                 "You discovered a " + item.getName() + "!"));
     }
@@ -254,19 +291,31 @@ public class Room implements Serializable {
             return new RevealResult(false, "You search but find no new passages.");
         }
 
-        String newDirection = availableDirections.get(random.nextInt(availableDirections.size()));
-        Room newRoom = createHiddenRoom(newDirection, revealingItem.getName());
+        String newDirection = availableDirections.get(GameRandom.current().nextInt(availableDirections.size()));
+        Room newRoom = createHiddenRoom(newDirection, revealingItem.getName(), itemFactory);
         newRoom.addItem(itemFactory.createRandomHealingItem());
         
         connectRoom(newDirection, newRoom);
+        // The passage leads both ways, or the player would be trapped in the hidden room
+        newRoom.connectRoom(oppositeDirection(newDirection), this);
         hasHiddenPassages = false;
+        markDirty();
         
         return new RevealResult(true, 
             "The " + revealingItem.getName() + " reveals a hidden passage to the " + newDirection + "!",
             newRoom, newDirection);
     }
 
-    private Room createHiddenRoom(String direction, String revealerName) {
+    private static String oppositeDirection(String direction) {
+        return switch (direction) {
+            case "north" -> "south";
+            case "south" -> "north";
+            case "east" -> "west";
+            default -> "east";
+        };
+    }
+
+    private Room createHiddenRoom(String direction, String revealerName, ItemFactory itemFactory) {
         String[] currentCoords = roomId.split(",");
         int x = Integer.parseInt(currentCoords[0]);
         int y = Integer.parseInt(currentCoords[1]);
@@ -280,25 +329,48 @@ public class Room implements Serializable {
         
         return new Room(x + "," + y, "Hidden Room",
             "You discovered a secret room!",
-            "This hidden chamber was revealed by your " + revealerName + ".");
+            "This hidden chamber was revealed by your " + revealerName + ".", itemFactory);
     }
 
     // Getters and setters (only for necessary properties)
     public String getRoomId() { return roomId; }
     public String getName() { return name; }
     public boolean isVisited() { return isVisited; }
+    public void setVisited(boolean value) { this.isVisited = value; markDirty(); }
+    public boolean hasSpecialTreasure() { return hasSpecialTreasure; }
+    public void setSpecialTreasure(boolean value) { this.hasSpecialTreasure = value; markDirty(); }
+    public boolean isSecretsRevealed() { return secretsRevealed; }
+    public void setSecretsRevealed(boolean value) { this.secretsRevealed = value; markDirty(); }
     public boolean hasHiddenPassages() { return hasHiddenPassages; }
-    public void setHasHiddenPassages(boolean value) { this.hasHiddenPassages = value; }
+    public void setHasHiddenPassages(boolean value) { this.hasHiddenPassages = value; markDirty(); }
     public boolean hasTreasure() { return hasTreasure; }
-    public void setTreasure(boolean value) { this.hasTreasure = value; }
+    public void setTreasure(boolean value) { this.hasTreasure = value; markDirty(); }
     public boolean hasBarrier() { return barrier != null && !barrier.isDefeated(); }
     public NegativeItem getBarrier() { return barrier; }
-    public void setBarrier(NegativeItem barrier) { this.barrier = barrier; }
+    public void setBarrier(NegativeItem barrier) { this.barrier = barrier; markDirty(); }
     public boolean hasPuzzle() { return puzzle != null; }
     public Puzzle getPuzzle() { return puzzle; }
-    public void setPuzzle(Puzzle puzzle) { this.puzzle = puzzle; }
+    public void setPuzzle(Puzzle puzzle) { this.puzzle = puzzle; markDirty(); }
     public String getDetailedDescription() { return detailedDescription; }
 
+    // Change tracking
+    public boolean isDirty() { return dirty; }
+    public void clearDirty() { this.dirty = false; }
+    public void setChangeListener(RoomChangeListener listener) { this.changeListener = listener; }
+
+    /**
+     * Flags the room as changed since the last save.
+     * Call this after mutating state the room cannot observe itself, such as solving its puzzle.
+     */
+    public void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            if (changeListener != null) {
+                changeListener.roomChanged(this);
+            }
+        }
+    }
+
     // Inner class to hold room event information
     public static class RoomEventInfo implements Serializable {
         private static final long serialVersionUID = 1L;
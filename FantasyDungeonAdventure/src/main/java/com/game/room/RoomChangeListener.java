@@ -0,0 +1,8 @@
+package com.game.room;
+
+/**
+ * Receives a notification the first time a room is modified after its dirty flag was cleared.
+ */
+public interface RoomChangeListener {
+    void roomChanged(Room room);
+}
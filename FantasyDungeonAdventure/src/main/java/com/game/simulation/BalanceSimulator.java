@@ -0,0 +1,183 @@
+package com.game.simulation;
+
+import com.game.engine.GameEngine;
+import com.game.player.Player;
+import com.game.util.GameRandom;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many seeded games for every difficulty and bot policy in parallel and reports how
+ * they went, to tune the level generation and difficulty settings.
+ * <p>
+ * Usage: {@code BalanceSimulator [gamesPerCombination] [seed]}. Every game has its own seed,
+ * derived from the seed, the combination and the game's number, so a run gives the same
+ * results on any number of threads. A game that has not ended after {@code game.sim.maxCommands}
+ * commands (default 1000) counts as a timeout. {@code game.sim.threads} sets the parallelism,
+ * by default one thread per processor.
+ */
+public final class BalanceSimulator {
+    private static final int MAX_COMMANDS = Math.max(10, Integer.getInteger("game.sim.maxCommands", 1000));
+    private static final int THREADS = Math.max(1,
+        Integer.getInteger("game.sim.threads", Runtime.getRuntime().availableProcessors()));
+    private static final int CURVE_POINTS = 10;
+    // Games played by one task before it stops splitting
+    private static final int BATCH_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final int maxCommands;
+
+    /**
+     * @param pool The pool to play the games in
+     * @param seed The seed all game seeds derive from
+     * @param maxCommands The commands after which a game is abandoned
+     */
+    public BalanceSimulator(ForkJoinPool pool, long seed, int maxCommands) {
+        this.pool = pool;
+        this.seed = seed;
+        this.maxCommands = maxCommands;
+        // Rooms and items fire their events through the engine, which must exist first
+        GameEngine.getInstance();
+    }
+
+    /**
+     * Plays the given number of games for every difficulty and policy.
+     *
+     * @param gamesPerCombination The games per difficulty and policy
+     * @return one result per difficulty and policy
+     */
+    public List<SimulationResult> run(int gamesPerCombination) {
+        List<ForkJoinTask<SimulationResult>> tasks = new ArrayList<>();
+        int combination = 0;
+        for (Player.DifficultyLevel difficulty : Player.DifficultyLevel.values()) {
+            for (BotPolicy policy : BotPolicy.values()) {
+                tasks.add(pool.submit(new GameBatch(difficulty, policy, combination++, 0, gamesPerCombination)));
+            }
+        }
+
+        List<SimulationResult> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<SimulationResult> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private SimulationResult newResult(Player.DifficultyLevel difficulty, BotPolicy policy) {
+        return new SimulationResult(difficulty, policy, Math.max(1, maxCommands / CURVE_POINTS), CURVE_POINTS);
+    }
+
+    private void play(Player.DifficultyLevel difficulty, BotPolicy policy, long gameSeed, SimulationResult result) {
+        GameRandom.withSeed(gameSeed, () -> {
+            SimulatedGame game = new SimulatedGame(difficulty);
+            result.samplePower(game);
+            while (game.isRunning() && game.getCommands() < maxCommands) {
+                policy.takeTurn(game);
+                result.samplePower(game);
+            }
+            result.add(game);
+            return game;
+        });
+    }
+
+    /**
+     * Mixes the run's seed with a game's combination and number, so neighbouring games get
+     * unrelated seeds. The run's seed is mixed on its own first; otherwise runs with
+     * neighbouring seeds would play the same games in another order.
+     */
+    static long gameSeed(long seed, int combination, int game) {
+        return mix(mix(seed) ^ ((long) combination << 32) ^ game);
+    }
+
+    /**
+     * The MurmurHash3 finalizer.
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Plays a range of the games of one combination, splitting it while it is large.
+     */
+    private final class GameBatch extends RecursiveTask<SimulationResult> {
+        private final Player.DifficultyLevel difficulty;
+        private final BotPolicy policy;
+        private final int combination;
+        private final int from;
+        private final int to;
+
+        GameBatch(Player.DifficultyLevel difficulty, BotPolicy policy, int combination, int from, int to) {
+            this.difficulty = difficulty;
+            this.policy = policy;
+            this.combination = combination;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= BATCH_SIZE) {
+                SimulationResult result = newResult(difficulty, policy);
+                for (int game = from; game < to; game++) {
+                    play(difficulty, policy, gameSeed(seed, combination, game), result);
+                }
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            GameBatch second = new GameBatch(difficulty, policy, combination, middle, to);
+            second.fork();
+            SimulationResult first = new GameBatch(difficulty, policy, combination, from, middle).compute();
+            return first.merge(second.join());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        LogManager.initialize();
+
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        BalanceSimulator simulator = new BalanceSimulator(pool, seed, MAX_COMMANDS);
+        long start = System.nanoTime();
+        List<SimulationResult> results = simulator.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%d games per combination, seed %d, at most %d commands each%n", games, seed, MAX_COMMANDS);
+        System.out.printf("%-10s %-16s %6s %7s %8s %7s %7s %8s %9s%n",
+            "difficulty", "policy", "win %", "death %", "timeout %", "rooms", "levels", "puzzles", "commands");
+        long commands = 0;
+        for (SimulationResult result : results) {
+            commands += result.getCommands();
+            System.out.printf("%-10s %-16s %6.1f %7.1f %9.1f %7.1f %7.2f %8.2f %9.1f%n",
+                result.getDifficulty(), result.getPolicy(),
+                result.getWinRate() * 100, result.getDeathRate() * 100,
+                (double) result.getTimeouts() / result.getGames() * 100,
+                result.getAverageRoomsExplored(), result.getAverageLevelsCompleted(),
+                result.getAveragePuzzlesSolved(), result.getAverageCommands());
+        }
+
+        System.out.printf("%nMean power of running games, every %d commands%n", results.get(0).getCurveInterval());
+        for (SimulationResult result : results) {
+            StringBuilder curve = new StringBuilder();
+            for (double power : result.getPowerCurve()) {
+                curve.append(Double.isNaN(power) ? String.format("%6s", "-") : String.format("%6.0f", power));
+            }
+            System.out.printf("%-10s %-16s%s%n", result.getDifficulty(), result.getPolicy(), curve);
+        }
+
+        int played = results.stream().mapToInt(SimulationResult::getGames).sum();
+        System.out.printf("%n%d games and %d commands in %.2f s on %d threads: %.0f games/s, %.0f commands/s%n",
+            played, commands, seconds, THREADS, played / seconds, commands / seconds);
+        System.exit(0);
+    }
+}
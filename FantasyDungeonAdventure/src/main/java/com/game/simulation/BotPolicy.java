@@ -0,0 +1,159 @@
+package com.game.simulation;
+
+import com.game.item.HealingItem;
+import com.game.item.Item;
+import com.game.item.NegativeItem;
+import com.game.item.ToolItem;
+import com.game.puzzle.Puzzle;
+import com.game.room.Room;
+import com.game.util.GameRandom;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scripted players for balance simulations. Each turn issues exactly one command.
+ * <p>
+ * All of them heal when their power runs low and pick up whatever is not a trap; they differ
+ * in where they go and whether they bother with puzzles and hidden passages.
+ */
+public enum BotPolicy {
+    /**
+     * Wanders from room to room at random.
+     */
+    RANDOM_WALKER {
+        @Override
+        public void takeTurn(SimulatedGame game) {
+            if (!healIfLow(game) && !pickUpItem(game)) {
+                moveRandomly(game);
+            }
+        }
+    },
+
+    /**
+     * Heads for the nearest room it has not seen, and looks for hidden passages once it has
+     * seen every room it can reach.
+     */
+    GREEDY_EXPLORER {
+        @Override
+        public void takeTurn(SimulatedGame game) {
+            if (healIfLow(game) || pickUpItem(game) || moveToNearestUnexplored(game)) {
+                return;
+            }
+            if (canReveal(game)) {
+                game.reveal();
+            } else {
+                moveRandomly(game);
+            }
+        }
+    },
+
+    /**
+     * Explores like the greedy explorer, but first solves every puzzle it finds and reveals
+     * every hidden passage it can.
+     */
+    PUZZLE_SOLVER {
+        @Override
+        public void takeTurn(SimulatedGame game) {
+            Puzzle puzzle = game.getPlayer().getLocation().getPuzzle();
+            if (healIfLow(game) || pickUpItem(game)) {
+                return;
+            }
+            if (puzzle != null && !puzzle.isSolved()) {
+                game.solve(puzzle.getAnswer());
+            } else if (canReveal(game)) {
+                game.reveal();
+            } else if (!moveToNearestUnexplored(game)) {
+                moveRandomly(game);
+            }
+        }
+    };
+
+    private static final int LOW_POWER = 30;
+    private static final String[] DIRECTIONS = {"north", "south", "east", "west"};
+
+    /**
+     * Issues the next command.
+     */
+    public abstract void takeTurn(SimulatedGame game);
+
+    private static boolean healIfLow(SimulatedGame game) {
+        if (game.getPlayer().getPowerPoints() >= LOW_POWER) {
+            return false;
+        }
+        for (Item item : game.getPlayer().getInventory()) {
+            if (item instanceof HealingItem) {
+                game.use(item.getName());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean pickUpItem(SimulatedGame game) {
+        if (game.getPlayer().isInventoryFull()) {
+            return false;
+        }
+        for (Item item : game.getPlayer().getLocation().getContents()) {
+            if (!(item instanceof NegativeItem)) {
+                game.pickup(item.getName());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canReveal(SimulatedGame game) {
+        Room room = game.getPlayer().getLocation();
+        // A passage needs a side of the room without an exit
+        if (!room.hasHiddenPassages() || room.getExits().size() >= DIRECTIONS.length) {
+            return false;
+        }
+        for (Item item : game.getPlayer().getInventory()) {
+            if (item instanceof ToolItem tool && tool.canRevealPassages()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the first step of a shortest path to a room not yet visited.
+     */
+    private static boolean moveToNearestUnexplored(SimulatedGame game) {
+        Room start = game.getPlayer().getLocation();
+        // The direction of the first step towards each room found
+        Map<Room, String> firstStep = new HashMap<>();
+        ArrayDeque<Room> queue = new ArrayDeque<>();
+        firstStep.put(start, "");
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Room room = queue.poll();
+            for (String direction : DIRECTIONS) {
+                Room next = room.getConnectedRoom(direction);
+                if (next == null || firstStep.containsKey(next)) {
+                    continue;
+                }
+                String step = room == start ? direction : firstStep.get(room);
+                if (!next.isVisited()) {
+                    return game.move(step);
+                }
+                firstStep.put(next, step);
+                queue.add(next);
+            }
+        }
+        return false;
+    }
+
+    private static void moveRandomly(SimulatedGame game) {
+        List<String> exits = game.getPlayer().getLocation().getExits();
+        if (exits.isEmpty()) {
+            // Nowhere to go; looking for a way out still costs the turn
+            game.reveal();
+            return;
+        }
+        game.move(exits.get(GameRandom.current().nextInt(exits.size())));
+    }
+}
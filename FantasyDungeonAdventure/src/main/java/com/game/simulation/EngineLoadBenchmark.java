@@ -0,0 +1,484 @@
+package com.game.simulation;
+
+import com.game.engine.GameEngine;
+import com.game.engine.GameFrontEnd;
+import com.game.event.GameEvent;
+import com.game.event.GameEventHandler;
+import com.game.event.GameEventType;
+import com.game.item.HealingItem;
+import com.game.item.Item;
+import com.game.item.NegativeItem;
+import com.game.puzzle.Puzzle;
+import com.game.util.GameRandom;
+import com.game.util.LogManager;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.random.RandomGenerator;
+
+/**
+ * A load test of the game engine: how many games one JVM can host at once, measured as the
+ * latency of every kind of command, throughput, garbage collection pauses and how the heap
+ * grows over a sustained run.
+ * <p>
+ * Each client plays its own {@link GameEngine#newSession(GameFrontEnd) engine session} through
+ * {@link GameEngine#processCommand(String)}, the same path the window's command line takes:
+ * parsing and aliases, command dispatch, the rules, and the messages sent back, which the client
+ * takes in as a remote player's connection would. The client answers the engine's questions in
+ * code instead of dialogs. Sessions keep no autosaves, statistics or leaderboard entries, so
+ * writing those to disk is not measured.
+ * <p>
+ * Clients type a realistic mix of commands and wait a log-normally distributed think time
+ * after each answer. When a game ends the client starts a new one. The clients share a pool of
+ * threads, so a client may be sent its next command late when the pool is saturated; the
+ * response time counts from when the command was due, not from when it was sent, so such waits
+ * are not hidden from the percentiles. The service time is the time spent in the command alone.
+ * <p>
+ * Settings are read from system properties: {@code game.bench.clients} (default 100),
+ * {@code game.bench.durationSeconds} (60), {@code game.bench.warmupSeconds} (10, not measured),
+ * {@code game.bench.thinkMillis} (median think time, 1000), {@code game.bench.threads} (default
+ * one per processor) and {@code game.bench.report} (the JSON report,
+ * {@code engine-benchmark-report.json}).
+ */
+public final class EngineLoadBenchmark {
+    private static final int CLIENTS = Math.max(1, Integer.getInteger("game.bench.clients", 100));
+    private static final int DURATION_SECONDS = Math.max(1, Integer.getInteger("game.bench.durationSeconds", 60));
+    private static final int WARMUP_SECONDS = Math.max(0, Integer.getInteger("game.bench.warmupSeconds", 10));
+    private static final int THINK_MILLIS = Math.max(0, Integer.getInteger("game.bench.thinkMillis", 1000));
+    private static final int THREADS = Math.max(1,
+        Integer.getInteger("game.bench.threads", Runtime.getRuntime().availableProcessors()));
+    private static final Path REPORT = Paths.get(System.getProperty("game.bench.report", "engine-benchmark-report.json"));
+    // Spread of the think time around its median; about one in twenty waits is over three times as long
+    private static final double THINK_SIGMA = 0.8;
+    private static final int MAX_THINK_FACTOR = 10;
+    private static final String[] DIRECTION_FORMS = {"%s", "go %s", "move %s", "%.1s"};
+    // What the engine answers when a command threw
+    private static final String ERROR_MESSAGE = "An error occurred processing your command.";
+
+    /**
+     * The commands a client types, with how often a player would type them. A new game is
+     * started when the last one ended, never picked at random.
+     */
+    enum Operation {
+        MOVE(45),
+        LOOK(15),
+        INVENTORY(9),
+        PICKUP(10),
+        STATUS(8),
+        USE(5),
+        SOLVE(5),
+        REVEAL(3),
+        NEW_GAME(0);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = sumOfWeights();
+
+    private final ScheduledExecutorService clients;
+    private final Map<Operation, LatencyHistogram> serviceTimes = new EnumMap<>(Operation.class);
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+    private final AtomicLong commandsSent = new AtomicLong();
+    private final AtomicLong outputChars = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong gamesStarted = new AtomicLong();
+    private final AtomicLong gamesWon = new AtomicLong();
+    private final AtomicLong gamesLost = new AtomicLong();
+    private final AtomicInteger activeClients = new AtomicInteger();
+    private final List<String> timeline = new ArrayList<>();
+    private volatile boolean measuring;
+    private volatile boolean stopping;
+
+    private EngineLoadBenchmark(int threads) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bench-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.clients = executor;
+        for (Operation operation : Operation.values()) {
+            serviceTimes.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * A client's side of one game: answers the engine's questions as a player who goes on to
+     * every level and gives up after dying, and takes in the messages the engine sends.
+     */
+    private final class Connection implements GameFrontEnd, GameEventHandler {
+        private boolean won;
+        private boolean failed;
+
+        @Override
+        public boolean restartLevel() {
+            return false;
+        }
+
+        @Override
+        public boolean confirmQuit() {
+            return true;
+        }
+
+        @Override
+        public boolean proceedToLevel(int level) {
+            return true;
+        }
+
+        @Override
+        public String askLeaderboardName() {
+            return null;
+        }
+
+        @Override
+        public boolean playAgain(String summary) {
+            won = true;
+            return false;
+        }
+
+        @Override
+        public void resetView() {
+        }
+
+        @Override
+        public void clearOutput() {
+        }
+
+        @Override
+        public void requestSave() {
+        }
+
+        @Override
+        public void requestLoad() {
+        }
+
+        @Override
+        public void quit() {
+        }
+
+        @Override
+        public void handleEvent(GameEvent event) {
+            String message = String.valueOf(event.getData());
+            outputChars.addAndGet(message.length());
+            if (ERROR_MESSAGE.equals(message)) {
+                failed = true;
+            }
+        }
+
+        @Override
+        public Set<GameEventType> getHandledEventTypes() {
+            return Set.of(GameEventType.GAME_MESSAGE);
+        }
+    }
+
+    /**
+     * One simulated player. Runs on the pool, one command at a time, and schedules its next
+     * command after the think time.
+     */
+    private final class Client implements Runnable {
+        private final RandomGenerator random = RandomGenerator.of("L64X128MixRandom");
+        private GameEngine session;
+        private Connection connection;
+        private long dueNanos;
+
+        void start(long delayMillis) {
+            dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            activeClients.incrementAndGet();
+            clients.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (stopping) {
+                activeClients.decrementAndGet();
+                return;
+            }
+            Operation operation = session == null || !session.isRunning() ? Operation.NEW_GAME : pickOperation(random);
+            long start = System.nanoTime();
+            try {
+                if (operation == Operation.NEW_GAME) {
+                    startGame();
+                } else {
+                    session.processCommand(commandFor(operation));
+                    if (!session.isRunning()) {
+                        (connection.won ? gamesWon : gamesLost).incrementAndGet();
+                    }
+                }
+            } catch (RuntimeException e) {
+                connection.failed = true;
+                // Looked up here, since the class loads before main sets up logging
+                LogManager.getLogger(EngineLoadBenchmark.class.getName()).log(Level.FINE, "Command " + operation + " failed", e);
+                session = null;
+            }
+            long end = System.nanoTime();
+
+            commandsSent.incrementAndGet();
+            if (connection.failed) {
+                errors.incrementAndGet();
+                connection.failed = false;
+            }
+            if (measuring) {
+                serviceTimes.get(operation).record(end - start);
+                responseTime.record(end - dueNanos);
+            }
+
+            if (stopping) {
+                activeClients.decrementAndGet();
+                return;
+            }
+            long think = thinkMillis(random);
+            dueNanos = end + TimeUnit.MILLISECONDS.toNanos(think);
+            clients.schedule(this, think, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Connects to a new session and picks a difficulty, as a player does at the title screen.
+         */
+        private void startGame() {
+            connection = new Connection();
+            session = GameEngine.newSession(connection);
+            session.addEventHandler(connection);
+            String difficulty = String.valueOf(1 + random.nextInt(3));
+            GameRandom.withSeed(random.nextLong(), () -> {
+                session.startGame();
+                session.processCommand(difficulty);
+                return null;
+            });
+            gamesStarted.incrementAndGet();
+        }
+
+        private String commandFor(Operation operation) {
+            return switch (operation) {
+                case MOVE -> {
+                    List<String> exits = session.getPlayer().getLocation().getExits();
+                    // Now and then a player walks into a wall
+                    String direction = exits.isEmpty() || random.nextInt(10) == 0
+                        ? "north" : exits.get(random.nextInt(exits.size()));
+                    yield String.format(DIRECTION_FORMS[random.nextInt(DIRECTION_FORMS.length)], direction);
+                }
+                case LOOK -> random.nextBoolean() ? "look" : "examine";
+                case INVENTORY -> random.nextBoolean() ? "inventory" : "inv";
+                case STATUS -> "status";
+                case PICKUP -> "pickup " + pickupTarget();
+                case USE -> "use " + useTarget();
+                case SOLVE -> {
+                    Puzzle puzzle = session.getPlayer().getLocation().getPuzzle();
+                    // Half the time the player reads the puzzle first, and knows the answer
+                    yield puzzle == null || random.nextBoolean() ? "solve" : "solve " + puzzle.getAnswer();
+                }
+                case REVEAL -> "reveal";
+                case NEW_GAME -> throw new IllegalArgumentException("A new game is not a command");
+            };
+        }
+
+        private String pickupTarget() {
+            for (Item item : session.getPlayer().getLocation().getContents()) {
+                if (!(item instanceof NegativeItem)) {
+                    return item.getName();
+                }
+            }
+            return "sword";
+        }
+
+        private String useTarget() {
+            List<Item> inventory = session.getPlayer().getInventory();
+            for (Item item : inventory) {
+                if (item instanceof HealingItem) {
+                    return item.getName();
+                }
+            }
+            return inventory.isEmpty() ? "torch" : inventory.get(random.nextInt(inventory.size())).getName();
+        }
+    }
+
+    private static Operation pickOperation(RandomGenerator random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.MOVE;
+    }
+
+    private static long thinkMillis(RandomGenerator random) {
+        if (THINK_MILLIS == 0) {
+            return 0;
+        }
+        double think = THINK_MILLIS * Math.exp(THINK_SIGMA * random.nextGaussian());
+        return (long) Math.min(think, (double) THINK_MILLIS * MAX_THINK_FACTOR);
+    }
+
+    private static int sumOfWeights() {
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += operation.weight;
+        }
+        return total;
+    }
+
+    /**
+     * Records the pause of every collection. Collectors that report whole concurrent cycles
+     * (as ZGC does) are left out, since those run alongside the game.
+     */
+    private void listenForCollections() {
+        NotificationListener listener = (notification, handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (measuring && !info.getGcAction().contains("cycle")) {
+                gcPauses.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+            }
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    /**
+     * Starts the clients over the first second, so they do not all type at once, then samples
+     * the run once a second until it is over.
+     */
+    private void run() throws InterruptedException {
+        listenForCollections();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        RandomGenerator random = RandomGenerator.of("L64X128MixRandom");
+        for (int i = 0; i < CLIENTS; i++) {
+            new Client().start(random.nextInt(1000));
+        }
+
+        measuring = WARMUP_SECONDS == 0;
+        long start = System.nanoTime();
+        long lastCommands = 0;
+        for (int second = 1; second <= WARMUP_SECONDS + DURATION_SECONDS; second++) {
+            long next = start + TimeUnit.SECONDS.toNanos(second);
+            TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+            if (second == WARMUP_SECONDS) {
+                measuring = true;
+            }
+
+            long commands = commandsSent.get();
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, collector.getCollectionCount());
+                gcMillis += Math.max(0, collector.getCollectionTime());
+            }
+            timeline.add(String.format(Locale.ROOT,
+                "{\"second\": %d, \"warmup\": %b, \"commands\": %d, \"heapUsedMb\": %.1f, \"heapCommittedMb\": %.1f, "
+                    + "\"gcCount\": %d, \"gcMillis\": %d, \"activeClients\": %d}",
+                second, second <= WARMUP_SECONDS, commands - lastCommands,
+                memory.getHeapMemoryUsage().getUsed() / 1048576.0,
+                memory.getHeapMemoryUsage().getCommitted() / 1048576.0,
+                gcCount, gcMillis, activeClients.get()));
+            lastCommands = commands;
+        }
+
+        measuring = false;
+        stopping = true;
+        clients.shutdownNow();
+        clients.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private String report() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT,
+            "  \"config\": {\"clients\": %d, \"durationSeconds\": %d, \"warmupSeconds\": %d, \"thinkMillis\": %d, "
+                + "\"threads\": %d, \"maxHeapMb\": %d},\n",
+            CLIENTS, DURATION_SECONDS, WARMUP_SECONDS, THINK_MILLIS, THREADS,
+            Runtime.getRuntime().maxMemory() / 1048576));
+
+        long measured = responseTime.getCount();
+        json.append(String.format(Locale.ROOT,
+            "  \"totals\": {\"commands\": %d, \"errors\": %d, \"gamesStarted\": %d, \"gamesWon\": %d, \"gamesLost\": %d, "
+                + "\"outputChars\": %d},\n",
+            measured, errors.get(), gamesStarted.get(), gamesWon.get(), gamesLost.get(), outputChars.get()));
+        json.append(String.format(Locale.ROOT, "  \"throughputPerSecond\": %.1f,\n", (double) measured / DURATION_SECONDS));
+
+        json.append("  \"serviceTimeMicros\": {\n");
+        List<String> operations = new ArrayList<>();
+        for (Map.Entry<Operation, LatencyHistogram> entry : serviceTimes.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                operations.add("    \"" + entry.getKey().name().toLowerCase(Locale.ROOT) + "\": "
+                    + histogramJson(entry.getValue(), 1000));
+            }
+        }
+        json.append(String.join(",\n", operations)).append("\n  },\n");
+        json.append("  \"responseTimeMicros\": ").append(histogramJson(responseTime, 1000)).append(",\n");
+        json.append("  \"gcPauseMillis\": ").append(histogramJson(gcPauses, 1_000_000)).append(",\n");
+        json.append("  \"timeline\": [\n    ").append(String.join(",\n    ", timeline)).append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    private static String histogramJson(LatencyHistogram histogram, double nanosPerUnit) {
+        return String.format(Locale.ROOT,
+            "{\"count\": %d, \"mean\": %.1f, \"p50\": %.1f, \"p90\": %.1f, \"p99\": %.1f, \"p999\": %.1f, \"max\": %.1f}",
+            histogram.getCount(), histogram.getMean() / nanosPerUnit,
+            histogram.getPercentile(50) / nanosPerUnit, histogram.getPercentile(90) / nanosPerUnit,
+            histogram.getPercentile(99) / nanosPerUnit, histogram.getPercentile(99.9) / nanosPerUnit,
+            histogram.getMax() / nanosPerUnit);
+    }
+
+    private void printSummary() {
+        System.out.printf("%d clients for %d s (after %d s warm-up), median think time %d ms, %d threads%n",
+            CLIENTS, DURATION_SECONDS, WARMUP_SECONDS, THINK_MILLIS, THREADS);
+        System.out.printf("%-10s %9s %9s %9s %9s %9s%n", "command", "count", "p50 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<Operation, LatencyHistogram> entry : serviceTimes.entrySet()) {
+            printRow(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+        printRow("response", responseTime);
+        System.out.printf("%n%.1f commands/s, %d errors, %d games started (%d won, %d lost), %d GC pauses (p99 %.1f ms, max %.1f ms)%n",
+            (double) responseTime.getCount() / DURATION_SECONDS, errors.get(), gamesStarted.get(),
+            gamesWon.get(), gamesLost.get(),
+            gcPauses.getCount(), gcPauses.getPercentile(99) / 1e6, gcPauses.getMax() / 1e6);
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+    }
+
+    private static void printRow(String name, LatencyHistogram histogram) {
+        if (histogram.getCount() > 0) {
+            System.out.printf("%-10s %9d %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getCount(),
+                histogram.getPercentileMicros(50), histogram.getPercentileMicros(99),
+                histogram.getPercentileMicros(99.9), histogram.getMax() / 1000.0);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LogManager.initialize();
+        EngineLoadBenchmark benchmark = new EngineLoadBenchmark(THREADS);
+        benchmark.run();
+        Files.writeString(REPORT, benchmark.report());
+        benchmark.printSummary();
+        System.exit(0);
+    }
+}
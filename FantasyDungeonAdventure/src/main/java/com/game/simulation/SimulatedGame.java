@@ -0,0 +1,328 @@
+package com.game.simulation;
+
+import com.game.engine.GameEngine;
+import com.game.item.Item;
+import com.game.item.factory.DefaultItemFactory;
+import com.game.item.factory.ItemFactory;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.puzzle.Puzzle;
+import com.game.room.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One game played without the engine or the window, for balance simulations.
+ * <p>
+ * The commands follow the engine's rules: moving enters the next room, which springs its traps
+ * and tests its barrier, and the move completes if the player survives; the treasure room gives
+ * a bonus and leads to the next level; puzzles give 20 power points or cost 5. Where the engine
+ * would ask the player, the game goes on: to the next level after a treasure room, and not at
+ * all after death. Used and dropped items are removed as the inventory intends; the engine
+ * removes them from a copy of the inventory and so keeps them.
+ * <p>
+ * A game is confined to one thread. Levels are generated with its own item factory, from
+ * {@link com.game.util.GameRandom}, so a game started under a seed is repeatable.
+ */
+public class SimulatedGame {
+    public static final int LEVEL_COUNT = 3;
+    private static final int PUZZLE_REWARD = 20;
+
+    /**
+     * How a game stands.
+     */
+    public enum Outcome {
+        RUNNING,
+        WON,
+        DIED
+    }
+
+    private final Player player;
+    private final ItemFactory itemFactory;
+    private final List<Level> levels;
+    private int levelIndex;
+    private Outcome outcome = Outcome.RUNNING;
+    private int commands;
+    private int roomsExplored;
+    private int puzzlesSolved;
+
+    /**
+     * Generates the levels and places a new player in the first room.
+     *
+     * @param difficulty The difficulty to play at
+     */
+    public SimulatedGame(Player.DifficultyLevel difficulty) {
+        this.itemFactory = new DefaultItemFactory();
+        GameEngine.configureItemFactory(itemFactory, difficulty);
+        this.player = new Player(difficulty);
+        this.levels = new ArrayList<>(LEVEL_COUNT);
+        for (int i = 1; i <= LEVEL_COUNT; i++) {
+            levels.add(new Level(i, difficulty, itemFactory));
+        }
+
+        Room startingRoom = levels.get(0).getStartingRoom();
+        player.setLocation(startingRoom);
+        startingRoom.enter(player);
+        roomsExplored = 1;
+        checkHealth();
+    }
+
+    /**
+     * Runs a typed command, parsed and answered as the engine would, for clients that play
+     * by text. Commands without a game effect, such as look, are counted too.
+     *
+     * @param command The command, e.g. "go north" or "pickup torch"
+     * @return what the player would be shown
+     */
+    public String processCommand(String command) {
+        if (command == null || command.trim().isEmpty()) {
+            return "Please enter a valid command.";
+        }
+        String[] parts = command.trim().toLowerCase().split("\\s+", 2);
+        String action = GameEngine.resolveCommandAlias(parts[0]);
+        String args = parts.length > 1 ? parts[1].trim() : "";
+
+        return switch (action) {
+            case "north", "south", "east", "west" -> describeMove(action);
+            case "move" -> describeMove(GameEngine.resolveCommandAlias(args));
+            case "pickup" -> pickup(args) ? "You pick up the " + args + "." : "There is no " + args + " here.";
+            case "use" -> use(args) ? "You use the " + args + "." : "You don't have a " + args + " in your inventory.";
+            case "drop" -> drop(args) ? "You drop the " + args + "." : "You don't have a " + args + " in your inventory.";
+            case "solve" -> args.isEmpty() ? describePuzzle()
+                : solve(args) ? "Correct! You've solved the puzzle!" : "That's not the correct answer.";
+            case "reveal" -> reveal() ? "You reveal a hidden passage!" : "You find no hidden passage.";
+            case "look" -> {
+                commands++;
+                yield describeRoom();
+            }
+            case "inventory" -> {
+                commands++;
+                yield describeInventory();
+            }
+            case "status" -> {
+                commands++;
+                yield "Health: " + player.getPowerPoints() + " HP, " + player.getStatus()
+                    + ", Room " + player.getLocation().getRoomId()
+                    + ", Rooms Explored: " + player.getVisitedRooms().size();
+            }
+            default -> {
+                commands++;
+                yield "Unknown command. Type 'help' for available commands.";
+            }
+        };
+    }
+
+    private String describeMove(String direction) {
+        if (!direction.equals("north") && !direction.equals("south")
+                && !direction.equals("east") && !direction.equals("west")) {
+            commands++;
+            return "Invalid direction. Please use: north, south, east, or west";
+        }
+        Room from = player.getLocation();
+        if (!move(direction)) {
+            return "You cannot go " + direction + " from here. Available exits: " + String.join(", ", from.getExits());
+        }
+        return switch (outcome) {
+            case WON -> "CONGRATULATIONS! You've completed all levels!";
+            case DIED -> "Your power has been depleted!";
+            case RUNNING -> player.getLocation().getDescription();
+        };
+    }
+
+    private String describeRoom() {
+        Room room = player.getLocation();
+        StringBuilder text = new StringBuilder(room.getDetailedDescription()).append("\n");
+        List<Item> contents = room.getContents();
+        if (!contents.isEmpty()) {
+            text.append("\nYou see the following items:");
+            for (Item item : contents) {
+                text.append("\n- ").append(item.getName()).append(": ").append(item.getDescription());
+            }
+        }
+        return text.toString();
+    }
+
+    private String describeInventory() {
+        List<Item> items = player.getInventory();
+        if (items.isEmpty()) {
+            return "Your inventory is empty.";
+        }
+        StringBuilder text = new StringBuilder("\nYour inventory contains:");
+        for (Item item : items) {
+            text.append("\n- ").append(item.getName());
+        }
+        return text.toString();
+    }
+
+    private String describePuzzle() {
+        commands++;
+        Puzzle puzzle = player.getLocation().getPuzzle();
+        if (puzzle == null) {
+            return "There's no puzzle in this room.";
+        }
+        if (puzzle.isSolved()) {
+            return "You've already solved this puzzle!";
+        }
+        return puzzle.getDescription() + "\nQuestion: " + puzzle.getQuestion();
+    }
+
+    /**
+     * Moves in a direction, as the move command does.
+     *
+     * @param direction north, south, east or west
+     * @return whether there was a room in that direction
+     */
+    public boolean move(String direction) {
+        commands++;
+        Room nextRoom = player.getLocation().getConnectedRoom(direction);
+        if (nextRoom == null) {
+            return false;
+        }
+
+        boolean discovered = !nextRoom.isVisited();
+        nextRoom.enter(player);
+        if (player.getPowerPoints() > 0) {
+            player.setLocation(nextRoom);
+            if (discovered) {
+                roomsExplored++;
+            }
+            if (nextRoom.hasTreasure()) {
+                treasureFound();
+            }
+        }
+        checkHealth();
+        return true;
+    }
+
+    /**
+     * Picks up an item in the current room.
+     *
+     * @param itemName The name of the item
+     * @return whether the item was picked up
+     */
+    public boolean pickup(String itemName) {
+        commands++;
+        int before = player.getInventorySize();
+        player.pickUp(player.getLocation().findItemByName(itemName));
+        return player.getInventorySize() > before;
+    }
+
+    /**
+     * Uses an item from the inventory.
+     *
+     * @param itemName The name of the item
+     * @return whether the player had the item
+     */
+    public boolean use(String itemName) {
+        commands++;
+        if (!hasItem(itemName)) {
+            return false;
+        }
+        player.useItem(itemName);
+        checkHealth();
+        return true;
+    }
+
+    /**
+     * Drops an item from the inventory into the current room.
+     *
+     * @param itemName The name of the item
+     * @return whether the player had the item
+     */
+    public boolean drop(String itemName) {
+        commands++;
+        if (!hasItem(itemName)) {
+            return false;
+        }
+        player.dropItem(itemName);
+        return true;
+    }
+
+    private boolean hasItem(String itemName) {
+        for (Item item : player.getInventory()) {
+            if (item.getName().equalsIgnoreCase(itemName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answers the puzzle in the current room.
+     *
+     * @param answer The answer
+     * @return whether the answer was correct
+     */
+    public boolean solve(String answer) {
+        commands++;
+        Room room = player.getLocation();
+        Puzzle puzzle = room.getPuzzle();
+        if (puzzle == null || puzzle.isSolved()) {
+            return false;
+        }
+
+        if (puzzle.checkAnswer(answer)) {
+            puzzle.setSolved(true);
+            room.markDirty();
+            // The engine rewards the answer and then the solved puzzle event, 10 points each
+            player.adjustPowerPoints(PUZZLE_REWARD);
+            puzzlesSolved++;
+            return true;
+        }
+        player.adjustPowerPoints(-5);
+        checkHealth();
+        return false;
+    }
+
+    /**
+     * Reveals a hidden passage from the current room with a suitable tool.
+     *
+     * @return whether a passage was revealed
+     */
+    public boolean reveal() {
+        commands++;
+        Room.RevealResult result = player.getLocation().revealHiddenPassage(player, itemFactory);
+        if (result.isSuccess() && result.getNewRoom() != null) {
+            getCurrentLevel().addRoom(result.getNewRoom());
+            return true;
+        }
+        return false;
+    }
+
+    private void treasureFound() {
+        getCurrentLevel().setCompleted(true);
+        player.adjustPowerPoints(50 + player.getPowerPoints() / 2);
+
+        if (levelIndex < levels.size() - 1) {
+            levelIndex++;
+            player.getVisitedRooms().clear();
+            player.setLocation(getCurrentLevel().getStartingRoom());
+            roomsExplored++;
+        } else {
+            outcome = Outcome.WON;
+        }
+    }
+
+    private void checkHealth() {
+        if (outcome == Outcome.RUNNING && player.getPowerPoints() <= 0) {
+            outcome = Outcome.DIED;
+        }
+    }
+
+    public Player getPlayer() { return player; }
+    public Level getCurrentLevel() { return levels.get(levelIndex); }
+    public int getLevelIndex() { return levelIndex; }
+    public Outcome getOutcome() { return outcome; }
+    public boolean isRunning() { return outcome == Outcome.RUNNING; }
+    public int getCommands() { return commands; }
+    public int getRoomsExplored() { return roomsExplored; }
+    public int getPuzzlesSolved() { return puzzlesSolved; }
+
+    /**
+     * @return the levels whose treasure room was reached
+     */
+    public int getLevelsCompleted() {
+        return outcome == Outcome.WON ? levels.size() : levelIndex;
+    }
+}
@@ -0,0 +1,118 @@
+package com.game.simulation;
+
+import com.game.player.Player;
+
+/**
+ * Totals over the games of one difficulty and bot policy. Results of separate batches are
+ * combined with {@link #merge(SimulationResult)}.
+ * <p>
+ * The power curve is the mean power of the games still running at evenly spaced command
+ * counts, starting with the power after entering the first room.
+ */
+public class SimulationResult {
+    private final Player.DifficultyLevel difficulty;
+    private final BotPolicy policy;
+    private final int curveInterval;
+    private int games;
+    private int wins;
+    private int deaths;
+    private long commands;
+    private long roomsExplored;
+    private long levelsCompleted;
+    private long puzzlesSolved;
+    private final long[] powerSums;
+    private final int[] powerSamples;
+
+    /**
+     * @param difficulty The difficulty played
+     * @param policy The bot that played
+     * @param curveInterval The commands between two points of the power curve
+     * @param curvePoints The points of the power curve
+     */
+    public SimulationResult(Player.DifficultyLevel difficulty, BotPolicy policy, int curveInterval, int curvePoints) {
+        this.difficulty = difficulty;
+        this.policy = policy;
+        this.curveInterval = curveInterval;
+        this.powerSums = new long[curvePoints];
+        this.powerSamples = new int[curvePoints];
+    }
+
+    /**
+     * Adds the power of a running game to the curve, once it has issued exactly the
+     * commands of a curve point. Called after every turn.
+     */
+    void samplePower(SimulatedGame game) {
+        int point = game.getCommands() / curveInterval;
+        if (game.getCommands() % curveInterval == 0 && point < powerSums.length && game.isRunning()) {
+            powerSums[point] += game.getPlayer().getPowerPoints();
+            powerSamples[point]++;
+        }
+    }
+
+    /**
+     * Adds a finished game; one still running ran out of commands.
+     */
+    void add(SimulatedGame game) {
+        games++;
+        switch (game.getOutcome()) {
+            case WON -> wins++;
+            case DIED -> deaths++;
+            case RUNNING -> { }
+        }
+        commands += game.getCommands();
+        roomsExplored += game.getRoomsExplored();
+        levelsCompleted += game.getLevelsCompleted();
+        puzzlesSolved += game.getPuzzlesSolved();
+    }
+
+    /**
+     * Adds another batch of the same difficulty and policy to this one.
+     *
+     * @return this result
+     */
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        wins += other.wins;
+        deaths += other.deaths;
+        commands += other.commands;
+        roomsExplored += other.roomsExplored;
+        levelsCompleted += other.levelsCompleted;
+        puzzlesSolved += other.puzzlesSolved;
+        for (int i = 0; i < powerSums.length; i++) {
+            powerSums[i] += other.powerSums[i];
+            powerSamples[i] += other.powerSamples[i];
+        }
+        return this;
+    }
+
+    public Player.DifficultyLevel getDifficulty() { return difficulty; }
+    public BotPolicy getPolicy() { return policy; }
+    public int getGames() { return games; }
+    public int getWins() { return wins; }
+    public int getDeaths() { return deaths; }
+    public int getTimeouts() { return games - wins - deaths; }
+    public long getCommands() { return commands; }
+    public int getCurveInterval() { return curveInterval; }
+
+    public double getWinRate() { return ratio(wins, games); }
+    public double getDeathRate() { return ratio(deaths, games); }
+    public double getAverageRoomsExplored() { return ratio(roomsExplored, games); }
+    public double getAverageLevelsCompleted() { return ratio(levelsCompleted, games); }
+    public double getAveragePuzzlesSolved() { return ratio(puzzlesSolved, games); }
+    public double getAverageCommands() { return ratio(commands, games); }
+
+    /**
+     * @return the mean power at each point of the curve, or NaN once no game was running
+     */
+    public double[] getPowerCurve() {
+        double[] curve = new double[powerSums.length];
+        for (int i = 0; i < curve.length; i++) {
+            curve[i] = powerSamples[i] > 0 ? (double) powerSums[i] / powerSamples[i] : Double.NaN;
+        }
+        return curve;
+    }
+
+    private static double ratio(long count, long total) {
+        return total > 0 ? (double) count / total : 0;
+    }
+}
@@ -0,0 +1,195 @@
+package com.game.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Hands log records to a background thread, which formats and writes them to the wrapped handlers.
+ * <p>
+ * The logging thread only checks the level and queues the record, so file and console I/O
+ * never delays a command. The queue is bounded; when it is full the {@link OverflowPolicy}
+ * decides between waiting and dropping a record. Records at WARNING or above are never
+ * dropped. The number of dropped records is logged once the writer catches up.
+ * <p>
+ * Records are formatted on the writer thread, so formatters must not rely on caller
+ * information such as the source class, which is inferred from the current stack.
+ */
+public class AsyncLogHandler extends Handler {
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long CLOSE_TIMEOUT_MS = 2000;
+
+    /**
+     * What to do with a record when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait for the writer to make room, slowing the logging thread down. */
+        BLOCK,
+        /** Drop the record being logged. */
+        DROP_NEWEST,
+        /** Drop the oldest queued record below WARNING to make room, or else the record being logged. */
+        DROP_OLDEST
+    }
+
+    private final Handler[] targets;
+    private final BlockingQueue<LogRecord> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writer;
+    private final AtomicInteger unwritten = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity The maximum number of queued records
+     * @param overflowPolicy What to do when the queue is full
+     * @param targets The handlers that write the records
+     */
+    public AsyncLogHandler(int capacity, OverflowPolicy overflowPolicy, Handler... targets) {
+        this.targets = targets.clone();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.overflowPolicy = overflowPolicy;
+        this.writer = new Thread(this::run, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        unwritten.incrementAndGet();
+        if (overflowPolicy == OverflowPolicy.BLOCK || !isDroppable(record)) {
+            try {
+                // Give up once the handler is closed, as the writer no longer empties the queue
+                while (!queue.offer(record, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    if (closed) {
+                        discard();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                discard();
+            }
+        } else if (!queue.offer(record)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && evictOldestDroppable()) {
+                discard();
+                if (queue.offer(record)) {
+                    return;
+                }
+            }
+            discard();
+        }
+    }
+
+    /**
+     * Removes the oldest queued record below WARNING.
+     * @return false if every queued record has to be kept
+     */
+    private boolean evictOldestDroppable() {
+        for (LogRecord queued : queue) {
+            if (isDroppable(queued) && queue.remove(queued)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDroppable(LogRecord record) {
+        return record.getLevel().intValue() < Level.WARNING.intValue();
+    }
+
+    private void discard() {
+        unwritten.decrementAndGet();
+        dropped.incrementAndGet();
+    }
+
+    private void run() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                LogRecord first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                // Closing; write what is left
+                queue.drainTo(batch);
+            }
+            for (LogRecord record : batch) {
+                write(record);
+            }
+            unwritten.addAndGet(-batch.size());
+            batch.clear();
+
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                write(new LogRecord(Level.WARNING, lost + " log records were dropped because the log queue was full"));
+            }
+            // Flush once the queue runs dry rather than after every record
+            if (queue.isEmpty()) {
+                flushTargets();
+            }
+        }
+    }
+
+    private void write(LogRecord record) {
+        for (Handler target : targets) {
+            try {
+                target.publish(record);
+            } catch (RuntimeException e) {
+                reportError("Log handler failed", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    private void flushTargets() {
+        for (Handler target : targets) {
+            target.flush();
+        }
+    }
+
+    /**
+     * Waits briefly for the queued records to be written, then flushes the wrapped handlers.
+     */
+    @Override
+    public void flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MS);
+        while (unwritten.get() > 0 && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        flushTargets();
+    }
+
+    /**
+     * Writes the queued records and closes the wrapped handlers. Records logged afterwards are ignored.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Handler target : targets) {
+            target.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.game.util;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * The source of randomness for dungeon generation, items and puzzles.
+ * <p>
+ * Each thread draws from its own generator, unseeded by default. {@link #withSeed(long, Supplier)}
+ * runs a game under a seed on the calling thread, so the same seed generates and plays the same
+ * game, regardless of what other threads are doing.
+ */
+public final class GameRandom {
+    private static final ThreadLocal<RandomGenerator> seeded = new ThreadLocal<>();
+
+    private GameRandom() {
+        // Utility class
+    }
+
+    /**
+     * @return the calling thread's generator
+     */
+    public static RandomGenerator current() {
+        RandomGenerator random = seeded.get();
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Runs the given work on the calling thread with a generator seeded from {@code seed}.
+     * The work must not hand off to other threads, which would not see the seed.
+     *
+     * @param seed The seed
+     * @param work The work to run
+     * @return the result of the work
+     */
+    public static <T> T withSeed(long seed, Supplier<T> work) {
+        RandomGenerator previous = seeded.get();
+        seeded.set(new SplittableRandom(seed));
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                seeded.set(previous);
+            } else {
+                seeded.remove();
+            }
+        }
+    }
+}
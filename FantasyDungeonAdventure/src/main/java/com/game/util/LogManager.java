@@ -1,14 +1,38 @@
 package com.game.util;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.logging.*;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Sets up game logging: rolling, gzipped files under the log directory and the console.
+ * <p>
+ * Both handlers sit behind an {@link AsyncLogHandler}, so logging a message only queues it
+ * and the formatting and I/O happen on a background thread. Settings are read from system
+ * properties: {@code game.log.level}, {@code game.log.queueSize} and {@code game.log.overflow}
+ * (BLOCK, DROP_NEWEST or DROP_OLDEST) for the queue, and {@code game.log.dir},
+ * {@code game.log.maxFileMb}, {@code game.log.rollHours}, {@code game.log.maxTotalMb} and
+ * {@code game.log.retentionDays} for the files, see {@link RollingFileHandler}.
+ */
 public class LogManager {
     private static final Logger LOGGER = Logger.getLogger(LogManager.class.getName());
-    private static FileHandler fileHandler;
+    private static final int QUEUE_SIZE = Integer.getInteger("game.log.queueSize", 8192);
+    private static final Path LOG_DIR = Paths.get(System.getProperty("game.log.dir", "logs"));
+    private static final long MAX_FILE_MB = Math.max(1, Long.getLong("game.log.maxFileMb", 10));
+    private static final long ROLL_HOURS = Math.max(1, Long.getLong("game.log.rollHours", 24));
+    private static final long MAX_TOTAL_MB = Math.max(MAX_FILE_MB, Long.getLong("game.log.maxTotalMb", 100));
+    private static final long RETENTION_DAYS = Math.max(1, Long.getLong("game.log.retentionDays", 14));
+    private static final long BYTES_PER_MB = 1024 * 1024;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static RollingFileHandler fileHandler;
     private static ConsoleHandler consoleHandler;
+    private static AsyncLogHandler asyncHandler;
     private static boolean isInitialized = false;
 
     private LogManager() {} // Private constructor to prevent instantiation
@@ -20,9 +44,9 @@ public class LogManager {
         }
 
         try {
-            setupLogDirectory();
             setupFileHandler();
             setupConsoleHandler();
+            setupAsyncHandler();
             configureRootLogger();
 
             isInitialized = true;
@@ -33,21 +57,25 @@ public class LogManager {
         }
     }
 
-    private static void setupLogDirectory() throws IOException {
-        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("logs"));
-    }
-
     private static void setupFileHandler() throws IOException {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        fileHandler = new FileHandler("logs/game_" + timestamp + ".log");
+        fileHandler = new RollingFileHandler(LOG_DIR, "game",
+                MAX_FILE_MB * BYTES_PER_MB,
+                Duration.ofHours(ROLL_HOURS),
+                MAX_TOTAL_MB * BYTES_PER_MB,
+                Duration.ofDays(RETENTION_DAYS));
         fileHandler.setFormatter(new SimpleFormatter() {
+            // Only the log writer thread formats, so one buffer is reused for every record
+            private final StringBuilder buffer = new StringBuilder(256);
+
             @Override
-            public String format(LogRecord record) {
-                return String.format("[%1$tF %1$tT] [%2$s] %3$s: %4$s%n",
-                        record.getMillis(),
-                        record.getLevel(),
-                        record.getLoggerName(),
-                        record.getMessage());
+            public synchronized String format(LogRecord record) {
+                buffer.setLength(0);
+                buffer.append('[');
+                TIMESTAMP_FORMAT.formatTo(Instant.ofEpochMilli(record.getMillis()), buffer);
+                buffer.append("] [").append(record.getLevel()).append("] ")
+                      .append(record.getLoggerName()).append(": ")
+                      .append(formatMessage(record)).append(System.lineSeparator());
+                return buffer.toString();
             }
         });
     }
@@ -57,11 +85,29 @@ public class LogManager {
         consoleHandler.setFormatter(new SimpleFormatter() {
             @Override
             public String format(LogRecord record) {
-                return String.format("%s%n", record.getMessage());
+                return formatMessage(record) + System.lineSeparator();
             }
         });
     }
 
+    private static void setupAsyncHandler() {
+        AsyncLogHandler.OverflowPolicy policy;
+        try {
+            policy = AsyncLogHandler.OverflowPolicy.valueOf(System.getProperty("game.log.overflow", "DROP_NEWEST"));
+        } catch (IllegalArgumentException e) {
+            policy = AsyncLogHandler.OverflowPolicy.DROP_NEWEST;
+        }
+        asyncHandler = new AsyncLogHandler(QUEUE_SIZE, policy, fileHandler, consoleHandler);
+    }
+
+    private static Level configuredLevel() {
+        try {
+            return Level.parse(System.getProperty("game.log.level", "INFO"));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
     private static void configureRootLogger() {
         Logger rootLogger = Logger.getLogger("");
 
@@ -70,10 +116,9 @@ public class LogManager {
             rootLogger.removeHandler(handler);
         }
 
-        // Add our custom handlers
-        rootLogger.addHandler(fileHandler);
-        rootLogger.addHandler(consoleHandler);
-        rootLogger.setLevel(Level.INFO);
+        // Add our custom handlers, written from the background thread
+        rootLogger.addHandler(asyncHandler);
+        rootLogger.setLevel(configuredLevel());
     }
 
     public static Logger getLogger(String name) {
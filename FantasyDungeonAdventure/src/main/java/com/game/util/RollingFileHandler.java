@@ -0,0 +1,285 @@
+package com.game.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.LogRecord;
+import java.util.logging.StreamHandler;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes log records to {@code <prefix>_<timestamp>.log} files that roll over by size and age.
+ * <p>
+ * A new file is started once the current one reaches the size limit or has been open for the
+ * roll interval. The size is counted as the file is flushed, which {@link AsyncLogHandler}
+ * does whenever its queue runs dry, so a file can overshoot the limit by what the writer
+ * buffers, a few kilobytes at most.
+ * <p>
+ * Rolled files, and any left uncompressed by an earlier run, are gzipped on a background
+ * thread. Each handler holds a lock on the file it writes, and a file is only compressed by
+ * whoever gets its lock, so handlers of several processes can share a directory without
+ * compressing each other's live files. After each compression the oldest archives are
+ * deleted until all log files together fit the total size limit and none is older than the
+ * retention period.
+ */
+public class RollingFileHandler extends StreamHandler {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final String LOG_SUFFIX = ".log";
+    private static final String ARCHIVE_SUFFIX = ".log.gz";
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileBytes;
+    private final long rollIntervalMillis;
+    private final long maxTotalBytes;
+    private final Duration maxAge;
+    private final ExecutorService compressor;
+
+    private volatile Path currentFile;
+    private CountingOutputStream currentStream;
+    private long currentOpenedMillis;
+
+    /**
+     * @param directory The directory to write logs to
+     * @param prefix The file name prefix
+     * @param maxFileBytes The size at which a file is rolled over
+     * @param rollInterval How long a file is written to before it is rolled over
+     * @param maxTotalBytes The combined size of all log files that retention keeps to
+     * @param maxAge How long archives are kept
+     * @throws IOException if the first log file cannot be created
+     */
+    public RollingFileHandler(Path directory, String prefix, long maxFileBytes, Duration rollInterval,
+                              long maxTotalBytes, Duration maxAge) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxFileBytes = maxFileBytes;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxAge = maxAge;
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Files.createDirectories(directory);
+        List<Path> leftovers = listLogFiles(LOG_SUFFIX);
+        open();
+        // Logs of earlier runs that exited before their file was compressed
+        for (Path leftover : leftovers) {
+            compressor.execute(() -> compress(leftover));
+        }
+        compressor.execute(this::enforceRetention);
+    }
+
+    @Override
+    public synchronized void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        if (currentStream.count >= maxFileBytes
+                || System.currentTimeMillis() - currentOpenedMillis >= rollIntervalMillis) {
+            roll();
+        }
+        super.publish(record);
+    }
+
+    private void roll() {
+        Path rolled = currentFile;
+        try {
+            // setOutputStream flushes and closes the previous file
+            open();
+        } catch (IOException e) {
+            reportError("Failed to roll log file " + rolled, e, ErrorManager.OPEN_FAILURE);
+            return;
+        }
+        compressor.execute(() -> {
+            compress(rolled);
+            enforceRetention();
+        });
+    }
+
+    private void open() throws IOException {
+        String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP);
+        FileChannel channel = null;
+        Path file = null;
+        // Files can roll more than once a second when the size limit is small
+        for (int i = 0; channel == null; i++) {
+            file = directory.resolve(prefix + "_" + timestamp + (i > 0 ? "_" + i : "") + LOG_SUFFIX);
+            if (Files.exists(file) || Files.exists(archiveOf(file))) {
+                continue;
+            }
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            if (tryLock(channel) == null) {
+                // Another handler took the new file for a leftover before it was locked
+                channel.close();
+                channel = null;
+            }
+        }
+        // Closing the stream closes the channel and releases the lock
+        OutputStream out = Channels.newOutputStream(channel);
+        currentStream = new CountingOutputStream(new BufferedOutputStream(out));
+        currentFile = file;
+        currentOpenedMillis = System.currentTimeMillis();
+        setOutputStream(currentStream);
+    }
+
+    private void compress(Path file) {
+        Path archive = archiveOf(file);
+        Path partial = archive.resolveSibling(archive.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = tryLock(channel)) {
+                if (lock == null) {
+                    // Still being written by another handler
+                    return;
+                }
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                    channel.transferTo(0, channel.size(), Channels.newChannel(out));
+                }
+                // Keep the original time, which retention goes by
+                Files.setLastModifiedTime(partial, Files.getLastModifiedTime(file));
+                Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.deleteIfExists(file);
+        } catch (NoSuchFileException e) {
+            // Compressed by another handler in the meantime
+        } catch (IOException e) {
+            reportError("Failed to compress log file " + file, e, ErrorManager.GENERIC_FAILURE);
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Retried with the next run's leftovers
+            }
+        }
+    }
+
+    /**
+     * @return the lock, or null if another handler, in this process or another, holds it
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deletes archives, oldest first, that are past the retention period or do not fit the
+     * total size limit next to the newer files. The file being written is always kept.
+     */
+    private void enforceRetention() {
+        try {
+            List<Path> files = listLogFiles(ARCHIVE_SUFFIX);
+            files.sort(Comparator.comparing(this::lastModifiedMillis).reversed());
+            long total = sizeOf(currentFile);
+            long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+            boolean full = false;
+            for (Path file : files) {
+                total += sizeOf(file);
+                full |= total > maxTotalBytes;
+                if (full || lastModifiedMillis(file) < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            reportError("Failed to apply log retention in " + directory, e, ErrorManager.GENERIC_FAILURE);
+        }
+    }
+
+    private List<Path> listLogFiles(String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "_*" + suffix)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static Path archiveOf(Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - LOG_SUFFIX.length()) + ARCHIVE_SUFFIX);
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Closes the current file and waits for pending compression, so the last rolled file is archived.
+     */
+    @Override
+    public void close() {
+        super.close();
+        compressor.shutdown();
+        try {
+            compressor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Counts the bytes written to the current file, to check the size limit without a file system call.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
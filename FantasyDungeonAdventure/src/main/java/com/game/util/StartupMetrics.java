@@ -0,0 +1,61 @@
+package com.game.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Measures the time from launch until the player can type the first command.
+ * <p>
+ * The time is logged once, both from {@link #markLaunched()} and from the start of the JVM,
+ * which includes class loading before main. With {@code game.startup.exitWhenReady} the game
+ * exits as soon as it is ready, which the {@code fast-startup} build profile uses for the
+ * training run that records the class data sharing archive.
+ */
+public final class StartupMetrics {
+    private static final Logger LOGGER = Logger.getLogger(StartupMetrics.class.getName());
+    private static final boolean EXIT_WHEN_READY = Boolean.getBoolean("game.startup.exitWhenReady");
+
+    private static volatile long launchNanos;
+    private static volatile long timeToFirstInputMillis = -1;
+    private static final AtomicBoolean interactive = new AtomicBoolean();
+
+    private StartupMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Records the launch, at the start of main.
+     */
+    public static void markLaunched() {
+        launchNanos = System.nanoTime();
+    }
+
+    /**
+     * Records that the game accepts input. Only the first call counts.
+     */
+    public static void markInteractive() {
+        if (launchNanos == 0 || !interactive.compareAndSet(false, true)) {
+            return;
+        }
+        timeToFirstInputMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchNanos);
+        String sinceJvmStart = ProcessHandle.current().info().startInstant()
+            .map(start -> ", " + Duration.between(start, Instant.now()).toMillis() + " ms after JVM start")
+            .orElse("");
+        LOGGER.info("Ready for input " + timeToFirstInputMillis + " ms after launch" + sinceJvmStart);
+
+        if (EXIT_WHEN_READY) {
+            LOGGER.info("Exiting after startup as requested by game.startup.exitWhenReady");
+            System.exit(0);
+        }
+    }
+
+    /**
+     * @return the milliseconds from launch to the first input, or -1 if not ready yet
+     */
+    public static long getTimeToFirstInputMillis() {
+        return timeToFirstInputMillis;
+    }
+}
@@ -0,0 +1,182 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class DatabaseConfigTest {
+    private static final int POOL_SIZE = Integer.getInteger("game.db.poolSize", 3);
+    // More statements than a connection caches
+    private static final int STATEMENTS = 40;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        TestGames.initialize();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_test (name TEXT NOT NULL, value INTEGER NOT NULL)");
+        }
+    }
+
+    @Test
+    void testStatementIsReusedWithinConnection() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            PreparedStatement first = conn.prepareStatement("SELECT ?");
+            PreparedStatement physical = first.unwrap(PreparedStatement.class);
+            first.setInt(1, 7);
+            first.close();
+            assertTrue(first.isClosed());
+            assertThrows(SQLException.class, first::executeQuery, "A closed statement stays closed");
+
+            try (PreparedStatement second = conn.prepareStatement("SELECT ?")) {
+                assertSame(physical, second.unwrap(PreparedStatement.class));
+                second.setInt(1, 8);
+                assertEquals(8, single(second));
+            }
+        }
+    }
+
+    @Test
+    void testNestedUseOfOneStatementGetsItsOwnCopy() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement outer = conn.prepareStatement("SELECT ?")) {
+            outer.setInt(1, 1);
+            try (PreparedStatement inner = conn.prepareStatement("SELECT ?")) {
+                assertNotSame(outer.unwrap(PreparedStatement.class), inner.unwrap(PreparedStatement.class));
+                inner.setInt(1, 2);
+                assertEquals(2, single(inner));
+            }
+            assertEquals(1, single(outer), "The inner use must not touch the outer's parameters");
+        }
+    }
+
+    @Test
+    void testStatementPushedOutOfCacheWhileHeldStaysOpen() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            PreparedStatement held = conn.prepareStatement("SELECT ? + 0");
+            PreparedStatement physical = held.unwrap(PreparedStatement.class);
+            held.setInt(1, 5);
+            for (int i = 0; i < STATEMENTS; i++) {
+                try (PreparedStatement other = conn.prepareStatement("SELECT ? + " + (i + 1))) {
+                    other.setInt(1, 0);
+                    assertEquals(i + 1, single(other));
+                }
+            }
+
+            assertFalse(physical.isClosed());
+            assertEquals(5, single(held));
+            held.close();
+            assertTrue(physical.isClosed(), "Closed once the caller is done with it");
+
+            try (PreparedStatement again = conn.prepareStatement("SELECT ? + 0")) {
+                assertNotSame(physical, again.unwrap(PreparedStatement.class));
+                again.setInt(1, 6);
+                assertEquals(6, single(again));
+            }
+        }
+    }
+
+    @Test
+    void testStatementsLeftOpenEndWithTheirLease() throws SQLException {
+        PreparedStatement forgotten;
+        PreparedStatement physical;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            forgotten = conn.prepareStatement("SELECT 1");
+            physical = forgotten.unwrap(PreparedStatement.class);
+        }
+
+        assertTrue(forgotten.isClosed());
+        assertThrows(SQLException.class, forgotten::executeQuery);
+        // The compiled statement stays cached for the connection's next lease
+        assertFalse(physical.isClosed());
+    }
+
+    @Test
+    void testReleasedConnectionRollsBackAndRefusesUse() throws SQLException {
+        String name = TestGames.uniqueName("rollback");
+        Connection conn = DatabaseConfig.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO pool_test (name, value) VALUES (?, 1)")) {
+            insert.setString(1, name);
+            insert.executeUpdate();
+        }
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+        assertEquals(0, count(name), "An uncommitted transaction must not survive the release");
+        for (int i = 0; i < POOL_SIZE; i++) {
+            try (Connection next = DatabaseConfig.getConnection()) {
+                assertTrue(next.getAutoCommit(), "Connections go back in auto-commit mode");
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentUseStaysWithinPool() throws Exception {
+        int threads = POOL_SIZE * 3;
+        int writes = 20;
+        String name = TestGames.uniqueName("pool");
+        Set<Connection> physical = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writes; i++) {
+                        try (Connection conn = DatabaseConfig.getConnection();
+                             PreparedStatement insert = conn.prepareStatement(
+                                 "INSERT INTO pool_test (name, value) VALUES (?, ?)")) {
+                            physical.add(conn.unwrap(Connection.class));
+                            insert.setString(1, name);
+                            insert.setInt(2, i);
+                            insert.executeUpdate();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * writes, count(name));
+        assertTrue(physical.size() <= POOL_SIZE, "Opened " + physical.size() + " connections");
+    }
+
+    private static int single(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    private static int count(String name) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM pool_test WHERE name = ?")) {
+            stmt.setString(1, name);
+            return single(stmt);
+        }
+    }
+}
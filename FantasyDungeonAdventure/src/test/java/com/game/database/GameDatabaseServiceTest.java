@@ -0,0 +1,106 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class GameDatabaseServiceTest {
+    private GameDatabaseService service;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        service = new GameDatabaseService();
+    }
+
+    @Test
+    void testFailedSaveOnlyFailsItself() {
+        String name = TestGames.uniqueName("batch");
+        GameState broken = TestGames.newGame(name + "_broken", 1);
+        DeltaSaveTracker brokenChain = new DeltaSaveTracker();
+        long gone = service.writeSnapshot(SaveSnapshot.capture(broken, brokenChain)).getSaveId();
+        service.deleteSave(gone);
+        broken.getPlayer().addEffect("Lost");
+
+        SaveRequest first = new SaveRequest(SaveSnapshot.capture(TestGames.newGame(name + "_first", 2), null));
+        SaveRequest failing = new SaveRequest(SaveSnapshot.capture(broken, brokenChain));
+        SaveRequest last = new SaveRequest(SaveSnapshot.capture(TestGames.newGame(name + "_last", 3), null));
+        service.writeSnapshots(List.of(first, failing, last));
+
+        assertThrows(RuntimeException.class, failing::join);
+        assertFalse(brokenChain.hasBase(), "The failed save's chain must start over");
+        for (SaveRequest request : List.of(first, last)) {
+            SaveResult result = request.join();
+            assertNotNull(service.loadGameState(result.getSaveId(), null), result.getSaveName() + " was not committed");
+        }
+        assertEquals(2, service.findSavesByNamePrefix(name).size(), "Nothing of the failed save may remain");
+    }
+
+    @Test
+    void testDeltasChainWithinOneBatch() {
+        GameState state = TestGames.newGame(TestGames.uniqueName("chain"), 4);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        List<SaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            state.getPlayer().addEffect("Effect " + i);
+            requests.add(new SaveRequest(SaveSnapshot.capture(state, tracker)));
+        }
+        service.writeSnapshots(requests);
+
+        SaveResult tip = null;
+        for (int i = 0; i < requests.size(); i++) {
+            SaveResult result = requests.get(i).join();
+            assertEquals(i > 0, result.isDelta());
+            tip = result;
+        }
+        assertEquals(tip.getSaveId(), tracker.getLastSaveId());
+        GameState loaded = service.loadGameState(tip.getSaveId(), null);
+        assertEquals(state.getPlayer().getActiveEffects(), loaded.getPlayer().getActiveEffects());
+    }
+
+    @Test
+    void testDeltaAfterFailureInBatchIsRejected() {
+        GameState state = TestGames.newGame(TestGames.uniqueName("rejected"), 5);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        long gone = service.writeSnapshot(SaveSnapshot.capture(state, tracker)).getSaveId();
+        service.deleteSave(gone);
+
+        state.getPlayer().addEffect("First");
+        SaveRequest failing = new SaveRequest(SaveSnapshot.capture(state, tracker));
+        state.getPlayer().addEffect("Second");
+        SaveRequest dependent = new SaveRequest(SaveSnapshot.capture(state, tracker));
+        service.writeSnapshots(List.of(failing, dependent));
+
+        assertThrows(RuntimeException.class, failing::join);
+        assertThrows(RuntimeException.class, dependent::join, "A delta on a failed save has nothing to build on");
+        assertFalse(SaveSnapshot.capture(state, tracker).isDelta());
+    }
+
+    @Test
+    void testLoadByNameNeedsOneConnection() throws SQLException {
+        String name = TestGames.uniqueName("byname");
+        GameState state = TestGames.newGame(name, 6);
+        String saveName = service.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveName();
+
+        // Leave the pool a single connection to lend
+        int poolSize = Math.max(1, Integer.getInteger("game.db.poolSize", 3));
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 1; i < poolSize; i++) {
+                held.add(DatabaseConfig.getConnection());
+            }
+            long start = System.nanoTime();
+            assertNotNull(service.loadGameState(saveName, null));
+            assertTrue(System.nanoTime() - start < 2_000_000_000L, "The load waited for a second connection");
+        } finally {
+            for (Connection conn : held) {
+                conn.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class LeaderboardServiceTest {
+    // Above game.leaderboard.cacheSize, so the cached board has to drop runs
+    private static final int RUNS_PAST_CACHE = 105;
+
+    private LeaderboardService leaderboard;
+    // Each test ranks its own difficulty, so runs of other tests and earlier runs do not count
+    private String difficulty;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        leaderboard = LeaderboardService.getInstance();
+        difficulty = TestGames.uniqueName("TEST");
+    }
+
+    @Test
+    void testSubmittedScoreIsRankedAndListed() throws Exception {
+        LeaderboardEntry entry = leaderboard.submitScore("alice", difficulty, 500, 60).get(10, TimeUnit.SECONDS);
+        assertEquals("alice", entry.getPlayerName());
+
+        leaderboard.recordScore("bob", difficulty, 700, 90);
+        leaderboard.recordScore("carol", difficulty, 300, 30);
+
+        List<LeaderboardEntry> top = leaderboard.getTopScores(difficulty, 2);
+        assertEquals(List.of("bob", "alice"), top.stream().map(LeaderboardEntry::getPlayerName).toList());
+        assertEquals(1, leaderboard.getRank("bob", difficulty));
+        assertEquals(2, leaderboard.getRank("alice", difficulty));
+        assertEquals(3, leaderboard.getRank("carol", difficulty));
+        assertEquals(0, leaderboard.getRank("dave", difficulty));
+    }
+
+    @Test
+    void testRankUsesBestRunAndSharesTies() {
+        leaderboard.recordScore("alice", difficulty, 100, 10);
+        leaderboard.recordScore("alice", difficulty, 400, 10);
+        leaderboard.recordScore("bob", difficulty, 400, 10);
+        leaderboard.recordScore("carol", difficulty, 900, 10);
+
+        assertEquals(2, leaderboard.getRank("alice", difficulty));
+        assertEquals(2, leaderboard.getRank("bob", difficulty));
+        assertEquals(1, leaderboard.getRank("carol", difficulty));
+    }
+
+    @Test
+    void testUnnamedRunIsRecordedUnderDefaultName() throws Exception {
+        LeaderboardEntry entry = leaderboard.submitScore(null, difficulty, 250, 5).get(10, TimeUnit.SECONDS);
+
+        assertEquals(LeaderboardService.DEFAULT_PLAYER_NAME, entry.getPlayerName());
+        assertEquals(1, leaderboard.getRank(LeaderboardService.DEFAULT_PLAYER_NAME, difficulty));
+    }
+
+    @Test
+    void testRankBelowCachedRunsIsCounted() {
+        // Recorded before the board is read, so loading it finds more runs than it keeps
+        leaderboard.recordScore("last", difficulty, 1, 10);
+        for (int i = 0; i < RUNS_PAST_CACHE; i++) {
+            leaderboard.recordScore("player" + i, difficulty, 10 + i, 10);
+        }
+
+        List<LeaderboardEntry> top = leaderboard.getTopScores(difficulty, 3);
+        assertEquals(List.of(114, 113, 112), top.stream().map(LeaderboardEntry::getScore).toList());
+        assertEquals(RUNS_PAST_CACHE + 1, leaderboard.getRank("last", difficulty));
+
+        // A run added after loading pushes another one out of the cache
+        leaderboard.recordScore("top", difficulty, 1000, 10);
+        assertEquals(1, leaderboard.getRank("top", difficulty));
+        assertEquals(RUNS_PAST_CACHE + 2, leaderboard.getRank("last", difficulty));
+        assertEquals(RUNS_PAST_CACHE + 1, leaderboard.getRank("player0", difficulty));
+    }
+
+    @Test
+    void testConcurrentRunsAreAllRanked() throws Exception {
+        int threads = 4;
+        int runsPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < runsPerThread; i++) {
+                        // Distinct scores, interleaved across threads
+                        leaderboard.recordScore("player" + thread + "-" + i, difficulty, i * threads + thread, 10);
+                    }
+                    return null;
+                }));
+            }
+            // Loads the board while runs are being recorded
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < runsPerThread; i++) {
+                    leaderboard.getTopScores(difficulty, 10);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int runs = threads * runsPerThread;
+        List<Integer> expected = new ArrayList<>();
+        for (int score = runs - 1; score >= 0; score--) {
+            expected.add(score);
+        }
+        List<LeaderboardEntry> top = leaderboard.getTopScores(difficulty, runs);
+        assertEquals(expected, top.stream().map(LeaderboardEntry::getScore).toList());
+        assertTrue(top.stream().allMatch(entry -> entry.getPlayerName().equals(
+            "player" + entry.getScore() % threads + "-" + entry.getScore() / threads)));
+        for (int score = 0; score < runs; score++) {
+            assertEquals(runs - score, leaderboard.getRank("player" + score % threads + "-" + score / threads, difficulty));
+        }
+    }
+}
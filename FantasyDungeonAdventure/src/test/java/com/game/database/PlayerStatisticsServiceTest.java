@@ -0,0 +1,139 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.util.LogManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class PlayerStatisticsServiceTest {
+    private PlayerStatisticsService service;
+    private String playerName;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LogManager.initialize();
+        service = PlayerStatisticsService.getInstance();
+        playerName = "stats-" + System.nanoTime();
+    }
+
+    @Test
+    void testCountsAccumulateAcrossFlushes() {
+        PlayerStatisticsService.Session session = service.startSession(playerName);
+        session.roomExplored();
+        session.roomExplored();
+        session.puzzleSolved();
+        assertEquals(2, service.getStatistics(playerName).getRoomsExplored(), "Unflushed counts are visible");
+
+        service.flush();
+        PlayerStatistics flushed = service.getStatistics(playerName);
+        assertEquals(2, flushed.getRoomsExplored(), "Flushing must not count twice");
+        assertEquals(1, flushed.getPuzzlesSolved());
+        assertNotNull(flushed.getLastPlayed());
+
+        session.roomExplored();
+        session.itemCollected();
+        service.flush();
+        PlayerStatistics total = service.getStatistics(playerName);
+        assertEquals(3, total.getRoomsExplored());
+        assertEquals(1, total.getItemsCollected());
+    }
+
+    @Test
+    void testSessionsOfOnePlayerAddUp() {
+        service.startSession(playerName).roomExplored();
+        service.flush();
+        service.startSession(playerName).roomExplored();
+        service.endSession();
+        service.flush();
+
+        assertEquals(2, service.getStatistics(playerName).getRoomsExplored());
+    }
+
+    @Test
+    void testUnnamedSessionWaitsForAName() throws SQLException {
+        PlayerStatisticsService.Session session = service.startSession(null);
+        session.roomExplored();
+        session.puzzleSolved();
+
+        PlayerStatistics current = service.getStatistics(null);
+        assertEquals(1, current.getRoomsExplored());
+        assertEquals(1, current.getPuzzlesSolved());
+
+        service.flush();
+        assertEquals(0, countUnnamedRows(), "Unnamed counts must not be written");
+
+        service.nameSession(playerName);
+        service.flush();
+        PlayerStatistics named = service.getStatistics(playerName);
+        assertEquals(1, named.getRoomsExplored());
+        assertEquals(1, named.getPuzzlesSolved());
+        assertEquals(0, countUnnamedRows());
+    }
+
+    @Test
+    void testEndedUnnamedSessionIsDropped() throws SQLException {
+        service.startSession(null).roomExplored();
+        service.endSession();
+        service.flush();
+
+        assertEquals(0, service.getStatistics(null).getRoomsExplored());
+        assertEquals(0, countUnnamedRows());
+    }
+
+    @Test
+    void testCountsFromManyThreadsSurviveConcurrentFlushes() throws Exception {
+        int threads = 4;
+        int events = 5000;
+        PlayerStatisticsService.Session session = service.startSession(playerName);
+        SaveGamePipeline pipeline = SaveGamePipeline.getInstance();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < events; i++) {
+                        session.roomExplored();
+                        if (i % 500 == 0) {
+                            // Flushed on the save writer, as the scheduled flush is
+                            pipeline.enqueue(service::flush);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        pipeline.enqueue(service::flush);
+        pipeline.awaitIdle();
+
+        assertEquals(threads * events, service.getStatistics(playerName).getRoomsExplored());
+    }
+
+    private static int countUnnamedRows() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM player_statistics WHERE player_name IS NULL")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class SaveChunkStoreTest {
+    private GameDatabaseService service;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        service = new GameDatabaseService();
+    }
+
+    @Test
+    void testUnchangedLevelsAreStoredOnce() throws SQLException {
+        GameState state = newGame("shared");
+        SaveResult first = service.writeSnapshot(SaveSnapshot.capture(state, null));
+        SaveResult second = service.writeSnapshot(SaveSnapshot.capture(state, null));
+
+        List<String> hashes = chunkHashes(first.getSaveId());
+        assertEquals(state.getLevels().size(), hashes.size());
+        assertEquals(hashes, chunkHashes(second.getSaveId()));
+        assertTrue(second.getSizeBytes() < first.getSizeBytes() / 2,
+            "Second save stored " + second.getSizeBytes() + " bytes, the first " + first.getSizeBytes());
+        assertNotNull(service.loadGameState(second.getSaveId(), null));
+    }
+
+    @Test
+    void testChunkGoesWithItsLastSave() throws SQLException {
+        GameState state = newGame("refcount");
+        long first = service.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveId();
+        long second = service.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveId();
+        List<String> hashes = chunkHashes(first);
+
+        assertTrue(service.deleteSave(first));
+        assertTrue(chunkHashes(first).isEmpty());
+        for (String hash : hashes) {
+            assertTrue(chunkExists(hash), "Chunk still used by the second save was deleted");
+        }
+        assertNotNull(service.loadGameState(second, null));
+
+        assertTrue(service.deleteSave(second));
+        for (String hash : hashes) {
+            assertFalse(chunkExists(hash), "Chunk outlived the last save using it");
+        }
+    }
+
+    @Test
+    void testCompactedDeltaReferencesChunks() throws SQLException {
+        GameState state = newGame("compacted");
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        long base = service.writeSnapshot(SaveSnapshot.capture(state, tracker)).getSaveId();
+        state.getPlayer().addEffect("Changed");
+        long delta = service.writeSnapshot(SaveSnapshot.capture(state, tracker)).getSaveId();
+        assertTrue(chunkHashes(delta).isEmpty(), "Deltas keep their levels in the chain");
+
+        service.compactSave(delta);
+        assertEquals(chunkHashes(base), chunkHashes(delta));
+        assertTrue(service.deleteSave(base));
+        GameState loaded = service.loadGameState(delta, null);
+        assertEquals(List.of("Changed"), loaded.getPlayer().getActiveEffects());
+    }
+
+    @Test
+    void testGarbageCollectionRemovesOrphans() throws SQLException {
+        String orphan = "orphan-" + System.nanoTime();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO save_chunks (hash, data, codec, raw_size) VALUES (?, x'00', NULL, 1)")) {
+                pstmt.setString(1, orphan);
+                pstmt.executeUpdate();
+            }
+            // A reference left behind by a save that no longer exists
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO save_chunk_refs (save_id, position, chunk_hash) VALUES (-1, 0, ?)")) {
+                pstmt.setString(1, orphan);
+                pstmt.executeUpdate();
+            }
+
+            assertTrue(SaveChunkStore.collectGarbage(conn) >= 1);
+        }
+        assertFalse(chunkExists(orphan));
+    }
+
+    @Test
+    void testMissingChunkFailsLoad() throws SQLException {
+        GameState state = newGame("missing");
+        long saveId = service.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveId();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "DELETE FROM save_chunk_refs WHERE save_id = ? AND position = 0")) {
+            pstmt.setLong(1, saveId);
+            pstmt.executeUpdate();
+        }
+
+        assertThrows(RuntimeException.class, () -> service.loadGameState(saveId, null));
+        assertTrue(service.deleteSave(saveId));
+    }
+
+    /**
+     * @return a game whose levels no earlier save has stored
+     */
+    private static GameState newGame(String prefix) {
+        return TestGames.newGame(TestGames.uniqueName(prefix), System.nanoTime());
+    }
+
+    private static List<String> chunkHashes(long saveId) throws SQLException {
+        List<String> hashes = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT chunk_hash FROM save_chunk_refs WHERE save_id = ? ORDER BY position")) {
+            pstmt.setLong(1, saveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    hashes.add(rs.getString(1));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    private static boolean chunkExists(String hash) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM save_chunks WHERE hash = ?")) {
+            pstmt.setString(1, hash);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.database.codec.GameStateCodec;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+
+class SaveCompressionTest {
+    private GameDatabaseService service;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        service = new GameDatabaseService();
+    }
+
+    @Test
+    void testTrainingInsideTransactionIsRefused() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            Long before = SaveCompression.getActiveDictionaryId();
+            assertThrows(SQLException.class, () -> SaveCompression.trainDictionary(conn));
+            assertEquals(before, SaveCompression.getActiveDictionaryId());
+        }
+    }
+
+    @Test
+    void testDictionaryOutlivesRolledBackSave() throws SQLException, IOException {
+        for (int i = 0; i < 6; i++) {
+            service.saveGameState(TestGames.newGame(TestGames.uniqueName("compression"), i));
+        }
+        SaveCompression.trainDictionaryIfDue();
+        Long dictionaryId = SaveCompression.getActiveDictionaryId();
+        assertNotNull(dictionaryId, "Six similar saves should train a dictionary");
+
+        byte[] raw = GameStateCodec.encode(TestGames.newGame("rolled-back", 99));
+        SaveCompression.Compressed blob;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            Savepoint savepoint = conn.setSavepoint();
+            blob = SaveCompression.compress(conn, raw);
+            conn.rollback(savepoint);
+            conn.rollback();
+        }
+        assertEquals(SaveCompression.DEFLATE_DICT + ":" + dictionaryId, blob.codecId);
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            assertTrue(dictionaryExists(conn, dictionaryId), "A rollback must not remove the dictionary");
+            assertArrayEquals(raw, SaveCompression.decompress(conn, blob.codecId, blob.data));
+        }
+    }
+
+    @Test
+    void testEverySavedDictionaryReferenceExists() throws SQLException {
+        for (int i = 0; i < 6; i++) {
+            service.saveGameState(TestGames.newGame(TestGames.uniqueName("reference"), 100 + i));
+        }
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT DISTINCT blob_codec FROM game_saves WHERE blob_codec LIKE 'deflate-dict:%'")) {
+            while (rs.next()) {
+                String codec = rs.getString(1);
+                long id = Long.parseLong(codec.substring(SaveCompression.DEFLATE_DICT.length() + 1));
+                assertTrue(dictionaryExists(conn, id), "Missing dictionary for " + codec);
+            }
+        }
+    }
+
+    private static boolean dictionaryExists(Connection conn, long id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM save_dictionaries WHERE id = ?")) {
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.game.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.event.GameEvent;
+import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventHandler;
+import com.game.event.GameEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class SaveGamePipelineTest {
+    private static final int TIMEOUT_SECONDS = 10;
+
+    private final SaveGamePipeline pipeline = SaveGamePipeline.getInstance();
+    private final SaveStore store = new GameDatabaseService();
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+    private SaveEvents events;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        events = new SaveEvents();
+        GameEventDispatcher.getInstance().registerHandler(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerReleased.countDown();
+        pipeline.awaitIdle();
+    }
+
+    @Test
+    void testSaveHoldsStateAtCapture() throws Exception {
+        GameState state = TestGames.newGame(TestGames.uniqueName("capture"), 1);
+        holdWriter();
+        CompletableFuture<SaveResult> future = pipeline.submit(state, null);
+        // Changes after the capture must not reach the pending write
+        state.getPlayer().addEffect("Changed after capture");
+        writerReleased.countDown();
+
+        SaveResult result = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertFalse(result.isDelta());
+        GameState loaded = store.loadGameState(result.getSaveId(), null);
+        assertTrue(loaded.getPlayer().getActiveEffects().isEmpty());
+    }
+
+    @Test
+    void testQueuedChainIsWrittenInCaptureOrder() throws Exception {
+        GameState state = TestGames.newGame(TestGames.uniqueName("chain"), 2);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        holdWriter();
+        List<CompletableFuture<SaveResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            state.getPlayer().addEffect("Effect " + i);
+            futures.add(pipeline.submit(state, tracker));
+        }
+        writerReleased.countDown();
+
+        List<SaveResult> results = new ArrayList<>();
+        for (CompletableFuture<SaveResult> future : futures) {
+            results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertFalse(results.get(0).isDelta());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i).isDelta(), "Save " + i + " should be a delta");
+            assertTrue(results.get(i).getSaveId() > results.get(i - 1).getSaveId());
+        }
+        GameState loaded = store.loadGameState(results.get(results.size() - 1).getSaveId(), null);
+        assertEquals(state.getPlayer().getActiveEffects(), loaded.getPlayer().getActiveEffects());
+
+        pipeline.awaitIdle();
+        for (SaveResult result : results) {
+            assertTrue(events.completed.contains(result.getSaveId()), "No SAVE_COMPLETED for " + result.getSaveId());
+        }
+    }
+
+    @Test
+    void testFailedSaveIsReportedAndChainStartsOver() throws Exception {
+        String name = TestGames.uniqueName("failed");
+        GameState state = TestGames.newGame(name, 3);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        SaveResult base = pipeline.submit(state, tracker).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // The next delta would build on a save that is gone
+        store.deleteSave(base.getSaveId());
+
+        state.getPlayer().addEffect("Lost");
+        CompletableFuture<SaveResult> lost = pipeline.submit(state, tracker);
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> lost.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(RuntimeException.class, error.getCause());
+        pipeline.awaitIdle();
+        assertTrue(events.failed.stream().anyMatch(saveName -> saveName.startsWith(name)));
+
+        SaveResult next = pipeline.submit(state, tracker).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertFalse(next.isDelta(), "A failed write must start a new chain");
+        assertEquals(List.of("Lost"), store.loadGameState(next.getSaveId(), null).getPlayer().getActiveEffects());
+    }
+
+    /**
+     * Keeps the writer busy until the test releases it, so submitted saves queue up.
+     */
+    private void holdWriter() {
+        pipeline.enqueue(() -> {
+            try {
+                writerReleased.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static final class SaveEvents implements GameEventHandler {
+        private final List<Long> completed = new CopyOnWriteArrayList<>();
+        private final List<String> failed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Set<GameEventType> getHandledEventTypes() {
+            return Set.of(GameEventType.SAVE_COMPLETED, GameEventType.SAVE_FAILED);
+        }
+
+        @Override
+        public void handleEvent(GameEvent event) {
+            if (event.getType() == GameEventType.SAVE_COMPLETED) {
+                completed.add(((SaveResult) event.getData()).getSaveId());
+            } else {
+                failed.add((String) event.getData());
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.game.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.player.Player;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+class SaveMetadataTest {
+    private static final int SAVES = 12;
+    private static final int PAGE_SIZE = 5;
+
+    @TempDir
+    Path segmentDirectory;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+    }
+
+    @Test
+    void testSummaryMatchesSavedStateInDatabase() {
+        assertSummaryMatchesSavedState(new GameDatabaseService());
+    }
+
+    @Test
+    void testSummaryMatchesSavedStateInSegmentFiles() {
+        assertSummaryMatchesSavedState(new SegmentFileSaveStore(segmentDirectory));
+    }
+
+    @Test
+    void testPagesFollowSortOrderInDatabase() {
+        SaveStore store = new GameDatabaseService();
+        writeVariedSaves(store, TestGames.uniqueName("paged"));
+        assertPagesFollowSortOrder(store, SAVES);
+    }
+
+    @Test
+    void testPagesFollowSortOrderInSegmentFiles() {
+        SaveStore store = new SegmentFileSaveStore(segmentDirectory);
+        writeVariedSaves(store, TestGames.uniqueName("paged"));
+        assertEquals(SAVES, store.countSaves());
+        assertPagesFollowSortOrder(store, SAVES);
+    }
+
+    @Test
+    void testNamePrefixIsMatchedLiterally() {
+        SaveStore store = new GameDatabaseService();
+        String base = TestGames.uniqueName("prefix");
+        store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame(base + "_x", 1), null));
+        store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame(base + "Ax", 1), null));
+
+        List<SaveSummary> found = store.findSavesByNamePrefix(base + "_");
+        assertEquals(1, found.size(), "'_' must not match any character");
+        assertTrue(found.get(0).getSaveName().startsWith(base + "_x"));
+        assertEquals(2, store.findSavesByNamePrefix(base).size());
+    }
+
+    private static void assertSummaryMatchesSavedState(SaveStore store) {
+        String name = TestGames.uniqueName("summary");
+        GameState state = TestGames.newGame(name, 4);
+        state.setPlayTimeSeconds(321L);
+        Instant before = Instant.now().minusSeconds(2);
+        SaveResult result = store.writeSnapshot(SaveSnapshot.capture(state, null));
+
+        List<SaveSummary> found = store.findSavesByNamePrefix(name);
+        assertEquals(1, found.size());
+        SaveSummary summary = found.get(0);
+        SaveMetadata expected = SaveMetadata.of(state);
+        assertEquals(result.getSaveId(), summary.getSaveId());
+        assertEquals(result.getSaveName(), summary.getSaveName());
+        assertEquals(expected.getLevelIndex(), summary.getLevelIndex());
+        assertEquals(expected.getPowerPoints(), summary.getPowerPoints());
+        assertEquals(expected.getRoomsExplored(), summary.getRoomsExplored());
+        assertEquals(expected.getDifficulty(), summary.getDifficulty());
+        assertEquals(321L, summary.getPlayTimeSeconds());
+        assertTrue(summary.getBlobSize() > 0);
+        assertTrue(Duration.between(before, summary.getSaveDate()).toSeconds() < 60,
+            "Saved at " + summary.getSaveDate());
+    }
+
+    /**
+     * Writes saves whose metadata repeat in different cycles, so every sort field has ties.
+     */
+    private static void writeVariedSaves(SaveStore store, String name) {
+        for (int i = 0; i < SAVES; i++) {
+            GameState state = TestGames.newGame(name + "_" + (char) ('a' + i % 4), i);
+            Player player = state.getPlayer();
+            player.restoreProgress(50 + i % 3 * 10, player.getLocation(), player.getVisitedRooms(),
+                player.getInventory(), player.getActiveEffects());
+            state.setCurrentLevelIndex(i % 2);
+            state.setPlayTimeSeconds(i % 5 * 60L);
+            store.writeSnapshot(SaveSnapshot.capture(state, null));
+        }
+    }
+
+    /**
+     * Reads the first saves page by page for every field and direction, and checks that the
+     * pages join up into one listing, sorted by the field and then by id.
+     */
+    private static void assertPagesFollowSortOrder(SaveStore store, int saves) {
+        for (SaveSortField field : SaveSortField.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                List<SaveSummary> whole = store.listSaves(field, descending, 0, saves);
+                List<SaveSummary> paged = new ArrayList<>();
+                for (int offset = 0; offset < saves; offset += PAGE_SIZE) {
+                    paged.addAll(store.listSaves(field, descending, offset, Math.min(PAGE_SIZE, saves - offset)));
+                }
+                String listing = field + (descending ? " descending" : " ascending");
+                assertEquals(ids(whole), ids(paged), listing);
+                assertEquals(saves, new HashSet<>(ids(paged)).size(), listing);
+
+                Comparator<SaveSummary> order = comparator(field).thenComparingLong(SaveSummary::getSaveId);
+                if (descending) {
+                    order = order.reversed();
+                }
+                for (int i = 1; i < paged.size(); i++) {
+                    assertTrue(order.compare(paged.get(i - 1), paged.get(i)) < 0,
+                        listing + " out of order at " + i);
+                }
+            }
+        }
+    }
+
+    private static Comparator<SaveSummary> comparator(SaveSortField field) {
+        switch (field) {
+            case NAME: return nullsFirst(SaveSummary::getSaveName);
+            case DATE: return nullsFirst(SaveSummary::getSaveDate);
+            case LEVEL: return nullsFirst(SaveSummary::getLevelIndex);
+            case POWER_POINTS: return nullsFirst(SaveSummary::getPowerPoints);
+            case ROOMS_EXPLORED: return nullsFirst(SaveSummary::getRoomsExplored);
+            case DIFFICULTY: return nullsFirst(SaveSummary::getDifficulty);
+            case PLAY_TIME: return nullsFirst(SaveSummary::getPlayTimeSeconds);
+            case SIZE: return nullsFirst(SaveSummary::getBlobSize);
+            default: throw new IllegalArgumentException("Unknown sort field: " + field);
+        }
+    }
+
+    // SQLite sorts NULL before any value
+    private static <T extends Comparable<? super T>> Comparator<SaveSummary> nullsFirst(Function<SaveSummary, T> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private static List<Long> ids(List<SaveSummary> saves) {
+        return saves.stream().map(SaveSummary::getSaveId).toList();
+    }
+}
@@ -0,0 +1,214 @@
+package com.game.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.database.codec.GameStateCodec;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class SegmentFileSaveStoreTest {
+    @TempDir
+    Path directory;
+
+    private SegmentFileSaveStore store;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+        store = new SegmentFileSaveStore(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testChainSurvivesReopen() throws IOException {
+        GameState state = TestGames.newGame("chain", 1);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        Map<Long, byte[]> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            state.getPlayer().addEffect("Effect " + i);
+            SaveResult result = store.writeSnapshot(SaveSnapshot.capture(state, tracker));
+            assertEquals(i > 0, result.isDelta());
+            expected.put(result.getSaveId(), GameStateCodec.encode(state));
+        }
+        assertStoreHolds(expected);
+
+        reopen();
+        assertStoreHolds(expected);
+        long next = store.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveId();
+        assertTrue(next > expected.keySet().stream().mapToLong(Long::longValue).max().orElseThrow(),
+            "Ids must not be reused after a reopen");
+    }
+
+    @Test
+    void testDeleteAndCompactSurviveReopen() throws IOException {
+        GameState state = TestGames.newGame("delete", 2);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        List<Long> ids = new ArrayList<>();
+        Map<Long, byte[]> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            state.getPlayer().addEffect("Effect " + i);
+            long id = store.writeSnapshot(SaveSnapshot.capture(state, tracker)).getSaveId();
+            ids.add(id);
+            expected.put(id, GameStateCodec.encode(state));
+        }
+
+        // The save after the deleted one is rewritten in full, so nothing is lost
+        assertTrue(store.deleteSave(ids.get(0)));
+        expected.remove(ids.get(0));
+        assertFalse(store.deleteSave(ids.get(0)));
+        store.compactSave(ids.get(3));
+        assertFalse(store.deleteUnreferencedSave(ids.get(1)), "Save 2 still builds on it");
+        assertTrue(store.deleteUnreferencedSave(ids.get(3)));
+        expected.remove(ids.get(3));
+        assertStoreHolds(expected);
+
+        reopen();
+        assertStoreHolds(expected);
+        assertNull(store.loadGameState(ids.get(0), null));
+        assertNull(store.loadGameState(ids.get(3), null));
+    }
+
+    @Test
+    void testTornRecordIsDroppedAndOverwritten() throws IOException {
+        SaveResult kept = store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("kept", 3), null));
+        SaveResult torn = store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("torn", 4), null));
+        store.close();
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        store = new SegmentFileSaveStore(directory);
+        assertEquals(1, store.countSaves());
+        assertNotNull(store.loadGameState(kept.getSaveId(), null));
+        assertNull(store.loadGameState(torn.getSaveId(), null));
+
+        SaveResult next = store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("next", 5), null));
+        reopen();
+        assertEquals(2, store.countSaves(), "The new record must replace the torn bytes");
+        assertEquals("next", store.loadGameState(next.getSaveId(), null).getPlayer().getName());
+    }
+
+    @Test
+    void testCorruptLastRecordIsDropped() throws IOException {
+        SaveResult kept = store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("kept", 6), null));
+        store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("corrupt", 7), null));
+        store.close();
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(segment, bytes);
+
+        store = new SegmentFileSaveStore(directory);
+        assertEquals(1, store.countSaves(), "A record failing its checksum must be ignored");
+        assertNotNull(store.loadGameState(kept.getSaveId(), null));
+    }
+
+    @Test
+    void testDamageMidSegmentKeepsLaterRecords() throws IOException {
+        Path segment = onlySegment();
+        GameState first = TestGames.newGame("first", 8);
+        long firstId = store.writeSnapshot(SaveSnapshot.capture(first, null)).getSaveId();
+        long damagedStart = Files.size(segment);
+        long damagedId = store.writeSnapshot(SaveSnapshot.capture(TestGames.newGame("damaged", 9), null)).getSaveId();
+        long damagedEnd = Files.size(segment);
+        GameState last = TestGames.newGame("last", 10);
+        long lastId = store.writeSnapshot(SaveSnapshot.capture(last, null)).getSaveId();
+        store.close();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[(int) ((damagedStart + damagedEnd) / 2)] ^= 0x01;
+        Files.write(segment, bytes);
+
+        store = new SegmentFileSaveStore(directory);
+        Map<Long, byte[]> expected = new LinkedHashMap<>();
+        expected.put(firstId, GameStateCodec.encode(first));
+        expected.put(lastId, GameStateCodec.encode(last));
+        assertStoreHolds(expected);
+        assertNull(store.loadGameState(damagedId, null));
+
+        GameState next = TestGames.newGame("next", 11);
+        expected.put(store.writeSnapshot(SaveSnapshot.capture(next, null)).getSaveId(), GameStateCodec.encode(next));
+        reopen();
+        assertStoreHolds(expected);
+    }
+
+    @Test
+    void testCompactionReclaimsDeadRecords() throws IOException {
+        GameState state = TestGames.newGame("compact", 12);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        List<Long> ids = new ArrayList<>();
+        Map<Long, byte[]> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            state.getPlayer().addEffect("Effect " + i);
+            long id = store.writeSnapshot(SaveSnapshot.capture(state, tracker)).getSaveId();
+            ids.add(id);
+            expected.put(id, GameStateCodec.encode(state));
+        }
+        // Rewrites, folds and tombstones leave superseded records behind
+        store.compactSave(ids.get(3));
+        for (long id : List.of(ids.get(0), ids.get(1), ids.get(5))) {
+            assertTrue(store.deleteSave(id));
+            expected.remove(id);
+        }
+        Path before = onlySegment();
+        long sizeBefore = Files.size(before);
+
+        store.compactSegments();
+        assertFalse(Files.exists(before), "The old segment must be deleted");
+        assertTrue(Files.size(onlySegment()) < sizeBefore);
+        assertStoreHolds(expected);
+
+        reopen();
+        assertStoreHolds(expected);
+        long next = store.writeSnapshot(SaveSnapshot.capture(state, null)).getSaveId();
+        assertTrue(next > ids.get(5), "The id of the deleted last save must not be reused");
+    }
+
+    @Test
+    void testDirectoryHasOneStoreAtATime() {
+        assertThrows(RuntimeException.class, () -> new SegmentFileSaveStore(directory));
+
+        store.close();
+        store = new SegmentFileSaveStore(directory);
+        assertEquals(0, store.countSaves());
+    }
+
+    private void reopen() {
+        store.close();
+        store = new SegmentFileSaveStore(directory);
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(path -> path.toString().endsWith(".fds")).toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private void assertStoreHolds(Map<Long, byte[]> expected) throws IOException {
+        assertEquals(expected.size(), store.countSaves());
+        for (Map.Entry<Long, byte[]> save : expected.entrySet()) {
+            GameState loaded = store.loadGameState(save.getKey(), null);
+            assertNotNull(loaded, "Missing save " + save.getKey());
+            assertArrayEquals(save.getValue(), GameStateCodec.encode(loaded), "Save " + save.getKey() + " differs");
+        }
+    }
+}
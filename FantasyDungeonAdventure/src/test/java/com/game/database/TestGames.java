@@ -0,0 +1,69 @@
+package com.game.database;
+
+import com.game.engine.GameEngine;
+import com.game.item.factory.DefaultItemFactory;
+import com.game.item.factory.ItemFactory;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.util.GameRandom;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds seeded games for the persistence tests.
+ */
+public final class TestGames {
+    private TestGames() {
+        // Utility class
+    }
+
+    /**
+     * Sets up logging and the engine, which rooms fire their events through.
+     */
+    public static void initialize() {
+        try {
+            LogManager.initialize();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        GameEngine.getInstance();
+    }
+
+    /**
+     * @param playerName The name of the player, which is also the save's name
+     * @param seed The seed the levels are generated from
+     * @return a new three-level game with the player in the first room
+     */
+    public static GameState newGame(String playerName, long seed) {
+        initialize();
+        return GameRandom.withSeed(seed, () -> {
+            ItemFactory factory = new DefaultItemFactory();
+            GameEngine.configureItemFactory(factory, Player.DifficultyLevel.NORMAL);
+            List<Level> levels = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                levels.add(new Level(i, Player.DifficultyLevel.NORMAL, factory));
+            }
+
+            Player player = new Player(Player.DifficultyLevel.NORMAL);
+            player.setName(playerName);
+            player.setLocation(levels.get(0).getStartingRoom());
+
+            GameState state = new GameState();
+            state.setPlayer(player);
+            state.setLevels(levels);
+            state.setCurrentLevelIndex(0);
+            return state;
+        });
+    }
+
+    /**
+     * @return a name no earlier test run has used in the shared test database
+     */
+    public static String uniqueName(String prefix) {
+        return prefix + "-" + System.nanoTime();
+    }
+}
@@ -0,0 +1,101 @@
+package com.game.database.codec;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.database.TestGames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+class DeflateCompressorTest {
+    private static final int LEVEL = 6;
+
+    private static List<byte[]> samples;
+    private static byte[] save;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        samples = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            samples.add(GameStateCodec.encode(TestGames.newGame("sample", i)));
+        }
+        save = GameStateCodec.encode(TestGames.newGame("compressed", 99));
+    }
+
+    @Test
+    void testRoundTripWithAndWithoutDictionary() throws IOException {
+        byte[] dictionary = CompressionDictionaryTrainer.train(samples, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        Random random = new Random(1);
+        byte[] noise = new byte[100_000];
+        random.nextBytes(noise);
+
+        for (DeflateCompressor compressor : List.of(
+                new DeflateCompressor("deflate", LEVEL, null),
+                new DeflateCompressor("deflate-dict:1", LEVEL, dictionary))) {
+            for (byte[] data : List.of(new byte[0], save, noise)) {
+                byte[] compressed = compressor.compress(data);
+                assertArrayEquals(data, compressor.decompress(compressed), compressor.getId());
+
+                // Reading from a direct buffer, as the segment store does, gives the same result
+                ByteBuffer direct = ByteBuffer.allocateDirect(compressed.length + 4);
+                direct.position(4);
+                direct.put(compressed).position(4);
+                assertArrayEquals(data, compressor.decompress(direct.slice()));
+            }
+        }
+    }
+
+    @Test
+    void testDictionaryShrinksSaves() {
+        byte[] dictionary = CompressionDictionaryTrainer.train(samples, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        int plain = new DeflateCompressor("deflate", LEVEL, null).compress(save).length;
+        int withDictionary = new DeflateCompressor("deflate-dict:1", LEVEL, dictionary).compress(save).length;
+
+        assertTrue(dictionary.length > 0);
+        assertTrue(withDictionary < plain, withDictionary + " bytes with a dictionary, " + plain + " without");
+    }
+
+    @Test
+    void testDictionaryIsRequiredToDecompress() {
+        byte[] dictionary = CompressionDictionaryTrainer.train(samples, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        byte[] compressed = new DeflateCompressor("deflate-dict:1", LEVEL, dictionary).compress(save);
+
+        assertThrows(IOException.class, () -> new DeflateCompressor("deflate", LEVEL, null).decompress(compressed));
+    }
+
+    @Test
+    void testDamagedDataIsRejected() {
+        DeflateCompressor compressor = new DeflateCompressor("deflate", LEVEL, null);
+        byte[] compressed = compressor.compress(save);
+
+        assertThrows(IOException.class, () -> compressor.decompress(Arrays.copyOf(compressed, compressed.length / 2)));
+        assertThrows(IOException.class, () -> compressor.decompress(new byte[0]));
+        byte[] corrupt = compressed.clone();
+        for (int i = 4; i < corrupt.length; i++) {
+            corrupt[i] ^= (byte) 0x5A;
+        }
+        assertThrows(IOException.class, () -> compressor.decompress(corrupt));
+        assertThrows(IllegalArgumentException.class, () -> new DeflateCompressor("deflate", 0, null));
+    }
+
+    @Test
+    void testTrainerKeepsSharedStringsWithinSize() throws IOException {
+        assertEquals(0, CompressionDictionaryTrainer.train(samples.subList(0, 1), 1024).length,
+            "Strings of a single sample are not worth a dictionary");
+
+        byte[] small = CompressionDictionaryTrainer.train(samples, 256);
+        assertTrue(small.length > 0 && small.length <= 256, "Dictionary of " + small.length + " bytes");
+        byte[] full = CompressionDictionaryTrainer.train(samples, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        assertTrue(full.length >= small.length);
+        // The most valuable strings go last, so a smaller dictionary ends like the full one
+        byte[] tail = Arrays.copyOfRange(full, full.length - Math.min(16, small.length), full.length);
+        byte[] smallTail = Arrays.copyOfRange(small, small.length - tail.length, small.length);
+        assertArrayEquals(tail, smallTail);
+    }
+}
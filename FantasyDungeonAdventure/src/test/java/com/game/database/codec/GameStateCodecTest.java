@@ -0,0 +1,140 @@
+package com.game.database.codec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.database.GameState;
+import com.game.engine.GameEngine;
+import com.game.item.HealingItem;
+import com.game.item.ToolItem;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.room.Room;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+class GameStateCodecTest {
+    private GameState state;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LogManager.initialize();
+
+        // Level generation reads the difficulty from the engine's player
+        Player player = new Player(Player.DifficultyLevel.NORMAL);
+        Field playerField = GameEngine.class.getDeclaredField("player");
+        playerField.setAccessible(true);
+        playerField.set(GameEngine.getInstance(), player);
+
+        List<Level> levels = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            levels.add(new Level(i));
+        }
+
+        player.setName("tester");
+        player.setLocation(levels.get(0).getStartingRoom());
+        player.restoreProgress(42, levels.get(0).getStartingRoom(), new HashSet<>(player.getVisitedRooms()),
+            List.of(new HealingItem("Health Potion", "A potion", 8, false),
+                    new ToolItem("Torch", "A torch", 5, false, true)),
+            player.getActiveEffects());
+
+        state = new GameState();
+        state.setPlayer(player);
+        state.setLevels(levels);
+        state.setCurrentLevelIndex(0);
+    }
+
+    @Test
+    void testRoundTripPreservesPlayer() throws IOException {
+        GameState restored = GameStateCodec.decode(GameStateCodec.encode(state));
+        Player player = restored.getPlayer();
+
+        assertEquals("tester", player.getName());
+        assertEquals(42, player.getPowerPoints());
+        assertEquals(Player.DifficultyLevel.NORMAL, player.getDifficultyLevel());
+        assertEquals("0,0", player.getLocation().getRoomId());
+        assertSame(restored.getLevels().get(0).getStartingRoom(), player.getLocation());
+        assertEquals(2, player.getInventorySize());
+        assertTrue(player.getInventory().get(1) instanceof ToolItem tool && tool.canRevealPassages());
+    }
+
+    @Test
+    void testRoundTripPreservesRoomsAndConnections() throws IOException {
+        GameState restored = GameStateCodec.decode(GameStateCodec.encode(state));
+
+        assertEquals(state.getLevels().size(), restored.getLevels().size());
+        for (int i = 0; i < state.getLevels().size(); i++) {
+            Level original = state.getLevels().get(i);
+            Level copy = restored.getLevels().get(i);
+            assertEquals(original.getRooms().keySet(), copy.getRooms().keySet());
+            for (Room room : original.getRooms().values()) {
+                Room restoredRoom = copy.getRoom(room.getRoomId());
+                assertEquals(new HashSet<>(room.getExits()), new HashSet<>(restoredRoom.getExits()));
+                assertEquals(room.getDescription(), restoredRoom.getDescription());
+                assertEquals(room.hasBarrier(), restoredRoom.hasBarrier());
+            }
+            assertEquals(original.getTreasureRoom().getRoomId(), copy.getTreasureRoom().getRoomId());
+        }
+    }
+
+    @Test
+    void testDeltaContainsOnlyChangedRooms() throws IOException {
+        byte[] base = GameStateCodec.encode(state);
+        List<Level> baseLevels = new ArrayList<>(state.getLevels());
+        state.getLevels().forEach(Level::markClean);
+        state.getPlayer().clearDirty();
+
+        Level level = state.getLevels().get(0);
+        Room room = level.getStartingRoom();
+        room.addItem(new HealingItem("Bandages", "Clean bandages", 4, false));
+        state.getPlayer().adjustPowerPoints(-2);
+
+        Map<Level, List<Room>> changed = Map.of(level, level.getDirtyRooms());
+        assertEquals(List.of(room), changed.get(level));
+        byte[] delta = GameStateCodec.encodeDelta(state, baseLevels, changed, state.getPlayer().isDirty());
+        assertTrue(GameStateCodec.isDeltaFormat(delta));
+        assertTrue(delta.length < base.length / 4, "Delta should be much smaller than a full save");
+
+        GameState restored = GameStateCodec.applyDelta(GameStateCodec.decode(base), delta);
+        Room restoredRoom = restored.getLevels().get(0).getRoom(room.getRoomId());
+        assertNotNull(restoredRoom.findItemByName("Bandages"));
+        assertSame(restoredRoom, restored.getPlayer().getLocation());
+        assertEquals(40, restored.getPlayer().getPowerPoints());
+        for (String exit : room.getExits()) {
+            Room neighbour = restored.getLevels().get(0).getRoom(room.getConnectedRoom(exit).getRoomId());
+            assertTrue(neighbour.getExits().stream().anyMatch(back -> neighbour.getConnectedRoom(back) == restoredRoom));
+        }
+    }
+
+    @Test
+    void testDecodeLoadsOnlyLevelsThePlayerIsIn() throws IOException {
+        byte[] encoded = GameStateCodec.encode(state);
+        GameState restored = GameStateCodec.decode(encoded);
+        List<Level> levels = restored.getLevels();
+
+        assertTrue(LazyLevelList.isLoaded(levels, 0));
+        assertFalse(LazyLevelList.isLoaded(levels, 1));
+        assertFalse(LazyLevelList.isLoaded(levels, 2));
+
+        // Undecoded levels are copied into the next save as stored
+        assertArrayEquals(encoded, GameStateCodec.encode(restored));
+        assertFalse(LazyLevelList.isLoaded(levels, 2));
+
+        Level original = state.getLevels().get(2);
+        assertEquals(original.getRooms().keySet(), levels.get(2).getRooms().keySet());
+        assertTrue(LazyLevelList.isLoaded(levels, 2));
+    }
+
+    @Test
+    void testRejectsUnknownData() {
+        assertFalse(GameStateCodec.isBinaryFormat(new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5}));
+        assertThrows(IOException.class, () -> GameStateCodec.decode(new byte[]{'F', 'D', 'S', 'V', 99}));
+    }
+}
@@ -0,0 +1,211 @@
+package com.game.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.database.DeltaSaveTracker;
+import com.game.database.GameDatabaseService;
+import com.game.database.GameState;
+import com.game.database.SaveGamePipeline;
+import com.game.database.SaveSnapshot;
+import com.game.database.SaveStore;
+import com.game.database.SaveStores;
+import com.game.database.SaveSummary;
+import com.game.database.SegmentFileSaveStore;
+import com.game.database.TestGames;
+
+import javax.swing.SwingUtilities;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class AutosaveServiceTest {
+    // The default number of autosave slots
+    private static final int SLOTS = 3;
+    private static final int MIN_INTERVAL_MS = 50;
+    // Comfortably longer than the interval, so any save the timer would take has been taken
+    private static final long SETTLE_MILLIS = 300;
+
+    @TempDir
+    Path segmentDirectory;
+
+    @BeforeEach
+    void setUp() {
+        TestGames.initialize();
+    }
+
+    @Test
+    void testAutosavePrefixIsScopedToRun() {
+        GameState state = TestGames.newGame(null, 1);
+        SaveSnapshot first = SaveSnapshot.captureAutosave(state, null, "run1");
+        SaveSnapshot second = SaveSnapshot.captureAutosave(state, null, "run2");
+
+        assertTrue(first.getSaveName().startsWith(SaveSnapshot.autosavePrefix("run1")));
+        assertTrue(second.getSaveName().startsWith(SaveSnapshot.autosavePrefix("run2")));
+        assertFalse(first.getSaveName().contains("null"));
+    }
+
+    @Test
+    void testReferencedSaveIsNotDeleted() {
+        SaveStore store = new GameDatabaseService();
+        List<Long> ids = writeAutosaves(store, TestGames.uniqueName("referenced"), 2);
+
+        assertFalse(store.deleteUnreferencedSave(ids.get(0)));
+        assertTrue(store.deleteUnreferencedSave(ids.get(1)));
+        assertTrue(store.deleteUnreferencedSave(ids.get(0)));
+        assertFalse(store.deleteUnreferencedSave(ids.get(0)));
+    }
+
+    @Test
+    void testReclaimWaitsForRebaseInDatabase() {
+        assertReclaimWaitsForRebase(new GameDatabaseService());
+    }
+
+    @Test
+    void testReclaimWaitsForRebaseInSegmentFiles() {
+        assertReclaimWaitsForRebase(new SegmentFileSaveStore(segmentDirectory));
+    }
+
+    @Test
+    void testRingPrunesEarlierRuns() {
+        SaveStore store = new SegmentFileSaveStore(segmentDirectory);
+        String earlierRun = TestGames.uniqueName("earlier");
+        String run = TestGames.uniqueName("run");
+        writeAutosaves(store, earlierRun, SLOTS + 2);
+        List<Long> ids = writeAutosaves(store, run, SLOTS + 2);
+        store.compactSave(ids.get(ids.size() - SLOTS));
+
+        assertEquals(SLOTS + 4, AutosaveService.reclaimSlots(store, SaveSnapshot.AUTOSAVE_PREFIX));
+        assertTrue(store.findSavesByNamePrefix(SaveSnapshot.autosavePrefix(earlierRun)).isEmpty());
+        List<Long> kept = store.findSavesByNamePrefix(SaveSnapshot.AUTOSAVE_PREFIX).stream()
+            .map(SaveSummary::getSaveId).toList();
+        assertEquals(ids.subList(2, ids.size()), kept);
+    }
+
+    @Test
+    void testBurstOfTriggersIsOneAutosave() throws Exception {
+        AutosaveService service = startRun();
+        SwingUtilities.invokeAndWait(() -> {
+            service.request(AutosaveService.Trigger.LEVEL_TRANSITION);
+            service.request(AutosaveService.Trigger.COMMAND_INTERVAL);
+            for (int i = 0; i < 10; i++) {
+                service.commandProcessed();
+            }
+        });
+
+        assertEquals(1, awaitAutosaves(service, 1));
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(1, countAutosaves(service), "Triggers before the save must be merged into it");
+
+        // Commands start counting again after the save
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 5; i++) {
+                service.commandProcessed();
+            }
+        });
+        assertEquals(2, awaitAutosaves(service, 2));
+    }
+
+    @Test
+    void testHeldAutosaveWaitsForRelease() throws Exception {
+        AutosaveService service = startRun();
+        SwingUtilities.invokeAndWait(() -> {
+            service.hold();
+            service.request(AutosaveService.Trigger.LEVEL_TRANSITION);
+        });
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(0, countAutosaves(service));
+
+        SwingUtilities.invokeAndWait(service::release);
+        assertEquals(1, awaitAutosaves(service, 1));
+    }
+
+    @Test
+    void testResetDropsPendingAutosave() throws Exception {
+        AutosaveService service = startRun();
+        String oldRun = service.getRunId();
+        SwingUtilities.invokeAndWait(() -> {
+            service.request(AutosaveService.Trigger.LEVEL_TRANSITION);
+            service.reset();
+        });
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertNotEquals(oldRun, service.getRunId());
+        assertEquals(0, countAutosaves(service));
+        SaveGamePipeline.getInstance().awaitIdle();
+        assertTrue(SaveStores.getDefault().findSavesByNamePrefix(SaveSnapshot.autosavePrefix(oldRun)).isEmpty());
+    }
+
+    @Test
+    void testDisabledServiceNeverSaves() throws Exception {
+        AutosaveService service = new AutosaveService(false, 0);
+        startRun();
+        SwingUtilities.invokeAndWait(() -> {
+            service.request(AutosaveService.Trigger.LEVEL_TRANSITION);
+            for (int i = 0; i < 10; i++) {
+                service.commandProcessed();
+            }
+        });
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(0, countAutosaves(service));
+    }
+
+    /**
+     * Starts a game in the engine, which autosaves capture, and a service for it.
+     */
+    private static AutosaveService startRun() {
+        GameEngine engine = GameEngine.getInstance();
+        engine.startGame();
+        engine.processCommand("2");
+        return new AutosaveService(true, MIN_INTERVAL_MS);
+    }
+
+    private static int countAutosaves(AutosaveService service) {
+        SaveGamePipeline.getInstance().awaitIdle();
+        return SaveStores.getDefault().findSavesByNamePrefix(SaveSnapshot.autosavePrefix(service.getRunId())).size();
+    }
+
+    private static int awaitAutosaves(AutosaveService service, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int count = countAutosaves(service);
+        while (count < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            count = countAutosaves(service);
+        }
+        return count;
+    }
+
+    private static void assertReclaimWaitsForRebase(SaveStore store) {
+        String run = TestGames.uniqueName("reclaim");
+        String prefix = SaveSnapshot.autosavePrefix(run);
+        List<Long> ids = writeAutosaves(store, run, SLOTS + 2);
+
+        // Every older autosave is still the base of a newer one, so none can go yet
+        assertEquals(0, AutosaveService.reclaimSlots(store, prefix));
+        assertEquals(SLOTS + 2, store.findSavesByNamePrefix(prefix).size());
+
+        // Once the oldest kept autosave is a full save, the ones before it are unreferenced
+        store.compactSave(ids.get(2));
+        assertEquals(2, AutosaveService.reclaimSlots(store, prefix));
+
+        List<Long> kept = store.findSavesByNamePrefix(prefix).stream().map(SaveSummary::getSaveId).toList();
+        assertEquals(ids.subList(2, ids.size()), kept);
+        for (long id : kept) {
+            assertNotNull(store.loadGameState(id, null), "Autosave " + id + " should still load");
+        }
+    }
+
+    private static List<Long> writeAutosaves(SaveStore store, String run, int count) {
+        GameState state = TestGames.newGame(run, 7);
+        DeltaSaveTracker tracker = new DeltaSaveTracker();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(store.writeSnapshot(SaveSnapshot.captureAutosave(state, tracker, run)).getSaveId());
+        }
+        return ids;
+    }
+}
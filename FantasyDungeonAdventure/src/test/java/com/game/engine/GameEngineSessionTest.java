@@ -0,0 +1,228 @@
+package com.game.engine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.event.GameEvent;
+import com.game.event.GameEventDispatcher;
+import com.game.event.GameEventHandler;
+import com.game.event.GameEventType;
+import com.game.player.Player;
+import com.game.room.Room;
+import com.game.util.GameRandom;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class GameEngineSessionTest {
+    private static final int THREADS = 8;
+    private static final int COMMANDS = 300;
+    private static final String ERROR_MESSAGE = "An error occurred processing your command.";
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        LogManager.initialize();
+    }
+
+    @Test
+    void testSessionsPlaySeparateGames() {
+        GameEngine window = GameEngine.getInstance();
+        Player windowPlayer = window.getPlayer();
+        GameEngine first = start(new ScriptedFrontEnd(), 1);
+        GameEngine second = start(new ScriptedFrontEnd(), 2);
+
+        assertNotSame(first, second);
+        assertNotSame(first.getPlayer(), second.getPlayer());
+        assertTrue(first.isRunning());
+        assertTrue(second.isRunning());
+        assertSame(windowPlayer, window.getPlayer(), "Starting a session must leave the window's game alone");
+
+        Room secondRoom = second.getPlayer().getLocation();
+        String exit = first.getPlayer().getLocation().getExits().get(0);
+        first.processCommand(exit);
+        assertTrue(first.getLevels().get(0).getRooms().containsValue(first.getPlayer().getLocation()));
+        assertSame(secondRoom, second.getPlayer().getLocation());
+    }
+
+    @Test
+    void testSessionEventsStayInSession() {
+        RecordingHandler windowHandler = new RecordingHandler();
+        GameEventDispatcher.getInstance().registerHandler(windowHandler);
+        RecordingHandler sessionHandler = new RecordingHandler();
+        GameEngine session = GameEngine.newSession(new ScriptedFrontEnd());
+        session.addEventHandler(sessionHandler);
+
+        GameRandom.withSeed(3, () -> {
+            session.startGame();
+            session.processCommand("2");
+            return null;
+        });
+        session.processCommand("look");
+        session.processCommand("inventory");
+        windowHandler.stop();
+
+        assertTrue(windowHandler.messages().isEmpty(), "Session events reached the window: " + windowHandler.messages());
+        List<String> messages = sessionHandler.messages();
+        assertTrue(messages.stream().anyMatch(message -> message.contains("Choose Your Difficulty")));
+        assertTrue(messages.stream().anyMatch(message ->
+            message.contains(session.getPlayer().getLocation().getDetailedDescription())));
+        assertFalse(messages.contains(ERROR_MESSAGE));
+    }
+
+    @Test
+    void testFrontEndAnswersInsteadOfDialogs() {
+        ScriptedFrontEnd frontEnd = new ScriptedFrontEnd();
+        GameEngine session = start(frontEnd, 4);
+
+        session.processCommand("save");
+        session.processCommand("quit");
+
+        assertEquals(List.of("requestSave", "confirmQuit", "quit"), frontEnd.calls);
+        assertFalse(session.isRunning());
+    }
+
+    @Test
+    void testConcurrentSessionsDoNotInterfere() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                long seed = 100 + i;
+                results.add(executor.submit(() -> play(seed)));
+            }
+            for (Future<String> result : results) {
+                assertNull(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Walks a session through its dungeon, checking after every command that the player is in
+     * a room of the session's own level.
+     *
+     * @return what went wrong, or null
+     */
+    private static String play(long seed) {
+        RecordingHandler handler = new RecordingHandler();
+        GameEngine session = GameEngine.newSession(new ScriptedFrontEnd());
+        session.addEventHandler(handler);
+        GameRandom.withSeed(seed, () -> {
+            session.startGame();
+            session.processCommand("2");
+            return null;
+        });
+        for (int i = 0; i < COMMANDS && session.isRunning(); i++) {
+            List<String> exits = session.getPlayer().getLocation().getExits();
+            session.processCommand(i % 3 == 2 ? "look" : exits.get(i % exits.size()));
+            Room location = session.getPlayer().getLocation();
+            if (!session.getLevels().get(session.getCurrentLevelIndex()).getRooms().containsValue(location)) {
+                return "Seed " + seed + ": player left the session's level after command " + i;
+            }
+        }
+        return handler.messages().contains(ERROR_MESSAGE) ? "Seed " + seed + ": a command failed" : null;
+    }
+
+    private static GameEngine start(GameFrontEnd frontEnd, long seed) {
+        GameEngine session = GameEngine.newSession(frontEnd);
+        GameRandom.withSeed(seed, () -> {
+            session.startGame();
+            session.processCommand("2");
+            return null;
+        });
+        return session;
+    }
+
+    /**
+     * Goes on to every level, gives up after dying, and records what it was asked.
+     */
+    private static final class ScriptedFrontEnd implements GameFrontEnd {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public boolean restartLevel() {
+            calls.add("restartLevel");
+            return false;
+        }
+
+        @Override
+        public boolean confirmQuit() {
+            calls.add("confirmQuit");
+            return true;
+        }
+
+        @Override
+        public boolean proceedToLevel(int level) {
+            calls.add("proceedToLevel");
+            return true;
+        }
+
+        @Override
+        public String askLeaderboardName() {
+            calls.add("askLeaderboardName");
+            return null;
+        }
+
+        @Override
+        public boolean playAgain(String summary) {
+            calls.add("playAgain");
+            return false;
+        }
+
+        @Override
+        public void resetView() {
+            calls.add("resetView");
+        }
+
+        @Override
+        public void clearOutput() {
+            calls.add("clearOutput");
+        }
+
+        @Override
+        public void requestSave() {
+            calls.add("requestSave");
+        }
+
+        @Override
+        public void requestLoad() {
+            calls.add("requestLoad");
+        }
+
+        @Override
+        public void quit() {
+            calls.add("quit");
+        }
+    }
+
+    /**
+     * Keeps the game messages it is given until stopped.
+     */
+    private static final class RecordingHandler implements GameEventHandler {
+        private final List<String> messages = new ArrayList<>();
+        private volatile boolean stopped;
+
+        void stop() {
+            stopped = true;
+        }
+
+        synchronized List<String> messages() {
+            return new ArrayList<>(messages);
+        }
+
+        @Override
+        public synchronized void handleEvent(GameEvent event) {
+            if (!stopped && event.getType() == GameEventType.GAME_MESSAGE) {
+                messages.add(String.valueOf(event.getData()));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.game.event;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GameEventDispatcherTest {
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 2000;
+
+    @Test
+    void testConcurrentLookupsShareOneInstance() throws Exception {
+        LogManager.initialize();
+        List<Object> dispatchers = runConcurrently(GameEventDispatcher::getInstance);
+        List<Object> engines = runConcurrently(GameEngine::getInstance);
+
+        for (Object dispatcher : dispatchers) {
+            assertSame(GameEventDispatcher.getInstance(), dispatcher);
+        }
+        for (Object engine : engines) {
+            assertSame(GameEngine.getInstance(), engine);
+        }
+    }
+
+    @Test
+    void testEventsReachHandlersWhileOthersRegister() throws Exception {
+        GameEventDispatcher dispatcher = GameEventDispatcher.getInstance();
+        // Only this test's events are counted, whatever else is registered
+        Object marker = new Object();
+        CountingHandler counter = new CountingHandler(marker);
+        dispatcher.registerHandler(counter);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        dispatcher.fireEvent(GameEventType.SECRET_DISCOVERED, marker);
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                // Registering while events are fired must not disturb their delivery
+                for (int i = 0; i < 200; i++) {
+                    dispatcher.registerHandler(new CountingHandler(new Object()));
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * EVENTS_PER_THREAD, counter.count.get());
+    }
+
+    @Test
+    void testHandlerRegisteredConcurrentlyIsAddedOnce() throws Exception {
+        GameEventDispatcher dispatcher = GameEventDispatcher.getInstance();
+        Object marker = new Object();
+        CountingHandler counter = new CountingHandler(marker);
+
+        runConcurrently(() -> {
+            dispatcher.registerHandler(counter);
+            return counter;
+        });
+        dispatcher.fireEvent(GameEventType.SECRET_DISCOVERED, marker);
+
+        assertEquals(1, counter.count.get());
+    }
+
+    private static List<Object> runConcurrently(Callable<Object> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class CountingHandler implements GameEventHandler {
+        private final Object marker;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingHandler(Object marker) {
+            this.marker = marker;
+        }
+
+        @Override
+        public Set<GameEventType> getHandledEventTypes() {
+            return Set.of(GameEventType.SECRET_DISCOVERED);
+        }
+
+        @Override
+        public void handleEvent(GameEvent event) {
+            if (event.getData() == marker) {
+                count.incrementAndGet();
+            }
+        }
+    }
+}
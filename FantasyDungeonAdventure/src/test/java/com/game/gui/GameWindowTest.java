@@ -23,7 +23,7 @@ class GameWindowTest {
     private GameWindow gameWindow;
     private GameEngine gameEngine;
     private static final int TIMEOUT_SECONDS = 10;
-    private JTextArea outputArea;
+    private OutputConsole outputArea;
 
     @BeforeEach
     void setUp() throws IOException, InterruptedException, InvocationTargetException {
@@ -38,7 +38,7 @@ class GameWindowTest {
 
                     Field outputAreaField = GameWindow.class.getDeclaredField("outputArea");
                     outputAreaField.setAccessible(true);
-                    outputArea = (JTextArea) outputAreaField.get(gameWindow);
+                    outputArea = (OutputConsole) outputAreaField.get(gameWindow);
 
                     gameEngine.startGame();
                     gameEngine.processCommand("2"); // Select normal difficulty
@@ -138,6 +138,17 @@ class GameWindowTest {
         assertTrue(resetLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Test timed out");
     }
 
+    @Test
+    void testClearKeepsItsPlaceAmongQueuedMessages() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            gameWindow.displayMessage("Before the clear");
+            gameWindow.clearOutput();
+            assertEquals("", outputArea.getText(), "A clear on the EDT takes effect at once");
+            gameWindow.displayMessage("After the clear");
+        });
+        assertEquals("After the clear", awaitOutput().trim());
+    }
+
     @Test
     void testMapPanelAndInventoryPanel() throws Exception {
         CountDownLatch testLatch = new CountDownLatch(1);
@@ -219,4 +230,18 @@ class GameWindowTest {
         });
         assertTrue(testLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Test timed out");
     }
+
+    /**
+     * Waits for queued output to be appended, which happens on a later frame.
+     * @return the output area's text once it has some
+     */
+    private String awaitOutput() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        String[] text = new String[1];
+        do {
+            Thread.sleep(20);
+            SwingUtilities.invokeAndWait(() -> text[0] = outputArea.getText());
+        } while (text[0].isEmpty() && System.nanoTime() < deadline);
+        return text[0];
+    }
 }
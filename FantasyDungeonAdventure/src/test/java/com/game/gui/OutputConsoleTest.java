@@ -0,0 +1,122 @@
+package com.game.gui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Font;
+import java.awt.event.MouseEvent;
+
+class OutputConsoleTest {
+    private static final int SCROLLBACK = 20;
+
+    private OutputConsole console;
+
+    @BeforeEach
+    void setUp() {
+        console = new OutputConsole(SCROLLBACK);
+        // Not in a window, so there is no font to inherit
+        console.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    }
+
+    @Test
+    void testFullBufferDropsOldestTenth() {
+        for (int i = 0; i < SCROLLBACK; i++) {
+            console.append("line " + i + "\n");
+        }
+        assertEquals(SCROLLBACK, console.getLineCount());
+
+        console.append("line " + SCROLLBACK + "\n");
+
+        // Two lines dropped in one go, one added
+        assertEquals(SCROLLBACK - 1, console.getLineCount());
+        assertEquals(lines(2, SCROLLBACK), console.getText());
+        // Another line fits without trimming again
+        console.append("line " + (SCROLLBACK + 1) + "\n");
+        assertEquals(lines(2, SCROLLBACK + 1), console.getText());
+    }
+
+    @Test
+    void testAppendContinuesOpenLine() {
+        console.append("You see ");
+        console.append("a door");
+        assertEquals(1, console.getLineCount());
+        assertEquals("You see a door", console.getText());
+
+        console.append(".\nIt is locked.\n");
+        console.append("> ");
+        assertEquals(3, console.getLineCount());
+        assertEquals("You see a door.\nIt is locked.\n> ", console.getText());
+
+        console.append("\n");
+        assertEquals(3, console.getLineCount(), "A newline only closes the open line");
+        assertEquals("You see a door.\nIt is locked.\n> \n", console.getText());
+    }
+
+    @Test
+    void testOpenLineContinuesAcrossTrim() {
+        for (int i = 0; i < SCROLLBACK - 1; i++) {
+            console.append("line " + i + "\n");
+        }
+        console.append("line " + (SCROLLBACK - 1));
+        console.append(" continued\nline " + SCROLLBACK + "\n");
+
+        assertEquals(SCROLLBACK - 1, console.getLineCount());
+        assertEquals(lines(2, SCROLLBACK - 2) + "line " + (SCROLLBACK - 1) + " continued\nline " + SCROLLBACK + "\n",
+            console.getText());
+    }
+
+    @Test
+    void testSelectionFollowsLinesAcrossTrim() {
+        for (int i = 0; i < SCROLLBACK; i++) {
+            console.append("line " + i + "\n");
+        }
+        select(5, 7);
+        assertEquals(lines(5, 7), console.getSelectedText());
+
+        console.append("line " + SCROLLBACK + "\n");
+
+        assertEquals(lines(5, 7), console.getSelectedText(), "The selection must stay on the same lines");
+    }
+
+    @Test
+    void testSelectionOfDroppedLinesIsCleared() {
+        for (int i = 0; i < SCROLLBACK; i++) {
+            console.append("line " + i + "\n");
+        }
+        select(0, 1);
+
+        console.append("line " + SCROLLBACK + "\n");
+
+        assertNull(console.getSelectedText());
+        console.setText("");
+        assertEquals(0, console.getLineCount());
+        assertEquals("", console.getText());
+    }
+
+    /**
+     * Selects the given rows by dragging the mouse over them.
+     */
+    private void select(int fromRow, int toRow) {
+        int height = console.getFontMetrics(console.getFont()).getHeight();
+        mouse(MouseEvent.MOUSE_PRESSED, fromRow, height);
+        mouse(MouseEvent.MOUSE_DRAGGED, toRow, height);
+    }
+
+    private void mouse(int id, int row, int height) {
+        int y = 4 + row * height + height / 2;
+        console.dispatchEvent(new MouseEvent(console, id, System.currentTimeMillis(), MouseEvent.BUTTON1_DOWN_MASK,
+            1, y, 1, false, MouseEvent.BUTTON1));
+    }
+
+    /**
+     * @return the lines numbered from and to, inclusive, each ended by a newline
+     */
+    private static String lines(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+}
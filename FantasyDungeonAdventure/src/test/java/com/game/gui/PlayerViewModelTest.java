@@ -0,0 +1,137 @@
+package com.game.gui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.item.HealingItem;
+import com.game.item.Item;
+import com.game.item.ToolItem;
+import com.game.player.Inventory;
+import com.game.player.Player;
+import com.game.room.Room;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class PlayerViewModelTest {
+    private PlayerViewModel model;
+    private Player player;
+    private Room room;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LogManager.initialize();
+        // Rooms and items fire their events through the engine
+        GameEngine.getInstance();
+        model = new PlayerViewModel();
+        room = Room.restore("0,0", "Room", "A room.", "A plain room.");
+        player = new Player(Player.DifficultyLevel.NORMAL);
+        player.setLocation(room);
+    }
+
+    @Test
+    void testFirstUpdateReportsEveryField() {
+        PlayerViewModel.Snapshot snapshot = model.update(player);
+
+        assertNotNull(snapshot);
+        for (PlayerViewModel.Field field : PlayerViewModel.Field.values()) {
+            assertTrue(snapshot.getVersion(field) > 0, field + " was not reported");
+        }
+        assertEquals(75, snapshot.getPowerPoints());
+        assertEquals("0,0", snapshot.getRoomId());
+        assertNull(model.update(player), "Nothing changed since the last update");
+    }
+
+    @Test
+    void testOnlyChangedFieldsAreBumped() {
+        PlayerViewModel.Snapshot before = model.update(player);
+
+        player.adjustPowerPoints(5);
+        PlayerViewModel.Snapshot after = model.update(player);
+        assertEquals(Set.of(PlayerViewModel.Field.POWER_POINTS), bumped(before, after));
+        assertEquals(80, after.getPowerPoints());
+
+        player.adjustPowerPoints(-40);
+        PlayerViewModel.Snapshot wounded = model.update(player);
+        assertEquals(Set.of(PlayerViewModel.Field.POWER_POINTS, PlayerViewModel.Field.STATUS),
+            bumped(after, wounded));
+        assertEquals("Critical", wounded.getStatus());
+        // Snapshots are taken, not shared
+        assertEquals(80, after.getPowerPoints());
+    }
+
+    @Test
+    void testInventoryChangesReplayToItemList() {
+        long shown = model.update(player).getVersion(PlayerViewModel.Field.INVENTORY);
+        Item potion = new HealingItem("Health Potion", "A potion", 8, false);
+        Item torch = new ToolItem("Torch", "A torch", 5, false, true);
+        Item bread = new HealingItem("Bread", "Some bread", 4, true);
+        for (Item item : List.of(potion, torch, bread)) {
+            room.addItem(item);
+            player.pickUp(item);
+        }
+        player.dropItem("Torch");
+
+        PlayerViewModel.Snapshot snapshot = model.update(player);
+        assertEquals(2, snapshot.getItemCount());
+        PlayerViewModel.InventoryUpdate update = snapshot.getInventoryChangesSince(shown);
+        assertFalse(update.isReload());
+        assertEquals(4, update.getChanges().size());
+        assertEquals(snapshot.getVersion(PlayerViewModel.Field.INVENTORY), update.getVersion());
+
+        List<Item> shownItems = new ArrayList<>();
+        apply(shownItems, update.getChanges());
+        assertEquals(player.getInventory(), shownItems);
+        assertTrue(snapshot.getInventoryChangesSince(update.getVersion()).getChanges().isEmpty());
+    }
+
+    @Test
+    void testRestoreFallsBackToWholeList() {
+        long shown = model.update(player).getVersion(PlayerViewModel.Field.INVENTORY);
+        List<Item> restored = List.of(new HealingItem("Health Potion", "A potion", 8, false));
+        player.restoreProgress(60, room, player.getVisitedRooms(), restored, player.getActiveEffects());
+
+        PlayerViewModel.InventoryUpdate update = model.update(player).getInventoryChangesSince(shown);
+        assertTrue(update.isReload());
+        assertEquals(restored, update.getItems());
+    }
+
+    @Test
+    void testNewPlayerReportsEveryField() {
+        PlayerViewModel.Snapshot before = model.update(player);
+        Player other = new Player(Player.DifficultyLevel.NORMAL);
+        other.setLocation(room);
+
+        PlayerViewModel.Snapshot after = model.update(other);
+        assertEquals(Set.of(PlayerViewModel.Field.values()), bumped(before, after));
+
+        model.reset();
+        assertNotNull(model.update(other), "A reset must report the player again");
+    }
+
+    private static Set<PlayerViewModel.Field> bumped(PlayerViewModel.Snapshot before, PlayerViewModel.Snapshot after) {
+        Set<PlayerViewModel.Field> fields = new HashSet<>();
+        for (PlayerViewModel.Field field : PlayerViewModel.Field.values()) {
+            if (after.getVersion(field) != before.getVersion(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static void apply(List<Item> items, List<Inventory.Change> changes) {
+        for (Inventory.Change change : changes) {
+            switch (change.getType()) {
+                case ADDED -> items.add(change.getIndex(), change.getItem());
+                case REMOVED -> items.remove(change.getIndex());
+                case UPDATED -> items.set(change.getIndex(), change.getItem());
+            }
+        }
+    }
+}
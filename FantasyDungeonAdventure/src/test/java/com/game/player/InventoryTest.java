@@ -0,0 +1,127 @@
+package com.game.player;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.item.HealingItem;
+import com.game.item.Item;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class InventoryTest {
+    private Inventory inventory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LogManager.initialize();
+        // Inventory changes fire their events through the engine
+        GameEngine.getInstance();
+        inventory = new Inventory(100);
+    }
+
+    @Test
+    void testChangesRecordIndexAndItem() {
+        Item first = item("First");
+        Item second = item("Second");
+        Item third = item("Third");
+        inventory.addItem(first);
+        inventory.addItem(second);
+        inventory.addItem(third);
+        int seen = inventory.getVersion();
+
+        inventory.removeItem(second);
+        inventory.itemUpdated(third);
+        List<Inventory.Change> changes = inventory.getChangesSince(seen);
+
+        assertEquals(2, changes.size());
+        assertChange(changes.get(0), Inventory.Change.Type.REMOVED, 1, second);
+        assertChange(changes.get(1), Inventory.Change.Type.UPDATED, 1, third);
+        assertEquals(seen + 2, inventory.getVersion());
+    }
+
+    @Test
+    void testChangesReplayToItemList() {
+        List<Item> shown = new ArrayList<>();
+        int seen = inventory.getVersion();
+        List<Item> carried = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = item("Item " + i);
+            inventory.addItem(item);
+            carried.add(item);
+        }
+        // From the middle, the end and the front
+        for (int index : new int[] {4, 8, 0}) {
+            inventory.removeItem(carried.remove(index));
+        }
+        inventory.itemUpdated(carried.get(2));
+
+        apply(shown, inventory.getChangesSince(seen));
+        assertEquals(inventory.getItems(), shown);
+        assertTrue(inventory.getChangesSince(inventory.getVersion()).isEmpty());
+    }
+
+    @Test
+    void testFailedChangesAreNotRecorded() {
+        Inventory full = new Inventory(1);
+        full.addItem(item("Only"));
+        int seen = full.getVersion();
+
+        assertFalse(full.addItem(item("Extra")));
+        assertFalse(full.removeItem(item("Missing")));
+        full.itemUpdated(item("Missing"));
+
+        assertEquals(seen, full.getVersion());
+        assertTrue(full.getChangesSince(seen).isEmpty());
+    }
+
+    @Test
+    void testRestoreForgetsEarlierChanges() {
+        inventory.addItem(item("Before"));
+        int seen = inventory.getVersion();
+        inventory.addItem(item("Lost"));
+
+        inventory.restoreItems(List.of(item("Restored")));
+
+        assertNull(inventory.getChangesSince(seen), "Changes before a restore do not lead to the restored list");
+        int restored = inventory.getVersion();
+        inventory.addItem(item("After"));
+        assertEquals(1, inventory.getChangesSince(restored).size());
+    }
+
+    @Test
+    void testOldChangesAreNoLongerKnown() {
+        int seen = inventory.getVersion();
+        for (int i = 0; i < 65; i++) {
+            inventory.addItem(item("Item " + i));
+        }
+
+        assertNull(inventory.getChangesSince(seen), "Only the last 64 changes are kept");
+        assertEquals(64, inventory.getChangesSince(seen + 1).size());
+        assertNull(inventory.getChangesSince(inventory.getVersion() + 1), "A version from the future is unknown");
+    }
+
+    private static Item item(String name) {
+        return new HealingItem(name, "A potion", 5, false);
+    }
+
+    private static void assertChange(Inventory.Change change, Inventory.Change.Type type, int index, Item item) {
+        assertEquals(type, change.getType());
+        assertEquals(index, change.getIndex());
+        assertSame(item, change.getItem());
+    }
+
+    private static void apply(List<Item> items, List<Inventory.Change> changes) {
+        for (Inventory.Change change : changes) {
+            switch (change.getType()) {
+                case ADDED -> items.add(change.getIndex(), change.getItem());
+                case REMOVED -> items.remove(change.getIndex());
+                case UPDATED -> items.set(change.getIndex(), change.getItem());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.game.room;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.item.ToolItem;
+import com.game.item.factory.DefaultItemFactory;
+import com.game.player.Player;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+class RoomTest {
+    private static final Map<String, String> OPPOSITES =
+        Map.of("north", "south", "south", "north", "east", "west", "west", "east");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LogManager.initialize();
+        // Rooms and items fire their events through the engine
+        GameEngine.getInstance();
+    }
+
+    @Test
+    void testRevealedRoomLeadsBack() {
+        for (String open : OPPOSITES.keySet()) {
+            Room room = Room.restore("2,2", "Room", "A room.", "A plain room.");
+            room.setHasHiddenPassages(true);
+            // Leave only one direction for the passage, so the test does not depend on chance
+            for (String direction : OPPOSITES.keySet()) {
+                if (!direction.equals(open)) {
+                    room.connectRoom(direction, Room.restore(direction, "Neighbour", "", ""));
+                }
+            }
+            Player player = playerWithTorch(room);
+
+            Room.RevealResult result = room.revealHiddenPassage(player, new DefaultItemFactory());
+
+            assertTrue(result.isSuccess(), result.getMessage());
+            assertEquals(open, result.getDirection());
+            Room hidden = result.getNewRoom();
+            assertSame(hidden, room.getConnectedRoom(open));
+            assertSame(room, hidden.getConnectedRoom(OPPOSITES.get(open)), "No way back from " + open);
+            assertEquals(List.of(OPPOSITES.get(open)), hidden.getExits());
+        }
+    }
+
+    @Test
+    void testPassageIsRevealedOnlyOnce() {
+        Room room = Room.restore("2,2", "Room", "A room.", "A plain room.");
+        room.setHasHiddenPassages(true);
+        Player player = playerWithTorch(room);
+
+        assertTrue(room.revealHiddenPassage(player, new DefaultItemFactory()).isSuccess());
+        assertFalse(room.hasHiddenPassages());
+        assertFalse(room.revealHiddenPassage(player, new DefaultItemFactory()).isSuccess());
+    }
+
+    private static Player playerWithTorch(Room room) {
+        Player player = new Player(Player.DifficultyLevel.NORMAL);
+        player.setLocation(room);
+        // Reveals only succeed when the tool's use reports true, which it does on its last use
+        ToolItem torch = new ToolItem("Torch", "A torch", 1, false, true);
+        room.addItem(torch);
+        player.pickUp(torch);
+        return player;
+    }
+}
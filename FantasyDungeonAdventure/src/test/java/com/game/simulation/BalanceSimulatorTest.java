@@ -0,0 +1,74 @@
+package com.game.simulation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.player.Player;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+class BalanceSimulatorTest {
+    // Above the simulator's batch size, so the games are split between tasks
+    private static final int GAMES = 100;
+    private static final int MAX_COMMANDS = 150;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        LogManager.initialize();
+    }
+
+    @Test
+    void testSeededRunIsSameOnAnyNumberOfThreads() {
+        List<SimulationResult> single = run(1, 42);
+        List<SimulationResult> parallel = run(4, 42);
+
+        assertEquals(Player.DifficultyLevel.values().length * BotPolicy.values().length, single.size());
+        for (SimulationResult result : single) {
+            assertEquals(GAMES, result.getGames());
+            assertEquals(GAMES, result.getWins() + result.getDeaths() + result.getTimeouts());
+            assertTrue(result.getAverageCommands() <= MAX_COMMANDS);
+        }
+        assertEquals(describe(single), describe(parallel));
+    }
+
+    @Test
+    void testNeighbouringSeedsPlayOtherGames() {
+        assertNotEquals(describe(run(2, 42)), describe(run(2, 43)));
+
+        Set<Long> seeds = new HashSet<>();
+        for (long seed = 0; seed < 4; seed++) {
+            for (int game = 0; game < GAMES; game++) {
+                seeds.add(BalanceSimulator.gameSeed(seed, 0, game));
+            }
+        }
+        assertEquals(4 * GAMES, seeds.size());
+    }
+
+    private static List<SimulationResult> run(int threads, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new BalanceSimulator(pool, seed, MAX_COMMANDS).run(GAMES);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<String> describe(List<SimulationResult> results) {
+        return results.stream().map(BalanceSimulatorTest::describe).toList();
+    }
+
+    private static String describe(SimulationResult result) {
+        return result.getDifficulty() + " " + result.getPolicy()
+            + " games " + result.getGames() + " wins " + result.getWins() + " deaths " + result.getDeaths()
+            + " commands " + result.getCommands() + " rooms " + result.getAverageRoomsExplored()
+            + " levels " + result.getAverageLevelsCompleted() + " puzzles " + result.getAveragePuzzlesSolved()
+            + " power " + Arrays.toString(result.getPowerCurve());
+    }
+}
@@ -0,0 +1,128 @@
+package com.game.simulation;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class LatencyHistogramTest {
+    // Each doubling is split into 64 buckets
+    private static final double PRECISION = 1.0 / 64;
+    private static final double[] PERCENTILES = {0, 1, 10, 50, 90, 99, 99.9, 99.99, 100};
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testSmallDurationsAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 64; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(32, histogram.getPercentile(50));
+        assertEquals(64, histogram.getPercentile(100));
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(32.5, histogram.getMean());
+    }
+
+    @Test
+    void testNegativeDurationCountsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    void testPercentilesAreWithinPrecision() {
+        // Spread over nine orders of magnitude, from nanoseconds to seconds
+        Random random = new Random(1);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(10, random.nextDouble() * 9);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : PERCENTILES) {
+            long exact = values[(int) Math.max(0, Math.ceil(percentile / 100 * values.length) - 1)];
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " " + reported + " below " + exact);
+            assertTrue(reported <= exact + exact * PRECISION, "p" + percentile + " " + reported + " too far above " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+    }
+
+    @Test
+    void testLargeDurationsStayWithinPrecision() {
+        for (long value : new long[] {Long.MAX_VALUE, Long.MAX_VALUE / 3, 1L << 40, (1L << 40) + 1}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(1);
+
+            long reported = histogram.getPercentile(100);
+            assertEquals(value, reported);
+            assertEquals(1, histogram.getPercentile(50));
+        }
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws Exception {
+        int threads = 8;
+        int perThread = 100_000;
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 1; i <= perThread; i++) {
+                        histogram.record(i * 10 + offset);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            // Reading while others record must not disturb them
+            for (int i = 0; i < 100; i++) {
+                histogram.getPercentile(99);
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long count = (long) threads * perThread;
+        assertEquals(count, histogram.getCount());
+        assertEquals(perThread * 10L + threads - 1, histogram.getMax());
+        // Every thread recorded 10..1,000,000 plus its offset, so the totals are known exactly
+        double expectedMean = 10.0 * (perThread + 1) / 2 + (threads - 1) / 2.0;
+        assertEquals(expectedMean, histogram.getMean(), 1e-9);
+        long median = histogram.getPercentile(50);
+        assertTrue(Math.abs(median - perThread * 5.0) <= perThread * 5.0 * PRECISION, "Median " + median);
+    }
+}
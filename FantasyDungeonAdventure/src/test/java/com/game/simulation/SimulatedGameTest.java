@@ -0,0 +1,135 @@
+package com.game.simulation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.item.Item;
+import com.game.item.ToolItem;
+import com.game.player.Player;
+import com.game.puzzle.Puzzle;
+import com.game.room.Room;
+import com.game.util.GameRandom;
+import com.game.util.LogManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class SimulatedGameTest {
+    private static final int SEEDS = 20;
+    private static final int MAX_COMMANDS = 80;
+    // Scripts stop at this, so no room's traps can end the game in a dialog
+    private static final int SAFE_POWER = 40;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        LogManager.initialize();
+    }
+
+    /**
+     * Plays a scripted game in the simulator, replays the same commands in the engine under the
+     * same seed, and compares the game after every command. The script never enters a treasure
+     * room and stops before the player could die, as the engine asks the player about both in
+     * dialogs. It neither uses nor drops items: the engine removes them from a copy of the
+     * inventory and so keeps them, while the simulator removes them as the inventory intends.
+     */
+    @Test
+    void testSimulatorFollowsEngineRules() {
+        int played = 0;
+        for (long seed = 1; seed <= SEEDS; seed++) {
+            long gameSeed = seed;
+            List<String> commands = new ArrayList<>();
+            List<String> simulated = GameRandom.withSeed(gameSeed, () -> playScript(gameSeed, commands));
+            List<String> engine = GameRandom.withSeed(gameSeed, () -> replayInEngine(commands));
+
+            played += commands.size();
+            for (int i = 0; i < simulated.size(); i++) {
+                assertEquals(simulated.get(i), engine.get(i),
+                    "Seed " + seed + " differs after command " + i + ": " + (i > 0 ? commands.get(i - 1) : "start"));
+            }
+        }
+        assertTrue(played > SEEDS * 10, "Scripts too short to compare: " + played + " commands");
+    }
+
+    private static List<String> playScript(long seed, List<String> commands) {
+        Random choices = new Random(seed);
+        SimulatedGame game = new SimulatedGame(Player.DifficultyLevel.NORMAL);
+        List<String> states = new ArrayList<>();
+        states.add(describe(game.getPlayer(), game.getLevelIndex()));
+
+        while (game.isRunning() && commands.size() < MAX_COMMANDS
+                && game.getPlayer().getPowerPoints() > SAFE_POWER) {
+            String command = chooseCommand(game.getPlayer(), choices);
+            commands.add(command);
+            game.processCommand(command);
+            states.add(describe(game.getPlayer(), game.getLevelIndex()));
+        }
+        return states;
+    }
+
+    private static List<String> replayInEngine(List<String> commands) {
+        GameEngine engine = GameEngine.getInstance();
+        engine.startGame();
+        engine.processCommand("2");
+        List<String> states = new ArrayList<>();
+        states.add(describe(engine.getPlayer(), engine.getCurrentLevelIndex()));
+        for (String command : commands) {
+            engine.processCommand(command);
+            states.add(describe(engine.getPlayer(), engine.getCurrentLevelIndex()));
+        }
+        return states;
+    }
+
+    /**
+     * Picks a command from the game as it stands. Chance comes from the test's own generator,
+     * so the game's draws are the same in the simulator and the engine.
+     */
+    private static String chooseCommand(Player player, Random choices) {
+        Room room = player.getLocation();
+        Puzzle puzzle = room.getPuzzle();
+        if (puzzle != null && !puzzle.isSolved()) {
+            return "solve " + (choices.nextInt(4) > 0 ? puzzle.getAnswer() : "wrong");
+        }
+        if (!room.getContents().isEmpty() && !player.isInventoryFull() && choices.nextBoolean()) {
+            return "pickup " + room.getContents().get(0).getName().toLowerCase();
+        }
+        if (room.hasHiddenPassages() && player.getInventory().stream()
+                .anyMatch(item -> item instanceof ToolItem tool && tool.canRevealPassages())) {
+            return "reveal";
+        }
+        List<String> exits = new ArrayList<>();
+        for (String exit : room.getExits()) {
+            if (!room.getConnectedRoom(exit).hasTreasure()) {
+                exits.add(exit);
+            }
+        }
+        if (exits.isEmpty()) {
+            return "look";
+        }
+        return "go " + exits.get(choices.nextInt(exits.size()));
+    }
+
+    private static String describe(Player player, int levelIndex) {
+        StringBuilder text = new StringBuilder()
+            .append("level ").append(levelIndex)
+            .append(", room ").append(player.getLocation().getRoomId())
+            .append(", power ").append(player.getPowerPoints())
+            .append(", visited ").append(player.getVisitedRooms().size())
+            .append(", inventory");
+        for (Item item : player.getInventory()) {
+            text.append(' ').append(item.getName());
+        }
+        text.append(", room contents");
+        for (Item item : player.getLocation().getContents()) {
+            text.append(' ').append(item.getName());
+        }
+        Puzzle puzzle = player.getLocation().getPuzzle();
+        if (puzzle != null) {
+            text.append(", puzzle ").append(puzzle.isSolved() ? "solved" : "open");
+        }
+        return text.toString();
+    }
+}
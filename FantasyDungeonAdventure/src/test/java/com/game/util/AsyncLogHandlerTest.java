@@ -0,0 +1,181 @@
+package com.game.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+class AsyncLogHandlerTest {
+    // Written once the batch in progress when the record was dropped is done
+    private static final String DROPPED_WARNING = "1 log records were dropped because the log queue was full";
+    private static final AsyncLogHandler.OverflowPolicy[] DROPPING_POLICIES =
+        {AsyncLogHandler.OverflowPolicy.DROP_NEWEST, AsyncLogHandler.OverflowPolicy.DROP_OLDEST};
+
+    @Test
+    void testDropNewestKeepsQueuedRecords() throws InterruptedException {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = fillQueue(AsyncLogHandler.OverflowPolicy.DROP_NEWEST, target);
+
+        handler.publish(info("overflow"));
+        target.open();
+        handler.close();
+
+        assertEquals(List.of("busy", DROPPED_WARNING, "queued 1", "queued 2"), target.messages());
+    }
+
+    @Test
+    void testDropOldestMakesRoomForNewRecord() throws InterruptedException {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = fillQueue(AsyncLogHandler.OverflowPolicy.DROP_OLDEST, target);
+
+        handler.publish(info("overflow"));
+        target.open();
+        handler.close();
+
+        assertEquals(List.of("busy", DROPPED_WARNING, "queued 2", "overflow"), target.messages());
+    }
+
+    @Test
+    void testBlockWaitsForRoom() throws InterruptedException {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = fillQueue(AsyncLogHandler.OverflowPolicy.BLOCK, target);
+
+        Thread logger = publishInBackground(handler, info("overflow"));
+        assertStillWaiting(logger);
+        target.open();
+        logger.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(logger.isAlive());
+        handler.close();
+
+        assertEquals(List.of("busy", "queued 1", "queued 2", "overflow"), target.messages());
+    }
+
+    @Test
+    void testWarningIsNeverDropped() throws InterruptedException {
+        for (AsyncLogHandler.OverflowPolicy policy : DROPPING_POLICIES) {
+            RecordingHandler target = new RecordingHandler();
+            AsyncLogHandler handler = fillQueue(policy, target);
+
+            Thread logger = publishInBackground(handler, new LogRecord(Level.WARNING, "warning"));
+            assertStillWaiting(logger);
+            target.open();
+            logger.join(TimeUnit.SECONDS.toMillis(5));
+            handler.close();
+
+            assertEquals(List.of("busy", "queued 1", "queued 2", "warning"), target.messages(), policy.toString());
+        }
+    }
+
+    @Test
+    void testQueuedWarningIsNeverEvicted() throws InterruptedException {
+        for (AsyncLogHandler.OverflowPolicy policy : DROPPING_POLICIES) {
+            RecordingHandler target = new RecordingHandler();
+            AsyncLogHandler handler = fillQueue(policy, target, new LogRecord(Level.SEVERE, "severe"), info("queued"));
+
+            handler.publish(info("overflow"));
+            target.open();
+            handler.close();
+
+            String kept = policy == AsyncLogHandler.OverflowPolicy.DROP_OLDEST ? "overflow" : "queued";
+            assertEquals(List.of("busy", DROPPED_WARNING, "severe", kept), target.messages(), policy.toString());
+        }
+    }
+
+    @Test
+    void testCloseWritesQueuedRecordsAndClosesTargets() {
+        RecordingHandler target = new RecordingHandler();
+        target.open();
+        AsyncLogHandler handler = new AsyncLogHandler(1000, AsyncLogHandler.OverflowPolicy.DROP_NEWEST, target);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            handler.publish(info("record " + i));
+            expected.add("record " + i);
+        }
+
+        handler.close();
+        assertEquals(expected, target.messages());
+        assertTrue(target.closed);
+
+        handler.publish(info("after close"));
+        assertEquals(expected.size(), target.messages().size(), "Records logged after close must be ignored");
+    }
+
+    /**
+     * @return a handler with a queue of two, whose writer is stuck on one record and whose queue is full
+     */
+    private static AsyncLogHandler fillQueue(AsyncLogHandler.OverflowPolicy policy, RecordingHandler target)
+            throws InterruptedException {
+        return fillQueue(policy, target, info("queued 1"), info("queued 2"));
+    }
+
+    private static AsyncLogHandler fillQueue(AsyncLogHandler.OverflowPolicy policy, RecordingHandler target,
+                                             LogRecord first, LogRecord second) throws InterruptedException {
+        AsyncLogHandler handler = new AsyncLogHandler(2, policy, target);
+        handler.publish(info("busy"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS), "The writer never took the first record");
+        handler.publish(first);
+        handler.publish(second);
+        return handler;
+    }
+
+    private static Thread publishInBackground(AsyncLogHandler handler, LogRecord record) {
+        Thread thread = new Thread(() -> handler.publish(record), "test-logger");
+        thread.start();
+        return thread;
+    }
+
+    private static void assertStillWaiting(Thread logger) throws InterruptedException {
+        logger.join(300);
+        assertTrue(logger.isAlive(), "The record must wait for room in the queue");
+    }
+
+    private static LogRecord info(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+
+    /**
+     * Keeps the messages it is given, holding up the writer until it is opened.
+     */
+    private static final class RecordingHandler extends Handler {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> messages = new ArrayList<>();
+        private volatile boolean closed;
+
+        void open() {
+            gate.countDown();
+        }
+
+        synchronized List<String> messages() {
+            return new ArrayList<>(messages);
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                messages.add(record.getMessage());
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.game.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.game.engine.GameEngine;
+import com.game.item.Item;
+import com.game.item.factory.DefaultItemFactory;
+import com.game.item.factory.ItemFactory;
+import com.game.level.Level;
+import com.game.player.Player;
+import com.game.room.Room;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+class GameRandomTest {
+    private static final int THREADS = 4;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        LogManager.initialize();
+        // Rooms and items fire their events through the engine
+        GameEngine.getInstance();
+    }
+
+    @Test
+    void testSameSeedDrawsSameNumbers() {
+        assertEquals(draw(42), draw(42));
+        assertNotEquals(draw(42), draw(43));
+    }
+
+    @Test
+    void testSeedIsRestoredAfterNestedRun() {
+        RandomGenerator unseeded = GameRandom.current();
+        GameRandom.withSeed(1, () -> {
+            RandomGenerator outer = GameRandom.current();
+            assertNotSame(unseeded, outer);
+            RandomGenerator inner = GameRandom.withSeed(2, GameRandom::current);
+            assertNotSame(outer, inner);
+            assertSame(outer, GameRandom.current());
+            return null;
+        });
+        assertSame(unseeded, GameRandom.current());
+    }
+
+    @Test
+    void testSeededRunsOnOtherThreadsDoNotInterfere() throws Exception {
+        List<Integer> expected = draw(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return draw(7);
+                }));
+            }
+            start.countDown();
+            for (Future<List<Integer>> future : futures) {
+                assertEquals(expected, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSameSeedGeneratesSameLevel() {
+        for (Player.DifficultyLevel difficulty : Player.DifficultyLevel.values()) {
+            String first = GameRandom.withSeed(99, () -> describe(generate(difficulty)));
+            String second = GameRandom.withSeed(99, () -> describe(generate(difficulty)));
+            assertEquals(first, second, "Level differs at " + difficulty);
+        }
+    }
+
+    private static List<Integer> draw(long seed) {
+        return GameRandom.withSeed(seed, () -> {
+            List<Integer> numbers = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                numbers.add(GameRandom.current().nextInt(1000));
+            }
+            return numbers;
+        });
+    }
+
+    private static Level generate(Player.DifficultyLevel difficulty) {
+        ItemFactory factory = new DefaultItemFactory();
+        GameEngine.configureItemFactory(factory, difficulty);
+        return new Level(1, difficulty, factory);
+    }
+
+    /**
+     * @return everything generated about the level, in a stable order
+     */
+    private static String describe(Level level) {
+        StringBuilder text = new StringBuilder()
+            .append(level.getWidth()).append('x').append(level.getHeight())
+            .append(" start ").append(level.getStartingRoom().getRoomId())
+            .append(" treasure ").append(level.getTreasureRoom().getRoomId());
+        Map<String, Room> rooms = new TreeMap<>(level.getRooms());
+        for (Room room : rooms.values()) {
+            text.append('\n').append(room.getRoomId()).append(' ').append(room.getName())
+                .append(" | ").append(room.getBaseDescription())
+                .append(" | ").append(room.getDetailedDescription());
+            for (String direction : List.of("north", "south", "east", "west")) {
+                Room connected = room.getConnectedRoom(direction);
+                if (connected != null) {
+                    text.append(' ').append(direction).append('=').append(connected.getRoomId());
+                }
+            }
+            for (Item item : room.getContents()) {
+                text.append(" [").append(item.getName()).append(' ').append(item.getValue()).append(']');
+            }
+            if (room.getBarrier() != null) {
+                text.append(" barrier ").append(room.getBarrier().getName());
+            }
+            if (room.getPuzzle() != null) {
+                text.append(" puzzle ").append(room.getPuzzle().getQuestion());
+            }
+        }
+        return text.toString();
+    }
+}
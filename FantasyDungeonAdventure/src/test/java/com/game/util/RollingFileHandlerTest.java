@@ -0,0 +1,179 @@
+package com.game.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+class RollingFileHandlerTest {
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRollsBySizeAndArchivesEveryRecord() throws IOException {
+        RollingFileHandler handler = open(200, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            handler.publish(new LogRecord(Level.INFO, "record " + i));
+            // As the async writer does once its queue runs dry; the size only counts flushed bytes
+            handler.flush();
+            expected.add("record " + i);
+        }
+        handler.close();
+
+        assertEquals(1, files(".log").size(), "Only the file being written stays uncompressed");
+        List<Path> archives = files(".log.gz");
+        assertTrue(archives.size() > 1, "Expected several rolled files, got " + archives);
+        List<String> logged = new ArrayList<>();
+        for (Path archive : archives) {
+            logged.addAll(readLines(archive));
+        }
+        logged.addAll(readLines(files(".log").get(0)));
+        assertEquals(expected.size(), logged.size());
+        assertTrue(logged.containsAll(expected));
+    }
+
+    @Test
+    void testRollsByAge() throws IOException, InterruptedException {
+        RollingFileHandler handler = open(UNLIMITED, Duration.ofMillis(50), UNLIMITED, Duration.ofDays(1));
+        handler.publish(new LogRecord(Level.INFO, "first"));
+        Thread.sleep(100);
+        handler.publish(new LogRecord(Level.INFO, "second"));
+        handler.close();
+
+        List<Path> archives = files(".log.gz");
+        assertEquals(1, archives.size());
+        assertEquals(List.of("first"), readLines(archives.get(0)));
+        assertEquals(List.of("second"), readLines(files(".log").get(0)));
+    }
+
+    @Test
+    void testLeftoverLogIsCompressed() throws IOException {
+        Path leftover = directory.resolve("game_20200101_000000.log");
+        Files.writeString(leftover, "from an earlier run\n");
+
+        open(UNLIMITED, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1)).close();
+
+        assertFalse(Files.exists(leftover));
+        assertEquals(List.of("from an earlier run"), readLines(directory.resolve("game_20200101_000000.log.gz")));
+    }
+
+    @Test
+    void testLiveLogOfAnotherHandlerIsLeftAlone() throws IOException {
+        RollingFileHandler first = open(UNLIMITED, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1));
+        first.publish(new LogRecord(Level.INFO, "first"));
+        first.flush();
+        Path live = files(".log").get(0);
+
+        // Closing waits for the compression of leftovers the second handler started with
+        open(UNLIMITED, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1)).close();
+        first.publish(new LogRecord(Level.INFO, "still first"));
+        first.close();
+
+        assertTrue(Files.exists(live), "The second handler compressed a file still being written");
+        assertEquals(List.of("first", "still first"), readLines(live));
+        assertTrue(files(".log.gz").isEmpty());
+
+        // Once closed, the file is a leftover like any other
+        open(UNLIMITED, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1)).close();
+        assertFalse(Files.exists(live));
+        assertEquals(List.of("first", "still first"), readLines(archiveOf(live)));
+    }
+
+    @Test
+    void testArchivesPastRetentionPeriodAreDeleted() throws IOException {
+        Path old = writeArchive("game_20200101_000000.log.gz", 100, Duration.ofDays(10));
+        Path recent = writeArchive("game_20200102_000000.log.gz", 100, Duration.ofHours(1));
+
+        open(UNLIMITED, Duration.ofHours(1), UNLIMITED, Duration.ofDays(1)).close();
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+    }
+
+    @Test
+    void testOldestArchivesGoOverTotalSize() throws IOException {
+        List<Path> archives = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Newest first
+            archives.add(writeArchive("game_2020010" + (i + 1) + "_000000.log.gz", 1000, Duration.ofHours(i + 1)));
+        }
+
+        open(UNLIMITED, Duration.ofHours(1), 2500, Duration.ofDays(1)).close();
+
+        long total = 0;
+        for (int i = 0; i < archives.size(); i++) {
+            boolean kept = Files.exists(archives.get(i));
+            assertEquals(i < 2, kept, archives.get(i) + (kept ? " was kept" : " was deleted"));
+            total += kept ? Files.size(archives.get(i)) : 0;
+        }
+        assertTrue(total <= 2500);
+    }
+
+    @Test
+    void testOtherFilesAreLeftAlone() throws IOException {
+        Path other = writeArchive("other_20200101_000000.log.gz", 100, Duration.ofDays(10));
+
+        open(UNLIMITED, Duration.ofHours(1), 1, Duration.ofDays(1)).close();
+
+        assertTrue(Files.exists(other));
+    }
+
+    private RollingFileHandler open(long maxFileBytes, Duration rollInterval, long maxTotalBytes, Duration maxAge)
+            throws IOException {
+        RollingFileHandler handler = new RollingFileHandler(directory, "game", maxFileBytes, rollInterval,
+            maxTotalBytes, maxAge);
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        return handler;
+    }
+
+    /**
+     * Writes an archive of the given size, last modified the given time ago.
+     */
+    private Path writeArchive(String name, int size, Duration age) throws IOException {
+        Path archive = directory.resolve(name);
+        Files.write(archive, new byte[size]);
+        Files.setLastModifiedTime(archive, FileTime.from(Instant.now().minus(age)));
+        return archive;
+    }
+
+    private static Path archiveOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".gz");
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static List<String> readLines(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            InputStream content = file.toString().endsWith(".gz") ? new GZIPInputStream(in) : in;
+            String text = new String(content.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isEmpty() ? List.of() : List.of(text.split(System.lineSeparator()));
+        }
+    }
+}